@@ -23,6 +23,8 @@ import org.apache.dolphinscheduler.dao.entity.User;
 
 import java.util.Map;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 /**
  * logger service
  */
@@ -48,6 +50,15 @@ public interface LoggerService {
      */
     byte[] getLogBytes(User loginUser, int taskInstId);
 
+    /**
+     * get log stream, the log is transferred from the worker chunk by chunk when the stream is written
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @return log stream
+     */
+    StreamingResponseBody getLogStream(User loginUser, int taskInstId);
+
     /**
      * query log
      *
@@ -69,4 +80,14 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * get log stream, the log is transferred from the worker chunk by chunk when the stream is written
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @return log stream
+     */
+    StreamingResponseBody getLogStream(User loginUser, long projectCode, int taskInstId);
 }
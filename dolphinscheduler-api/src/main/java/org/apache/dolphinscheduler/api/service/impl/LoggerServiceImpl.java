@@ -44,7 +44,9 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
@@ -52,6 +54,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.google.common.primitives.Bytes;
 
@@ -120,13 +123,20 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, int taskInstId) {
-        TaskInstance taskInstance = taskInstanceDao.findTaskInstanceById(taskInstId);
-        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
-            throw new ServiceException("task instance is null or host is null");
-        }
-        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
-        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
-        return getLogBytes(taskInstance);
+        return getLogBytes(checkDownloadLog(loginUser, taskInstId));
+    }
+
+    /**
+     * get log stream
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @return log stream
+     */
+    @Override
+    public StreamingResponseBody getLogStream(User loginUser, int taskInstId) {
+        TaskInstance taskInstance = checkDownloadLog(loginUser, taskInstId);
+        return outputStream -> writeLog(taskInstance, outputStream);
     }
 
     /**
@@ -175,6 +185,34 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      */
     @Override
     public byte[] getLogBytes(User loginUser, long projectCode, int taskInstId) {
+        return getLogBytes(checkDownloadLog(loginUser, projectCode, taskInstId));
+    }
+
+    /**
+     * get log stream
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @return log stream
+     */
+    @Override
+    public StreamingResponseBody getLogStream(User loginUser, long projectCode, int taskInstId) {
+        TaskInstance taskInstance = checkDownloadLog(loginUser, projectCode, taskInstId);
+        return outputStream -> writeLog(taskInstance, outputStream);
+    }
+
+    private TaskInstance checkDownloadLog(User loginUser, int taskInstId) {
+        TaskInstance taskInstance = taskInstanceDao.findTaskInstanceById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        return taskInstance;
+    }
+
+    private TaskInstance checkDownloadLog(User loginUser, long projectCode, int taskInstId) {
         Project project = projectMapper.queryByCode(projectCode);
         // check user access for project
         Map<String, Object> result = projectService.checkProjectAndAuth(loginUser, project, projectCode, DOWNLOAD_LOG);
@@ -191,7 +229,7 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
             throw new ServiceException("task instance does not exist in project");
         }
-        return getLogBytes(task);
+        return task;
     }
 
     /**
@@ -271,4 +309,38 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
         return Bytes.concat(head, logBytes);
     }
+
+    /**
+     * write the log into the output stream, the log is transferred from the worker chunk by chunk so the whole log
+     * file is never held in memory
+     *
+     * @param taskInstance task instance
+     * @param outputStream output stream
+     */
+    private void writeLog(TaskInstance taskInstance, OutputStream outputStream) throws IOException {
+        Host host = Host.of(taskInstance.getHost());
+        String logPath = taskInstance.getLogPath();
+
+        outputStream.write(String.format(LOG_HEAD_FORMAT,
+                logPath,
+                host,
+                Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+
+        long transferredBytes = logClient.transferLog(host.getIp(), host.getPort(), logPath, outputStream);
+
+        if (transferredBytes == 0 && RemoteLogUtils.isRemoteLoggingEnable()) {
+            // get task log from remote target
+            log.info("Get log {} from remote target", logPath);
+            RemoteLogUtils.getRemoteLog(logPath);
+            File logFile = new File(logPath);
+            if (logFile.exists()) {
+                try {
+                    Files.copy(logFile.toPath(), outputStream);
+                } finally {
+                    FileUtils.deleteQuietly(logFile);
+                }
+            }
+        }
+        outputStream.flush();
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.api.service;
 
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.RERUN;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_START;
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_PARALLELISM;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
@@ -47,6 +48,7 @@ import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.DependentProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
@@ -445,7 +447,9 @@ public class ExecuteFunctionServiceTest {
                 Constants.TEST_FLAG_NO,
                 ComplementDependentMode.OFF_MODE, null);
         Assertions.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
-        verify(commandService, times(31)).createCommand(any(Command.class));
+        // only the complement plan is created, the master splits it into one command per date
+        verify(commandService, times(1)).createCommand(argThat(command -> "0"
+                .equals(JSONUtils.toMap(command.getCommandParam()).get(CMD_PARAM_COMPLEMENT_DATA_PARALLELISM))));
 
     }
 
@@ -470,7 +474,9 @@ public class ExecuteFunctionServiceTest {
                 Constants.TEST_FLAG_NO,
                 ComplementDependentMode.OFF_MODE, null);
         Assertions.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
-        verify(commandService, times(15)).createCommand(any(Command.class));
+        // only the complement plan is created, the master splits it into 15 commands
+        verify(commandService, times(1)).createCommand(argThat(command -> "15"
+                .equals(JSONUtils.toMap(command.getCommandParam()).get(CMD_PARAM_COMPLEMENT_DATA_PARALLELISM))));
 
     }
 
@@ -35,6 +35,9 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.service.log.LogClient;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
@@ -186,6 +189,36 @@ public class LoggerServiceTest {
         Assertions.assertEquals(90, result.length);
     }
 
+    @Test
+    public void testGetLogStream() throws Exception {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setHost("127.0.0.1:8080");
+        taskInstance.setLogPath("/temp/log");
+        Project project = getProject(1);
+        Mockito.when(taskInstanceDao.findTaskInstanceById(1)).thenReturn(taskInstance);
+        Mockito.when(projectMapper.queryProjectByTaskInstanceId(1)).thenReturn(project);
+        Mockito.doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        Mockito.when(logClient.transferLog(Mockito.anyString(), Mockito.anyInt(), Mockito.anyString(),
+                Mockito.any(OutputStream.class))).thenAnswer(invocation -> {
+                    OutputStream outputStream = invocation.getArgument(3);
+                    outputStream.write("log".getBytes(StandardCharsets.UTF_8));
+                    return 3L;
+                });
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        loggerService.getLogStream(loginUser, 1).writeTo(outputStream);
+        String log = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(log.startsWith("[LOG-PATH]: /temp/log"));
+        Assertions.assertTrue(log.endsWith("log"));
+
+        // the permission is checked before the log is transferred
+        Mockito.doThrow(new ServiceException(Status.USER_NO_OPERATION_PERM)).when(projectService)
+                .checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        Assertions.assertThrows(ServiceException.class, () -> loggerService.getLogStream(loginUser, 1));
+    }
+
     @Test
     public void testQueryLogInSpecifiedProject() {
         long projectCode = 1L;
@@ -59,4 +59,10 @@ public class CommandKeyConstants {
      * complement data Schedule date
      */
     public static final String CMD_PARAM_COMPLEMENT_DATA_SCHEDULE_DATE_LIST = "complementScheduleDateList";
+
+    /**
+     * complement data parallelism, a complement command carrying it is a backfill plan which is split into the
+     * parallel complement commands by the master, 0 means one command per schedule date
+     */
+    public static final String CMD_PARAM_COMPLEMENT_DATA_PARALLELISM = "complementParallelism";
 }
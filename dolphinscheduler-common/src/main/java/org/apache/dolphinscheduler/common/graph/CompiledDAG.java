@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An immutable DAG whose nodes are identified by primitive long codes, built once by {@link Builder} and then shared
+ * without lock.
+ * <p>
+ * The adjacency is stored in CSR form: the successors of the node at index {@code i} are
+ * {@code successors[successorOffsets[i] .. successorOffsets[i + 1])}, the predecessors are stored the same way. The
+ * code is mapped to the index by an open addressing table, so the lookup is O(1) without boxing. The graph is
+ * validated by a single topological sort when it's built, rather than a cycle check on every edge.
+ *
+ * @param <NodeInfo> node description information
+ */
+@Slf4j
+public final class CompiledDAG<NodeInfo> {
+
+    private static final long[] EMPTY_CODES = new long[0];
+
+    /**
+     * node index -> node code, in the order the nodes are added
+     */
+    private final long[] codes;
+
+    private final Object[] nodeInfos;
+
+    private final LongIndexTable codeIndexTable;
+
+    private final int[] successorOffsets;
+
+    private final int[] successors;
+
+    private final int[] predecessorOffsets;
+
+    private final int[] predecessors;
+
+    private final long[] beginNodes;
+
+    private final long[] endNodes;
+
+    private final long[] topologicalOrder;
+
+    private CompiledDAG(long[] codes, Object[] nodeInfos, LongIndexTable codeIndexTable,
+                        int[] successorOffsets, int[] successors,
+                        int[] predecessorOffsets, int[] predecessors,
+                        long[] topologicalOrder) {
+        this.codes = codes;
+        this.nodeInfos = nodeInfos;
+        this.codeIndexTable = codeIndexTable;
+        this.successorOffsets = successorOffsets;
+        this.successors = successors;
+        this.predecessorOffsets = predecessorOffsets;
+        this.predecessors = predecessors;
+        this.topologicalOrder = topologicalOrder;
+        this.beginNodes = filterCodes(predecessorOffsets);
+        this.endNodes = filterCodes(successorOffsets);
+    }
+
+    public static <NodeInfo> Builder<NodeInfo> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Get the number of nodes
+     */
+    public int getNodesCount() {
+        return codes.length;
+    }
+
+    /**
+     * Get the number of edges
+     */
+    public int getEdgesCount() {
+        return successors.length;
+    }
+
+    public boolean containsNode(long code) {
+        return codeIndexTable.get(code) >= 0;
+    }
+
+    public boolean containsEdge(long fromCode, long toCode) {
+        int from = codeIndexTable.get(fromCode);
+        int to = codeIndexTable.get(toCode);
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        for (int i = successorOffsets[from]; i < successorOffsets[from + 1]; i++) {
+            if (successors[i] == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * get node description
+     *
+     * @return node description, or null if the node doesn't exist
+     */
+    @SuppressWarnings("unchecked")
+    public NodeInfo getNode(long code) {
+        int index = codeIndexTable.get(code);
+        return index < 0 ? null : (NodeInfo) nodeInfos[index];
+    }
+
+    /**
+     * Get the nodes without previous node, in the order the nodes are added
+     */
+    public long[] getBeginNodes() {
+        return beginNodes.clone();
+    }
+
+    /**
+     * Get the nodes without subsequent node, in the order the nodes are added
+     */
+    public long[] getEndNodes() {
+        return endNodes.clone();
+    }
+
+    public boolean isBeginNode(long code) {
+        int index = codeIndexTable.get(code);
+        return index >= 0 && predecessorOffsets[index] == predecessorOffsets[index + 1];
+    }
+
+    public boolean isEndNode(long code) {
+        int index = codeIndexTable.get(code);
+        return index >= 0 && successorOffsets[index] == successorOffsets[index + 1];
+    }
+
+    /**
+     * Get the subsequent nodes of the node, empty if the node doesn't exist
+     */
+    public long[] getSubsequentNodes(long code) {
+        return neighborCodes(code, successorOffsets, successors);
+    }
+
+    /**
+     * Get the previous nodes of the node, empty if the node doesn't exist
+     */
+    public long[] getPreviousNodes(long code) {
+        return neighborCodes(code, predecessorOffsets, predecessors);
+    }
+
+    public int getIndegree(long code) {
+        int index = codeIndexTable.get(code);
+        return index < 0 ? 0 : predecessorOffsets[index + 1] - predecessorOffsets[index];
+    }
+
+    /**
+     * Get all the nodes, in the order the nodes are added
+     */
+    public long[] getAllNodes() {
+        return codes.clone();
+    }
+
+    /**
+     * Get the nodes in topological order, which has been computed when the graph is built
+     */
+    public long[] topologicalSort() {
+        return topologicalOrder.clone();
+    }
+
+    private long[] neighborCodes(long code, int[] offsets, int[] neighbors) {
+        int index = codeIndexTable.get(code);
+        if (index < 0 || offsets[index] == offsets[index + 1]) {
+            return EMPTY_CODES;
+        }
+        long[] result = new long[offsets[index + 1] - offsets[index]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = codes[neighbors[offsets[index] + i]];
+        }
+        return result;
+    }
+
+    /**
+     * @return the codes of the nodes without neighbor in the given adjacency
+     */
+    private long[] filterCodes(int[] offsets) {
+        int count = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (offsets[i] == offsets[i + 1]) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        int position = 0;
+        for (int i = 0; i < codes.length; i++) {
+            if (offsets[i] == offsets[i + 1]) {
+                result[position++] = codes[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("CompiledDAG{nodes=").append(Arrays.toString(codes))
+                .append(", edges=[");
+        for (int from = 0; from < codes.length; from++) {
+            for (int i = successorOffsets[from]; i < successorOffsets[from + 1]; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(codes[from]).append("->").append(codes[successors[i]]);
+            }
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Collect the nodes and edges, the {@link #build()} validates the graph and compiles it.
+     */
+    public static final class Builder<NodeInfo> {
+
+        private final Map<Long, Integer> nodeIndexes = new HashMap<>();
+
+        private final List<Long> nodeCodes = new ArrayList<>();
+
+        private final List<NodeInfo> nodeInfos = new ArrayList<>();
+
+        private long[] edgeCodes = new long[16];
+
+        private int edgeCount;
+
+        private Builder() {
+        }
+
+        /**
+         * add node information, the information of an existing node is replaced
+         */
+        public Builder<NodeInfo> addNode(long code, NodeInfo nodeInfo) {
+            Integer index = nodeIndexes.get(code);
+            if (index != null) {
+                nodeInfos.set(index, nodeInfo);
+                return this;
+            }
+            nodeIndexes.put(code, nodeCodes.size());
+            nodeCodes.add(code);
+            nodeInfos.add(nodeInfo);
+            return this;
+        }
+
+        /**
+         * add edge, the edge whose node isn't added when built is ignored
+         */
+        public Builder<NodeInfo> addEdge(long fromCode, long toCode) {
+            if (edgeCount * 2 == edgeCodes.length) {
+                edgeCodes = Arrays.copyOf(edgeCodes, edgeCodes.length * 2);
+            }
+            edgeCodes[edgeCount * 2] = fromCode;
+            edgeCodes[edgeCount * 2 + 1] = toCode;
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the graph has cycle
+         */
+        public CompiledDAG<NodeInfo> build() {
+            int nodeCount = nodeCodes.size();
+            long[] codes = new long[nodeCount];
+            LongIndexTable codeIndexTable = new LongIndexTable(nodeCount);
+            for (int i = 0; i < nodeCount; i++) {
+                codes[i] = nodeCodes.get(i);
+                codeIndexTable.put(codes[i], i);
+            }
+
+            // resolve the edges and count the degrees
+            int[] froms = new int[edgeCount];
+            int[] tos = new int[edgeCount];
+            int[] successorOffsets = new int[nodeCount + 1];
+            int[] predecessorOffsets = new int[nodeCount + 1];
+            int validEdgeCount = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                int from = codeIndexTable.get(edgeCodes[i * 2]);
+                int to = codeIndexTable.get(edgeCodes[i * 2 + 1]);
+                if (from < 0 || to < 0) {
+                    log.error("edge fromNode({}) or toNode({}) is not in vertices map", edgeCodes[i * 2],
+                            edgeCodes[i * 2 + 1]);
+                    continue;
+                }
+                froms[validEdgeCount] = from;
+                tos[validEdgeCount] = to;
+                validEdgeCount++;
+                successorOffsets[from + 1]++;
+                predecessorOffsets[to + 1]++;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                successorOffsets[i + 1] += successorOffsets[i];
+                predecessorOffsets[i + 1] += predecessorOffsets[i];
+            }
+
+            // fill the adjacency in the order the edges are added
+            int[] successors = new int[validEdgeCount];
+            int[] predecessors = new int[validEdgeCount];
+            int[] successorCursor = Arrays.copyOf(successorOffsets, nodeCount);
+            int[] predecessorCursor = Arrays.copyOf(predecessorOffsets, nodeCount);
+            for (int i = 0; i < validEdgeCount; i++) {
+                successors[successorCursor[froms[i]]++] = tos[i];
+                predecessors[predecessorCursor[tos[i]]++] = froms[i];
+            }
+            int[][] successorAdjacency = deduplicate(successorOffsets, successors, nodeCount);
+            int[][] predecessorAdjacency = deduplicate(predecessorOffsets, predecessors, nodeCount);
+
+            long[] topologicalOrder =
+                    topologicalSort(codes, successorAdjacency[0], successorAdjacency[1], predecessorAdjacency[0]);
+            return new CompiledDAG<>(codes, nodeInfos.toArray(), codeIndexTable,
+                    successorAdjacency[0], successorAdjacency[1], predecessorAdjacency[0], predecessorAdjacency[1],
+                    topologicalOrder);
+        }
+
+        /**
+         * Remove the duplicate neighbors of each node, keeps the first one.
+         *
+         * @return the new offsets and neighbors
+         */
+        private static int[][] deduplicate(int[] offsets, int[] neighbors, int nodeCount) {
+            int[] lastSeen = new int[nodeCount];
+            Arrays.fill(lastSeen, -1);
+            int[] newOffsets = new int[nodeCount + 1];
+            int size = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                newOffsets[node] = size;
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    if (lastSeen[neighbors[i]] != node) {
+                        lastSeen[neighbors[i]] = node;
+                        neighbors[size++] = neighbors[i];
+                    }
+                }
+            }
+            newOffsets[nodeCount] = size;
+            return new int[][]{newOffsets, size == neighbors.length ? neighbors : Arrays.copyOf(neighbors, size)};
+        }
+
+        private static long[] topologicalSort(long[] codes, int[] successorOffsets, int[] successors,
+                                              int[] predecessorOffsets) {
+            int nodeCount = codes.length;
+            int[] indegrees = new int[nodeCount];
+            int[] queue = new int[nodeCount];
+            int tail = 0;
+            for (int i = 0; i < nodeCount; i++) {
+                indegrees[i] = predecessorOffsets[i + 1] - predecessorOffsets[i];
+                if (indegrees[i] == 0) {
+                    queue[tail++] = i;
+                }
+            }
+            for (int head = 0; head < tail; head++) {
+                int node = queue[head];
+                for (int i = successorOffsets[node]; i < successorOffsets[node + 1]; i++) {
+                    if (--indegrees[successors[i]] == 0) {
+                        queue[tail++] = successors[i];
+                    }
+                }
+            }
+            if (tail != nodeCount) {
+                throw new IllegalArgumentException("serious error: graph has cycle ! ");
+            }
+            long[] topologicalOrder = new long[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                topologicalOrder[i] = codes[queue[i]];
+            }
+            return topologicalOrder;
+        }
+    }
+
+    /**
+     * Open addressing map from long code to non-negative int index with linear probing.
+     */
+    private static final class LongIndexTable {
+
+        private final long[] keys;
+
+        /**
+         * index + 1, 0 means the slot is empty
+         */
+        private final int[] values;
+
+        private final int mask;
+
+        LongIndexTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void put(long key, int index) {
+            int slot = slot(key);
+            while (values[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = index + 1;
+        }
+
+        /**
+         * @return the index, or -1 if absent
+         */
+        int get(long key) {
+            int slot = slot(key);
+            while (values[slot] != 0) {
+                if (keys[slot] == key) {
+                    return values[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
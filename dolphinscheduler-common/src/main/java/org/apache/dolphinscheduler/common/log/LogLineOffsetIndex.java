@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sparse index of the line offsets of a log file, records the byte offset of every {@link #INDEX_INTERVAL} lines,
+ * so that reading a page of the log only need to seek to the nearest indexed line rather than read from the head of
+ * the file. The index is built lazily when the lines after the indexed position are requested, since the log file may
+ * still be appended.
+ * <p>
+ * The line terminator is the same as {@link BufferedReader#readLine()}, one of '\n', '\r' or "\r\n".
+ */
+public class LogLineOffsetIndex {
+
+    static final int INDEX_INTERVAL = 1000;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The i-th element is the byte offset of the line i * INDEX_INTERVAL.
+     */
+    private final List<Long> lineOffsets = new ArrayList<>();
+
+    /**
+     * The count of the complete lines which have been scanned.
+     */
+    private long scannedLines;
+
+    /**
+     * The byte offset after the last complete line which has been scanned.
+     */
+    private long scannedOffset;
+
+    public LogLineOffsetIndex() {
+        lineOffsets.add(0L);
+    }
+
+    /**
+     * Read the lines in [skipLine, skipLine + limit) of the file.
+     */
+    public synchronized List<String> readLines(Path filePath, int skipLine, int limit) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (limit <= 0) {
+            return lines;
+        }
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            if (fileChannel.size() < scannedOffset) {
+                // the file has been truncated or replaced
+                reset();
+            }
+            scanTo(fileChannel, skipLine);
+
+            int indexPosition = (int) Math.min(skipLine / INDEX_INTERVAL, lineOffsets.size() - 1);
+            long lineNumber = (long) indexPosition * INDEX_INTERVAL;
+            fileChannel.position(lineOffsets.get(indexPosition));
+            BufferedReader bufferedReader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(fileChannel), StandardCharsets.UTF_8));
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                if (lineNumber++ < skipLine) {
+                    continue;
+                }
+                lines.add(line);
+                if (lines.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private void reset() {
+        lineOffsets.clear();
+        lineOffsets.add(0L);
+        scannedLines = 0;
+        scannedOffset = 0;
+    }
+
+    /**
+     * Scan the file from the scanned position, until the index covers the target line or reach the end of the file.
+     */
+    private void scanTo(FileChannel fileChannel, long targetLine) throws IOException {
+        if (targetLine < (long) lineOffsets.size() * INDEX_INTERVAL) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        long position = scannedOffset;
+        boolean lastIsCarriageReturn = false;
+        while (targetLine >= (long) lineOffsets.size() * INDEX_INTERVAL) {
+            buffer.clear();
+            int readBytes = fileChannel.read(buffer, position);
+            if (readBytes <= 0) {
+                break;
+            }
+            for (int i = 0; i < readBytes; i++) {
+                byte b = buffer.get(i);
+                long offset = position + i;
+                if (lastIsCarriageReturn) {
+                    lastIsCarriageReturn = false;
+                    // the line is ended by "\r\n"
+                    completeLine(b == '\n' ? offset + 1 : offset);
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                if (b == '\n') {
+                    completeLine(offset + 1);
+                } else if (b == '\r') {
+                    // wait for the next byte to decide whether the line is ended by "\r\n"
+                    lastIsCarriageReturn = true;
+                }
+            }
+            position += readBytes;
+        }
+    }
+
+    private void completeLine(long nextLineOffset) {
+        scannedLines++;
+        scannedOffset = nextLineOffset;
+        if (scannedLines % INDEX_INTERVAL == 0) {
+            lineOffsets.add(nextLineOffset);
+        }
+    }
+
+}
@@ -36,4 +36,8 @@ public class MasterHeartBeat implements HeartBeat {
     private double reservedMemory;
     private double diskAvailable;
     private int processId;
+    /**
+     * The commands fetched but not started yet, used by the other masters to steal commands from a busy master.
+     */
+    private int commandQueueDepth;
 }
@@ -42,5 +42,7 @@ public class WorkerHeartBeat implements HeartBeat {
     private int workerHostWeight; // worker host weight
     private int workerWaitingTaskCount; // worker waiting task count
     private int workerExecThreadCount; // worker thread pool thread count
+    private double taskReservedCpu; // ratio of the host cpu reserved by the cpu quota of the admitted tasks
+    private double taskReservedMemory; // ratio of the host memory reserved by the max memory of the admitted tasks
 
 }
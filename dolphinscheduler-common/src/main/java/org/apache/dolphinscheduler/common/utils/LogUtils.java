@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -27,11 +28,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,9 +38,20 @@ import org.slf4j.LoggerFactory;
 
 import ch.qos.logback.classic.LoggerContext;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Slf4j
 public class LogUtils {
 
+    /**
+     * The line offset index of the recently read log files, used to seek to the requested page directly.
+     */
+    private static final Cache<String, LogLineOffsetIndex> LOG_LINE_OFFSET_INDEX_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -79,9 +89,10 @@ public class LogUtils {
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
-            } catch (IOException e) {
+            try {
+                return LOG_LINE_OFFSET_INDEX_CACHE.get(file.getAbsolutePath(), LogLineOffsetIndex::new)
+                        .readLines(file.toPath(), skipLine, limit);
+            } catch (IOException | ExecutionException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
             }
@@ -110,6 +110,19 @@ public class OSUtils {
         return Double.parseDouble(df.format(availablePhysicalMemorySize));
     }
 
+    /**
+     * get total physical memory size
+     * <p>
+     * Keep 2 decimal
+     *
+     * @return total Physical Memory Size, unit: G
+     */
+    public static double totalPhysicalMemorySize() {
+        DecimalFormat df = new DecimalFormat(TWO_DECIMAL);
+        df.setRoundingMode(RoundingMode.HALF_UP);
+        return Double.parseDouble(df.format(TOTAL_MEMORY));
+    }
+
     /**
      * get cpu usage
      *
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompiledDAGTest {
+
+    private CompiledDAG<String> makeGraph() {
+        // 1->2
+        // 2->5
+        // 3->5
+        // 4->6
+        // 5->6
+        // 6->7
+        CompiledDAG.Builder<String> builder = CompiledDAG.builder();
+        for (long i = 1; i <= 7; ++i) {
+            builder.addNode(i, "v(" + i + ")");
+        }
+        return builder.addEdge(1, 2)
+                .addEdge(2, 5)
+                .addEdge(3, 5)
+                .addEdge(4, 6)
+                .addEdge(5, 6)
+                .addEdge(6, 7)
+                .build();
+    }
+
+    @Test
+    public void testLookup() {
+        CompiledDAG<String> graph = makeGraph();
+
+        Assertions.assertEquals(7, graph.getNodesCount());
+        Assertions.assertEquals(6, graph.getEdgesCount());
+        Assertions.assertTrue(graph.containsNode(5));
+        Assertions.assertFalse(graph.containsNode(8));
+        Assertions.assertTrue(graph.containsEdge(2, 5));
+        Assertions.assertFalse(graph.containsEdge(5, 2));
+        Assertions.assertEquals("v(6)", graph.getNode(6));
+        Assertions.assertNull(graph.getNode(8));
+        Assertions.assertArrayEquals(new long[]{5}, graph.getSubsequentNodes(3));
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getPreviousNodes(5));
+        Assertions.assertEquals(2, graph.getIndegree(6));
+        Assertions.assertEquals(0, graph.getSubsequentNodes(8).length);
+    }
+
+    @Test
+    public void testBeginAndEndNodes() {
+        CompiledDAG<String> graph = makeGraph();
+
+        Assertions.assertArrayEquals(new long[]{1, 3, 4}, graph.getBeginNodes());
+        Assertions.assertArrayEquals(new long[]{7}, graph.getEndNodes());
+        Assertions.assertTrue(graph.isBeginNode(4));
+        Assertions.assertFalse(graph.isBeginNode(5));
+        Assertions.assertTrue(graph.isEndNode(7));
+        Assertions.assertFalse(graph.isEndNode(8));
+    }
+
+    @Test
+    public void testTopologicalSort() {
+        CompiledDAG<String> graph = makeGraph();
+
+        long[] order = graph.topologicalSort();
+        Assertions.assertEquals(7, order.length);
+        int[] position = new int[8];
+        for (int i = 0; i < order.length; i++) {
+            position[(int) order[i]] = i;
+        }
+        for (long from : graph.getAllNodes()) {
+            for (long to : graph.getSubsequentNodes(from)) {
+                Assertions.assertTrue(position[(int) from] < position[(int) to]);
+            }
+        }
+    }
+
+    @Test
+    public void testBuilderIgnoresDuplicateAndUnknownEdges() {
+        CompiledDAG<String> graph = CompiledDAG.<String>builder()
+                .addNode(1, "v(1)")
+                .addNode(2, "v(2)")
+                .addNode(2, "v(2')")
+                .addEdge(1, 2)
+                .addEdge(1, 2)
+                .addEdge(1, 3)
+                .build();
+
+        Assertions.assertEquals(2, graph.getNodesCount());
+        Assertions.assertEquals(1, graph.getEdgesCount());
+        Assertions.assertEquals("v(2')", graph.getNode(2));
+    }
+
+    @Test
+    public void testCycle() {
+        CompiledDAG.Builder<String> builder = CompiledDAG.<String>builder()
+                .addNode(1, "v(1)")
+                .addNode(2, "v(2)")
+                .addNode(3, "v(3)")
+                .addEdge(1, 2)
+                .addEdge(2, 3)
+                .addEdge(3, 1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}
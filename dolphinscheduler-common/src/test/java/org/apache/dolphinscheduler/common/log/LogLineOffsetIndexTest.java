@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogLineOffsetIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testReadLines() throws IOException {
+        Path logFile = tempDir.resolve("test.log");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < LogLineOffsetIndex.INDEX_INTERVAL * 3 + 10; i++) {
+            // mix the line terminators
+            content.append("line-").append(i).append(i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\n" : "\r");
+        }
+        Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex();
+        for (int skipLine : new int[]{2500, 0, 999, 1000, 1001, 3005, 3010, 5000}) {
+            Assertions.assertEquals(readLines(logFile, skipLine, 100),
+                    logLineOffsetIndex.readLines(logFile, skipLine, 100));
+        }
+    }
+
+    @Test
+    public void testReadAppendedLines() throws IOException {
+        Path logFile = tempDir.resolve("append.log");
+        LogLineOffsetIndex logLineOffsetIndex = new LogLineOffsetIndex();
+        for (int i = 0; i < 5; i++) {
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j < LogLineOffsetIndex.INDEX_INTERVAL; j++) {
+                content.append("line-").append(i).append("-").append(j).append("\n");
+            }
+            // the last line is not completed
+            content.append("line-").append(i).append("-\r");
+            Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            int skipLine = (i + 1) * LogLineOffsetIndex.INDEX_INTERVAL - 1;
+            Assertions.assertEquals(readLines(logFile, skipLine, 10),
+                    logLineOffsetIndex.readLines(logFile, skipLine, 10));
+        }
+    }
+
+    private List<String> readLines(Path logFile, int skipLine, int limit) throws IOException {
+        try (Stream<String> stream = Files.lines(logFile)) {
+            return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+        }
+    }
+}
@@ -61,6 +61,7 @@ public class SpringConnectionFactory {
     }
 
     @Bean
+    @Primary
     public DataSourceTransactionManager transactionManager(DataSource dataSource) {
         return new DataSourceTransactionManager(dataSource);
     }
@@ -110,6 +110,13 @@ public class Command {
     @TableField("test_flag")
     private int testFlag;
 
+    /**
+     * the process instance targeted by a recovery command, null for the other commands, there is a unique index on it
+     * so that at most one recovery command can be waiting for each process instance
+     */
+    @TableField("recover_process_instance_id")
+    private Integer recoverProcessInstanceId;
+
     public Command(
                    CommandType commandType,
                    TaskDependType taskDependType,
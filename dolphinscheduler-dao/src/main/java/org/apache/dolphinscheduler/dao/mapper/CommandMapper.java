@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.CommandCount;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -51,10 +52,29 @@ public interface CommandMapper extends BaseMapper<Command> {
     List<Command> queryCommandPage(@Param("limit") int limit, @Param("offset") int offset);
 
     /**
-     * query command page by slot
+     * query command page by buckets, the bucket of a command is id % bucketCount
+     * @param limit limit
+     * @param bucketCount bucket count
+     * @param buckets the buckets to query
+     * @param fromTail query from the tail of the command queue
      * @return command list
      */
-    List<Command> queryCommandPageBySlot(@Param("limit") int limit,
-                                         @Param("masterCount") int masterCount,
-                                         @Param("thisMasterSlot") int thisMasterSlot);
+    List<Command> queryCommandPageByBuckets(@Param("limit") int limit,
+                                            @Param("bucketCount") int bucketCount,
+                                            @Param("buckets") Collection<Integer> buckets,
+                                            @Param("fromTail") boolean fromTail);
+
+    /**
+     * query the recovery command waiting for the given process instance, this is a probe on the unique index
+     * @param processInstanceId process instance id
+     * @return recovery command, null if there is no such command
+     */
+    Command queryCommandByRecoverProcessInstanceId(@Param("processInstanceId") int processInstanceId);
+
+    /**
+     * batch insert commands, the generated ids are set back to the commands
+     * @param commands commands
+     * @return insert count
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
 }
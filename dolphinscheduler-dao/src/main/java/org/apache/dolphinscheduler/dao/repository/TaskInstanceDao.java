@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.dao.repository;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -50,6 +51,13 @@ public interface TaskInstanceDao {
      */
     boolean updateTaskInstance(TaskInstance taskInstance);
 
+    /**
+     * Update task instances to DB in a jdbc batch.
+     * @param taskInstances task instances
+     * @return result
+     */
+    boolean batchUpdateTaskInstance(Collection<TaskInstance> taskInstances);
+
     /**
      * Submit a task instance to DB.
      * @param taskInstance task instance
@@ -30,8 +30,12 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -40,6 +44,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+
 /**
  * Task Instance DAO implementation
  */
@@ -47,6 +55,8 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 public class TaskInstanceDaoImpl implements TaskInstanceDao {
 
+    private static final Log BATCH_LOG = LogFactory.getLog(TaskInstanceDaoImpl.class);
+
     @Autowired
     private TaskInstanceMapper taskInstanceMapper;
 
@@ -77,6 +87,20 @@ public class TaskInstanceDaoImpl implements TaskInstanceDao {
         return count > 0;
     }
 
+    @Override
+    public boolean batchUpdateTaskInstance(Collection<TaskInstance> taskInstances) {
+        if (CollectionUtils.isEmpty(taskInstances)) {
+            return true;
+        }
+        String sqlStatement = SqlHelper.getSqlStatement(TaskInstanceMapper.class, SqlMethod.UPDATE_BY_ID);
+        return SqlHelper.executeBatch(TaskInstance.class, BATCH_LOG, taskInstances, taskInstances.size(),
+                (sqlSession, taskInstance) -> {
+                    MapperMethod.ParamMap<TaskInstance> param = new MapperMethod.ParamMap<>();
+                    param.put(Constants.ENTITY, taskInstance);
+                    sqlSession.update(sqlStatement, param);
+                });
+    }
+
     @Override
     public TaskInstance submitTaskInstanceToDB(TaskInstance taskInstance, ProcessInstance processInstance) {
         WorkflowExecutionStatus processInstanceState = processInstance.getState();
@@ -339,8 +339,10 @@ CREATE TABLE t_ds_command
     process_instance_id        int(11) DEFAULT 0,
     process_definition_version int(11) DEFAULT 0,
     test_flag                  int NULL DEFAULT 0,
+    recover_process_instance_id int(11) DEFAULT NULL,
     PRIMARY KEY (id),
-    KEY                        priority_id_index (process_instance_priority, id)
+    KEY                        priority_id_index (process_instance_priority, id),
+    UNIQUE KEY                 uniq_recover_process_instance_id (recover_process_instance_id)
 );
 
 -- ----------------------------
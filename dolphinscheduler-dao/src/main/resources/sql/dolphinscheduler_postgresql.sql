@@ -270,10 +270,12 @@ CREATE TABLE t_ds_command (
   process_instance_id       int DEFAULT 0,
   process_definition_version int DEFAULT 0,
   test_flag                 int DEFAULT NULL ,
+  recover_process_instance_id int DEFAULT NULL ,
   PRIMARY KEY (id)
 ) ;
 
 create index priority_id_index on t_ds_command (process_instance_priority,id);
+create unique index uniq_recover_process_instance_id on t_ds_command (recover_process_instance_id);
 
 --
 -- Table structure for table t_ds_datasource
@@ -412,3 +412,24 @@ d//
 delimiter ;
 CALL add_improvement_workflow_run_tenant;
 DROP PROCEDURE add_improvement_workflow_run_tenant;
+
+-- uc_dolphin_T_t_ds_command_R_recover_process_instance_id
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_command_R_recover_process_instance_id;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_command_R_recover_process_instance_id()
+BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_command'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME ='recover_process_instance_id')
+   THEN
+ALTER TABLE t_ds_command ADD `recover_process_instance_id` int(11) DEFAULT NULL COMMENT 'process instance id targeted by a recovery command, null for other commands';
+ALTER TABLE t_ds_command ADD UNIQUE KEY `uniq_recover_process_instance_id` (`recover_process_instance_id`);
+END IF;
+END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_command_R_recover_process_instance_id;
+DROP PROCEDURE uc_dolphin_T_t_ds_command_R_recover_process_instance_id;
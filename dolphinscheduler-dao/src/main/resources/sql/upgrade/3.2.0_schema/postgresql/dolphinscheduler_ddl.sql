@@ -279,3 +279,6 @@ d//
 delimiter ;
 select add_improvement_workflow_run_tenant();
 DROP FUNCTION add_improvement_workflow_run_tenant();
+
+ALTER TABLE t_ds_command ADD COLUMN IF NOT EXISTS recover_process_instance_id int DEFAULT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uniq_recover_process_instance_id ON t_ds_command (recover_process_instance_id);
@@ -31,6 +31,7 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.CommandCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -39,6 +40,9 @@ import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.google.common.collect.Lists;
 
 /**
  * command mapper test
@@ -159,33 +163,60 @@ public class CommandMapperTest extends BaseDaoTest {
     }
 
     /**
-     * test query command page by slot
+     * test query command page by buckets
      */
     @Test
-    public void testQueryCommandPageBySlot() {
-        int masterCount = 4;
-        int thisMasterSlot = 2;
-        // for hit or miss
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
-        toTestQueryCommandPageBySlot(masterCount, thisMasterSlot);
+    public void testQueryCommandPageByBuckets() {
+        int bucketCount = 4;
+        Command command = createCommand();
+        int bucket = command.getId() % bucketCount;
+        Command anotherCommand = createCommand();
+        while (anotherCommand.getId() % bucketCount != bucket) {
+            anotherCommand = createCommand();
+        }
+
+        List<Command> commandList =
+                commandMapper.queryCommandPageByBuckets(1, bucketCount, Collections.singletonList(bucket), false);
+        Assertions.assertEquals(command.getId(), commandList.get(0).getId());
+        commandList = commandMapper.queryCommandPageByBuckets(1, bucketCount, Collections.singletonList(bucket), true);
+        Assertions.assertEquals(anotherCommand.getId(), commandList.get(0).getId());
+        commandList = commandMapper.queryCommandPageByBuckets(10, bucketCount,
+                Collections.singletonList((bucket + 1) % bucketCount), false);
+        commandList.forEach(o -> Assertions.assertNotEquals(bucket, o.getId() % bucketCount));
     }
 
-    private boolean toTestQueryCommandPageBySlot(int masterCount, int thisMasterSlot) {
+    @Test
+    public void testQueryCommandByRecoverProcessInstanceId() {
+        createCommand();
+        Assertions.assertNull(commandMapper.queryCommandByRecoverProcessInstanceId(111));
+
+        Command command = createCommand(CommandType.REPEAT_RUNNING, 1);
+        command.setRecoverProcessInstanceId(111);
+        commandMapper.updateById(command);
+        Assertions.assertEquals(command.getId(), commandMapper.queryCommandByRecoverProcessInstanceId(111).getId());
+
+        Command duplicateCommand = createCommand(CommandType.START_FAILURE_TASK_PROCESS, 1);
+        duplicateCommand.setRecoverProcessInstanceId(111);
+        Assertions.assertThrows(DuplicateKeyException.class, () -> commandMapper.updateById(duplicateCommand));
+    }
+
+    @Test
+    public void testBatchInsert() {
         Command command = createCommand();
-        Integer id = command.getId();
-        boolean hit = id % masterCount == thisMasterSlot;
-        List<Command> commandList = commandMapper.queryCommandPageBySlot(1, masterCount, thisMasterSlot);
-        if (hit) {
-            Assertions.assertEquals(id, commandList.get(0).getId());
-        } else {
-            commandList.forEach(o -> {
-                Assertions.assertNotEquals(id, o.getId());
-                Assertions.assertEquals(thisMasterSlot, o.getId() % masterCount);
-            });
-        }
-        return hit;
+        Command anotherCommand = createCommand();
+        commandMapper.deleteById(command.getId());
+        commandMapper.deleteById(anotherCommand.getId());
+        command.setId(null);
+        anotherCommand.setId(null);
+
+        Assertions.assertEquals(2, commandMapper.batchInsert(Lists.newArrayList(command, anotherCommand)));
+        Assertions.assertNotNull(command.getId());
+        Assertions.assertNotNull(anotherCommand.getId());
+        Command actualCommand = commandMapper.selectById(anotherCommand.getId());
+        Assertions.assertEquals(anotherCommand.getCommandType(), actualCommand.getCommandType());
+        Assertions.assertEquals(anotherCommand.getWarningType(), actualCommand.getWarningType());
+        Assertions.assertEquals(anotherCommand.getProcessInstancePriority(),
+                actualCommand.getProcessInstancePriority());
     }
 
     /**
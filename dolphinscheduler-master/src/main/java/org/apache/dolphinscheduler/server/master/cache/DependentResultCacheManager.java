@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+
+/**
+ * cache of the workflow/task instances which the dependent tasks depend on, shared by all the dependent tasks of the
+ * master, the database is only queried on cache miss
+ */
+public interface DependentResultCacheManager {
+
+    /**
+     * find the last workflow instance of the definition in the date interval, see
+     * {@link #onWorkflowInstanceFinished(ProcessInstance)} for the expiration
+     *
+     * @param definitionCode definition code
+     * @param dateInterval   date interval
+     * @param testFlag       testFlag
+     * @return the last workflow instance, null if there is no workflow instance in the date interval
+     */
+    ProcessInstance findLastProcessInterval(long definitionCode, DateInterval dateInterval, int testFlag);
+
+    /**
+     * find the state of the valid task instance in the workflow instance
+     *
+     * @param processInstanceId processInstanceId
+     * @param taskCode          taskCode
+     * @param testFlag          testFlag
+     * @return the task instance state, null if the task is not found in the workflow instance
+     */
+    TaskExecutionStatus findTaskInstanceState(int processInstanceId, long taskCode, int testFlag);
+
+    /**
+     * expire the lookups of the workflow definition and the workflow instance
+     */
+    void onWorkflowInstanceFinished(ProcessInstance processInstance);
+
+    /**
+     * expire the task lookups of the workflow instance
+     */
+    void onTaskInstanceFinished(TaskInstance taskInstance);
+
+    void clearCache();
+}
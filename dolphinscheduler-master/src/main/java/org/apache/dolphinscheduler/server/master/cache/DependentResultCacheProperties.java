@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class DependentResultCacheProperties {
+
+    /**
+     * Whether to share the dependent workflow/task instance lookups between the dependent tasks.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The max entries kept in the cache.
+     */
+    private int maxSize = 10000;
+
+    /**
+     * The cached lookups expire after this duration, the workflow/task instances finished by the current master expire
+     * the lookups immediately, this only bounds the delay of the instances finished by other masters.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.common.enums.CacheType;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+
+/**
+ * cache of the built dag of each workflow definition version
+ */
+public interface WorkflowDagCacheManager {
+
+    /**
+     * get the dag template of the workflow definition version, build it if absent
+     *
+     * @param processDefinition processDefinition
+     * @return the immutable dag template
+     */
+    WorkflowDagTemplate getWorkflowDagTemplate(ProcessDefinition processDefinition);
+
+    /**
+     * expire the templates affected by the evicted cache key
+     *
+     * @param cacheType cacheType
+     * @param cacheKey  cacheKey
+     */
+    void expire(CacheType cacheType, String cacheKey);
+
+    void clearCache();
+}
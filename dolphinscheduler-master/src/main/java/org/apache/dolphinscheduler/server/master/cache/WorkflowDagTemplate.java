@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessDag;
+import org.apache.dolphinscheduler.service.utils.DagHelper;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * The task nodes and the whole dag of a workflow definition version, a definition version is immutable so the template
+ * is shared by all the workflow instances of the version and must not be changed.
+ */
+@Getter
+public final class WorkflowDagTemplate {
+
+    private final long processDefinitionCode;
+
+    private final int processDefinitionVersion;
+
+    private final List<TaskNode> taskNodeList;
+
+    private final Map<Long, TaskNode> taskNodeMap;
+
+    private final Map<Long, TaskNode> forbiddenTaskNodeMap;
+
+    /**
+     * the dag of all the task nodes, null if the definition has no task
+     */
+    private final CompiledDAG<TaskNode> dag;
+
+    public WorkflowDagTemplate(long processDefinitionCode,
+                               int processDefinitionVersion,
+                               List<TaskNode> taskNodeList) throws Exception {
+        this.processDefinitionCode = processDefinitionCode;
+        this.processDefinitionVersion = processDefinitionVersion;
+        this.taskNodeList = Collections.unmodifiableList(taskNodeList);
+        Map<Long, TaskNode> nodeMap = new LinkedHashMap<>();
+        Map<Long, TaskNode> forbiddenNodeMap = new LinkedHashMap<>();
+        for (TaskNode taskNode : taskNodeList) {
+            nodeMap.put(taskNode.getCode(), taskNode);
+            if (taskNode.isForbidden()) {
+                forbiddenNodeMap.put(taskNode.getCode(), taskNode);
+            }
+        }
+        this.taskNodeMap = Collections.unmodifiableMap(nodeMap);
+        this.forbiddenTaskNodeMap = Collections.unmodifiableMap(forbiddenNodeMap);
+        ProcessDag processDag = DagHelper.generateFlowDag(taskNodeList, null, null, TaskDependType.TASK_POST);
+        this.dag = processDag == null ? null : DagHelper.buildCompiledDag(processDag);
+    }
+
+    /**
+     * Get the dag to run by a workflow instance. The whole dag is returned directly when the instance runs all the task
+     * nodes, otherwise the dag is cut from the cached task nodes.
+     *
+     * @param startNodeList        the specified start nodes
+     * @param recoveryNodeCodeList the task nodes to recover
+     * @param taskDependType       taskDependType
+     * @return the dag to run, null if there is no task node to run
+     */
+    public CompiledDAG<TaskNode> getDag(List<String> startNodeList,
+                                        List<String> recoveryNodeCodeList,
+                                        TaskDependType taskDependType) throws Exception {
+        if (taskDependType == TaskDependType.TASK_POST
+                && CollectionUtils.isEmpty(startNodeList)
+                && CollectionUtils.isEmpty(recoveryNodeCodeList)) {
+            return dag;
+        }
+        ProcessDag processDag =
+                DagHelper.generateFlowDag(taskNodeList, startNodeList, recoveryNodeCodeList, taskDependType);
+        return processDag == null ? null : DagHelper.buildCompiledDag(processDag);
+    }
+
+    public int getTaskNodeSize() {
+        return taskNodeList.size();
+    }
+}
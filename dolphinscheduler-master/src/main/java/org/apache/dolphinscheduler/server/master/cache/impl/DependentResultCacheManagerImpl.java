@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheProperties;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * cache of the workflow/task instances which the dependent tasks depend on
+ */
+@Slf4j
+@Component
+public class DependentResultCacheManagerImpl implements DependentResultCacheManager {
+
+    @Autowired
+    private ProcessInstanceDao processInstanceDao;
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    /**
+     * the last workflow instance of the definition in the date interval
+     */
+    private Cache<LastProcessKey, Optional<ProcessInstance>> lastProcessCache;
+
+    /**
+     * the task instance state of the workflow instance, task code as key
+     */
+    private Cache<TaskStateKey, Map<Long, TaskExecutionStatus>> taskStateCache;
+
+    @PostConstruct
+    public void init() {
+        DependentResultCacheProperties dependentResultCacheProperties = masterConfig.getDependentResultCache();
+        long maxSize = dependentResultCacheProperties.isEnabled() ? dependentResultCacheProperties.getMaxSize() : 0;
+        long expireAfterWrite = dependentResultCacheProperties.getExpireAfterWrite().toMillis();
+        lastProcessCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+                .build();
+        taskStateCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public ProcessInstance findLastProcessInterval(long definitionCode, DateInterval dateInterval, int testFlag) {
+        LastProcessKey lastProcessKey = new LastProcessKey(definitionCode,
+                dateInterval.getStartTime().getTime(), dateInterval.getEndTime().getTime(), testFlag);
+        return get(lastProcessCache, lastProcessKey,
+                () -> Optional.ofNullable(queryLastProcessInterval(definitionCode, dateInterval, testFlag)))
+                        .orElse(null);
+    }
+
+    @Override
+    public TaskExecutionStatus findTaskInstanceState(int processInstanceId, long taskCode, int testFlag) {
+        TaskStateKey taskStateKey = new TaskStateKey(processInstanceId, testFlag);
+        return get(taskStateCache, taskStateKey, () -> queryTaskInstanceStates(processInstanceId, testFlag))
+                .get(taskCode);
+    }
+
+    @Override
+    public void onWorkflowInstanceFinished(ProcessInstance processInstance) {
+        long definitionCode = processInstance.getProcessDefinitionCode();
+        lastProcessCache.asMap().keySet().removeIf(key -> key.getDefinitionCode() == definitionCode);
+        expireTaskInstanceStates(processInstance.getId());
+    }
+
+    @Override
+    public void onTaskInstanceFinished(TaskInstance taskInstance) {
+        expireTaskInstanceStates(taskInstance.getProcessInstanceId());
+    }
+
+    @Override
+    public void clearCache() {
+        lastProcessCache.invalidateAll();
+        taskStateCache.invalidateAll();
+    }
+
+    private void expireTaskInstanceStates(int processInstanceId) {
+        taskStateCache.invalidate(new TaskStateKey(processInstanceId, Flag.NO.getCode()));
+        taskStateCache.invalidate(new TaskStateKey(processInstanceId, Flag.YES.getCode()));
+    }
+
+    /**
+     * find the last one process instance that :
+     * 1. manual run and finish between the interval
+     * 2. schedule run and schedule time between the interval
+     */
+    private ProcessInstance queryLastProcessInterval(long definitionCode, DateInterval dateInterval, int testFlag) {
+        ProcessInstance lastSchedulerProcess =
+                processInstanceDao.findLastSchedulerProcessInterval(definitionCode, dateInterval, testFlag);
+
+        ProcessInstance lastManualProcess =
+                processInstanceDao.findLastManualProcessInterval(definitionCode, dateInterval, testFlag);
+
+        if (lastManualProcess == null) {
+            return lastSchedulerProcess;
+        }
+        if (lastSchedulerProcess == null) {
+            return lastManualProcess;
+        }
+
+        // In the time range, there are both manual and scheduled workflow instances, return the last workflow instance
+        return lastManualProcess.getId() > lastSchedulerProcess.getId() ? lastManualProcess : lastSchedulerProcess;
+    }
+
+    private Map<Long, TaskExecutionStatus> queryTaskInstanceStates(int processInstanceId, int testFlag) {
+        Map<Long, TaskExecutionStatus> taskInstanceStates = new HashMap<>();
+        for (TaskInstance taskInstance : taskInstanceDao.findValidTaskListByProcessId(processInstanceId, testFlag)) {
+            taskInstanceStates.putIfAbsent(taskInstance.getTaskCode(), taskInstance.getState());
+        }
+        return taskInstanceStates;
+    }
+
+    private <K, V> V get(Cache<K, V> cache, K key, Callable<V> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Query the dependent result failed, key: " + key, cause);
+        }
+    }
+
+    @Value
+    private static class LastProcessKey {
+
+        long definitionCode;
+        long startTime;
+        long endTime;
+        int testFlag;
+    }
+
+    @Value
+    private static class TaskStateKey {
+
+        int processInstanceId;
+        int testFlag;
+    }
+}
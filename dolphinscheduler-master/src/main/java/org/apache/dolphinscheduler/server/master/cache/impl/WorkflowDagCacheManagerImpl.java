@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.CacheType;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheProperties;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagTemplate;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * cache of the built dag of each workflow definition version
+ */
+@Slf4j
+@Component
+public class WorkflowDagCacheManagerImpl implements WorkflowDagCacheManager {
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private TaskDefinitionLogDao taskDefinitionLogDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private Cache<String, WorkflowDagTemplate> workflowDagCache;
+
+    @PostConstruct
+    public void init() {
+        WorkflowDagCacheProperties workflowDagCacheProperties = masterConfig.getWorkflowDagCache();
+        workflowDagCache = CacheBuilder.newBuilder()
+                .maximumSize(workflowDagCacheProperties.isEnabled() ? workflowDagCacheProperties.getMaxSize() : 0)
+                .build();
+    }
+
+    @Override
+    public WorkflowDagTemplate getWorkflowDagTemplate(ProcessDefinition processDefinition) {
+        String cacheKey = processDefinition.getCode() + "_" + processDefinition.getVersion();
+        try {
+            return workflowDagCache.get(cacheKey, () -> buildWorkflowDagTemplate(processDefinition));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException(
+                    "Build the dag of workflow definition: " + cacheKey + " failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void expire(CacheType cacheType, String cacheKey) {
+        switch (cacheType) {
+            case PROCESS_DEFINITION:
+                // key: code
+                expire(cacheKey, template -> String.valueOf(template.getProcessDefinitionCode()).equals(cacheKey));
+                break;
+            case PROCESS_TASK_RELATION:
+                // key: projectCode_processDefinitionCode
+                String processDefinitionCode = StringUtils.substringAfterLast(cacheKey, "_");
+                expire(processDefinitionCode,
+                        template -> String.valueOf(template.getProcessDefinitionCode()).equals(processDefinitionCode));
+                break;
+            case TASK_DEFINITION:
+                // key: code_version
+                String taskCode = StringUtils.substringBefore(cacheKey, "_");
+                expire(taskCode, template -> template.getTaskNodeMap().containsKey(Long.parseLong(taskCode)));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void expire(String code, Predicate<WorkflowDagTemplate> affected) {
+        if (!NumberUtils.isDigits(code)) {
+            // the key is not generated from a code, we cannot know which templates are affected
+            workflowDagCache.invalidateAll();
+            log.info("Expire all the workflow dag templates, cause the evicted code: {} is unknown", code);
+            return;
+        }
+        workflowDagCache.asMap().values().removeIf(affected);
+        log.info("Expire the workflow dag templates of code: {}", code);
+    }
+
+    @Override
+    public void clearCache() {
+        workflowDagCache.invalidateAll();
+    }
+
+    private WorkflowDagTemplate buildWorkflowDagTemplate(ProcessDefinition processDefinition) throws Exception {
+        List<ProcessTaskRelation> processTaskRelations =
+                processService.findRelationByCode(processDefinition.getCode(), processDefinition.getVersion());
+        List<TaskDefinitionLog> taskDefinitionLogs =
+                taskDefinitionLogDao.getTaskDefineLogListByRelation(processTaskRelations);
+        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+        WorkflowDagTemplate workflowDagTemplate =
+                new WorkflowDagTemplate(processDefinition.getCode(), processDefinition.getVersion(), taskNodeList);
+        log.info("Build the dag of workflow definition: {}_{} success, task node size: {}",
+                processDefinition.getCode(), processDefinition.getVersion(), workflowDagTemplate.getTaskNodeSize());
+        return workflowDagTemplate;
+    }
+}
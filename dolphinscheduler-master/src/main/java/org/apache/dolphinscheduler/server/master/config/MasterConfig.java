@@ -20,8 +20,11 @@ package org.apache.dolphinscheduler.server.master.config;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheProperties;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheProperties;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostSelector;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.registry.assign.CommandAssignProperties;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 
 import java.time.Duration;
@@ -50,6 +53,11 @@ public class MasterConfig implements Validator {
      * The max batch size used to fetch command from database.
      */
     private int fetchCommandNum = 10;
+    /**
+     * The max interval to wait for the new command notify when there is no command in database, the master will
+     * back off exponentially from 100ms to this value, and wake up immediately once it receives a command notify.
+     */
+    private Duration commandFetchMaxIdleInterval = Duration.ofSeconds(5);
     /**
      * The thread number used to prepare processInstance. This number shouldn't bigger than fetchCommandNum.
      */
@@ -64,6 +72,20 @@ public class MasterConfig implements Validator {
      * The task dispatch thread pool size.
      */
     private int dispatchTaskNumber = 3;
+    /**
+     * The max time window to coalesce the task instance changes of the worker task events before persisting them in
+     * one jdbc batch, the ack is sent to the worker after the batch committed.
+     */
+    private Duration taskEventBatchPersistWindow = Duration.ofMillis(50);
+    /**
+     * The max task instance size persisted in one batch, the batch is flushed immediately once it is full.
+     */
+    private int taskEventBatchPersistSize = 500;
+    /**
+     * The max retry times of a failed batch, the task instances of the batch are restored once the retry times
+     * exhausted, and the workers will resend the unacked events.
+     */
+    private int taskEventBatchPersistRetryTimes = 3;
     /**
      * Worker select strategy.
      */
@@ -89,6 +111,18 @@ public class MasterConfig implements Validator {
     private Duration failoverInterval = Duration.ofMinutes(10);
     private boolean killApplicationWhenTaskFailover = true;
     private ConnectStrategyProperties registryDisconnectStrategy = new ConnectStrategyProperties();
+    /**
+     * The strategy to assign the commands to the masters.
+     */
+    private CommandAssignProperties commandAssign = new CommandAssignProperties();
+    /**
+     * The cache of the built dag of each workflow definition version.
+     */
+    private WorkflowDagCacheProperties workflowDagCache = new WorkflowDagCacheProperties();
+    /**
+     * The cache of the workflow/task instances which the dependent tasks depend on.
+     */
+    private DependentResultCacheProperties dependentResultCache = new DependentResultCacheProperties();
 
     private Duration workerGroupRefreshInterval = Duration.ofSeconds(10L);
 
@@ -112,6 +146,9 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFetchCommandNum() <= 0) {
             errors.rejectValue("fetch-command-num", null, "should be a positive value");
         }
+        if (masterConfig.getCommandFetchMaxIdleInterval().toMillis() <= 0) {
+            errors.rejectValue("command-fetch-max-idle-interval", null, "should be a valid duration");
+        }
         if (masterConfig.getPreExecThreads() <= 0) {
             errors.rejectValue("per-exec-threads", null, "should be a positive value");
         }
@@ -121,6 +158,15 @@ public class MasterConfig implements Validator {
         if (masterConfig.getDispatchTaskNumber() <= 0) {
             errors.rejectValue("dispatch-task-number", null, "should be a positive value");
         }
+        if (masterConfig.getTaskEventBatchPersistWindow().toMillis() < 0) {
+            errors.rejectValue("task-event-batch-persist-window", null, "should be a valid duration");
+        }
+        if (masterConfig.getTaskEventBatchPersistSize() <= 0) {
+            errors.rejectValue("task-event-batch-persist-size", null, "should be a positive value");
+        }
+        if (masterConfig.getTaskEventBatchPersistRetryTimes() < 0) {
+            errors.rejectValue("task-event-batch-persist-retry-times", null, "should be a non-negative value");
+        }
         if (masterConfig.getHeartbeatInterval().toMillis() < 0) {
             errors.rejectValue("heartbeat-interval", null, "should be a valid duration");
         }
@@ -136,6 +182,19 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFailoverInterval().toMillis() <= 0) {
             errors.rejectValue("failover-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getCommandAssign().getVirtualNodes() <= 0) {
+            errors.rejectValue("command-assign.virtual-nodes", null, "should be a positive value");
+        }
+        if (masterConfig.getWorkflowDagCache().isEnabled() && masterConfig.getWorkflowDagCache().getMaxSize() <= 0) {
+            errors.rejectValue("workflow-dag-cache.max-size", null, "should be a positive value");
+        }
+        if (masterConfig.getDependentResultCache().isEnabled()
+                && masterConfig.getDependentResultCache().getMaxSize() <= 0) {
+            errors.rejectValue("dependent-result-cache.max-size", null, "should be a positive value");
+        }
+        if (masterConfig.getDependentResultCache().getExpireAfterWrite().toMillis() <= 0) {
+            errors.rejectValue("dependent-result-cache.expire-after-write", null, "should be a valid duration");
+        }
         if (masterConfig.getMaxCpuLoadAvg() <= 0) {
             masterConfig.setMaxCpuLoadAvg(100);
         }
@@ -156,9 +215,13 @@ public class MasterConfig implements Validator {
     private void printConfig() {
         log.info("Master config: listenPort -> {} ", listenPort);
         log.info("Master config: fetchCommandNum -> {} ", fetchCommandNum);
+        log.info("Master config: commandFetchMaxIdleInterval -> {} ", commandFetchMaxIdleInterval);
         log.info("Master config: preExecThreads -> {} ", preExecThreads);
         log.info("Master config: execThreads -> {} ", execThreads);
         log.info("Master config: dispatchTaskNumber -> {} ", dispatchTaskNumber);
+        log.info("Master config: taskEventBatchPersistWindow -> {} ", taskEventBatchPersistWindow);
+        log.info("Master config: taskEventBatchPersistSize -> {} ", taskEventBatchPersistSize);
+        log.info("Master config: taskEventBatchPersistRetryTimes -> {} ", taskEventBatchPersistRetryTimes);
         log.info("Master config: hostSelector -> {} ", hostSelector);
         log.info("Master config: heartbeatInterval -> {} ", heartbeatInterval);
         log.info("Master config: taskCommitRetryTimes -> {} ", taskCommitRetryTimes);
@@ -169,6 +232,9 @@ public class MasterConfig implements Validator {
         log.info("Master config: failoverInterval -> {} ", failoverInterval);
         log.info("Master config: killApplicationWhenTaskFailover -> {} ", killApplicationWhenTaskFailover);
         log.info("Master config: registryDisconnectStrategy -> {} ", registryDisconnectStrategy);
+        log.info("Master config: commandAssign -> {} ", commandAssign);
+        log.info("Master config: workflowDagCache -> {} ", workflowDagCache);
+        log.info("Master config: dependentResultCache -> {} ", dependentResultCache);
         log.info("Master config: masterAddress -> {} ", masterAddress);
         log.info("Master config: masterRegistryPath -> {} ", masterRegistryPath);
         log.info("Master config: workerGroupRefreshInterval -> {} ", workerGroupRefreshInterval);
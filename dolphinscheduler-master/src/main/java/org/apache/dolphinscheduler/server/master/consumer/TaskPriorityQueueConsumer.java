@@ -22,7 +22,6 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
@@ -31,14 +30,18 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchBatchMessage;
 import org.apache.dolphinscheduler.remote.command.task.TaskDispatchMessage;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.Pair;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
-import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
+import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
@@ -48,16 +51,20 @@ import org.apache.dolphinscheduler.service.queue.TaskPriority;
 import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
@@ -66,6 +73,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import io.netty.channel.ChannelFuture;
+
 /**
  * TaskUpdateQueue consumer
  */
@@ -82,11 +91,11 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
-    /**
-     * executor dispatcher
-     */
     @Autowired
-    private ExecutorDispatcher dispatcher;
+    private HostManager hostManager;
+
+    @Autowired
+    private NettyExecutorManager nettyExecutorManager;
 
     /**
      * processInstance cache manager
@@ -113,9 +122,10 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     private StorageOperate storageOperate;
 
     /**
-     * consumer thread pool
+     * The dispatch messages which have been written to the worker channels but not flushed yet, they are bounded so
+     * that a slow worker cannot make the master buffer unbounded messages.
      */
-    private ThreadPoolExecutor consumerThreadPoolExecutor;
+    private Semaphore inFlightDispatchPermits;
 
     protected TaskPriorityQueueConsumer() {
         super("TaskPriorityQueueConsumeThread");
@@ -123,8 +133,7 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
 
     @PostConstruct
     public void init() {
-        this.consumerThreadPoolExecutor = (ThreadPoolExecutor) ThreadUtils
-                .newDaemonFixedThreadExecutor("TaskUpdateQueueConsumerThread", masterConfig.getDispatchTaskNumber());
+        this.inFlightDispatchPermits = new Semaphore(masterConfig.getDispatchTaskNumber());
         log.info("Task priority queue consume thread staring");
         super.start();
         log.info("Task priority queue consume thread started");
@@ -157,67 +166,200 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     }
 
     /**
-     * batch dispatch with thread pool
+     * Batch dispatch, the tasks will be grouped by the selected worker and each worker will receive one frame per
+     * batch. The send result is handled asynchronously, so a slow worker will not block the whole batch.
+     *
+     * @return the tasks which failed to dispatch before sending, the tasks failed to send to all the workers of the
+     * worker group will be put back into the queue by the send listener
      */
     public List<TaskPriority> batchDispatch(int fetchTaskNum) throws TaskPriorityQueueException, InterruptedException {
-        List<TaskPriority> failedDispatchTasks = Collections.synchronizedList(new ArrayList<>());
-        CountDownLatch latch = new CountDownLatch(fetchTaskNum);
-
-        for (int i = 0; i < fetchTaskNum; i++) {
-            TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
-            if (Objects.isNull(taskPriority)) {
-                latch.countDown();
-                continue;
+        List<TaskPriority> failedDispatchTasks = new ArrayList<>();
+        Map<Host, List<Pair<TaskPriority, ExecutionContext>>> workerDispatchTasks = new HashMap<>();
+        for (TaskPriority taskPriority : fetchTasks(fetchTaskNum)) {
+            try {
+                Optional<ExecutionContext> executionContext = prepareDispatch(taskPriority);
+                if (!executionContext.isPresent()) {
+                    continue;
+                }
+                Host host = selectHost(executionContext.get());
+                workerDispatchTasks.computeIfAbsent(host, k -> new ArrayList<>())
+                        .add(Pair.of(taskPriority, executionContext.get()));
+            } catch (WorkerGroupNotFoundException e) {
+                // If the worker group not found, will not try to dispatch again.
+                // The task instance will be failed
+                addDispatchFailedEvent(taskPriority);
+            } catch (ExecuteException e) {
+                failedDispatchTasks.add(taskPriority);
+            } catch (Exception e) {
+                log.error("Dispatch task error, meet an unknown exception", e);
+                failedDispatchTasks.add(taskPriority);
             }
+        }
+        for (Map.Entry<Host, List<Pair<TaskPriority, ExecutionContext>>> entry : workerDispatchTasks.entrySet()) {
+            try {
+                dispatchToWorker(entry.getKey(), entry.getValue());
+            } catch (ExecuteException e) {
+                log.error("Dispatch tasks to worker {} error", entry.getKey(), e);
+                entry.getValue().forEach(dispatchTask -> failedDispatchTasks.add(dispatchTask.getLeft()));
+            }
+        }
+        return failedDispatchTasks;
+    }
 
-            consumerThreadPoolExecutor.submit(() -> {
-                try {
-                    try {
-                        this.dispatchTask(taskPriority);
-                    } catch (WorkerGroupNotFoundException e) {
-                        // If the worker group not found, will not try to dispatch again.
-                        // The task instance will be failed
-                        // todo:
-                        addDispatchFailedEvent(taskPriority);
-                    } catch (ExecuteException e) {
-                        failedDispatchTasks.add(taskPriority);
-                    } catch (Exception e) {
-                        log.error("Dispatch task error, meet an unknown exception", e);
-                        failedDispatchTasks.add(taskPriority);
-                    }
-                } finally {
-                    // make sure the latch countDown
-                    latch.countDown();
-                }
-            });
+    /**
+     * Wait for the first task, and then drain the other tasks which are already in the queue without waiting.
+     */
+    private List<TaskPriority> fetchTasks(int fetchTaskNum) throws TaskPriorityQueueException, InterruptedException {
+        List<TaskPriority> taskPriorities = new ArrayList<>(fetchTaskNum);
+        TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+        while (taskPriority != null) {
+            taskPriorities.add(taskPriority);
+            if (taskPriorities.size() >= fetchTaskNum) {
+                break;
+            }
+            taskPriority = taskPriorityQueue.poll(0, TimeUnit.MILLISECONDS);
         }
+        return taskPriorities;
+    }
 
-        latch.await();
+    private Host selectHost(ExecutionContext executionContext) throws ExecuteException {
+        Host host = hostManager.select(executionContext);
+        if (StringUtils.isEmpty(host.getAddress())) {
+            log.warn("fail to execute : {} due to no suitable worker, current task needs worker group {} to execute",
+                    executionContext.getTaskInstance().getId(), executionContext.getWorkerGroup());
+            throw new ExecuteException("no suitable worker");
+        }
+        executionContext.setHost(host);
+        return host;
+    }
 
-        return failedDispatchTasks;
+    /**
+     * Send the tasks to the worker in one frame, once the frame is flushed, the tasks will be marked as dispatched,
+     * otherwise each task will be retried on the other workers of its worker group. A flushed frame is not an
+     * acknowledgement of the worker, the worker may still reject the task or crash before running it, which is
+     * handled by the task reject message and the worker failover.
+     */
+    private void dispatchToWorker(Host host,
+                                  List<Pair<TaskPriority, ExecutionContext>> dispatchTasks) throws ExecuteException, InterruptedException {
+        Message message;
+        if (dispatchTasks.size() == 1) {
+            message = toCommand(dispatchTasks.get(0).getLeft().getTaskExecutionContext());
+        } else {
+            List<TaskExecutionContext> taskExecutionContexts = dispatchTasks.stream()
+                    .map(dispatchTask -> dispatchTask.getLeft().getTaskExecutionContext())
+                    .collect(Collectors.toList());
+            message = new TaskDispatchBatchMessage(taskExecutionContexts,
+                    masterConfig.getMasterAddress(),
+                    host.getAddress(),
+                    System.currentTimeMillis()).convert2Command();
+        }
+        if (!inFlightDispatchPermits.tryAcquire(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS)) {
+            throw new ExecuteException("Too many dispatch messages in flight");
+        }
+        sendAsync(host, message, success -> {
+            if (success) {
+                dispatchTasks.forEach(dispatchTask -> onFlushed(host, dispatchTask));
+                return;
+            }
+            for (Pair<TaskPriority, ExecutionContext> dispatchTask : dispatchTasks) {
+                Set<String> failedHosts = new HashSet<>();
+                failedHosts.add(host.getAddress());
+                retryDispatch(dispatchTask, failedHosts);
+            }
+        });
     }
 
     /**
-     * Dispatch task to worker.
+     * Retry to dispatch the task to another worker of its worker group, the task will be put back into the queue
+     * after all the workers failed.
+     */
+    private void retryDispatch(Pair<TaskPriority, ExecutionContext> dispatchTask, Set<String> failedHosts) {
+        TaskPriority taskPriority = dispatchTask.getLeft();
+        ExecutionContext executionContext = dispatchTask.getRight();
+        Optional<Host> retryHost;
+        try {
+            retryHost = nettyExecutorManager.selectRetryHost(executionContext, failedHosts);
+        } catch (WorkerGroupNotFoundException e) {
+            retryHost = Optional.empty();
+        }
+        // the retry runs in the write listener, it should never wait for the permit
+        if (!retryHost.isPresent() || !inFlightDispatchPermits.tryAcquire()) {
+            log.error("Dispatch task {} failed, failed workers: {}, will retry to dispatch", taskPriority.getTaskId(),
+                    failedHosts);
+            TaskMetrics.incTaskDispatchFailed(1);
+            taskPriorityQueue.put(taskPriority);
+            return;
+        }
+        Host host = retryHost.get();
+        executionContext.setHost(host);
+        log.warn("Retry to dispatch task {} to worker {}", taskPriority.getTaskId(), host);
+        sendAsync(host, toCommand(taskPriority.getTaskExecutionContext()), success -> {
+            if (success) {
+                onFlushed(host, dispatchTask);
+                return;
+            }
+            failedHosts.add(host.getAddress());
+            retryDispatch(dispatchTask, failedHosts);
+        });
+    }
+
+    /**
+     * Send the message asynchronously, the in flight permit must be acquired before and will be released once the
+     * send is finished.
+     */
+    private void sendAsync(Host host, Message message, Consumer<Boolean> sendResultCallback) {
+        ChannelFuture channelFuture;
+        try {
+            channelFuture = nettyExecutorManager.executeAsync(host, message);
+        } catch (ExecuteException e) {
+            log.error("Send dispatch message to worker {} error", host, e);
+            inFlightDispatchPermits.release();
+            sendResultCallback.accept(false);
+            return;
+        }
+        channelFuture.addListener(future -> {
+            inFlightDispatchPermits.release();
+            if (!future.isSuccess()) {
+                log.error("Send dispatch message to worker {} failed", host, future.cause());
+            }
+            sendResultCallback.accept(future.isSuccess());
+        });
+    }
+
+    /**
+     * Mark the task as dispatched once its frame is flushed to the worker channel, the worker hasn't acknowledged it.
+     */
+    private void onFlushed(Host host, Pair<TaskPriority, ExecutionContext> dispatchTask) {
+        ExecutionContext executionContext = dispatchTask.getRight();
+        // We set the host to taskInstance to avoid when the worker down, this taskInstance may not be
+        // failovered, due to the taskInstance's host is not belongs to the down worker ISSUE-10842.
+        executionContext.getTaskInstance().setHost(host.getAddress());
+        log.info("Master success dispatch task to worker, taskInstanceId: {}, worker: {}",
+                dispatchTask.getLeft().getTaskId(), host);
+        addDispatchEvent(dispatchTask.getLeft().getTaskExecutionContext(), executionContext);
+    }
+
+    /**
+     * Check whether the task need to be dispatched.
      *
      * @param taskPriority taskPriority
-     * @return dispatch result, return true if dispatch success, return false if dispatch failed.
+     * @return the execution context if the task need to be dispatched, otherwise return empty.
      */
-    protected void dispatchTask(TaskPriority taskPriority) throws ExecuteException {
+    private Optional<ExecutionContext> prepareDispatch(TaskPriority taskPriority) {
         TaskMetrics.incTaskDispatch();
         WorkflowExecuteRunnable workflowExecuteRunnable =
                 processInstanceExecCacheManager.getByProcessInstanceId(taskPriority.getProcessInstanceId());
         if (workflowExecuteRunnable == null) {
             log.error("Cannot find the related processInstance of the task, taskPriority: {}", taskPriority);
-            return;
+            return Optional.empty();
         }
         Optional<TaskInstance> taskInstanceOptional =
                 workflowExecuteRunnable.getTaskInstance(taskPriority.getTaskId());
         if (!taskInstanceOptional.isPresent()) {
             log.error("Cannot find the task instance from related processInstance, taskPriority: {}",
                     taskPriority);
-            // we return true, so that we will drop this task.
-            return;
+            // we return empty, so that we will drop this task.
+            return Optional.empty();
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
         TaskExecutionContext context = taskPriority.getTaskExecutionContext();
@@ -225,28 +367,22 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
                 .taskInstance(taskInstance)
                 .workerGroup(context.getWorkerGroup())
                 .executorType(ExecutorType.WORKER)
-                .message(toCommand(context))
                 .build();
 
-        if (isTaskNeedToCheck(taskPriority)) {
-            if (taskInstanceIsFinalState(taskPriority.getTaskId())) {
-                // when task finish, ignore this task, there is no need to dispatch anymore
-                log.info("Task {} is already finished, no need to dispatch, task instance id: {}",
-                        taskInstance.getName(), taskInstance.getId());
-                return;
-            }
+        // the task instance in the workflow runnable is updated by the task events before persisted, so it's the
+        // authoritative state of the task and there is no need to query the db
+        if (taskInstance.getState() != null && taskInstance.getState().isFinished()) {
+            // when task finish, ignore this task, there is no need to dispatch anymore
+            log.info("Task {} is already finished, no need to dispatch, task instance id: {}",
+                    taskInstance.getName(), taskInstance.getId());
+            return Optional.empty();
         }
 
         // check task is cache execution, and decide whether to dispatch
         if (checkIsCacheExecution(taskInstance, context)) {
-            return;
+            return Optional.empty();
         }
-
-        dispatcher.dispatch(executionContext);
-        log.info("Master success dispatch task to worker, taskInstanceId: {}, worker: {}",
-                taskPriority.getTaskId(),
-                executionContext.getHost());
-        addDispatchEvent(context, executionContext);
+        return Optional.of(executionContext);
     }
 
     /**
@@ -285,30 +421,6 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
         return requestCommand.convert2Command();
     }
 
-    /**
-     * taskInstance is final state
-     * success，failure，kill，stop，pause，threadwaiting is final state
-     *
-     * @param taskInstanceId taskInstanceId
-     * @return taskInstance is final state
-     */
-    public boolean taskInstanceIsFinalState(int taskInstanceId) {
-        TaskInstance taskInstance = taskInstanceDao.findTaskInstanceById(taskInstanceId);
-        return taskInstance.getState().isFinished();
-    }
-
-    /**
-     * check if task need to check state, if true, refresh the checkpoint
-     */
-    private boolean isTaskNeedToCheck(TaskPriority taskPriority) {
-        long now = System.currentTimeMillis();
-        if (now - taskPriority.getCheckpoint() > Constants.SECOND_TIME_MILLIS) {
-            taskPriority.setCheckpoint(now);
-            return true;
-        }
-        return false;
-    }
-
     /**
      * check if task is cache execution
      * if the task is defined as cache execution, and we find the cache task instance is finished yet, we will not dispatch this task
@@ -36,6 +36,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import javax.annotation.PostConstruct;
@@ -45,6 +46,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import io.netty.channel.ChannelFuture;
+
 /**
  * netty executor manager
  */
@@ -159,6 +162,38 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean> {
         }
     }
 
+    /**
+     * send the message to the host asynchronously, the send result will be notified by the returned future
+     *
+     * @param host host
+     * @param message command
+     * @return the write future
+     * @throws ExecuteException if cannot connect to the host
+     */
+    public ChannelFuture executeAsync(final Host host, final Message message) throws ExecuteException {
+        try {
+            return nettyRemotingClient.sendAsync(host, message);
+        } catch (Exception ex) {
+            throw new ExecuteException(String.format("send command : %s to %s error", message, host), ex);
+        }
+    }
+
+    /**
+     * select another node of the worker group to retry the execution, the failed nodes are skipped
+     *
+     * @param context context
+     * @param failNodeSet the nodes failed to execute
+     * @return the node to retry, empty if all the nodes have failed
+     */
+    public Optional<Host> selectRetryHost(ExecutionContext context,
+                                          Set<String> failNodeSet) throws WorkerGroupNotFoundException {
+        Collection<String> remained = CollectionUtils.subtract(getAllNodes(context), failNodeSet);
+        if (CollectionUtils.isEmpty(remained)) {
+            return Optional.empty();
+        }
+        return Optional.of(Host.of(remained.iterator().next()));
+    }
+
     /**
      * get all nodes
      *
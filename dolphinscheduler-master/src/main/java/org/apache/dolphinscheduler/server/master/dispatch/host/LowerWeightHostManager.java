@@ -156,8 +156,9 @@ public class LowerWeightHostManager extends CommonHostManager {
         return Optional.of(
                 new HostWeight(
                         HostWorker.of(addr, heartBeat.getWorkerHostWeight(), workerGroup),
-                        heartBeat.getCpuUsage(),
-                        heartBeat.getMemoryUsage(),
+                        // the reserved resource of the admitted tasks may not be used yet
+                        Math.max(heartBeat.getCpuUsage(), heartBeat.getTaskReservedCpu()),
+                        Math.max(heartBeat.getMemoryUsage(), heartBeat.getTaskReservedMemory()),
                         heartBeat.getLoadAverage(),
                         heartBeat.getWorkerWaitingTaskCount(),
                         heartBeat.getStartupTime()));
@@ -20,12 +20,12 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.remote.command.task.TaskExecuteResultMessageAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventBatchPersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 import org.apache.dolphinscheduler.server.master.utils.DataQualityResultOperator;
@@ -54,7 +54,7 @@ public class TaskResultEventHandler implements TaskEventHandler {
     private ProcessService processService;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskEventBatchPersistService taskEventBatchPersistService;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -79,7 +79,9 @@ public class TaskResultEventHandler implements TaskEventHandler {
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
         if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+            // the finished state may not be persisted yet, ack the worker after it is persisted, otherwise the worker
+            // will resend this event
+            taskEventBatchPersistService.runAfterPersisted(taskInstanceId, () -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task result event error, the task instance is already finished, will discord this event");
         }
@@ -98,11 +100,9 @@ public class TaskResultEventHandler implements TaskEventHandler {
             taskInstance.setEndTime(taskEvent.getEndTime());
             taskInstance.setVarPool(taskEvent.getVarPool());
             processService.changeOutParam(taskInstance);
-            taskInstanceDao.updateTaskInstance(taskInstance);
-            sendAckToWorker(taskEvent);
         } catch (Exception ex) {
             TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            throw new TaskEventHandleError("Handle task result event error, save taskInstance to db error", ex);
+            throw new TaskEventHandleError("Handle task result event error, change taskInstance out param error", ex);
         }
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEvent.getProcessInstanceId())
@@ -110,8 +110,12 @@ public class TaskResultEventHandler implements TaskEventHandler {
                 .status(taskEvent.getState())
                 .type(StateEventType.TASK_STATE_CHANGE)
                 .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
-
+        // the ack and the state event are sent after the taskInstance is persisted, if persist failed the taskInstance
+        // is restored and the worker will retry this event
+        taskEventBatchPersistService.persist(taskInstance, oldTaskInstance, () -> {
+            sendAckToWorker(taskEvent);
+            workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        });
     }
 
     public void sendAckToWorker(TaskEvent taskEvent) {
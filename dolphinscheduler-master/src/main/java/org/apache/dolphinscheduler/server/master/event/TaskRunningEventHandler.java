@@ -20,12 +20,12 @@ package org.apache.dolphinscheduler.server.master.event;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.remote.command.task.TaskExecuteRunningMessageAck;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventBatchPersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
@@ -44,7 +44,7 @@ public class TaskRunningEventHandler implements TaskEventHandler {
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskEventBatchPersistService taskEventBatchPersistService;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -69,32 +69,22 @@ public class TaskRunningEventHandler implements TaskEventHandler {
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
         if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+            // the finished state may not be persisted yet, ack the worker after it is persisted, otherwise the worker
+            // will resend this event
+            taskEventBatchPersistService.runAfterPersisted(taskInstanceId, () -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task running event error, this task instance is already finished, this event is delay, will discard this event");
         }
 
         TaskInstance oldTaskInstance = new TaskInstance();
         TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
-        try {
-            taskInstance.setState(taskEvent.getState());
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setLogPath(taskEvent.getLogPath());
-            taskInstance.setExecutePath(taskEvent.getExecutePath());
-            taskInstance.setPid(taskEvent.getProcessId());
-            taskInstance.setAppLink(taskEvent.getAppIds());
-            if (!taskInstanceDao.updateTaskInstance(taskInstance)) {
-                throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed");
-            }
-            sendAckToWorker(taskEvent);
-        } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            if (ex instanceof TaskEventHandleError) {
-                throw ex;
-            }
-            throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed", ex);
-        }
+        taskInstance.setState(taskEvent.getState());
+        taskInstance.setStartTime(taskEvent.getStartTime());
+        taskInstance.setHost(taskEvent.getWorkerAddress());
+        taskInstance.setLogPath(taskEvent.getLogPath());
+        taskInstance.setExecutePath(taskEvent.getExecutePath());
+        taskInstance.setPid(taskEvent.getProcessId());
+        taskInstance.setAppLink(taskEvent.getAppIds());
 
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskEvent.getProcessInstanceId())
@@ -102,7 +92,12 @@ public class TaskRunningEventHandler implements TaskEventHandler {
                 .status(taskEvent.getState())
                 .type(StateEventType.TASK_STATE_CHANGE)
                 .build();
-        workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        // the ack and the state event are sent after the taskInstance is persisted, if persist failed the taskInstance
+        // is restored and the worker will retry this event
+        taskEventBatchPersistService.persist(taskInstance, oldTaskInstance, () -> {
+            sendAckToWorker(taskEvent);
+            workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        });
     }
 
     private void sendAckToWorker(TaskEvent taskEvent) {
@@ -19,11 +19,11 @@ package org.apache.dolphinscheduler.server.master.event;
 
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
 import org.apache.dolphinscheduler.remote.command.task.TaskUpdatePidAckMessage;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventBatchPersistService;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteThreadPool;
 
@@ -42,7 +42,7 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
     private WorkflowExecuteThreadPool workflowExecuteThreadPool;
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskEventBatchPersistService taskEventBatchPersistService;
 
     @Override
     public void handleTaskEvent(TaskEvent taskEvent) throws TaskEventHandleError {
@@ -64,29 +64,21 @@ public class TaskUpdatePidEventHandler implements TaskEventHandler {
         }
         TaskInstance taskInstance = taskInstanceOptional.get();
         if (taskInstance.getState().isFinished()) {
-            sendAckToWorker(taskEvent);
+            // the finished state may not be persisted yet, ack the worker after it is persisted, otherwise the worker
+            // will resend this event
+            taskEventBatchPersistService.runAfterPersisted(taskInstanceId, () -> sendAckToWorker(taskEvent));
             throw new TaskEventHandleError(
                     "Handle task running event error, this task instance is already finished, this event is delay, will discard this event");
         }
 
         TaskInstance oldTaskInstance = new TaskInstance();
         TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
-        try {
-            taskInstance.setStartTime(taskEvent.getStartTime());
-            taskInstance.setHost(taskEvent.getWorkerAddress());
-            taskInstance.setPid(taskEvent.getProcessId());
-            if (!taskInstanceDao.updateTaskInstance(taskInstance)) {
-                throw new TaskEventHandleError("Handle task running event error, update taskInstance to db failed");
-            }
-            sendAckToWorker(taskEvent);
-        } catch (Exception ex) {
-            TaskInstanceUtils.copyTaskInstance(oldTaskInstance, taskInstance);
-            if (ex instanceof TaskEventHandleError) {
-                throw ex;
-            }
-            throw new TaskEventHandleError("Handle task update pid  event error, update taskInstance to db failed", ex);
-        }
-
+        taskInstance.setStartTime(taskEvent.getStartTime());
+        taskInstance.setHost(taskEvent.getWorkerAddress());
+        taskInstance.setPid(taskEvent.getProcessId());
+        // the ack is sent after the taskInstance is persisted, if persist failed the taskInstance is restored and the
+        // worker will retry this event
+        taskEventBatchPersistService.persist(taskInstance, oldTaskInstance, () -> sendAckToWorker(taskEvent));
     }
 
     private void sendAckToWorker(TaskEvent taskEvent) {
@@ -40,6 +40,14 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the number of new command notifications received by master.
+     */
+    private final Counter masterCommandNotifyCounter =
+            Counter.builder("ds.master.command.notify.count")
+                    .description("Master server received new command notify count")
+                    .register(Metrics.globalRegistry);
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -48,4 +56,8 @@ public class MasterServerMetrics {
         masterConsumeCommandCounter.increment(commandCount);
     }
 
+    public void incMasterCommandNotify() {
+        masterCommandNotifyCounter.increment();
+    }
+
 }
@@ -58,6 +58,11 @@ public class ProcessInstanceMetrics {
                     .description("Process instance generated duration")
                     .register(Metrics.globalRegistry);
 
+    private final Timer commandToInstanceLatencyTimer =
+            Timer.builder("ds.workflow.command.latency")
+                    .description("The latency from command created to process instance generated")
+                    .register(Metrics.globalRegistry);
+
     public void recordCommandQueryTime(long milliseconds) {
         commandQueryTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
@@ -66,6 +71,10 @@ public class ProcessInstanceMetrics {
         processInstanceGenerateTimer.record(milliseconds, TimeUnit.MILLISECONDS);
     }
 
+    public void recordCommandToInstanceLatency(long milliseconds) {
+        commandToInstanceLatencyTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public synchronized void registerProcessInstanceRunningGauge(Supplier<Number> function) {
         Gauge.builder("ds.workflow.instance.running", function)
                 .description("The current running process instance count")
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.cache.CacheExpireRequest;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheManager;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,6 +44,9 @@ public class CacheProcessor implements NettyRequestProcessor {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private WorkflowDagCacheManager workflowDagCacheManager;
+
     @Override
     public void process(Channel channel, Message message) {
         CacheExpireRequest cacheExpireRequest = JSONUtils.parseObject(message.getBody(), CacheExpireRequest.class);
@@ -69,5 +73,6 @@ public class CacheProcessor implements NettyRequestProcessor {
             cache.evict(cacheExpireRequest.getCacheKey());
             log.info("cache evict, type:{}, key:{}", cacheType.getCacheName(), cacheExpireRequest.getCacheKey());
         }
+        workflowDagCacheManager.expire(cacheType, cacheExpireRequest.getCacheKey());
     }
 }
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
@@ -52,8 +51,7 @@ public class TaskExecuteResultProcessor implements NettyRequestProcessor {
      */
     @Override
     public void process(Channel channel, Message message) {
-        TaskExecuteResultMessage taskExecuteResultMessage = JSONUtils.parseObject(message.getBody(),
-                TaskExecuteResultMessage.class);
+        TaskExecuteResultMessage taskExecuteResultMessage = message.parseBody(TaskExecuteResultMessage.class);
         TaskEvent taskResultEvent = TaskEvent.newResultEvent(taskExecuteResultMessage,
                 channel,
                 taskExecuteResultMessage.getMessageSenderAddress());
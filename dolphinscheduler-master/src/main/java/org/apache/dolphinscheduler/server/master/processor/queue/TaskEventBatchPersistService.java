@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Group commit the task instances changed by the worker task events. The changes of one task instance in a batch
+ * window are coalesced into its latest state and flushed in one jdbc batch, the callbacks, e.g. ack the worker and
+ * notify the workflow, are executed after the batch is committed. A failed batch is retried at most
+ * {@link MasterConfig#getTaskEventBatchPersistRetryTimes()} times, then its task instances are restored to the state
+ * before the changes and the callbacks are dropped, the workers will resend the unacked events.
+ */
+@Component
+@Slf4j
+public class TaskEventBatchPersistService {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private final Object lock = new Object();
+
+    /**
+     * task instance id -> the pending changed task instance, guarded by {@link #lock}
+     */
+    private Map<Integer, PendingTaskInstance> pendingTaskInstances = new LinkedHashMap<>();
+
+    /**
+     * task instance id -> the task instance being flushed, guarded by {@link #lock}
+     */
+    private Map<Integer, PendingTaskInstance> flushingTaskInstances = Collections.emptyMap();
+
+    private Thread taskEventPersistThread;
+
+    private volatile boolean stopped = false;
+
+    @PostConstruct
+    public void start() {
+        this.taskEventPersistThread = new TaskEventPersistThread();
+        log.info("TaskEvent batch persist thread starting");
+        this.taskEventPersistThread.start();
+        log.info("TaskEvent batch persist thread started");
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (taskEventPersistThread != null) {
+            taskEventPersistThread.interrupt();
+        }
+        try {
+            flushPendingTaskInstances();
+        } catch (Exception e) {
+            log.error("TaskEvent batch persist service stop error:", e);
+        }
+    }
+
+    /**
+     * Add the changed task instance to the current batch, the afterCommit callback will be executed once the task
+     * instance is persisted.
+     *
+     * @param taskInstance    the changed task instance, will be persisted with the latest state when the batch flushed
+     * @param oldTaskInstance the copy of the task instance before the change, used to restore the task instance if
+     *                        the batch cannot be persisted
+     * @param afterCommit     the callback executed after the task instance is persisted
+     */
+    public void persist(TaskInstance taskInstance, TaskInstance oldTaskInstance, Runnable afterCommit) {
+        synchronized (lock) {
+            // the state before the first pending change is kept, the later changes are based on the earlier ones
+            PendingTaskInstance pendingTaskInstance = pendingTaskInstances.computeIfAbsent(taskInstance.getId(),
+                    taskInstanceId -> new PendingTaskInstance(taskInstance, oldTaskInstance));
+            pendingTaskInstance.taskInstance = taskInstance;
+            pendingTaskInstance.afterCommitCallbacks.add(afterCommit);
+            int pendingSize = pendingTaskInstances.size();
+            if (pendingSize == 1 || pendingSize >= masterConfig.getTaskEventBatchPersistSize()) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Run the callback once the pending changes of the task instance are persisted, or run it right now if the task
+     * instance has no pending change. The callback is dropped with the pending changes if they cannot be persisted.
+     *
+     * @param taskInstanceId task instance id
+     * @param callback       the callback executed after the task instance is persisted
+     */
+    public void runAfterPersisted(int taskInstanceId, Runnable callback) {
+        synchronized (lock) {
+            PendingTaskInstance pendingTaskInstance = pendingTaskInstances.get(taskInstanceId);
+            if (pendingTaskInstance == null) {
+                pendingTaskInstance = flushingTaskInstances.get(taskInstanceId);
+            }
+            if (pendingTaskInstance != null) {
+                pendingTaskInstance.afterCommitCallbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Flush all the pending task instances right now.
+     *
+     * @return true if the pending task instances are persisted
+     */
+    boolean flushPendingTaskInstances() {
+        return flush(pollPendingTaskInstances());
+    }
+
+    /**
+     * Wait until the batch window elapsed or the batch is full, then take all the pending task instances.
+     */
+    private Map<Integer, PendingTaskInstance> takePendingTaskInstances() throws InterruptedException {
+        synchronized (lock) {
+            while (pendingTaskInstances.isEmpty()) {
+                lock.wait();
+            }
+            long deadline = System.currentTimeMillis() + masterConfig.getTaskEventBatchPersistWindow().toMillis();
+            long remaining;
+            while (pendingTaskInstances.size() < masterConfig.getTaskEventBatchPersistSize()
+                    && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                lock.wait(remaining);
+            }
+            return pollPendingTaskInstances();
+        }
+    }
+
+    private Map<Integer, PendingTaskInstance> pollPendingTaskInstances() {
+        synchronized (lock) {
+            Map<Integer, PendingTaskInstance> batch = pendingTaskInstances;
+            pendingTaskInstances = new LinkedHashMap<>();
+            flushingTaskInstances = batch;
+            return batch;
+        }
+    }
+
+    private boolean flush(Map<Integer, PendingTaskInstance> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        List<TaskInstance> taskInstances = batch.values()
+                .stream()
+                .map(pendingTaskInstance -> pendingTaskInstance.taskInstance)
+                .collect(Collectors.toList());
+        try {
+            if (!taskInstanceDao.batchUpdateTaskInstance(taskInstances)) {
+                throw new IllegalStateException("Batch update taskInstance to db failed");
+            }
+        } catch (Exception ex) {
+            log.error("Persist {} task instances error, will retry them in next batch", taskInstances.size(), ex);
+            requeue(batch);
+            restoreExhaustedTaskInstances();
+            return false;
+        }
+        log.debug("Persist {} task instances success", taskInstances.size());
+        synchronized (lock) {
+            // the callbacks of the batch are fixed from now on, the later ones will be executed immediately
+            flushingTaskInstances = Collections.emptyMap();
+        }
+        for (PendingTaskInstance pendingTaskInstance : batch.values()) {
+            TaskInstance taskInstance = pendingTaskInstance.taskInstance;
+            try (
+                    final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
+                            LogUtils.setWorkflowAndTaskInstanceIDMDC(taskInstance.getProcessInstanceId(),
+                                    taskInstance.getId())) {
+                for (Runnable afterCommitCallback : pendingTaskInstance.afterCommitCallbacks) {
+                    try {
+                        afterCommitCallback.run();
+                    } catch (Exception ex) {
+                        log.error("Execute the callback after taskInstance persisted error", ex);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Put the failed task instances back, the callbacks of the failed batch are kept before the newer ones.
+     */
+    private void requeue(Map<Integer, PendingTaskInstance> failedBatch) {
+        synchronized (lock) {
+            failedBatch.values().forEach(pendingTaskInstance -> pendingTaskInstance.failedTimes++);
+            flushingTaskInstances = Collections.emptyMap();
+            Map<Integer, PendingTaskInstance> newerPendingTaskInstances = pendingTaskInstances;
+            pendingTaskInstances = failedBatch;
+            newerPendingTaskInstances.forEach((taskInstanceId, newerPendingTaskInstance) -> {
+                PendingTaskInstance pendingTaskInstance =
+                        pendingTaskInstances.putIfAbsent(taskInstanceId, newerPendingTaskInstance);
+                if (pendingTaskInstance != null) {
+                    pendingTaskInstance.taskInstance = newerPendingTaskInstance.taskInstance;
+                    pendingTaskInstance.afterCommitCallbacks.addAll(newerPendingTaskInstance.afterCommitCallbacks);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove the task instances which exhausted the retry times, they are restored to the state before the changes
+     * and their callbacks are dropped, so the workers will resend the unacked events.
+     */
+    private void restoreExhaustedTaskInstances() {
+        synchronized (lock) {
+            Iterator<PendingTaskInstance> iterator = pendingTaskInstances.values().iterator();
+            while (iterator.hasNext()) {
+                PendingTaskInstance pendingTaskInstance = iterator.next();
+                if (pendingTaskInstance.failedTimes <= masterConfig.getTaskEventBatchPersistRetryTimes()) {
+                    continue;
+                }
+                iterator.remove();
+                TaskInstance taskInstance = pendingTaskInstance.taskInstance;
+                TaskInstanceUtils.copyTaskInstance(pendingTaskInstance.oldTaskInstance, taskInstance);
+                log.error("Persist taskInstance: {} failed {} times, restore it and wait for the worker resend events",
+                        taskInstance.getId(), pendingTaskInstance.failedTimes);
+            }
+        }
+    }
+
+    private static class PendingTaskInstance {
+
+        private TaskInstance taskInstance;
+
+        private final TaskInstance oldTaskInstance;
+
+        private final List<Runnable> afterCommitCallbacks = new ArrayList<>();
+
+        private int failedTimes;
+
+        PendingTaskInstance(TaskInstance taskInstance, TaskInstance oldTaskInstance) {
+            this.taskInstance = taskInstance;
+            this.oldTaskInstance = oldTaskInstance;
+        }
+    }
+
+    /**
+     * Flush the pending task instances every batch window.
+     */
+    class TaskEventPersistThread extends BaseDaemonThread {
+
+        protected TaskEventPersistThread() {
+            super("TaskEventPersistThread");
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                try {
+                    if (!flush(takePendingTaskInstances())) {
+                        ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("TaskEvent batch persist thread interrupted, will return this loop");
+                    break;
+                } catch (Exception e) {
+                    log.error("TaskEvent batch persist thread error", e);
+                }
+            }
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor.queue;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 
@@ -25,7 +24,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -52,8 +50,6 @@ public class TaskEventService {
      */
     private Thread taskEventThread;
 
-    private Thread taskEventHandlerThread;
-
     @Autowired
     private TaskExecuteThreadPool taskExecuteThreadPool;
 
@@ -63,25 +59,19 @@ public class TaskEventService {
         log.info("TaskEvent dispatch thread starting");
         this.taskEventThread.start();
         log.info("TaskEvent dispatch thread started");
-
-        this.taskEventHandlerThread = new TaskEventHandlerThread();
-        log.info("TaskEvent handle thread staring");
-        this.taskEventHandlerThread.start();
-        log.info("TaskEvent handle thread started");
     }
 
     @PreDestroy
     public void stop() {
         try {
             this.taskEventThread.interrupt();
-            this.taskEventHandlerThread.interrupt();
             if (!eventQueue.isEmpty()) {
                 List<TaskEvent> remainEvents = new ArrayList<>(eventQueue.size());
                 eventQueue.drainTo(remainEvents);
+                // the submitted events are executed immediately, no need to trigger the handling again
                 for (TaskEvent taskEvent : remainEvents) {
                     taskExecuteThreadPool.submitTaskEvent(taskEvent);
                 }
-                taskExecuteThreadPool.eventHandler();
             }
         } catch (Exception e) {
             log.error("TaskEventService stop error:", e);
@@ -98,7 +88,7 @@ public class TaskEventService {
     }
 
     /**
-     * Dispatch event to target task runnable.
+     * Dispatch event to target task runnable, the runnable will be executed once it receives the event.
      */
     class TaskEventDispatchThread extends BaseDaemonThread {
 
@@ -123,31 +113,4 @@ public class TaskEventService {
             log.info("StateEventResponseWorker stopped");
         }
     }
-
-    /**
-     * event handler thread
-     */
-    class TaskEventHandlerThread extends BaseDaemonThread {
-
-        protected TaskEventHandlerThread() {
-            super("TaskEventHandlerThread");
-        }
-
-        @Override
-        public void run() {
-            log.info("event handler thread started");
-            while (!ServerLifeCycleManager.isStopped()) {
-                try {
-                    taskExecuteThreadPool.eventHandler();
-                    TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("TaskEvent handle thread interrupted, will return this loop");
-                    break;
-                } catch (Exception e) {
-                    log.error("event handler thread error", e);
-                }
-            }
-        }
-    }
 }
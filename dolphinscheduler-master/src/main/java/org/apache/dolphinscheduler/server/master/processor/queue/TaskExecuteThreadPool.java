@@ -87,12 +87,8 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
         }
         TaskExecuteRunnable taskExecuteRunnable = taskExecuteThreadMap.computeIfAbsent(taskEvent.getProcessInstanceId(),
                 (processInstanceId) -> new TaskExecuteRunnable(processInstanceId, taskEventHandlerMap));
-        taskExecuteRunnable.addEvent(taskEvent);
-    }
-
-    public void eventHandler() {
-        for (TaskExecuteRunnable taskExecuteThread : taskExecuteThreadMap.values()) {
-            executeEvent(taskExecuteThread);
+        if (taskExecuteRunnable.addEvent(taskEvent)) {
+            executeEvent(taskExecuteRunnable);
         }
     }
 
@@ -100,10 +96,10 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
         if (taskExecuteThread.isEmpty()) {
             return;
         }
-        if (multiThreadFilterMap.containsKey(taskExecuteThread.getKey())) {
+        if (multiThreadFilterMap.putIfAbsent(taskExecuteThread.getKey(), taskExecuteThread) != null) {
+            // the events added during the handling will be handled after the handling finished
             return;
         }
-        multiThreadFilterMap.put(taskExecuteThread.getKey(), taskExecuteThread);
         ListenableFuture future = this.submitListenable(taskExecuteThread::run);
         future.addCallback(new ListenableFutureCallback() {
 
@@ -118,6 +114,7 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
                             processInstanceId);
                 }
                 multiThreadFilterMap.remove(taskExecuteThread.getKey());
+                executeEvent(taskExecuteThread);
             }
 
             @Override
@@ -131,6 +128,7 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
                             processInstanceId);
                 }
                 multiThreadFilterMap.remove(taskExecuteThread.getKey());
+                executeEvent(taskExecuteThread);
             }
         });
     }
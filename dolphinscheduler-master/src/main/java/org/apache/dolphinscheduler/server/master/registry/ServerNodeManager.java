@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.registry;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.model.MasterHeartBeat;
 import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -32,6 +33,10 @@ import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.registry.assign.CommandAssignProperties;
+import org.apache.dolphinscheduler.server.master.registry.assign.CommandAssignStrategy;
+import org.apache.dolphinscheduler.server.master.registry.assign.ConsistentHashCommandAssignStrategy;
+import org.apache.dolphinscheduler.server.master.registry.assign.SlotCommandAssignStrategy;
 import org.apache.dolphinscheduler.service.queue.MasterPriorityQueue;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -42,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -113,6 +119,13 @@ public class ServerNodeManager implements InitializingBean {
 
     private volatile int totalSlot = 0;
 
+    private volatile CommandAssignStrategy commandAssignStrategy;
+
+    /**
+     * master address -> the latest heartbeat of the master
+     */
+    private final Map<String, MasterHeartBeat> masterHeartBeats = new ConcurrentHashMap<>();
+
     public int getSlot() {
         return currentSlot;
     }
@@ -121,8 +134,39 @@ public class ServerNodeManager implements InitializingBean {
         return totalSlot;
     }
 
+    public CommandAssignStrategy getCommandAssignStrategy() {
+        return commandAssignStrategy;
+    }
+
+    /**
+     * @return true if the command belongs to the current master
+     */
+    public boolean isCommandOwner(int commandId) {
+        return commandAssignStrategy.isOwner(commandId);
+    }
+
+    /**
+     * Find the busiest other master whose reported command queue depth is not less than the threshold, the heartbeat
+     * which is not reported in three heartbeat intervals is ignored.
+     *
+     * @param threshold the min command queue depth
+     * @return the busiest master address
+     */
+    public Optional<String> findBusiestMaster(int threshold) {
+        long expireTime = System.currentTimeMillis() - masterConfig.getHeartbeatInterval().toMillis() * 3;
+        return masterHeartBeats.entrySet()
+                .stream()
+                .filter(entry -> !entry.getKey().equals(masterConfig.getMasterAddress()))
+                .filter(entry -> commandAssignStrategy.getMasters().contains(entry.getKey()))
+                .filter(entry -> entry.getValue().getReportTime() >= expireTime)
+                .filter(entry -> entry.getValue().getCommandQueueDepth() >= threshold)
+                .max(Comparator.comparingInt(entry -> entry.getValue().getCommandQueueDepth()))
+                .map(Map.Entry::getKey);
+    }
+
     @Override
     public void afterPropertiesSet() {
+        this.commandAssignStrategy = createCommandAssignStrategy(masterConfig.getCommandAssign());
 
         // load nodes from zookeeper
         updateMasterNodes();
@@ -141,6 +185,18 @@ public class ServerNodeManager implements InitializingBean {
         registryClient.subscribe(RegistryNodeType.WORKER.getRegistryPath(), new WorkerDataListener());
     }
 
+    private CommandAssignStrategy createCommandAssignStrategy(CommandAssignProperties commandAssignProperties) {
+        switch (commandAssignProperties.getStrategy()) {
+            case SLOT:
+                return new SlotCommandAssignStrategy();
+            case CONSISTENT_HASH:
+                return new ConsistentHashCommandAssignStrategy(commandAssignProperties.getVirtualNodes());
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported command assign strategy: " + commandAssignProperties.getStrategy());
+        }
+    }
+
     class WorkerNodeInfoAndGroupDbSyncTask implements Runnable {
 
         @Override
@@ -221,6 +277,11 @@ public class ServerNodeManager implements InitializingBean {
                         updateMasterNodes();
                         alertDao.sendServerStoppedAlert(1, path, "MASTER");
                     }
+                    if (type.equals(Type.UPDATE) && StringUtils.isNotEmpty(event.data())) {
+                        String masterAddress = path.substring(path.lastIndexOf("/") + 1);
+                        masterHeartBeats.put(masterAddress,
+                                JSONUtils.parseObject(event.data(), MasterHeartBeat.class));
+                    }
                 } catch (Exception ex) {
                     log.error("MasterNodeListener capture data change and get data failed.", ex);
                 }
@@ -238,6 +299,7 @@ public class ServerNodeManager implements InitializingBean {
             Collection<String> currentNodes = registryClient.getMasterNodesDirectly();
             List<Server> masterNodeList = registryClient.getServerList(RegistryNodeType.MASTER);
             syncMasterNodes(currentNodes, masterNodeList);
+            syncMasterHeartBeats(registryClient.getServerMaps(RegistryNodeType.MASTER));
         } catch (Exception e) {
             log.error("update master nodes error", e);
         } finally {
@@ -289,6 +351,16 @@ public class ServerNodeManager implements InitializingBean {
         }
     }
 
+    private void syncMasterHeartBeats(Map<String, String> masterHeartBeatMaps) {
+        masterHeartBeats.keySet().retainAll(masterHeartBeatMaps.keySet());
+        masterHeartBeatMaps.forEach((masterAddress, heartBeatJson) -> {
+            MasterHeartBeat masterHeartBeat = JSONUtils.parseObject(heartBeatJson, MasterHeartBeat.class);
+            if (masterHeartBeat != null) {
+                masterHeartBeats.put(masterAddress, masterHeartBeat);
+            }
+        });
+    }
+
     /**
      * sync master nodes
      *
@@ -307,7 +379,12 @@ public class ServerNodeManager implements InitializingBean {
             } else {
                 log.warn("Current master is not in active master list");
             }
-            log.info("Update master nodes, total master size: {}, current slot: {}", totalSlot, currentSlot);
+            List<String> masterAddresses = nodes.stream()
+                    .sorted(Comparator.comparingInt(masterPriorityQueue::getIndex))
+                    .collect(Collectors.toList());
+            commandAssignStrategy.updateMasters(masterAddresses, masterConfig.getMasterAddress());
+            log.info("Update master nodes, total master size: {}, current slot: {}, owned command buckets: {}",
+                    totalSlot, currentSlot, commandAssignStrategy.getOwnedBuckets().size());
         } finally {
             masterLock.unlock();
         }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry.assign;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public abstract class AbstractCommandAssignStrategy implements CommandAssignStrategy {
+
+    private volatile Assignment assignment = new Assignment(0, Collections.emptyMap(), null);
+
+    @Override
+    public void updateMasters(List<String> masterAddresses, String currentMasterAddress) {
+        if (masterAddresses.isEmpty()) {
+            assignment = new Assignment(0, Collections.emptyMap(), currentMasterAddress);
+            return;
+        }
+        assignment = new Assignment(getBucketCount(masterAddresses), Collections.unmodifiableMap(
+                assignBuckets(masterAddresses)), currentMasterAddress);
+    }
+
+    /**
+     * @return the bucket count of the given masters
+     */
+    protected abstract int getBucketCount(List<String> masterAddresses);
+
+    /**
+     * @return master address -> the buckets owned by the master, all the buckets should be assigned
+     */
+    protected abstract Map<String, Set<Integer>> assignBuckets(List<String> masterAddresses);
+
+    @Override
+    public int getBucketCount() {
+        return assignment.bucketCount;
+    }
+
+    @Override
+    public Set<Integer> getBuckets(String masterAddress) {
+        return assignment.masterBuckets.getOrDefault(masterAddress, Collections.emptySet());
+    }
+
+    @Override
+    public Set<Integer> getOwnedBuckets() {
+        Assignment current = assignment;
+        return current.masterBuckets.getOrDefault(current.currentMasterAddress, Collections.emptySet());
+    }
+
+    @Override
+    public Set<String> getMasters() {
+        return assignment.masterBuckets.keySet();
+    }
+
+    @Override
+    public boolean isOwner(int commandId) {
+        Assignment current = assignment;
+        if (current.bucketCount <= 0) {
+            return false;
+        }
+        return current.masterBuckets.getOrDefault(current.currentMasterAddress, Collections.emptySet())
+                .contains(commandId % current.bucketCount);
+    }
+
+    private static class Assignment {
+
+        private final int bucketCount;
+
+        private final Map<String, Set<Integer>> masterBuckets;
+
+        private final String currentMasterAddress;
+
+        Assignment(int bucketCount, Map<String, Set<Integer>> masterBuckets, String currentMasterAddress) {
+            this.bucketCount = bucketCount;
+            this.masterBuckets = masterBuckets;
+            this.currentMasterAddress = currentMasterAddress;
+        }
+    }
+}
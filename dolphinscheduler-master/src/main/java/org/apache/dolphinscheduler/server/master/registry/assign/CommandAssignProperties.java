@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry.assign;
+
+import lombok.Data;
+
+@Data
+public class CommandAssignProperties {
+
+    /**
+     * The strategy to assign the commands to the masters, all the masters should use the same strategy.
+     */
+    private CommandAssignStrategyType strategy = CommandAssignStrategyType.CONSISTENT_HASH;
+
+    /**
+     * The virtual node number of each master on the consistent hash ring.
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * Whether an idle master steals the commands from the busy master.
+     */
+    private boolean workStealing = true;
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry.assign;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Assign the commands to the masters. The commands are split into buckets by command id % bucket count, and each
+ * bucket is owned by one master, so the master can fetch its commands by the buckets from database.
+ */
+public interface CommandAssignStrategy {
+
+    /**
+     * Reassign the buckets after the master membership changed.
+     *
+     * @param masterAddresses      the active masters, ordered by the master slot
+     * @param currentMasterAddress the current master
+     */
+    void updateMasters(List<String> masterAddresses, String currentMasterAddress);
+
+    /**
+     * @return the bucket count, 0 means there is no active master
+     */
+    int getBucketCount();
+
+    /**
+     * @return the buckets owned by the given master, empty if the master is not active
+     */
+    Set<Integer> getBuckets(String masterAddress);
+
+    /**
+     * @return the buckets owned by the current master
+     */
+    Set<Integer> getOwnedBuckets();
+
+    /**
+     * @return the active masters
+     */
+    Set<String> getMasters();
+
+    /**
+     * @return true if the command belongs to the current master
+     */
+    boolean isOwner(int commandId);
+}
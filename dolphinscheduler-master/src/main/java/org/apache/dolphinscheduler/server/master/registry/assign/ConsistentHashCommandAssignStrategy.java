@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry.assign;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * The commands are split into {@link #BUCKET_COUNT} buckets, each bucket is owned by the first virtual node clockwise
+ * on the hash ring. When a master joins or leaves, only the buckets next to its virtual nodes change owner.
+ */
+public class ConsistentHashCommandAssignStrategy extends AbstractCommandAssignStrategy {
+
+    /**
+     * The bucket count should be same in all the masters, so it is not configurable.
+     */
+    public static final int BUCKET_COUNT = 1024;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final int virtualNodes;
+
+    public ConsistentHashCommandAssignStrategy(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    @Override
+    protected int getBucketCount(List<String> masterAddresses) {
+        return BUCKET_COUNT;
+    }
+
+    @Override
+    protected Map<String, Set<Integer>> assignBuckets(List<String> masterAddresses) {
+        TreeMap<Long, String> hashRing = new TreeMap<>();
+        for (String masterAddress : masterAddresses) {
+            for (int i = 0; i < virtualNodes; i++) {
+                hashRing.put(hash(masterAddress + "#" + i), masterAddress);
+            }
+        }
+        Map<String, Set<Integer>> masterBuckets = new HashMap<>();
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            Map.Entry<Long, String> virtualNode = hashRing.ceilingEntry(hash("bucket#" + bucket));
+            if (virtualNode == null) {
+                virtualNode = hashRing.firstEntry();
+            }
+            masterBuckets.computeIfAbsent(virtualNode.getValue(), master -> new HashSet<>()).add(bucket);
+        }
+        masterBuckets.replaceAll((master, buckets) -> Collections.unmodifiableSet(buckets));
+        return masterBuckets;
+    }
+
+    private static long hash(String key) {
+        return HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8).asLong();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry.assign;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Each master owns one bucket, the bucket count is the master size.
+ */
+public class SlotCommandAssignStrategy extends AbstractCommandAssignStrategy {
+
+    @Override
+    protected int getBucketCount(List<String> masterAddresses) {
+        return masterAddresses.size();
+    }
+
+    @Override
+    protected Map<String, Set<Integer>> assignBuckets(List<String> masterAddresses) {
+        Map<String, Set<Integer>> masterBuckets = new HashMap<>();
+        for (int slot = 0; slot < masterAddresses.size(); slot++) {
+            masterBuckets.put(masterAddresses.get(slot), Collections.singleton(slot));
+        }
+        return masterBuckets;
+    }
+}
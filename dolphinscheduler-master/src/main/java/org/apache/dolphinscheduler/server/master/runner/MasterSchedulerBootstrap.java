@@ -27,10 +27,11 @@ import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
@@ -39,6 +40,7 @@ import org.apache.dolphinscheduler.server.master.exception.MasterException;
 import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
 import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.master.registry.assign.CommandAssignStrategy;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.command.CommandService;
@@ -50,9 +52,17 @@ import org.apache.commons.collections4.CollectionUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadPoolExecutor;
-
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -78,7 +88,13 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     private TaskInstanceDao taskInstanceDao;
 
     @Autowired
-    private TaskDefinitionLogDao taskDefinitionLogDao;
+    private WorkflowDagCacheManager workflowDagCacheManager;
+
+    @Autowired
+    private DependentResultCacheManager dependentResultCacheManager;
+
+    @Autowired
+    private TaskGroupCoordinator taskGroupCoordinator;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -90,9 +106,14 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     private MasterRpcClient masterRpcClient;
 
     /**
-     * master prepare exec service
+     * master prepare exec service, used to transform the command to workflow instance
      */
-    private ThreadPoolExecutor masterPrepareExecService;
+    private ExecutorService masterPrepareExecService;
+
+    /**
+     * used to create the workflow runnable of the transformed workflow instance
+     */
+    private ExecutorService workflowCreateExecService;
 
     @Autowired
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
@@ -112,8 +133,47 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private ServerNodeManager serverNodeManager;
 
+    @Autowired
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
     private String masterAddress;
 
+    /**
+     * Signal released when receive a new command notify which belongs to the current master slot.
+     */
+    private final Semaphore commandNotifySignal = new Semaphore(0);
+
+    /**
+     * The commands which have passed the slot check, waiting to be transformed to workflow instances.
+     */
+    private final BlockingQueue<Command> commandTransformQueue = new LinkedBlockingQueue<>();
+
+    /**
+     * The workflow instances which have been transformed, waiting to create the workflow runnable.
+     */
+    private final BlockingQueue<TransformedCommand> workflowCreateQueue = new LinkedBlockingQueue<>();
+
+    /**
+     * The commands which have been fetched but not finished the transform yet.
+     */
+    private final Set<Integer> inFlightCommandIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The commands which have been finished, but may still be returned by a command page query which started before
+     * the command is removed from the database, they are kept until the next query starts.
+     */
+    private final Set<Integer> finishedCommandIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The in flight commands which are stolen from the other busy master.
+     */
+    private final Set<Integer> stolenCommandIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The current interval to wait for command notify, will back off exponentially when there is no command.
+     */
+    private long commandFetchIdleInterval = Constants.SLEEP_TIME_MILLIS_SHORT;
+
     protected MasterSchedulerBootstrap() {
         super("MasterCommandLoopThread");
     }
@@ -122,14 +182,19 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
      * constructor of MasterSchedulerService
      */
     public void init() {
-        this.masterPrepareExecService = (ThreadPoolExecutor) ThreadUtils
-                .newDaemonFixedThreadExecutor("MasterPreExecThread", masterConfig.getPreExecThreads());
+        this.masterPrepareExecService = ThreadUtils
+                .newDaemonFixedThreadExecutor("MasterPreExecThread-%d", masterConfig.getPreExecThreads());
+        this.workflowCreateExecService = ThreadUtils.newDaemonFixedThreadExecutor("MasterWorkflowCreateThread", 1);
         this.masterAddress = NetUtils.getAddr(masterConfig.getListenPort());
     }
 
     @Override
     public synchronized void start() {
         log.info("Master schedule bootstrap starting..");
+        for (int i = 0; i < masterConfig.getPreExecThreads(); i++) {
+            masterPrepareExecService.execute(this::transformCommandLoop);
+        }
+        workflowCreateExecService.execute(this::createWorkflowLoop);
         super.start();
         workflowEventLooper.start();
         log.info("Master schedule bootstrap started...");
@@ -138,6 +203,12 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Override
     public void close() {
         log.info("Master schedule bootstrap stopping...");
+        if (masterPrepareExecService != null) {
+            masterPrepareExecService.shutdownNow();
+        }
+        if (workflowCreateExecService != null) {
+            workflowCreateExecService.shutdownNow();
+        }
         log.info("Master schedule bootstrap stopped...");
     }
 
@@ -154,7 +225,6 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                             this.masterAddress);
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 boolean isOverload =
                         OSUtils.isOverload(masterConfig.getMaxCpuLoadAvg(), masterConfig.getReservedMemory());
                 if (isOverload) {
@@ -163,46 +233,23 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = findCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                if (isBackPressure()) {
+                    // the downstream stages cannot keep up, stop fetching until they drain
+                    log.debug("The current server {} is back pressured, inFlightCommandSize: {}, "
+                            + "workflowEventQueueSize: {}", this.masterAddress, inFlightCommandIds.size(),
+                            workflowEventQueue.size());
+                    commandNotifySignal.tryAcquire(Constants.SLEEP_TIME_MILLIS_SHORT, TimeUnit.MILLISECONDS);
                     continue;
                 }
-
-                List<ProcessInstance> processInstances = command2ProcessInstance(commands);
-                if (CollectionUtils.isEmpty(processInstances)) {
-                    // indicate that the command transform to processInstance error, sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                List<Command> commands = findCommands();
+                if (CollectionUtils.isEmpty(commands)) {
+                    // indicate that no command, wait until receive a command notify or the idle interval elapsed
+                    waitCommandNotify();
                     continue;
                 }
+                commandFetchIdleInterval = Constants.SLEEP_TIME_MILLIS_SHORT;
                 MasterServerMetrics.incMasterConsumeCommand(commands.size());
-
-                processInstances.forEach(processInstance -> {
-                    try {
-                        LogUtils.setWorkflowInstanceIdMDC(processInstance.getId());
-                        if (processInstanceExecCacheManager.contains(processInstance.getId())) {
-                            log.error(
-                                    "The workflow instance is already been cached, this case shouldn't be happened");
-                        }
-                        WorkflowExecuteRunnable workflowRunnable = new WorkflowExecuteRunnable(processInstance,
-                                commandService,
-                                processService,
-                                processInstanceDao,
-                                masterRpcClient,
-                                processAlertManager,
-                                masterConfig,
-                                stateWheelExecuteThread,
-                                curingGlobalParamsService,
-                                taskInstanceDao,
-                                taskDefinitionLogDao);
-                        processInstanceExecCacheManager.cache(processInstance.getId(), workflowRunnable);
-                        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW,
-                                processInstance.getId()));
-                    } finally {
-                        LogUtils.removeWorkflowInstanceIdMDC();
-                    }
-                });
+                commands.forEach(this::submitCommand);
             } catch (InterruptedException interruptedException) {
                 log.warn("Master schedule bootstrap interrupted, close the loop", interruptedException);
                 Thread.currentThread().interrupt();
@@ -215,67 +262,237 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         }
     }
 
-    private List<ProcessInstance> command2ProcessInstance(List<Command> commands) throws InterruptedException {
-        long commandTransformStartTime = System.currentTimeMillis();
-        log.info("Master schedule bootstrap transforming command to ProcessInstance, commandSize: {}",
-                commands.size());
-        List<ProcessInstance> processInstances = Collections.synchronizedList(new ArrayList<>(commands.size()));
-        CountDownLatch latch = new CountDownLatch(commands.size());
-        for (final Command command : commands) {
-            masterPrepareExecService.execute(() -> {
-                try {
-                    // Note: this check is not safe, the slot may change after command transform.
-                    // We use the database transaction in `handleCommand` so that we can guarantee the command will
-                    // always be executed
-                    // by only one master
-                    SlotCheckState slotCheckState = slotCheck(command);
-                    if (slotCheckState.equals(SlotCheckState.CHANGE) || slotCheckState.equals(SlotCheckState.INJECT)) {
-                        log.info("Master handle command {} skip, slot check state: {}", command.getId(),
-                                slotCheckState);
-                        return;
-                    }
-                    ProcessInstance processInstance = processService.handleCommand(masterAddress, command);
-                    if (processInstance != null) {
-                        processInstances.add(processInstance);
-                        log.info("Master handle command {} end, create process instance {}", command.getId(),
-                                processInstance.getId());
-                    }
-                } catch (Exception e) {
-                    log.error("Master handle command {} error ", command.getId(), e);
-                    commandService.moveToErrorCommand(command, e.toString());
-                } finally {
-                    latch.countDown();
+    /**
+     * Notify the master that a new command has been created, if the command belongs to the current master slot, the
+     * command loop will be woken up immediately.
+     *
+     * @param commandId the new created command id
+     */
+    public void notifyCommand(int commandId) {
+        if (serverNodeManager.getMasterSize() > 0 && !serverNodeManager.isCommandOwner(commandId)) {
+            return;
+        }
+        wakeUpCommandLoop();
+    }
+
+    /**
+     * The commands fetched but not started yet, reported in the master heartbeat so that the idle masters can steal
+     * commands from this master when it is back pressured.
+     */
+    public int getCommandQueueDepth() {
+        return inFlightCommandIds.size() + workflowEventQueue.size();
+    }
+
+    long getCommandFetchIdleInterval() {
+        return commandFetchIdleInterval;
+    }
+
+    int getCommandTransformQueueSize() {
+        return commandTransformQueue.size();
+    }
+
+    int getFinishedCommandSize() {
+        return finishedCommandIds.size();
+    }
+
+    private void wakeUpCommandLoop() {
+        // we only need one permit to wake up the command loop
+        if (commandNotifySignal.availablePermits() == 0) {
+            commandNotifySignal.release();
+        }
+    }
+
+    void waitCommandNotify() throws InterruptedException {
+        if (commandNotifySignal.tryAcquire(commandFetchIdleInterval, TimeUnit.MILLISECONDS)) {
+            commandNotifySignal.drainPermits();
+            commandFetchIdleInterval = Constants.SLEEP_TIME_MILLIS_SHORT;
+            return;
+        }
+        commandFetchIdleInterval =
+                Math.min(commandFetchIdleInterval * 2, masterConfig.getCommandFetchMaxIdleInterval().toMillis());
+    }
+
+    /**
+     * The commands in flight and the workflow events waiting to be handled are both bounded by the fetch size, so the
+     * fetch stage never runs ahead of the slowest downstream stage.
+     */
+    private boolean isBackPressure() {
+        int capacity = masterConfig.getFetchCommandNum();
+        return inFlightCommandIds.size() >= capacity || workflowEventQueue.size() >= capacity;
+    }
+
+    /**
+     * Submit the command which passes the slot check to the transform stage, the command is in flight until its
+     * workflow runnable has been created or it has been moved to error command.
+     */
+    void submitCommand(Command command) {
+        // Note: this check is not safe, the slot may change after command transform.
+        // We use the database transaction in `handleCommand` so that we can guarantee the command will
+        // always be executed
+        // by only one master
+        SlotCheckState slotCheckState = slotCheck(command);
+        if (slotCheckState.equals(SlotCheckState.CHANGE) || slotCheckState.equals(SlotCheckState.INJECT)) {
+            log.info("Master handle command {} skip, slot check state: {}", command.getId(), slotCheckState);
+            return;
+        }
+        if (!inFlightCommandIds.add(command.getId())) {
+            return;
+        }
+        commandTransformQueue.add(command);
+    }
+
+    /**
+     * The transform stage, run by each prepare thread, one slow command only holds its own thread.
+     */
+    private void transformCommandLoop() {
+        while (!ServerLifeCycleManager.isStopped()) {
+            Command command;
+            try {
+                command = commandTransformQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (command == null) {
+                continue;
+            }
+            try {
+                ProcessInstance processInstance = transformCommand(command);
+                if (processInstance != null) {
+                    workflowCreateQueue.add(new TransformedCommand(command.getId(), processInstance));
+                    continue;
                 }
-            });
+            } catch (Exception e) {
+                log.error("Master transform command {} error", command.getId(), e);
+            }
+            finishCommand(command.getId());
+        }
+    }
+
+    /**
+     * The workflow create stage, create the workflow runnable and hand it to the workflow event queue.
+     */
+    private void createWorkflowLoop() {
+        while (!ServerLifeCycleManager.isStopped()) {
+            TransformedCommand transformedCommand;
+            try {
+                transformedCommand = workflowCreateQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (transformedCommand == null) {
+                continue;
+            }
+            try {
+                startWorkflow(transformedCommand.getProcessInstance());
+            } catch (Exception e) {
+                log.error("Master start workflow by command {} error", transformedCommand.getCommandId(), e);
+            } finally {
+                finishCommand(transformedCommand.getCommandId());
+            }
         }
+    }
+
+    void finishCommand(int commandId) {
+        // add to the finished set first, so the command is always filtered by the next page query
+        finishedCommandIds.add(commandId);
+        inFlightCommandIds.remove(commandId);
+        stolenCommandIds.remove(commandId);
+        wakeUpCommandLoop();
+    }
 
-        // make sure to finish handling command each time before next scan
-        latch.await();
-        log.info(
-                "Master schedule bootstrap transformed command to ProcessInstance, commandSize: {}, processInstanceSize: {}",
-                commands.size(), processInstances.size());
+    private ProcessInstance transformCommand(Command command) {
+        long commandTransformStartTime = System.currentTimeMillis();
+        ProcessInstance processInstance;
+        try {
+            if (commandService.splitComplementPlanCommand(command)) {
+                // the split complement commands will be fetched by the next poll
+                return null;
+            }
+            processInstance = processService.handleCommand(masterAddress, command);
+            if (processInstance == null) {
+                return null;
+            }
+            log.info("Master handle command {} end, create process instance {}", command.getId(),
+                    processInstance.getId());
+        } catch (Exception e) {
+            if (!commandService.isCommandExist(command.getId())) {
+                // the command has been handled by another master, e.g. the owner of a stolen command
+                log.warn("Master handle command {} skip, the command has been handled by another master",
+                        command.getId());
+                return null;
+            }
+            log.error("Master handle command {} error ", command.getId(), e);
+            commandService.moveToErrorCommand(command, e.toString());
+            return null;
+        }
         ProcessInstanceMetrics
                 .recordProcessInstanceGenerateTime(System.currentTimeMillis() - commandTransformStartTime);
-        return processInstances;
+        if (command.getStartTime() != null) {
+            // the start time of the command is its creation time, the update time changes when the command is reused
+            ProcessInstanceMetrics
+                    .recordCommandToInstanceLatency(System.currentTimeMillis() - command.getStartTime().getTime());
+        }
+        return processInstance;
+    }
+
+    private void startWorkflow(ProcessInstance processInstance) {
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstance.getId());
+            if (processInstanceExecCacheManager.contains(processInstance.getId())) {
+                log.error("The workflow instance is already been cached, this case shouldn't be happened");
+            }
+            WorkflowExecuteRunnable workflowRunnable = new WorkflowExecuteRunnable(processInstance,
+                    commandService,
+                    processService,
+                    processInstanceDao,
+                    masterRpcClient,
+                    processAlertManager,
+                    masterConfig,
+                    stateWheelExecuteThread,
+                    curingGlobalParamsService,
+                    taskInstanceDao,
+                    workflowDagCacheManager,
+                    dependentResultCacheManager,
+                    taskGroupCoordinator,
+                    workflowExecuteThreadPool);
+            processInstanceExecCacheManager.cache(processInstance.getId(), workflowRunnable);
+            workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW,
+                    processInstance.getId()));
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
+        }
     }
 
-    private List<Command> findCommands() throws MasterException {
+    List<Command> findCommands() throws MasterException {
         try {
             long scheduleStartTime = System.currentTimeMillis();
-            int thisMasterSlot = serverNodeManager.getSlot();
-            int masterCount = serverNodeManager.getMasterSize();
-            if (masterCount <= 0) {
-                log.warn("Master count: {} is invalid, the current slot: {}", masterCount, thisMasterSlot);
+            CommandAssignStrategy commandAssignStrategy = serverNodeManager.getCommandAssignStrategy();
+            int bucketCount = commandAssignStrategy.getBucketCount();
+            Set<Integer> ownedBuckets = commandAssignStrategy.getOwnedBuckets();
+            if (bucketCount <= 0 || ownedBuckets.isEmpty()) {
+                log.warn("The current master doesn't own any command bucket, bucket count: {}", bucketCount);
                 return Collections.emptyList();
             }
-            int pageSize = masterConfig.getFetchCommandNum();
-            final List<Command> result =
-                    commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+            // the commands finished before this query have been removed from the database, this query won't
+            // return them, the ones finished during this query are kept until the next query
+            List<Integer> committedCommandIds = new ArrayList<>(finishedCommandIds);
+            // the in flight commands are still in the database, fetch more to skip them
+            int pageSize = masterConfig.getFetchCommandNum() + inFlightCommandIds.size() + finishedCommandIds.size();
+            List<Command> result =
+                    filterHandlingCommands(
+                            commandService.findCommandPageByBuckets(pageSize, bucketCount, ownedBuckets, false));
+            if (result.isEmpty() && inFlightCommandIds.isEmpty()
+                    && masterConfig.getCommandAssign().isWorkStealing()) {
+                result = stealCommands(commandAssignStrategy);
+            }
+            committedCommandIds.forEach(finishedCommandIds::remove);
             if (CollectionUtils.isNotEmpty(result)) {
                 long cost = System.currentTimeMillis() - scheduleStartTime;
                 log.info(
-                        "Master schedule bootstrap loop command success, fetch command size: {}, cost: {}ms, current slot: {}, total slot size: {}",
-                        result.size(), cost, thisMasterSlot, masterCount);
+                        "Master schedule bootstrap loop command success, fetch command size: {}, cost: {}ms, owned bucket size: {}, total bucket size: {}",
+                        result.size(), cost, ownedBuckets.size(), bucketCount);
                 ProcessInstanceMetrics.recordCommandQueryTime(cost);
             }
             return result;
@@ -284,13 +501,39 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         }
     }
 
+    /**
+     * Steal the commands from the tail of the busiest master whose reported queue depth reaches the fetch size, which
+     * means it is back pressured and cannot fetch its commands now. At most half of the fetch size is stolen each time,
+     * so the busy master still handles the head of its command queue.
+     */
+    private List<Command> stealCommands(CommandAssignStrategy commandAssignStrategy) {
+        Optional<String> busiestMaster = serverNodeManager.findBusiestMaster(masterConfig.getFetchCommandNum());
+        if (!busiestMaster.isPresent()) {
+            return Collections.emptyList();
+        }
+        Set<Integer> buckets = commandAssignStrategy.getBuckets(busiestMaster.get());
+        int pageSize = Math.max(1, masterConfig.getFetchCommandNum() / 2);
+        List<Command> stolenCommands = filterHandlingCommands(commandService.findCommandPageByBuckets(pageSize,
+                commandAssignStrategy.getBucketCount(), buckets, true));
+        if (!stolenCommands.isEmpty()) {
+            log.info("Steal {} commands from the busy master {}", stolenCommands.size(), busiestMaster.get());
+            stolenCommands.forEach(command -> stolenCommandIds.add(command.getId()));
+        }
+        return stolenCommands;
+    }
+
+    private List<Command> filterHandlingCommands(List<Command> commands) {
+        return commands.stream()
+                .filter(command -> !inFlightCommandIds.contains(command.getId())
+                        && !finishedCommandIds.contains(command.getId()))
+                .collect(Collectors.toList());
+    }
+
     private SlotCheckState slotCheck(Command command) {
-        int slot = serverNodeManager.getSlot();
-        int masterSize = serverNodeManager.getMasterSize();
         SlotCheckState state;
-        if (masterSize <= 0) {
+        if (serverNodeManager.getCommandAssignStrategy().getBucketCount() <= 0) {
             state = SlotCheckState.CHANGE;
-        } else if (command.getId() % masterSize == slot) {
+        } else if (serverNodeManager.isCommandOwner(command.getId()) || stolenCommandIds.contains(command.getId())) {
             state = SlotCheckState.PASS;
         } else {
             state = SlotCheckState.INJECT;
@@ -298,4 +541,11 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         return state;
     }
 
+    @Value
+    private static class TransformedCommand {
+
+        int commandId;
+
+        ProcessInstance processInstance;
+    }
 }
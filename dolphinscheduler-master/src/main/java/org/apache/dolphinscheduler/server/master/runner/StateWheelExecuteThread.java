@@ -21,24 +21,26 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
-import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
 
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -47,36 +49,45 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
 /**
  * Check thread
  * 1. timeout task check
  * 2. dependent task state check
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * All the checks are scheduled in a hashed timing wheel at their due time, each tick only touches the checks which are
+ * actually due, and a check can be cancelled in O(1) by its key.
  */
 @Component
 @Slf4j
-public class StateWheelExecuteThread extends BaseDaemonThread {
+public class StateWheelExecuteThread {
+
+    private static final int TICKS_PER_WHEEL = 512;
 
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * ProcessInstance timeout check list, key is the processInstanceId.
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Timeout> processInstanceTimeoutCheckList = new ConcurrentHashMap<>();
 
     /**
      * task time out check list
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceTimeoutCheckList = new ConcurrentHashMap<>();
 
     /**
      * task retry check list
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceRetryCheckList = new ConcurrentHashMap<>();
 
     /**
      * task state check list
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceStateCheckList = new ConcurrentLinkedQueue<>();
+    private final Map<TaskInstanceKey, Timeout> taskInstanceStateCheckList = new ConcurrentHashMap<>();
 
     @Autowired
     private MasterConfig masterConfig;
@@ -88,90 +99,84 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     @Autowired
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
-    protected StateWheelExecuteThread() {
-        super("StateWheelExecuteThread");
-    }
+    private HashedWheelTimer stateWheelTimer;
+
+    private long checkInterval;
 
     @PostConstruct
     public void startWheelThread() {
-        super.start();
+        checkInterval = masterConfig.getStateWheelInterval().toMillis();
+        stateWheelTimer = new HashedWheelTimer(new NamedThreadFactory("StateWheelExecuteThread"), checkInterval,
+                TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        stateWheelTimer.start();
     }
 
-    @Override
-    public void run() {
-        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
-        while (!ServerLifeCycleManager.isStopped()) {
-            try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkTask4State();
-                checkProcess4Timeout();
-            } catch (Exception e) {
-                log.error("state wheel thread check error:", e);
-            }
-            try {
-                Thread.sleep(checkInterval);
-            } catch (InterruptedException e) {
-                log.error("state wheel thread sleep error, will close the loop", e);
-                Thread.currentThread().interrupt();
-                break;
-            }
+    @PreDestroy
+    public void close() {
+        if (stateWheelTimer != null) {
+            stateWheelTimer.stop();
         }
     }
 
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
-        log.info("Success add workflow instance {} into timeout check list", processInstance.getId());
+        int processInstanceId = processInstance.getId();
+        long delay = getCheckDelay(processInstance.getStartTime(),
+                (long) processInstance.getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT);
+        processInstanceTimeoutCheckList.computeIfAbsent(processInstanceId,
+                key -> newCheck(timeout -> checkProcess4Timeout(processInstanceId, timeout), delay));
+        log.info("Success add workflow instance {} into timeout check list", processInstanceId);
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
-        if (removeFlag) {
+        Timeout timeout = processInstanceTimeoutCheckList.remove(processInstanceId);
+        if (timeout != null) {
+            timeout.cancel();
             log.info("Success remove workflow instance {} from timeout check list", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
+    private void checkProcess4Timeout(Integer processInstanceId, Timeout timeout) {
+        if (!isCurrentCheck(processInstanceTimeoutCheckList, processInstanceId, timeout)) {
             return;
         }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-                WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
-                        processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
-                    continue;
-                }
-                ProcessInstance processInstance = workflowExecuteThread.getProcessInstance();
-                if (processInstance == null) {
-                    log.warn("Check workflow timeout failed, the workflowInstance is null");
-                    continue;
-                }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        (long) processInstance.getTimeout()
-                                * Constants.SEC_2_MINUTES_TIME_UNIT);
-                if (timeRemain < 0) {
-                    log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
-                    addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
-                    log.info("Workflow instance timeout, added timeout event");
-                }
-            } catch (Exception ex) {
-                log.error("Check workflow instance timeout error");
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+            WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
+                    processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
+                processInstanceTimeoutCheckList.remove(processInstanceId, timeout);
+                return;
+            }
+            ProcessInstance processInstance = workflowExecuteThread.getProcessInstance();
+            if (processInstance == null) {
+                log.warn("Check workflow timeout failed, the workflowInstance is null");
+                rescheduleCheck(processInstanceTimeoutCheckList, processInstanceId, timeout, checkInterval);
+                return;
             }
+            long timeoutSeconds = (long) processInstance.getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT;
+            long delay = getCheckDelay(processInstance.getStartTime(), timeoutSeconds);
+            if (processInstance.getStartTime() != null && delay <= 0) {
+                log.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
+                addProcessTimeoutEvent(processInstance);
+                processInstanceTimeoutCheckList.remove(processInstanceId, timeout);
+                log.info("Workflow instance timeout, added timeout event");
+                return;
+            }
+            rescheduleCheck(processInstanceTimeoutCheckList, processInstanceId, timeout, delay);
+        } catch (Exception ex) {
+            log.error("Check workflow instance timeout error", ex);
+            rescheduleCheck(processInstanceTimeoutCheckList, processInstanceId, timeout, checkInterval);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
         log.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceTimeoutCheckList.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in timeout check list");
             return;
         }
@@ -181,21 +186,24 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             return;
         }
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
+            long delay = getCheckDelay(taskInstance.getStartTime(),
+                    (long) taskDefinition.getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT);
+            taskInstanceTimeoutCheckList.computeIfAbsent(taskInstanceKey,
+                    key -> newCheck(timeout -> checkTask4Timeout(taskInstanceKey, timeout), delay));
             log.info("Timeout flag is open, added task instance into timeout check list");
         }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+        cancelCheck(taskInstanceTimeoutCheckList, taskInstanceKey);
         log.info("remove task instance from timeout check list");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         log.info("Adding task instance into retry check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceRetryCheckList.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in retry check list");
             return;
         }
@@ -204,193 +212,267 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             log.error("Add task instance into retry check list error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
+        long delay = getRetryCheckDelay(taskInstance);
+        taskInstanceRetryCheckList.computeIfAbsent(taskInstanceKey,
+                key -> newCheck(timeout -> checkTask4Retry(taskInstanceKey, timeout), delay));
         log.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
                 processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
+        cancelCheck(taskInstanceRetryCheckList, taskInstanceKey);
         log.info("remove task instance from retry check list");
     }
 
+    /**
+     * Run the pending retry checks of the given workflow instance in the next tick instead of at the retry due time,
+     * so a workflow instance which becomes ready stop is stopped without waiting for the retry interval.
+     */
+    public void fireTask4RetryCheck(@NonNull ProcessInstance processInstance) {
+        taskInstanceRetryCheckList.forEach((taskInstanceKey, timeout) -> {
+            if (taskInstanceKey.getProcessInstanceId() == processInstance.getId()) {
+                rescheduleCheck(taskInstanceRetryCheckList, taskInstanceKey, timeout, 0);
+                timeout.cancel();
+            }
+        });
+        log.info("fire the retry checks of the process instance");
+    }
+
     public void addTask4StateCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         log.info("Adding task instance into state check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceStateCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceStateCheckList.containsKey(taskInstanceKey)) {
             log.warn("Task instance is already in state check list");
             return;
         }
         if (taskInstance.isDependTask() || taskInstance.isSubProcess()) {
-            taskInstanceStateCheckList.add(taskInstanceKey);
+            taskInstanceStateCheckList.computeIfAbsent(taskInstanceKey,
+                    key -> newCheck(timeout -> checkTask4State(taskInstanceKey, timeout), checkInterval));
             log.info("Added task instance into state check list");
         }
     }
 
     public void removeTask4StateCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceStateCheckList.remove(taskInstanceKey);
+        cancelCheck(taskInstanceStateCheckList, taskInstanceKey);
         log.info("Removed task instance from state check list");
     }
 
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
-        taskInstanceStateCheckList.clear();
+        clearChecks(processInstanceTimeoutCheckList);
+        clearChecks(taskInstanceTimeoutCheckList);
+        clearChecks(taskInstanceRetryCheckList);
+        clearChecks(taskInstanceStateCheckList);
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
+    private void checkTask4Timeout(TaskInstanceKey taskInstanceKey, Timeout timeout) {
+        if (!isCurrentCheck(taskInstanceTimeoutCheckList, taskInstanceKey, timeout)) {
             return;
         }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
-            try {
-                int processInstanceId = taskInstanceKey.getProcessInstanceId();
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-                long taskCode = taskInstanceKey.getTaskCode();
-
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
-                                    + "will remove this check task",
-                            taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            (long) taskInstance.getTaskDefine().getTimeout()
-                                    * Constants.SEC_2_MINUTES_TIME_UNIT);
-                    if (timeRemain < 0) {
-                        log.info("Task instance is timeout, adding task timeout event and remove the check");
-                        addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
-                    }
-                }
-            } catch (Exception ex) {
-                log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+        try {
+            int processInstanceId = taskInstanceKey.getProcessInstanceId();
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+            long taskCode = taskInstanceKey.getTaskCode();
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
+                taskInstanceTimeoutCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
+                                + "will remove this check task",
+                        taskCode);
+                taskInstanceTimeoutCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            if (TimeoutFlag.OPEN != taskInstance.getTaskDefine().getTimeoutFlag()) {
+                rescheduleCheck(taskInstanceTimeoutCheckList, taskInstanceKey, timeout, checkInterval);
+                return;
             }
+            long delay = getCheckDelay(taskInstance.getStartTime(),
+                    (long) taskInstance.getTaskDefine().getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT);
+            if (taskInstance.getStartTime() != null && delay <= 0) {
+                log.info("Task instance is timeout, adding task timeout event and remove the check");
+                addTaskTimeoutEvent(taskInstance);
+                taskInstanceTimeoutCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+            rescheduleCheck(taskInstanceTimeoutCheckList, taskInstanceKey, timeout, delay);
+        } catch (Exception ex) {
+            log.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
+            rescheduleCheck(taskInstanceTimeoutCheckList, taskInstanceKey, timeout, checkInterval);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
+    private void checkTask4Retry(TaskInstanceKey taskInstanceKey, Timeout timeout) {
+        if (!isCurrentCheck(taskInstanceRetryCheckList, taskInstanceKey, timeout)) {
             return;
         }
+        int processInstanceId = taskInstanceKey.getProcessInstanceId();
+        long taskCode = taskInstanceKey.getTaskCode();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
+
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
+                                + "will remove this check task");
+                taskInstanceRetryCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
 
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
-            int processInstanceId = taskInstanceKey.getProcessInstanceId();
-            long taskCode = taskInstanceKey.getTaskCode();
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(processInstanceId);
-
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
-                                    + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
-                ProcessInstance processInstance = workflowExecuteThread.getProcessInstance();
-
-                if (processInstance.getState().isReadyStop()) {
-                    log.warn(
-                            "The process instance is ready to stop, will send process stop event and remove the check task");
-                    addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
-                }
-
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                // We check the status to avoid when we do worker failover we submit a failover task, this task may be
-                // resubmit by this
-                // thread
-                if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
-                        && taskInstance.retryTaskIntervalOverTime()) {
-                    // reset taskInstance endTime and state
-                    // todo relative function: TaskInstance.retryTaskIntervalOverTime,
-                    // WorkflowExecuteThread.cloneRetryTaskInstance
-                    log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
-                            taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
-                    taskInstance.setEndTime(null);
-                    taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
-
-                    addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                }
-            } catch (Exception ex) {
-                log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getRetryTaskInstanceByTaskCode(taskCode);
+            ProcessInstance processInstance = workflowExecuteThread.getProcessInstance();
+
+            if (processInstance.getState().isReadyStop()) {
+                log.warn(
+                        "The process instance is ready to stop, will send process stop event and remove the check task");
+                addProcessStopEvent(processInstance);
+                taskInstanceRetryCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
+                taskInstanceRetryCheckList.remove(taskInstanceKey, timeout);
+                return;
             }
+
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            // We check the status to avoid when we do worker failover we submit a failover task, this task may be
+            // resubmit by this
+            // thread
+            if (taskInstance.getState() != TaskExecutionStatus.NEED_FAULT_TOLERANCE
+                    && taskInstance.retryTaskIntervalOverTime()) {
+                // reset taskInstance endTime and state
+                // todo relative function: TaskInstance.retryTaskIntervalOverTime,
+                // WorkflowExecuteThread.cloneRetryTaskInstance
+                log.info("[TaskInstanceKey-{}:{}]The task instance can retry, will retry this task instance",
+                        taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
+                taskInstance.setEndTime(null);
+                taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+
+                addTaskRetryEvent(taskInstance);
+                taskInstanceRetryCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+            rescheduleCheck(taskInstanceRetryCheckList, taskInstanceKey, timeout, getRetryCheckDelay(taskInstance));
+        } catch (Exception ex) {
+            log.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
+            rescheduleCheck(taskInstanceRetryCheckList, taskInstanceKey, timeout, checkInterval);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
-    private void checkTask4State() {
-        if (taskInstanceStateCheckList.isEmpty()) {
+    private void checkTask4State(TaskInstanceKey taskInstanceKey, Timeout timeout) {
+        if (!isCurrentCheck(taskInstanceStateCheckList, taskInstanceKey, timeout)) {
             return;
         }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceStateCheckList) {
-            int processInstanceId = taskInstanceKey.getProcessInstanceId();
-            long taskCode = taskInstanceKey.getTaskCode();
-
-            try {
-                LogUtils.setTaskInstanceIdMDC(processInstanceId);
-                WorkflowExecuteRunnable workflowExecuteThread =
-                        processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
-                if (workflowExecuteThread == null) {
-                    log.warn(
-                            "Task instance state check failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceStateCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                Optional<TaskInstance> taskInstanceOptional =
-                        workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
-                if (!taskInstanceOptional.isPresent()) {
-                    log.warn(
-                            "Task instance state check failed, can not find taskInstance from workflowExecuteThread, will remove this check event");
-                    taskInstanceStateCheckList.remove(taskInstanceKey);
-                    continue;
-                }
-                TaskInstance taskInstance = taskInstanceOptional.get();
-                if (taskInstance.getState().isFinished()) {
-                    continue;
-                }
+        int processInstanceId = taskInstanceKey.getProcessInstanceId();
+        long taskCode = taskInstanceKey.getTaskCode();
+
+        try {
+            LogUtils.setTaskInstanceIdMDC(processInstanceId);
+            WorkflowExecuteRunnable workflowExecuteThread =
+                    processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+            if (workflowExecuteThread == null) {
+                log.warn(
+                        "Task instance state check failed, can not find workflowExecuteThread from cache manager, will remove this check task");
+                taskInstanceStateCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+            Optional<TaskInstance> taskInstanceOptional =
+                    workflowExecuteThread.getActiveTaskInstanceByTaskCode(taskCode);
+            if (!taskInstanceOptional.isPresent()) {
+                log.warn(
+                        "Task instance state check failed, can not find taskInstance from workflowExecuteThread, will remove this check event");
+                taskInstanceStateCheckList.remove(taskInstanceKey, timeout);
+                return;
+            }
+            TaskInstance taskInstance = taskInstanceOptional.get();
+            if (!taskInstance.getState().isFinished()) {
                 addTaskStateChangeEvent(taskInstance);
-            } catch (Exception ex) {
-                log.error("Task state check error, taskInstanceKey: {}", taskInstanceKey, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
             }
+        } catch (Exception ex) {
+            log.error("Task state check error, taskInstanceKey: {}", taskInstanceKey, ex);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
+        }
+        // the dependent/sub process state need to be checked periodically until the check is removed
+        rescheduleCheck(taskInstanceStateCheckList, taskInstanceKey, timeout, checkInterval);
+    }
+
+    /**
+     * Whether the given timeout is still the registered check of the key, the check may be fired before
+     * computeIfAbsent returns, computeIfPresent will wait for it since they lock the same bin.
+     */
+    private <K> boolean isCurrentCheck(Map<K, Timeout> checkList, K key, Timeout timeout) {
+        return checkList.computeIfPresent(key, (k, v) -> v) == timeout;
+    }
+
+    private Timeout newCheck(TimerTask timerTask, long delay) {
+        return stateWheelTimer.newTimeout(timerTask, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedule the check again after the given delay, if the check has been removed or replaced in the meantime, the
+     * new check will be dropped.
+     */
+    private <K> void rescheduleCheck(Map<K, Timeout> checkList, K key, Timeout timeout, long delay) {
+        Timeout newTimeout = stateWheelTimer.newTimeout(timeout.task(), Math.max(delay, 0), TimeUnit.MILLISECONDS);
+        if (!checkList.replace(key, timeout, newTimeout)) {
+            newTimeout.cancel();
+        }
+    }
+
+    private <K> void cancelCheck(Map<K, Timeout> checkList, K key) {
+        Timeout timeout = checkList.remove(key);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private <K> void clearChecks(Map<K, Timeout> checkList) {
+        checkList.values().forEach(Timeout::cancel);
+        checkList.clear();
+    }
+
+    /**
+     * Get the delay in milliseconds until {@link org.apache.dolphinscheduler.common.utils.DateUtils#getRemainTime}
+     * becomes negative, if the base time is not set, the check will be done in the next tick.
+     */
+    private long getCheckDelay(Date baseTime, long intervalSeconds) {
+        if (baseTime == null) {
+            return checkInterval;
+        }
+        return baseTime.getTime() + (intervalSeconds + 1) * Constants.SECOND_TIME_MILLIS - System.currentTimeMillis();
+    }
+
+    private long getRetryCheckDelay(TaskInstance taskInstance) {
+        if (taskInstance.getState() != TaskExecutionStatus.FAILURE
+                || taskInstance.getMaxRetryTimes() == 0
+                || taskInstance.getRetryInterval() == 0) {
+            return 0;
         }
+        return getCheckDelay(taskInstance.getEndTime(),
+                (long) taskInstance.getRetryInterval() * Constants.SEC_2_MINUTES_TIME_UNIT);
     }
 
     private void addTaskStateChangeEvent(TaskInstance taskInstance) {
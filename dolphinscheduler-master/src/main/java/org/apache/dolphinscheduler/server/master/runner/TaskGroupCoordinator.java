@@ -0,0 +1,433 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coordinate the task group slots of the task instances running on this master.
+ * <p>
+ * The task instances waiting for a task group are kept in a priority ordered in-memory queue, and a released slot is
+ * handed straight to the next local waiter unless a waiter of another master has a higher priority, so the waiters of a
+ * hot task group no longer compete for the {@code use_size} of the task group by optimistic updates. The database is
+ * still the source of truth shared by the masters, every change is written through to {@link TaskGroupQueue} and
+ * {@link TaskGroup}, and the local waiters are registered again from their {@link TaskGroupQueue} when the workflow
+ * instances are recovered by failover.
+ */
+@Slf4j
+@Component
+public class TaskGroupCoordinator {
+
+    private static final int MAX_ROB_TIMES = 10;
+
+    @Autowired
+    private TaskGroupMapper taskGroupMapper;
+
+    @Autowired
+    private TaskGroupQueueMapper taskGroupQueueMapper;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Autowired
+    private ProcessService processService;
+
+    /**
+     * the local waiters, task group id as key
+     */
+    private final Map<Integer, TaskGroupWaitQueue> taskGroupWaitQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Acquire a slot of the task group when the task instance is submitted, the task instance waits in the queue of
+     * the task group if there is no free slot.
+     *
+     * @return true if the task instance can be dispatched
+     */
+    public boolean acquireTaskGroupSlot(TaskInstance taskInstance) {
+        int taskGroupId = taskInstance.getTaskGroupId();
+        TaskGroup taskGroup = taskGroupMapper.selectById(taskGroupId);
+        if (taskGroup == null || taskGroup.getStatus() == Flag.NO.getCode()) {
+            // the task group has been deleted or closed during workflow running
+            return true;
+        }
+        TaskGroupQueue taskGroupQueue = taskGroupQueueMapper.queryByTaskId(taskInstance.getId());
+        if (taskGroupQueue == null) {
+            taskGroupQueue = insertTaskGroupQueue(taskInstance);
+        } else {
+            log.info("The task queue is already exist, taskId: {}", taskInstance.getId());
+            if (taskGroupQueue.getStatus() == TaskGroupQueueStatus.ACQUIRE_SUCCESS) {
+                return true;
+            }
+            taskGroupQueue.setInQueue(Flag.NO.getCode());
+            taskGroupQueue.setStatus(TaskGroupQueueStatus.WAIT_QUEUE);
+            taskGroupQueue.setUpdateTime(new Date());
+            taskGroupQueueMapper.updateById(taskGroupQueue);
+        }
+
+        TaskGroupWaitQueue waitQueue = getWaitQueue(taskGroupId);
+        synchronized (waitQueue) {
+            // the local waiters before this task instance will get the slots first, no need to ask the database
+            if (!waitQueue.hasWaiterBefore(taskGroupQueue)
+                    && CollectionUtils.isEmpty(taskGroupQueueMapper.queryHighPriorityTasks(taskGroupId,
+                            taskGroupQueue.getPriority(), TaskGroupQueueStatus.WAIT_QUEUE.getCode()))
+                    && robTaskGroupSlot(taskGroup, taskGroupQueue)) {
+                log.info("Success acquire taskGroup, taskInstanceId: {}, taskGroupId: {}", taskInstance.getId(),
+                        taskGroupId);
+                return true;
+            }
+            waitQueue.add(taskGroupQueue);
+        }
+        log.info("Failed to acquire taskGroup, taskInstanceId: {}, taskGroupId: {}, waiting size: {}",
+                taskInstance.getId(), taskGroupId, waitQueue.size());
+        return false;
+    }
+
+    /**
+     * Acquire a slot for the waiter which is woken up by the release of a task instance on another master.
+     *
+     * @return true if the task instance can be dispatched
+     */
+    public boolean acquireTaskGroupSlotOnWakeUp(TaskGroupQueue taskGroupQueue) {
+        TaskGroupWaitQueue waitQueue = getWaitQueue(taskGroupQueue.getGroupId());
+        synchronized (waitQueue) {
+            TaskGroup taskGroup = taskGroupMapper.selectById(taskGroupQueue.getGroupId());
+            if (taskGroup != null && robTaskGroupSlot(taskGroup, taskGroupQueue)) {
+                waitQueue.remove(taskGroupQueue.getTaskId());
+                return true;
+            }
+            // keep waiting, the in queue flag is reset so that the waiter can be woken up again
+            taskGroupQueue.setInQueue(Flag.NO.getCode());
+            taskGroupQueueMapper.updateInQueue(Flag.NO.getCode(), taskGroupQueue.getId());
+            waitQueue.add(taskGroupQueue);
+            return false;
+        }
+    }
+
+    /**
+     * Whether the waiter has been handed a slot by a released task instance of this master, the hand over is
+     * confirmed by resetting the in queue flag.
+     *
+     * @return true if the task instance can be dispatched
+     */
+    public boolean takeHandedOverTaskGroupSlot(TaskGroupQueue taskGroupQueue) {
+        if (taskGroupQueue.getStatus() != TaskGroupQueueStatus.ACQUIRE_SUCCESS
+                || taskGroupQueue.getInQueue() != Flag.YES.getCode()) {
+            return false;
+        }
+        taskGroupQueue.setInQueue(Flag.NO.getCode());
+        taskGroupQueueMapper.updateInQueue(Flag.NO.getCode(), taskGroupQueue.getId());
+        return true;
+    }
+
+    /**
+     * Remove the waiter, e.g. the task instance is force started.
+     */
+    public void removeWaiter(TaskGroupQueue taskGroupQueue) {
+        TaskGroupWaitQueue waitQueue = taskGroupWaitQueues.get(taskGroupQueue.getGroupId());
+        if (waitQueue != null) {
+            synchronized (waitQueue) {
+                waitQueue.remove(taskGroupQueue.getTaskId());
+            }
+        }
+    }
+
+    /**
+     * Release the slot of the finished task instance.
+     *
+     * @return the waiter to wake up, the waiter may be handed the slot already, null if there is no waiter
+     */
+    public TaskGroupQueue releaseTaskGroupSlot(TaskInstance taskInstance) {
+        log.info("Begin to release task group: {}", taskInstance.getTaskGroupId());
+        TaskGroupQueue releasedTaskGroupQueue = taskGroupQueueMapper.queryByTaskId(taskInstance.getId());
+        if (releasedTaskGroupQueue == null || releasedTaskGroupQueue.getStatus() == TaskGroupQueueStatus.RELEASE) {
+            log.info("The taskGroupQueue's status is release, taskInstanceId: {}", taskInstance.getId());
+            return null;
+        }
+        int taskGroupId = releasedTaskGroupQueue.getGroupId();
+        TaskGroupWaitQueue waitQueue = getWaitQueue(taskGroupId);
+        synchronized (waitQueue) {
+            if (releasedTaskGroupQueue.getStatus() == TaskGroupQueueStatus.WAIT_QUEUE) {
+                log.info("The taskGroupQueue's status is in waiting, will not need to release task group");
+                waitQueue.remove(releasedTaskGroupQueue.getTaskId());
+                updateTaskGroupQueueStatus(releasedTaskGroupQueue, TaskGroupQueueStatus.RELEASE, Flag.NO);
+                return null;
+            }
+            // the force started task instance doesn't hold a slot
+            if (releasedTaskGroupQueue.getForceStart() == Flag.NO.getCode()) {
+                TaskGroupQueue nextTaskGroupQueue = handOverTaskGroupSlot(waitQueue, releasedTaskGroupQueue);
+                if (nextTaskGroupQueue != null) {
+                    log.info("Hand over the task group slot, taskGroupId: {}, from taskInstanceId: {} to: {}",
+                            taskGroupId, taskInstance.getId(), nextTaskGroupQueue.getTaskId());
+                    return nextTaskGroupQueue;
+                }
+                if (!releaseTaskGroupResource(releasedTaskGroupQueue)) {
+                    return null;
+                }
+            }
+            updateTaskGroupQueueStatus(releasedTaskGroupQueue, TaskGroupQueueStatus.RELEASE, Flag.NO);
+        }
+        log.info("Finished to release task group, taskGroupId: {}", taskGroupId);
+        return wakeUpHighestPriorityWaiter(taskGroupId);
+    }
+
+    /**
+     * Release the slots held by the workflow instance and remove its waiters.
+     *
+     * @return the waiters to wake up
+     */
+    public List<TaskGroupQueue> releaseAllTaskGroupSlots(int processInstanceId) {
+        for (TaskGroupWaitQueue waitQueue : taskGroupWaitQueues.values()) {
+            synchronized (waitQueue) {
+                waitQueue.removeByProcessInstanceId(processInstanceId);
+            }
+        }
+        List<TaskGroupQueue> nextTaskGroupQueues = new ArrayList<>();
+        List<TaskInstance> taskInstances = taskInstanceMapper.loadAllInfosNoRelease(processInstanceId,
+                TaskGroupQueueStatus.ACQUIRE_SUCCESS.getCode());
+        for (TaskInstance taskInstance : taskInstances) {
+            TaskGroupQueue nextTaskGroupQueue = releaseTaskGroupSlot(taskInstance);
+            if (nextTaskGroupQueue != null) {
+                nextTaskGroupQueues.add(nextTaskGroupQueue);
+            }
+        }
+        return nextTaskGroupQueues;
+    }
+
+    public int getWaiterSize(int taskGroupId) {
+        TaskGroupWaitQueue waitQueue = taskGroupWaitQueues.get(taskGroupId);
+        return waitQueue == null ? 0 : waitQueue.size();
+    }
+
+    private TaskGroupWaitQueue getWaitQueue(int taskGroupId) {
+        return taskGroupWaitQueues.computeIfAbsent(taskGroupId, key -> new TaskGroupWaitQueue());
+    }
+
+    /**
+     * Hand the slot of the released task instance to the first local waiter, the use size of the task group doesn't
+     * change. The waiters of other masters are not bypassed if they have a higher priority.
+     */
+    private TaskGroupQueue handOverTaskGroupSlot(TaskGroupWaitQueue waitQueue, TaskGroupQueue releasedTaskGroupQueue) {
+        if (waitQueue.size() == 0) {
+            return null;
+        }
+        TaskGroupQueue highestPriorityWaiter = taskGroupQueueMapper.queryTheHighestPriorityTasks(
+                releasedTaskGroupQueue.getGroupId(),
+                TaskGroupQueueStatus.WAIT_QUEUE.getCode(),
+                Flag.NO.getCode(),
+                Flag.NO.getCode());
+        TaskGroupQueue waiter;
+        while ((waiter = waitQueue.peek()) != null) {
+            if (highestPriorityWaiter != null && highestPriorityWaiter.getPriority() > waiter.getPriority()) {
+                return null;
+            }
+            waitQueue.poll();
+            // the waiter may be force started or woken up by another master meanwhile
+            if (taskGroupQueueMapper.updateInQueueCAS(Flag.NO.getCode(), Flag.YES.getCode(), waiter.getId()) != 1) {
+                continue;
+            }
+            TaskGroupQueue nextTaskGroupQueue = taskGroupQueueMapper.queryByTaskId(waiter.getTaskId());
+            if (nextTaskGroupQueue == null
+                    || nextTaskGroupQueue.getStatus() != TaskGroupQueueStatus.WAIT_QUEUE
+                    || nextTaskGroupQueue.getForceStart() == Flag.YES.getCode()) {
+                taskGroupQueueMapper.updateInQueue(Flag.NO.getCode(), waiter.getId());
+                continue;
+            }
+            // the waiter takes over the slot in the same transaction the released one gives it up
+            setTaskGroupQueueStatus(nextTaskGroupQueue, TaskGroupQueueStatus.ACQUIRE_SUCCESS, Flag.YES);
+            setTaskGroupQueueStatus(releasedTaskGroupQueue, TaskGroupQueueStatus.RELEASE, Flag.NO);
+            processService.handOverTaskGroupQueue(nextTaskGroupQueue, releasedTaskGroupQueue);
+            return nextTaskGroupQueue;
+        }
+        return null;
+    }
+
+    private boolean robTaskGroupSlot(TaskGroup taskGroup, TaskGroupQueue taskGroupQueue) {
+        // set the default max size to avoid dead loop
+        for (int i = 0; i < MAX_ROB_TIMES; i++) {
+            if (i > 0) {
+                taskGroup = taskGroupMapper.selectById(taskGroupQueue.getGroupId());
+            }
+            if (taskGroup == null || taskGroup.getGroupSize() <= taskGroup.getUseSize()) {
+                log.info("The current task Group is full, taskGroup: {}", taskGroup);
+                return false;
+            }
+            int affectedCount = taskGroupMapper.robTaskGroupResource(taskGroup.getId(),
+                    taskGroup.getUseSize(),
+                    taskGroupQueue.getId(),
+                    TaskGroupQueueStatus.WAIT_QUEUE.getCode());
+            if (affectedCount > 0) {
+                updateTaskGroupQueueStatus(taskGroupQueue, TaskGroupQueueStatus.ACQUIRE_SUCCESS, Flag.NO);
+                return true;
+            }
+        }
+        log.info("Failed to rob taskGroup, taskGroupQueue: {}", taskGroupQueue);
+        return false;
+    }
+
+    private boolean releaseTaskGroupResource(TaskGroupQueue releasedTaskGroupQueue) {
+        for (int i = 0; i < MAX_ROB_TIMES; i++) {
+            TaskGroup taskGroup = taskGroupMapper.selectById(releasedTaskGroupQueue.getGroupId());
+            if (taskGroup == null) {
+                log.error("The taskGroup is null, taskGroupId: {}", releasedTaskGroupQueue.getGroupId());
+                return false;
+            }
+            if (taskGroupMapper.releaseTaskGroupResource(taskGroup.getId(),
+                    taskGroup.getUseSize(),
+                    releasedTaskGroupQueue.getId(),
+                    TaskGroupQueueStatus.ACQUIRE_SUCCESS.getCode()) == 1) {
+                return true;
+            }
+        }
+        log.error("Failed to release task group resource, taskGroupQueue: {}", releasedTaskGroupQueue);
+        return false;
+    }
+
+    /**
+     * Wake up the highest priority waiter of all the masters, it will rob the slot by itself.
+     */
+    private TaskGroupQueue wakeUpHighestPriorityWaiter(int taskGroupId) {
+        TaskGroupQueue taskGroupQueue;
+        do {
+            taskGroupQueue = taskGroupQueueMapper.queryTheHighestPriorityTasks(taskGroupId,
+                    TaskGroupQueueStatus.WAIT_QUEUE.getCode(),
+                    Flag.NO.getCode(),
+                    Flag.NO.getCode());
+            if (taskGroupQueue == null) {
+                log.info("The taskGroupQueue is null, taskGroup: {}", taskGroupId);
+                return null;
+            }
+        } while (taskGroupQueueMapper.updateInQueueCAS(Flag.NO.getCode(), Flag.YES.getCode(),
+                taskGroupQueue.getId()) != 1);
+        log.info("Finished to release task group queue: taskGroupId: {}, taskGroupQueueId: {}",
+                taskGroupId, taskGroupQueue.getId());
+        return taskGroupQueue;
+    }
+
+    private void updateTaskGroupQueueStatus(TaskGroupQueue taskGroupQueue, TaskGroupQueueStatus status,
+                                            Flag inQueue) {
+        setTaskGroupQueueStatus(taskGroupQueue, status, inQueue);
+        taskGroupQueueMapper.updateById(taskGroupQueue);
+    }
+
+    private void setTaskGroupQueueStatus(TaskGroupQueue taskGroupQueue, TaskGroupQueueStatus status, Flag inQueue) {
+        taskGroupQueue.setStatus(status);
+        taskGroupQueue.setInQueue(inQueue.getCode());
+        taskGroupQueue.setUpdateTime(new Date());
+    }
+
+    private TaskGroupQueue insertTaskGroupQueue(TaskInstance taskInstance) {
+        Date now = new Date();
+        TaskGroupQueue taskGroupQueue = TaskGroupQueue.builder()
+                .taskId(taskInstance.getId())
+                .taskName(taskInstance.getName())
+                .groupId(taskInstance.getTaskGroupId())
+                .processId(taskInstance.getProcessInstanceId())
+                .priority(taskInstance.getTaskGroupPriority())
+                .status(TaskGroupQueueStatus.WAIT_QUEUE)
+                .inQueue(Flag.NO.getCode())
+                .createTime(now)
+                .updateTime(now)
+                .build();
+        taskGroupQueueMapper.insert(taskGroupQueue);
+        return taskGroupQueue;
+    }
+
+    /**
+     * The local waiters of a task group, ordered by priority desc and then by the queue id, a removed waiter is
+     * skipped lazily when it reaches the head of the queue.
+     */
+    private static class TaskGroupWaitQueue {
+
+        private final PriorityQueue<TaskGroupQueue> waiters = new PriorityQueue<>(
+                Comparator.comparingInt(TaskGroupQueue::getPriority).reversed()
+                        .thenComparing(TaskGroupQueue::getId));
+
+        /**
+         * the valid waiters, task instance id as key
+         */
+        private final Map<Integer, TaskGroupQueue> waiterMap = new HashMap<>();
+
+        void add(TaskGroupQueue taskGroupQueue) {
+            TaskGroupQueue previous = waiterMap.put(taskGroupQueue.getTaskId(), taskGroupQueue);
+            if (previous != taskGroupQueue) {
+                waiters.add(taskGroupQueue);
+            }
+        }
+
+        void remove(int taskInstanceId) {
+            waiterMap.remove(taskInstanceId);
+        }
+
+        void removeByProcessInstanceId(int processInstanceId) {
+            waiterMap.values().removeIf(waiter -> waiter.getProcessId() == processInstanceId);
+        }
+
+        TaskGroupQueue peek() {
+            TaskGroupQueue head;
+            while ((head = waiters.peek()) != null && waiterMap.get(head.getTaskId()) != head) {
+                waiters.poll();
+            }
+            return head;
+        }
+
+        TaskGroupQueue poll() {
+            TaskGroupQueue head = peek();
+            if (head != null) {
+                waiters.poll();
+                waiterMap.remove(head.getTaskId());
+            }
+            return head;
+        }
+
+        boolean hasWaiterBefore(TaskGroupQueue taskGroupQueue) {
+            TaskGroupQueue head = peek();
+            if (head == null || head.getTaskId() == taskGroupQueue.getTaskId()) {
+                return false;
+            }
+            return waiters.comparator().compare(head, taskGroupQueue) < 0;
+        }
+
+        int size() {
+            return waiterMap.size();
+        }
+    }
+}
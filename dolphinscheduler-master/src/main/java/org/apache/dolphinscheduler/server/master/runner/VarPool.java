@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The parsed var pool of a task instance or a workflow instance.
+ * <p>
+ * The var pool is persisted and sent to the worker as a json string, the master parses the string once and keeps the
+ * parsed properties here, the json string is only generated again when the var pool is changed.
+ * The properties must not be changed after the var pool is created.
+ */
+public final class VarPool {
+
+    public static final VarPool EMPTY = new VarPool(null, Collections.emptyList());
+
+    private final List<Property> properties;
+
+    private volatile String json;
+
+    private VarPool(String json, List<Property> properties) {
+        this.json = json;
+        this.properties = properties;
+    }
+
+    public static VarPool of(String json) {
+        if (StringUtils.isEmpty(json)) {
+            return new VarPool(json, Collections.emptyList());
+        }
+        return new VarPool(json, ImmutableList.copyOf(JSONUtils.toList(json, Property.class)));
+    }
+
+    public static VarPool of(Collection<Property> properties) {
+        if (properties.isEmpty()) {
+            return EMPTY;
+        }
+        return new VarPool(null, ImmutableList.copyOf(properties));
+    }
+
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    /**
+     * Whether this var pool is parsed from or serialized to the given json string, the same string instance is
+     * checked first as the var pool string is mostly passed around without copy.
+     */
+    public boolean isParsedFrom(String varPool) {
+        String current = json;
+        if (current == varPool) {
+            return true;
+        }
+        if (StringUtils.isEmpty(current)) {
+            return isEmpty() && StringUtils.isEmpty(varPool);
+        }
+        return current.equals(varPool);
+    }
+
+    /**
+     * Union the properties of the other var pool, the properties are compared by name and value.
+     */
+    public VarPool union(VarPool other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Set<Property> unionProperties = new LinkedHashSet<>(properties);
+        unionProperties.addAll(other.properties);
+        return of(unionProperties);
+    }
+
+    public String toJson() {
+        String current = json;
+        if (current == null) {
+            current = JSONUtils.toJsonString(properties);
+            json = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "VarPool" + properties;
+    }
+}
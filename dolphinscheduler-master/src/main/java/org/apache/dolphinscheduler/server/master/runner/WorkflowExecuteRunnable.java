@@ -38,12 +38,10 @@ import org.apache.dolphinscheduler.common.enums.FailureStrategy;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
-import org.apache.dolphinscheduler.common.enums.TaskDependType;
 import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
-import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -52,14 +50,11 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.Environment;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
-import org.apache.dolphinscheduler.dao.entity.ProcessTaskRelation;
 import org.apache.dolphinscheduler.dao.entity.ProjectUser;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
-import org.apache.dolphinscheduler.dao.entity.TaskDefinitionLog;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.dao.utils.TaskCacheUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
@@ -73,6 +68,9 @@ import org.apache.dolphinscheduler.remote.command.task.WorkflowHostChangeRequest
 import org.apache.dolphinscheduler.remote.command.task.WorkflowHostChangeResponse;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagTemplate;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.StateEvent;
 import org.apache.dolphinscheduler.server.master.event.StateEventHandleError;
@@ -93,7 +91,6 @@ import org.apache.dolphinscheduler.service.cron.CronUtils;
 import org.apache.dolphinscheduler.service.exceptions.CronParseException;
 import org.apache.dolphinscheduler.service.expand.CuringParamsService;
 import org.apache.dolphinscheduler.service.model.TaskNode;
-import org.apache.dolphinscheduler.service.process.ProcessDag;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.queue.PeerTaskInstancePriorityQueue;
 import org.apache.dolphinscheduler.service.utils.DagHelper;
@@ -145,7 +142,11 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
 
     private TaskInstanceDao taskInstanceDao;
 
-    private TaskDefinitionLogDao taskDefinitionLogDao;
+    private final WorkflowDagCacheManager workflowDagCacheManager;
+
+    private final DependentResultCacheManager dependentResultCacheManager;
+
+    private final TaskGroupCoordinator taskGroupCoordinator;
 
     private final ProcessAlertManager processAlertManager;
 
@@ -155,7 +156,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
 
     private ProcessDefinition processDefinition;
 
-    private DAG<String, TaskNode, TaskNodeRelation> dag;
+    private CompiledDAG<TaskNode> dag;
 
     /**
      * full task node map, key is task node id, value is task node
@@ -168,7 +169,13 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      */
     private String key;
 
-    private WorkflowRunnableStatus workflowRunnableStatus = WorkflowRunnableStatus.CREATED;
+    private volatile WorkflowRunnableStatus workflowRunnableStatus = WorkflowRunnableStatus.CREATED;
+
+    /**
+     * Whether this workflow has been handed to the {@link WorkflowExecuteThreadPool} to handle its state events,
+     * the workflow will not be handed again until the in-flight handling is finished.
+     */
+    private final AtomicBoolean stateEventScheduled = new AtomicBoolean(false);
 
     /**
      * submit failure nodes
@@ -180,6 +187,16 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      */
     private final Map<Integer, TaskInstance> taskInstanceMap = new ConcurrentHashMap<>();
 
+    /**
+     * parsed var pool of the task instances, taskId as key
+     */
+    private final Map<Integer, VarPool> taskVarPoolMap = new ConcurrentHashMap<>();
+
+    /**
+     * parsed var pool of the process instance
+     */
+    private VarPool processVarPool = VarPool.EMPTY;
+
     /**
      * running taskProcessor, taskCode as key, taskProcessor as value
      * only on taskProcessor per taskCode
@@ -244,6 +261,8 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
 
     private final CuringParamsService curingParamsService;
 
+    private final WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
     private final String masterAddress;
 
     /**
@@ -254,6 +273,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      * @param processAlertManager     processAlertManager
      * @param masterConfig            masterConfig
      * @param stateWheelExecuteThread stateWheelExecuteThread
+     * @param workflowExecuteThreadPool workflowExecuteThreadPool
      */
     public WorkflowExecuteRunnable(
                                    @NonNull ProcessInstance processInstance,
@@ -266,7 +286,10 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                                    @NonNull StateWheelExecuteThread stateWheelExecuteThread,
                                    @NonNull CuringParamsService curingParamsService,
                                    @NonNull TaskInstanceDao taskInstanceDao,
-                                   @NonNull TaskDefinitionLogDao taskDefinitionLogDao) {
+                                   @NonNull WorkflowDagCacheManager workflowDagCacheManager,
+                                   @NonNull DependentResultCacheManager dependentResultCacheManager,
+                                   @NonNull TaskGroupCoordinator taskGroupCoordinator,
+                                   @NonNull WorkflowExecuteThreadPool workflowExecuteThreadPool) {
         this.processService = processService;
         this.commandService = commandService;
         this.processInstanceDao = processInstanceDao;
@@ -276,7 +299,10 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         this.stateWheelExecuteThread = stateWheelExecuteThread;
         this.curingParamsService = curingParamsService;
         this.taskInstanceDao = taskInstanceDao;
-        this.taskDefinitionLogDao = taskDefinitionLogDao;
+        this.workflowDagCacheManager = workflowDagCacheManager;
+        this.dependentResultCacheManager = dependentResultCacheManager;
+        this.taskGroupCoordinator = taskGroupCoordinator;
+        this.workflowExecuteThreadPool = workflowExecuteThreadPool;
         this.masterAddress = NetUtils.getAddr(masterConfig.getListenPort());
         TaskMetrics.registerTaskPrepared(readyToSubmitTaskQueue::size);
     }
@@ -365,9 +391,38 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
             return false;
         }
         this.stateEvents.add(stateEvent);
+        signalStateEvent();
         return true;
     }
 
+    /**
+     * Hand this workflow to the {@link WorkflowExecuteThreadPool} if it has pending state events and is not being
+     * handled, so an idle workflow doesn't cost anything.
+     */
+    public void signalStateEvent() {
+        if (!isStart() || stateEvents.isEmpty()) {
+            return;
+        }
+        if (stateEventScheduled.compareAndSet(false, true)) {
+            workflowExecuteThreadPool.executeEvent(this);
+        }
+    }
+
+    /**
+     * Called after the scheduled handling is finished, the events added during the handling will be handed again.
+     */
+    public void finishHandleEvents() {
+        stateEventScheduled.set(false);
+        signalStateEvent();
+    }
+
+    /**
+     * Called when the handling cannot be scheduled, the pending events will be handed by the next state event.
+     */
+    public void cancelHandleEvents() {
+        stateEventScheduled.set(false);
+    }
+
     public int eventSize() {
         return this.stateEvents.size();
     }
@@ -380,6 +435,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         TaskGroupQueue taskGroupQueue = this.processService.loadTaskGroupQueue(stateEvent.getTaskInstanceId());
         if (taskGroupQueue.getForceStart() == Flag.YES.getCode()) {
             log.info("Begin to force start taskGroupQueue: {}", taskGroupQueue.getId());
+            taskGroupCoordinator.removeWaiter(taskGroupQueue);
             TaskInstance taskInstance = this.taskInstanceDao.findTaskInstanceById(stateEvent.getTaskInstanceId());
             ITaskProcessor taskProcessor = activeTaskProcessorMaps.get(taskInstance.getTaskCode());
             taskProcessor.action(TaskAction.DISPATCH);
@@ -388,9 +444,16 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
             log.info("Success force start taskGroupQueue: {}", taskGroupQueue.getId());
             return true;
         }
+        if (taskGroupCoordinator.takeHandedOverTaskGroupSlot(taskGroupQueue)) {
+            TaskInstance taskInstance = this.taskInstanceDao.findTaskInstanceById(stateEvent.getTaskInstanceId());
+            ITaskProcessor taskProcessor = activeTaskProcessorMaps.get(taskInstance.getTaskCode());
+            taskProcessor.action(TaskAction.DISPATCH);
+            log.info("Success take over the task group slot, taskGroupQueue: {}", taskGroupQueue.getId());
+            return true;
+        }
         if (taskGroupQueue.getInQueue() == Flag.YES.getCode()) {
             log.info("Begin to wake up taskGroupQueue: {}", taskGroupQueue.getId());
-            boolean acquireTaskGroup = processService.robTaskGroupResource(taskGroupQueue);
+            boolean acquireTaskGroup = taskGroupCoordinator.acquireTaskGroupSlotOnWakeUp(taskGroupQueue);
             if (acquireTaskGroup) {
                 TaskInstance taskInstance = this.taskInstanceDao.findTaskInstanceById(stateEvent.getTaskInstanceId());
                 ITaskProcessor taskProcessor = activeTaskProcessorMaps.get(taskInstance.getTaskCode());
@@ -421,6 +484,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
     public void taskFinished(TaskInstance taskInstance) throws StateEventHandleException {
         log.info("TaskInstance finished task code:{} state:{}", taskInstance.getTaskCode(), taskInstance.getState());
         try {
+            dependentResultCacheManager.onTaskInstanceFinished(taskInstance);
 
             activeTaskProcessorMaps.remove(taskInstance.getTaskCode());
             stateWheelExecuteThread.removeTask4TimeoutCheck(processInstance, taskInstance);
@@ -480,25 +544,33 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      */
     public void releaseTaskGroup(TaskInstance taskInstance) throws RemotingException, InterruptedException {
         if (taskInstance.getTaskGroupId() > 0) {
-            TaskInstance nextTaskInstance = this.processService.releaseTaskGroup(taskInstance);
-            if (nextTaskInstance != null) {
-                if (nextTaskInstance.getProcessInstanceId() == taskInstance.getProcessInstanceId()) {
-                    TaskStateEvent nextEvent = TaskStateEvent.builder()
-                            .processInstanceId(processInstance.getId())
-                            .taskInstanceId(nextTaskInstance.getId())
-                            .type(StateEventType.WAKE_UP_TASK_GROUP)
-                            .build();
-                    this.stateEvents.add(nextEvent);
-                } else {
-                    ProcessInstance processInstance =
-                            this.processService.findProcessInstanceById(nextTaskInstance.getProcessInstanceId());
-                    this.masterRpcClient.sendSyncCommand(Host.of(processInstance.getHost()),
-                            new TaskWakeupRequest(processInstance.getId(), nextTaskInstance.getId()).convert2Command());
-                }
+            TaskGroupQueue nextTaskGroupQueue = taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
+            if (nextTaskGroupQueue != null) {
+                wakeUpTaskGroupWaiter(nextTaskGroupQueue);
             }
         }
     }
 
+    /**
+     * wake up the waiter of the task group, the waiter may belong to another workflow instance
+     *
+     */
+    private void wakeUpTaskGroupWaiter(TaskGroupQueue taskGroupQueue) throws RemotingException, InterruptedException {
+        if (taskGroupQueue.getProcessId() == processInstance.getId()) {
+            TaskStateEvent nextEvent = TaskStateEvent.builder()
+                    .processInstanceId(processInstance.getId())
+                    .taskInstanceId(taskGroupQueue.getTaskId())
+                    .type(StateEventType.WAKE_UP_TASK_GROUP)
+                    .build();
+            this.addStateEvent(nextEvent);
+        } else {
+            ProcessInstance processInstance =
+                    this.processService.findProcessInstanceById(taskGroupQueue.getProcessId());
+            this.masterRpcClient.sendSyncCommand(Host.of(processInstance.getHost()),
+                    new TaskWakeupRequest(processInstance.getId(), taskGroupQueue.getTaskId()).convert2Command());
+        }
+    }
+
     /**
      * crate new task instance to retry, different objects from the original
      *
@@ -743,6 +815,8 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                 submitPostNode(null);
                 workflowRunnableStatus = WorkflowRunnableStatus.STARTED;
                 log.info("workflowStatue changed to :{}", workflowRunnableStatus);
+                // the events added before the workflow started are not handed out yet
+                signalStateEvent();
             }
             return WorkflowSubmitStatus.SUCCESS;
         } catch (Exception e) {
@@ -758,6 +832,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      */
     public void endProcess() {
         this.stateEvents.clear();
+        dependentResultCacheManager.onWorkflowInstanceFinished(processInstance);
         if (processDefinition.getExecutionType().typeIsSerialWait() || processDefinition.getExecutionType()
                 .typeIsSerialPriority()) {
             checkSerialProcess(processDefinition);
@@ -769,7 +844,23 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         }
         if (checkTaskQueue()) {
             // release task group
-            processService.releaseAllTaskGroup(processInstance.getId());
+            boolean interrupted = false;
+            for (TaskGroupQueue nextTaskGroupQueue : taskGroupCoordinator
+                    .releaseAllTaskGroupSlots(processInstance.getId())) {
+                try {
+                    wakeUpTaskGroupWaiter(nextTaskGroupQueue);
+                } catch (RemotingException e) {
+                    log.error("Wake up the waiter of task group error, taskGroupQueue: {}", nextTaskGroupQueue, e);
+                } catch (InterruptedException e) {
+                    // still wake up the other waiters since the slots have been released, then restore the interrupt
+                    log.error("Wake up the waiter of task group interrupted, taskGroupQueue: {}", nextTaskGroupQueue,
+                            e);
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -817,32 +908,21 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
 
         List<TaskInstance> recoverNodeList = getRecoverTaskInstanceList(processInstance.getCommandParam());
 
-        List<ProcessTaskRelation> processTaskRelations =
-                processService.findRelationByCode(processDefinition.getCode(), processDefinition.getVersion());
-        List<TaskDefinitionLog> taskDefinitionLogs =
-                taskDefinitionLogDao.getTaskDefineLogListByRelation(processTaskRelations);
-        List<TaskNode> taskNodeList = processService.transformTask(processTaskRelations, taskDefinitionLogs);
+        WorkflowDagTemplate workflowDagTemplate = workflowDagCacheManager.getWorkflowDagTemplate(processDefinition);
         forbiddenTaskMap.clear();
-
-        taskNodeList.forEach(taskNode -> {
-            if (taskNode.isForbidden()) {
-                forbiddenTaskMap.put(taskNode.getCode(), taskNode);
-            }
-        });
-
-        taskNodesMap = taskNodeList.stream().collect(Collectors.toMap(TaskNode::getCode, taskNode -> taskNode));
+        forbiddenTaskMap.putAll(workflowDagTemplate.getForbiddenTaskNodeMap());
+        taskNodesMap = workflowDagTemplate.getTaskNodeMap();
 
         // generate process to get DAG info
         List<String> recoveryNodeCodeList = getRecoveryNodeCodeList(recoverNodeList);
         List<String> startNodeNameList = parseStartNodeName(processInstance.getCommandParam());
-        ProcessDag processDag = generateFlowDag(taskNodeList, startNodeNameList, recoveryNodeCodeList,
+        CompiledDAG<TaskNode> flowDag = workflowDagTemplate.getDag(startNodeNameList, recoveryNodeCodeList,
                 processInstance.getTaskDependType());
-        if (processDag == null) {
+        if (flowDag == null) {
             log.error("ProcessDag is null");
             return;
         }
-        // generate process dag
-        dag = DagHelper.buildDagGraph(processDag);
+        dag = flowDag;
         log.info("Build dag success, dag: {}", dag);
     }
 
@@ -855,6 +935,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         activeTaskProcessorMaps.clear();
         dependFailedTaskSet.clear();
         completeTaskMap.clear();
+        taskVarPoolMap.clear();
         errorTaskMap.clear();
 
         if (!isNewProcessInstance()) {
@@ -1011,11 +1092,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
             // it will be wakeup when other tasks release the resource.
             int taskGroupId = taskInstance.getTaskGroupId();
             if (taskGroupId > 0) {
-                boolean acquireTaskGroup = processService.acquireTaskGroup(taskInstance.getId(),
-                        taskInstance.getName(),
-                        taskGroupId,
-                        taskInstance.getProcessInstanceId(),
-                        taskInstance.getTaskGroupPriority());
+                boolean acquireTaskGroup = taskGroupCoordinator.acquireTaskGroupSlot(taskInstance);
                 if (!acquireTaskGroup) {
                     log.info(
                             "Submitted task will not be dispatch right now because the first time to try to acquire" +
@@ -1044,7 +1121,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                             .status(taskProcessor.taskInstance().getState())
                             .type(StateEventType.PROCESS_BLOCKED)
                             .build();
-                    this.stateEvents.add(processBlockEvent);
+                    this.addStateEvent(processBlockEvent);
                 }
                 TaskStateEvent taskStateChangeEvent = TaskStateEvent.builder()
                         .processInstanceId(processInstance.getId())
@@ -1052,7 +1129,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                         .status(taskProcessor.taskInstance().getState())
                         .type(StateEventType.TASK_STATE_CHANGE)
                         .build();
-                this.stateEvents.add(taskStateChangeEvent);
+                this.addStateEvent(taskStateChangeEvent);
             }
             return Optional.of(taskInstance);
         } catch (Exception e) {
@@ -1104,7 +1181,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      * @return taskInstance
      */
     public TaskInstance cloneRetryTaskInstance(TaskInstance taskInstance) {
-        TaskNode taskNode = dag.getNode(Long.toString(taskInstance.getTaskCode()));
+        TaskNode taskNode = dag.getNode(taskInstance.getTaskCode());
         if (taskNode == null) {
             log.error("Clone retry taskInstance error because taskNode is null, taskCode:{}",
                     taskInstance.getTaskCode());
@@ -1133,7 +1210,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      * @return taskInstance
      */
     public TaskInstance cloneTolerantTaskInstance(TaskInstance taskInstance) {
-        TaskNode taskNode = dag.getNode(Long.toString(taskInstance.getTaskCode()));
+        TaskNode taskNode = dag.getNode(taskInstance.getTaskCode());
         if (taskNode == null) {
             log.error("Clone tolerant taskInstance error because taskNode is null, taskCode:{}",
                     taskInstance.getTaskCode());
@@ -1258,12 +1335,8 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                 if (preTaskInstance == null) {
                     continue;
                 }
-                String preVarPool = preTaskInstance.getVarPool();
-                if (StringUtils.isNotEmpty(preVarPool)) {
-                    List<Property> properties = JSONUtils.toList(preVarPool, Property.class);
-                    for (Property info : properties) {
-                        setVarPoolValue(allProperty, allTaskInstance, preTaskInstance, info);
-                    }
+                for (Property info : getTaskVarPool(preTaskInstance).getProperties()) {
+                    setVarPoolValue(allProperty, allTaskInstance, preTaskInstance, info);
                 }
             }
             if (allProperty.size() > 0) {
@@ -1280,10 +1353,35 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         return taskInstanceMap.values();
     }
 
+    /**
+     * get the parsed var pool of the task instance, the var pool is parsed again only if it has been changed
+     */
+    private VarPool getTaskVarPool(TaskInstance taskInstance) {
+        String varPool = taskInstance.getVarPool();
+        VarPool taskVarPool = taskVarPoolMap.get(taskInstance.getId());
+        if (taskVarPool == null || !taskVarPool.isParsedFrom(varPool)) {
+            taskVarPool = VarPool.of(varPool);
+            taskVarPoolMap.put(taskInstance.getId(), taskVarPool);
+        }
+        return taskVarPool;
+    }
+
+    /**
+     * get the parsed var pool of the process instance, the var pool is parsed again only if it has been changed
+     */
+    private VarPool getProcessVarPool() {
+        String varPool = processInstance.getVarPool();
+        if (!processVarPool.isParsedFrom(varPool)) {
+            processVarPool = VarPool.of(varPool);
+        }
+        return processVarPool;
+    }
+
     private void setVarPoolValue(Map<String, Property> allProperty, Map<String, TaskInstance> allTaskInstance,
-                                 TaskInstance preTaskInstance, Property thisProperty) {
-        // for this taskInstance all the param in this part is IN.
-        thisProperty.setDirect(Direct.IN);
+                                 TaskInstance preTaskInstance, Property preProperty) {
+        // for this taskInstance all the param in this part is IN, the parsed property is shared so copy it.
+        Property thisProperty =
+                new Property(preProperty.getProp(), Direct.IN, preProperty.getType(), preProperty.getValue());
         // get the pre taskInstance Property's name
         String proName = thisProperty.getProp();
         // if the Previous nodes have the Property of same name
@@ -1350,7 +1448,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                 DagHelper.parsePostNodes(parentNodeCode, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
         List<TaskInstance> taskInstances = new ArrayList<>();
         for (String taskNode : submitTaskNodeList) {
-            TaskNode taskNodeObject = dag.getNode(taskNode);
+            TaskNode taskNodeObject = dag.getNode(Long.parseLong(taskNode));
             Optional<TaskInstance> existTaskInstanceOptional = getTaskInstance(taskNodeObject.getCode());
             if (existTaskInstanceOptional.isPresent()) {
                 TaskInstance existTaskInstance = existTaskInstanceOptional.get();
@@ -1378,19 +1476,12 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
             taskInstances.add(task);
         }
         // the end node of the branch of the dag
-        if (StringUtils.isNotEmpty(parentNodeCode) && dag.getEndNode().contains(parentNodeCode)) {
+        if (StringUtils.isNotEmpty(parentNodeCode) && dag.isEndNode(Long.parseLong(parentNodeCode))) {
             TaskInstance endTaskInstance = taskInstanceMap.get(completeTaskMap.get(NumberUtils.toLong(parentNodeCode)));
-            String taskInstanceVarPool = endTaskInstance.getVarPool();
-            if (StringUtils.isNotEmpty(taskInstanceVarPool)) {
-                Set<Property> taskProperties = new HashSet<>(JSONUtils.toList(taskInstanceVarPool, Property.class));
-                String processInstanceVarPool = processInstance.getVarPool();
-                if (StringUtils.isNotEmpty(processInstanceVarPool)) {
-                    Set<Property> properties = new HashSet<>(JSONUtils.toList(processInstanceVarPool, Property.class));
-                    properties.addAll(taskProperties);
-                    processInstance.setVarPool(JSONUtils.toJsonString(properties));
-                } else {
-                    processInstance.setVarPool(JSONUtils.toJsonString(taskProperties));
-                }
+            VarPool taskVarPool = getTaskVarPool(endTaskInstance);
+            if (!taskVarPool.isEmpty()) {
+                processVarPool = getProcessVarPool().union(taskVarPool);
+                processInstance.setVarPool(processVarPool.toJson());
             }
         }
 
@@ -1464,16 +1555,15 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      */
     private DependResult isTaskDepsComplete(String taskCode) {
 
-        Collection<String> startNodes = dag.getBeginNode();
         // if vertex,returns true directly
-        if (startNodes.contains(taskCode)) {
+        if (dag.isBeginNode(Long.parseLong(taskCode))) {
             return DependResult.SUCCESS;
         }
-        TaskNode taskNode = dag.getNode(taskCode);
+        TaskNode taskNode = dag.getNode(Long.parseLong(taskCode));
         List<String> indirectDepCodeList = new ArrayList<>();
         setIndirectDepList(taskCode, indirectDepCodeList);
         for (String depsNode : indirectDepCodeList) {
-            if (dag.containsNode(depsNode) && !skipTaskNodeMap.containsKey(depsNode)) {
+            if (dag.containsNode(Long.parseLong(depsNode)) && !skipTaskNodeMap.containsKey(depsNode)) {
                 // dependencies must be fully completed
                 Long despNodeTaskCode = Long.parseLong(depsNode);
                 if (!completeTaskMap.containsKey(despNodeTaskCode)) {
@@ -1512,7 +1602,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      * @param indirectDepCodeList All indirectly dependent nodes
      */
     private void setIndirectDepList(String taskCode, List<String> indirectDepCodeList) {
-        TaskNode taskNode = dag.getNode(taskCode);
+        TaskNode taskNode = dag.getNode(Long.parseLong(taskCode));
         // If workflow start with startNode or recoveryNode, taskNode may be null
         if (taskNode == null) {
             return;
@@ -1530,7 +1620,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
      * depend node is completed, but here need check the condition task branch is the next node
      */
     private boolean dependTaskSuccess(String dependNodeName, String nextNodeName) {
-        if (dag.getNode(dependNodeName).isConditionsTask()) {
+        if (dag.getNode(Long.parseLong(dependNodeName)).isConditionsTask()) {
             // condition task need check the branch to run
             List<String> nextTaskList =
                     DagHelper.parseConditionTask(dependNodeName, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
@@ -1765,7 +1855,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
                     .type(StateEventType.PROCESS_STATE_CHANGE)
                     .build();
             // replace with `stateEvents`, make sure `WorkflowExecuteThread` can be deleted to avoid memory leaks
-            this.stateEvents.add(stateEvent);
+            this.addStateEvent(stateEvent);
         } else {
             log.info("There is no need to update the workflow instance state, origin state: {}, target state: {}",
                     processInstance.getState(),
@@ -1867,6 +1957,11 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
             readyToSubmitTaskQueue.clear();
         }
 
+        if (processInstance.getState().isReadyStop()) {
+            // the tasks waiting to retry will not be submitted again, stop the workflow without waiting for them
+            stateWheelExecuteThread.fireTask4RetryCheck(processInstance);
+        }
+
         for (long taskCode : activeTaskProcessorMaps.keySet()) {
             ITaskProcessor taskProcessor = activeTaskProcessorMaps.get(taskCode);
             Integer taskInstanceId = validTaskMap.get(taskCode);
@@ -2027,23 +2122,6 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         return recoveryNodeCodeList;
     }
 
-    /**
-     * generate flow dag
-     *
-     * @param totalTaskNodeList    total task node list
-     * @param startNodeNameList    start node name list
-     * @param recoveryNodeCodeList recovery node code list
-     * @param depNodeType          depend node type
-     * @return ProcessDag           process dag
-     * @throws Exception exception
-     */
-    public ProcessDag generateFlowDag(List<TaskNode> totalTaskNodeList,
-                                      List<String> startNodeNameList,
-                                      List<String> recoveryNodeCodeList,
-                                      TaskDependType depNodeType) throws Exception {
-        return DagHelper.generateFlowDag(totalTaskNodeList, startNodeNameList, recoveryNodeCodeList, depNodeType);
-    }
-
     /**
      * check task queue
      */
@@ -2149,12 +2227,11 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         }
 
         // Records the key of varPool data to be removed
-        Set<String> taskCodesString = dag.getAllNodesList();
+        long[] taskCodes = dag.getAllNodes();
 
         List<TaskInstance> removeTaskInstances = new ArrayList<>();
 
-        for (String taskCodeString : taskCodesString) {
-            long taskCode = Long.parseLong(taskCodeString);
+        for (long taskCode : taskCodes) {
             TaskInstance taskInstance;
             if (validTaskMap.containsKey(taskCode)) {
                 taskInstance = taskInstanceMap.get(validTaskMap.get(taskCode));
@@ -2198,10 +2275,10 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatus> {
         processInstanceDao.updateProcessInstance(processInstance);
 
         // remove task instance from taskInstanceMap, completeTaskMap, validTaskMap, errorTaskMap
-        taskInstanceMap.entrySet().removeIf(map -> dag.containsNode(Long.toString(map.getValue().getTaskCode())));
-        completeTaskMap.entrySet().removeIf(map -> dag.containsNode(Long.toString(map.getKey())));
-        validTaskMap.entrySet().removeIf(map -> dag.containsNode(Long.toString(map.getKey())));
-        errorTaskMap.entrySet().removeIf(map -> dag.containsNode(Long.toString(map.getKey())));
+        taskInstanceMap.entrySet().removeIf(map -> dag.containsNode(map.getValue().getTaskCode()));
+        completeTaskMap.entrySet().removeIf(map -> dag.containsNode(map.getKey()));
+        validTaskMap.entrySet().removeIf(map -> dag.containsNode(map.getKey()));
+        errorTaskMap.entrySet().removeIf(map -> dag.containsNode(map.getKey()));
     }
 
     private void saveCacheTaskInstance(TaskInstance taskInstance) {
@@ -34,7 +34,7 @@ import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.annotation.PostConstruct;
 
@@ -71,11 +71,6 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private StateWheelExecuteThread stateWheelExecuteThread;
 
-    /**
-     * multi-thread filter, avoid handling workflow at the same time
-     */
-    private ConcurrentHashMap<String, WorkflowExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
-
     @PostConstruct
     private void init() {
         this.setDaemon(true);
@@ -100,19 +95,21 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     }
 
     /**
-     * Handle the events belong to the given workflow.
+     * Handle the events belong to the given workflow, this is called by
+     * {@link WorkflowExecuteRunnable#signalStateEvent()} at most once until the handling is finished.
      */
     public void executeEvent(final WorkflowExecuteRunnable workflowExecuteThread) {
-        if (!workflowExecuteThread.isStart() || workflowExecuteThread.eventSize() == 0) {
-            return;
-        }
-        if (multiThreadFilterMap.containsKey(workflowExecuteThread.getKey())) {
-            log.debug("The workflow has been executed by another thread");
+        int processInstanceId = workflowExecuteThread.getProcessInstance().getId();
+        ListenableFuture<?> future;
+        try {
+            future = this.submitListenable(workflowExecuteThread::handleEvents);
+        } catch (RejectedExecutionException ex) {
+            log.error("Submit workflow instance events to handle failed, processInstanceId: {}", processInstanceId,
+                    ex);
+            // don't signal again here, the pool will reject it again and recurse
+            workflowExecuteThread.cancelHandleEvents();
             return;
         }
-        multiThreadFilterMap.put(workflowExecuteThread.getKey(), workflowExecuteThread);
-        int processInstanceId = workflowExecuteThread.getProcessInstance().getId();
-        ListenableFuture<?> future = this.submitListenable(workflowExecuteThread::handleEvents);
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
@@ -121,8 +118,8 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 try {
                     log.error("Workflow instance events handle failed", ex);
                     notifyProcessChanged(workflowExecuteThread.getProcessInstance());
-                    multiThreadFilterMap.remove(workflowExecuteThread.getKey());
                 } finally {
+                    workflowExecuteThread.finishHandleEvents();
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
             }
@@ -141,8 +138,8 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 } catch (Exception e) {
                     log.error("Workflow instance is finished, but notify changed error", e);
                 } finally {
-                    // make sure the process has been removed from multiThreadFilterMap
-                    multiThreadFilterMap.remove(workflowExecuteThread.getKey());
+                    // make sure the events added during the handling will be handed again
+                    workflowExecuteThread.finishHandleEvents();
                     LogUtils.removeWorkflowInstanceIdMDC();
                 }
             }
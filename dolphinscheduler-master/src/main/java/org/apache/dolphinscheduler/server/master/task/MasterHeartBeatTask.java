@@ -25,6 +25,8 @@ import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
+import java.util.function.IntSupplier;
+
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,13 +41,17 @@ public class MasterHeartBeatTask extends BaseHeartBeatTask<MasterHeartBeat> {
 
     private final int processId;
 
+    private final IntSupplier commandQueueDepthSupplier;
+
     public MasterHeartBeatTask(@NonNull MasterConfig masterConfig,
-                               @NonNull RegistryClient registryClient) {
+                               @NonNull RegistryClient registryClient,
+                               @NonNull IntSupplier commandQueueDepthSupplier) {
         super("MasterHeartBeatTask", masterConfig.getHeartbeatInterval().toMillis());
         this.masterConfig = masterConfig;
         this.registryClient = registryClient;
         this.heartBeatPath = masterConfig.getMasterRegistryPath();
         this.processId = OSUtils.getProcessID();
+        this.commandQueueDepthSupplier = commandQueueDepthSupplier;
     }
 
     @Override
@@ -59,6 +65,7 @@ public class MasterHeartBeatTask extends BaseHeartBeatTask<MasterHeartBeat> {
                 .memoryUsage(OSUtils.memoryUsagePercentage())
                 .diskAvailable(OSUtils.diskAvailable())
                 .processId(processId)
+                .commandQueueDepth(commandQueueDepthSupplier.getAsInt())
                 .build();
     }
 
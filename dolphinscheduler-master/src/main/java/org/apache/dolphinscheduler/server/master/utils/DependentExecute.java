@@ -21,13 +21,13 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DependentRelation;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
 import org.apache.dolphinscheduler.plugin.task.api.model.DependentItem;
 import org.apache.dolphinscheduler.plugin.task.api.utils.DependentUtils;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
 import java.util.ArrayList;
@@ -46,7 +46,8 @@ public class DependentExecute {
 
     private final ProcessInstanceDao processInstanceDao = SpringApplicationContext.getBean(ProcessInstanceDao.class);
 
-    private final TaskInstanceDao taskInstanceDao = SpringApplicationContext.getBean(TaskInstanceDao.class);
+    private final DependentResultCacheManager dependentResultCacheManager =
+            SpringApplicationContext.getBean(DependentResultCacheManager.class);
 
     /**
      * depend item list
@@ -112,8 +113,8 @@ public class DependentExecute {
 
         DependResult result = DependResult.FAILED;
         for (DateInterval dateInterval : dateIntervals) {
-            ProcessInstance processInstance = findLastProcessInterval(dependentItem.getDefinitionCode(),
-                    dateInterval, testFlag);
+            ProcessInstance processInstance = dependentResultCacheManager
+                    .findLastProcessInterval(dependentItem.getDefinitionCode(), dateInterval, testFlag);
             if (processInstance == null) {
                 return DependResult.WAITING;
             }
@@ -153,59 +154,18 @@ public class DependentExecute {
      * @return
      */
     private DependResult getDependTaskResult(long taskCode, ProcessInstance processInstance, int testFlag) {
-        DependResult result;
-        TaskInstance taskInstance = null;
-        List<TaskInstance> taskInstanceList =
-                taskInstanceDao.findValidTaskListByProcessId(processInstance.getId(), testFlag);
+        TaskExecutionStatus taskInstanceState =
+                dependentResultCacheManager.findTaskInstanceState(processInstance.getId(), taskCode, testFlag);
 
-        for (TaskInstance task : taskInstanceList) {
-            if (task.getTaskCode() == taskCode) {
-                taskInstance = task;
-                break;
-            }
-        }
-
-        if (taskInstance == null) {
+        if (taskInstanceState == null) {
             // cannot find task in the process instance
             // maybe because process instance is running or failed.
             if (processInstance.getState().isFinished()) {
-                result = DependResult.FAILED;
-            } else {
-                return DependResult.WAITING;
+                return DependResult.FAILED;
             }
-        } else {
-            result = getDependResultByState(taskInstance.getState());
-        }
-
-        return result;
-    }
-
-    /**
-     * find the last one process instance that :
-     * 1. manual run and finish between the interval
-     * 2. schedule run and schedule time between the interval
-     *
-     * @param definitionCode definition code
-     * @param dateInterval   date interval
-     * @return ProcessInstance
-     */
-    private ProcessInstance findLastProcessInterval(Long definitionCode, DateInterval dateInterval, int testFlag) {
-
-        ProcessInstance lastSchedulerProcess =
-                processInstanceDao.findLastSchedulerProcessInterval(definitionCode, dateInterval, testFlag);
-
-        ProcessInstance lastManualProcess =
-                processInstanceDao.findLastManualProcessInterval(definitionCode, dateInterval, testFlag);
-
-        if (lastManualProcess == null) {
-            return lastSchedulerProcess;
-        }
-        if (lastSchedulerProcess == null) {
-            return lastManualProcess;
+            return DependResult.WAITING;
         }
-
-        // In the time range, there are both manual and scheduled workflow instances, return the last workflow instance
-        return lastManualProcess.getId() > lastSchedulerProcess.getId() ? lastManualProcess : lastSchedulerProcess;
+        return getDependResultByState(taskInstanceState);
     }
 
     /**
@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.utils;
+
+/**
+ * Evaluate the switch condition without a script engine.
+ * <p>
+ * The condition has been formatted by replacing the parameters with their values, so it usually only contains
+ * literals, parentheses and operators. This parser supports the javascript subset made of number, string, boolean and
+ * null literals with the operators {@code ! - + * / % < <= > >= == != === !== && ||}, following the javascript
+ * conversion rules. The result only depends on the expression text, so it can be cached by the text.
+ * <p>
+ * Any other syntax, e.g. identifiers or function calls, throws {@link UnsupportedExpressionException} and the caller
+ * should fall back to a script engine.
+ */
+public final class SwitchExpressionParser {
+
+    private final String expression;
+
+    private int position;
+
+    private SwitchExpressionParser(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * @return the value of the expression, which is a Double, String, Boolean or null
+     */
+    public static Object evaluate(String expression) {
+        SwitchExpressionParser parser = new SwitchExpressionParser(expression);
+        Object value = parser.parseOr();
+        parser.skipWhitespace();
+        if (parser.position != expression.length()) {
+            throw parser.unsupported();
+        }
+        return value;
+    }
+
+    private Object parseOr() {
+        Object value = parseAnd();
+        while (consume("||")) {
+            Object right = parseAnd();
+            value = isTruthy(value) ? value : right;
+        }
+        return value;
+    }
+
+    private Object parseAnd() {
+        Object value = parseEquality();
+        while (consume("&&")) {
+            Object right = parseEquality();
+            value = isTruthy(value) ? right : value;
+        }
+        return value;
+    }
+
+    private Object parseEquality() {
+        Object value = parseRelational();
+        while (true) {
+            if (consume("===")) {
+                value = strictEquals(value, parseRelational());
+            } else if (consume("!==")) {
+                value = !strictEquals(value, parseRelational());
+            } else if (consume("==")) {
+                value = looseEquals(value, parseRelational());
+            } else if (consume("!=")) {
+                value = !looseEquals(value, parseRelational());
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private Object parseRelational() {
+        Object value = parseAdditive();
+        while (true) {
+            if (consume("<=")) {
+                Object right = parseAdditive();
+                value = !isNaNComparison(value, right) && compare(value, right) <= 0;
+            } else if (consume(">=")) {
+                Object right = parseAdditive();
+                value = !isNaNComparison(value, right) && compare(value, right) >= 0;
+            } else if (consume("<")) {
+                Object right = parseAdditive();
+                value = !isNaNComparison(value, right) && compare(value, right) < 0;
+            } else if (consume(">")) {
+                Object right = parseAdditive();
+                value = !isNaNComparison(value, right) && compare(value, right) > 0;
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private Object parseAdditive() {
+        Object value = parseMultiplicative();
+        while (true) {
+            if (consume("+")) {
+                Object right = parseMultiplicative();
+                if (value instanceof String || right instanceof String) {
+                    value = toJsString(value) + toJsString(right);
+                } else {
+                    value = toNumber(value) + toNumber(right);
+                }
+            } else if (consume("-")) {
+                value = toNumber(value) - toNumber(parseMultiplicative());
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private Object parseMultiplicative() {
+        Object value = parseUnary();
+        while (true) {
+            if (consume("*")) {
+                value = toNumber(value) * toNumber(parseUnary());
+            } else if (consume("/")) {
+                value = toNumber(value) / toNumber(parseUnary());
+            } else if (consume("%")) {
+                value = toNumber(value) % toNumber(parseUnary());
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private Object parseUnary() {
+        if (consume("!")) {
+            return !isTruthy(parseUnary());
+        }
+        if (consume("-")) {
+            return -toNumber(parseUnary());
+        }
+        if (consume("+")) {
+            return toNumber(parseUnary());
+        }
+        return parsePrimary();
+    }
+
+    private Object parsePrimary() {
+        skipWhitespace();
+        if (position >= expression.length()) {
+            throw unsupported();
+        }
+        char c = expression.charAt(position);
+        if (c == '(') {
+            position++;
+            Object value = parseOr();
+            if (!consume(")")) {
+                throw unsupported();
+            }
+            return value;
+        }
+        if (c == '"' || c == '\'') {
+            return parseString(c);
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+        if (consumeKeyword("true")) {
+            return Boolean.TRUE;
+        }
+        if (consumeKeyword("false")) {
+            return Boolean.FALSE;
+        }
+        if (consumeKeyword("null")) {
+            return null;
+        }
+        throw unsupported();
+    }
+
+    private String parseString(char quote) {
+        StringBuilder builder = new StringBuilder();
+        position++;
+        while (position < expression.length()) {
+            char c = expression.charAt(position++);
+            if (c == quote) {
+                return builder.toString();
+            }
+            if (c == '\\') {
+                if (position >= expression.length()) {
+                    break;
+                }
+                char escaped = expression.charAt(position++);
+                switch (escaped) {
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case '"':
+                    case '\'':
+                    case '\\':
+                        builder.append(escaped);
+                        break;
+                    default:
+                        // other escapes such as unicode are left to the script engine
+                        throw unsupported();
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        throw unsupported();
+    }
+
+    private Double parseNumber() {
+        int start = position;
+        if (expression.startsWith("0x", position) || expression.startsWith("0X", position)) {
+            position += 2;
+            while (position < expression.length() && Character.digit(expression.charAt(position), 16) >= 0) {
+                position++;
+            }
+            try {
+                return (double) Long.parseLong(expression.substring(start + 2, position), 16);
+            } catch (NumberFormatException e) {
+                throw unsupported();
+            }
+        }
+        if (expression.charAt(position) == '0' && position + 1 < expression.length()
+                && Character.isDigit(expression.charAt(position + 1))) {
+            // the legacy octal literal
+            throw unsupported();
+        }
+        while (position < expression.length()) {
+            char c = expression.charAt(position);
+            if (Character.isDigit(c) || c == '.') {
+                position++;
+            } else if ((c == 'e' || c == 'E') && position + 1 < expression.length()) {
+                position++;
+                if (expression.charAt(position) == '+' || expression.charAt(position) == '-') {
+                    position++;
+                }
+            } else {
+                break;
+            }
+        }
+        if (position < expression.length() && Character.isLetter(expression.charAt(position))) {
+            throw unsupported();
+        }
+        try {
+            return Double.parseDouble(expression.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw unsupported();
+        }
+    }
+
+    private boolean consume(String token) {
+        skipWhitespace();
+        if (!expression.startsWith(token, position)) {
+            return false;
+        }
+        // don't take the prefix of a longer operator, e.g. '=' of '==' or '&' of '&&'
+        int end = position + token.length();
+        if (end < expression.length()) {
+            char next = expression.charAt(end);
+            if (("<".equals(token) || ">".equals(token) || "!".equals(token)) && next == '=') {
+                return false;
+            }
+            if (("+".equals(token) || "-".equals(token)) && next == token.charAt(0)) {
+                throw unsupported();
+            }
+        }
+        position = end;
+        return true;
+    }
+
+    private boolean consumeKeyword(String keyword) {
+        if (!expression.startsWith(keyword, position)) {
+            return false;
+        }
+        int end = position + keyword.length();
+        if (end < expression.length() && Character.isJavaIdentifierPart(expression.charAt(end))) {
+            return false;
+        }
+        position = end;
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private UnsupportedExpressionException unsupported() {
+        return new UnsupportedExpressionException(
+                String.format("Unsupported expression: %s, at position: %d", expression, position));
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Double) {
+            double number = (Double) value;
+            return number != 0 && !Double.isNaN(number);
+        }
+        return !((String) value).isEmpty();
+    }
+
+    private static double toNumber(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        String text = ((String) value).trim();
+        if (text.isEmpty()) {
+            return 0;
+        }
+        try {
+            if (text.startsWith("0x") || text.startsWith("0X")) {
+                return Long.parseLong(text.substring(2), 16);
+            }
+            char last = text.charAt(text.length() - 1);
+            // java accepts the type suffix which is not a number in javascript
+            if (Character.isLetter(last) && !text.endsWith("Infinity")) {
+                return Double.NaN;
+            }
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String toJsString(Object value) {
+        if (value instanceof Double) {
+            double number = (Double) value;
+            if (number == Math.rint(number) && Math.abs(number) < 1e21) {
+                return String.valueOf((long) number);
+            }
+            if (Double.isNaN(number)) {
+                return "NaN";
+            }
+            if (Double.isInfinite(number)) {
+                return number > 0 ? "Infinity" : "-Infinity";
+            }
+        }
+        return String.valueOf(value);
+    }
+
+    private static boolean strictEquals(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof Double && right instanceof Double) {
+            return ((Double) left).doubleValue() == ((Double) right).doubleValue();
+        }
+        return left.getClass() == right.getClass() && left.equals(right);
+    }
+
+    private static boolean looseEquals(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left.getClass() == right.getClass()) {
+            return strictEquals(left, right);
+        }
+        // boolean, number and string of different types are compared as numbers
+        return toNumber(left) == toNumber(right);
+    }
+
+    private static boolean isNaNComparison(Object left, Object right) {
+        if (left instanceof String && right instanceof String) {
+            return false;
+        }
+        return Double.isNaN(toNumber(left)) || Double.isNaN(toNumber(right));
+    }
+
+    private static int compare(Object left, Object right) {
+        if (left instanceof String && right instanceof String) {
+            return ((String) left).compareTo((String) right);
+        }
+        double leftNumber = toNumber(left);
+        double rightNumber = toNumber(right);
+        return leftNumber < rightNumber ? -1 : (leftNumber > rightNumber ? 1 : 0);
+    }
+
+    /**
+     * The expression uses a syntax which isn't supported by {@link SwitchExpressionParser}.
+     */
+    public static class UnsupportedExpressionException extends RuntimeException {
+
+        public UnsupportedExpressionException(String message) {
+            super(message);
+        }
+    }
+}
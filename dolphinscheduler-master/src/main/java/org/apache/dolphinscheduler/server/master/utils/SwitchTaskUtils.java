@@ -17,12 +17,28 @@
 
 package org.apache.dolphinscheduler.server.master.utils;
 
+import java.util.concurrent.ExecutionException;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 public class SwitchTaskUtils {
 
+    /**
+     * The compiled expressions keyed by the formatted condition, the condition contains the parameter values so the
+     * cache is bounded.
+     */
+    private static final Cache<String, CompiledExpression> COMPILED_EXPRESSION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(10000)
+            .build();
+
     private static ScriptEngineManager manager;
     private static ScriptEngine engine;
 
@@ -32,8 +48,61 @@ public class SwitchTaskUtils {
     }
 
     public static boolean evaluate(String expression) throws ScriptException {
-        Object result = engine.eval(expression);
-        return (Boolean) result;
+        CompiledExpression compiledExpression;
+        try {
+            compiledExpression = COMPILED_EXPRESSION_CACHE.get(expression, () -> compile(expression));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+            throw new ScriptException(String.valueOf(e.getCause()));
+        }
+        return compiledExpression.evaluate();
+    }
+
+    private static CompiledExpression compile(String expression) throws ScriptException {
+        Object result;
+        try {
+            result = SwitchExpressionParser.evaluate(expression);
+        } catch (SwitchExpressionParser.UnsupportedExpressionException e) {
+            return compileScript(expression);
+        }
+        if (!(result instanceof Boolean)) {
+            throw new ScriptException(String.format("The result of expression: %s is not a boolean", expression));
+        }
+        // the expression made of literals always has the same result
+        boolean constant = (Boolean) result;
+        return () -> constant;
+    }
+
+    private static CompiledExpression compileScript(String expression) throws ScriptException {
+        if (engine == null) {
+            throw new ScriptException(
+                    String.format("No javascript engine found to evaluate the expression: %s", expression));
+        }
+        // the script engine isn't thread safe, the evaluation is serialized on it
+        if (engine instanceof Compilable) {
+            CompiledScript compiledScript;
+            synchronized (engine) {
+                compiledScript = ((Compilable) engine).compile(expression);
+            }
+            return () -> {
+                synchronized (engine) {
+                    return (Boolean) compiledScript.eval();
+                }
+            };
+        }
+        return () -> {
+            synchronized (engine) {
+                return (Boolean) engine.eval(expression);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface CompiledExpression {
+
+        boolean evaluate() throws ScriptException;
     }
 
 }
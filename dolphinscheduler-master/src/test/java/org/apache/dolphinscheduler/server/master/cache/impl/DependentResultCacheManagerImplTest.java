@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheProperties;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DependentResultCacheManagerImplTest {
+
+    @InjectMocks
+    private DependentResultCacheManagerImpl dependentResultCacheManager;
+
+    @Mock
+    private ProcessInstanceDao processInstanceDao;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    private final DateInterval dateInterval = new DateInterval(new Date(0), new Date(1000));
+
+    private final ProcessInstance processInstance = new ProcessInstance();
+
+    @BeforeEach
+    public void before() {
+        Mockito.when(masterConfig.getDependentResultCache()).thenReturn(new DependentResultCacheProperties());
+        dependentResultCacheManager.init();
+
+        processInstance.setId(100);
+        processInstance.setProcessDefinitionCode(1L);
+        processInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        Mockito.when(processInstanceDao.findLastSchedulerProcessInterval(ArgumentMatchers.eq(1L),
+                ArgumentMatchers.any(), ArgumentMatchers.eq(0))).thenReturn(processInstance);
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setTaskCode(10L);
+        taskInstance.setProcessInstanceId(100);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        Mockito.when(taskInstanceDao.findValidTaskListByProcessId(100, 0))
+                .thenReturn(Collections.singletonList(taskInstance));
+    }
+
+    @Test
+    public void testFindLastProcessInterval() {
+        Assertions.assertSame(processInstance, dependentResultCacheManager.findLastProcessInterval(1L,
+                dateInterval, 0));
+        Assertions.assertSame(processInstance, dependentResultCacheManager.findLastProcessInterval(1L,
+                new DateInterval(new Date(0), new Date(1000)), 0));
+        Assertions.assertNull(dependentResultCacheManager.findLastProcessInterval(2L, dateInterval, 0));
+        Assertions.assertNull(dependentResultCacheManager.findLastProcessInterval(2L, dateInterval, 0));
+        Mockito.verify(processInstanceDao, Mockito.times(2)).findLastSchedulerProcessInterval(
+                ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+
+        dependentResultCacheManager.onWorkflowInstanceFinished(processInstance);
+        dependentResultCacheManager.findLastProcessInterval(1L, dateInterval, 0);
+        dependentResultCacheManager.findLastProcessInterval(2L, dateInterval, 0);
+        Mockito.verify(processInstanceDao, Mockito.times(3)).findLastSchedulerProcessInterval(
+                ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    public void testFindTaskInstanceState() {
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION,
+                dependentResultCacheManager.findTaskInstanceState(100, 10L, 0));
+        Assertions.assertNull(dependentResultCacheManager.findTaskInstanceState(100, 11L, 0));
+        Mockito.verify(taskInstanceDao, Mockito.times(1)).findValidTaskListByProcessId(100, 0);
+
+        TaskInstance finishedTaskInstance = new TaskInstance();
+        finishedTaskInstance.setTaskCode(10L);
+        finishedTaskInstance.setProcessInstanceId(100);
+        finishedTaskInstance.setState(TaskExecutionStatus.SUCCESS);
+        Mockito.when(taskInstanceDao.findValidTaskListByProcessId(100, 0))
+                .thenReturn(Collections.singletonList(finishedTaskInstance));
+        dependentResultCacheManager.onTaskInstanceFinished(finishedTaskInstance);
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS,
+                dependentResultCacheManager.findTaskInstanceState(100, 10L, 0));
+    }
+
+    @Test
+    public void testDisabled() {
+        DependentResultCacheProperties dependentResultCacheProperties = new DependentResultCacheProperties();
+        dependentResultCacheProperties.setEnabled(false);
+        Mockito.when(masterConfig.getDependentResultCache()).thenReturn(dependentResultCacheProperties);
+        dependentResultCacheManager.init();
+
+        dependentResultCacheManager.findTaskInstanceState(100, 10L, 0);
+        dependentResultCacheManager.findTaskInstanceState(100, 10L, 0);
+        Mockito.verify(taskInstanceDao, Mockito.times(2)).findValidTaskListByProcessId(100, 0);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.CacheType;
+import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheProperties;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagTemplate;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.model.TaskNode;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class WorkflowDagCacheManagerImplTest {
+
+    @InjectMocks
+    private WorkflowDagCacheManagerImpl workflowDagCacheManager;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private TaskDefinitionLogDao taskDefinitionLogDao;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    private final ProcessDefinition processDefinition = new ProcessDefinition();
+
+    @BeforeEach
+    public void before() {
+        Mockito.when(masterConfig.getWorkflowDagCache())
+                .thenReturn(new WorkflowDagCacheProperties());
+        workflowDagCacheManager.init();
+
+        processDefinition.setCode(1L);
+        processDefinition.setVersion(1);
+        // 1 -> 2 -> 3
+        List<TaskNode> taskNodeList = new ArrayList<>();
+        taskNodeList.add(taskNode(1L, "[]"));
+        taskNodeList.add(taskNode(2L, "[1]"));
+        taskNodeList.add(taskNode(3L, "[2]"));
+        Mockito.when(processService.findRelationByCode(1L, 1)).thenReturn(Collections.emptyList());
+        Mockito.when(processService.transformTask(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(taskNodeList);
+    }
+
+    private TaskNode taskNode(long code, String preTasks) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setPreTasks(preTasks);
+        return taskNode;
+    }
+
+    @Test
+    public void testGetWorkflowDagTemplate() throws Exception {
+        WorkflowDagTemplate workflowDagTemplate = workflowDagCacheManager.getWorkflowDagTemplate(processDefinition);
+        Assertions.assertSame(workflowDagTemplate, workflowDagCacheManager.getWorkflowDagTemplate(processDefinition));
+        Mockito.verify(processService, Mockito.times(1)).transformTask(ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+
+        Assertions.assertEquals(3, workflowDagTemplate.getTaskNodeSize());
+        Assertions.assertSame(workflowDagTemplate.getDag(),
+                workflowDagTemplate.getDag(null, null, TaskDependType.TASK_POST));
+        Assertions.assertEquals(3, workflowDagTemplate.getDag().getNodesCount());
+        Assertions.assertEquals(2,
+                workflowDagTemplate.getDag(Collections.singletonList("2"), null, TaskDependType.TASK_POST)
+                        .getNodesCount());
+        Assertions.assertEquals(2,
+                workflowDagTemplate.getDag(Collections.singletonList("2"), null, TaskDependType.TASK_PRE)
+                        .getNodesCount());
+    }
+
+    @Test
+    public void testExpire() {
+        WorkflowDagTemplate workflowDagTemplate = workflowDagCacheManager.getWorkflowDagTemplate(processDefinition);
+
+        workflowDagCacheManager.expire(CacheType.TENANT, "1");
+        workflowDagCacheManager.expire(CacheType.PROCESS_TASK_RELATION, "100_2");
+        workflowDagCacheManager.expire(CacheType.TASK_DEFINITION, "4_1");
+        Assertions.assertSame(workflowDagTemplate, workflowDagCacheManager.getWorkflowDagTemplate(processDefinition));
+
+        workflowDagCacheManager.expire(CacheType.TASK_DEFINITION, "2_1");
+        WorkflowDagTemplate rebuiltTemplate = workflowDagCacheManager.getWorkflowDagTemplate(processDefinition);
+        Assertions.assertNotSame(workflowDagTemplate, rebuiltTemplate);
+
+        workflowDagCacheManager.expire(CacheType.PROCESS_TASK_RELATION, "100_1");
+        Assertions.assertNotSame(rebuiltTemplate, workflowDagCacheManager.getWorkflowDagTemplate(processDefinition));
+    }
+}
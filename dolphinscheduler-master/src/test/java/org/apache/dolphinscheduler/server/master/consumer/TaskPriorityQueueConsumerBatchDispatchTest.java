@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
+import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import io.netty.channel.ChannelFuture;
+import io.netty.util.concurrent.GenericFutureListener;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TaskPriorityQueueConsumerBatchDispatchTest {
+
+    private static final Host WORKER_A = Host.of("127.0.0.1:1234");
+
+    private static final Host WORKER_B = Host.of("127.0.0.2:1234");
+
+    @InjectMocks
+    private TaskPriorityQueueConsumer taskPriorityQueueConsumer;
+
+    @Mock
+    private TaskPriorityQueue<TaskPriority> taskPriorityQueue;
+
+    @Mock
+    private HostManager hostManager;
+
+    @Mock
+    private NettyExecutorManager nettyExecutorManager;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private TaskEventService taskEventService;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @Mock
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    private Semaphore inFlightDispatchPermits;
+
+    @BeforeEach
+    public void before() throws Exception {
+        inFlightDispatchPermits = new Semaphore(masterConfig.getDispatchTaskNumber());
+        Field field = TaskPriorityQueueConsumer.class.getDeclaredField("inFlightDispatchPermits");
+        field.setAccessible(true);
+        field.set(taskPriorityQueueConsumer, inFlightDispatchPermits);
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1)).thenReturn(workflowExecuteRunnable);
+    }
+
+    @Test
+    public void testBatchDispatchGroupByWorker() throws Exception {
+        TaskPriority task1 = mockTask(1, WORKER_A);
+        TaskPriority task2 = mockTask(2, WORKER_A);
+        TaskPriority task3 = mockTask(3, WORKER_B);
+        mockPoll(task1, task2, task3);
+        ChannelFuture successFuture = mockFuture(true);
+        Mockito.when(nettyExecutorManager.executeAsync(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(successFuture);
+
+        List<TaskPriority> failedDispatchTasks = taskPriorityQueueConsumer.batchDispatch(3);
+
+        Assertions.assertTrue(failedDispatchTasks.isEmpty());
+        Mockito.verify(nettyExecutorManager).executeAsync(ArgumentMatchers.eq(WORKER_A),
+                ArgumentMatchers.argThat(messageOf(MessageType.TASK_DISPATCH_BATCH_MESSAGE)));
+        Mockito.verify(nettyExecutorManager).executeAsync(ArgumentMatchers.eq(WORKER_B),
+                ArgumentMatchers.argThat(messageOf(MessageType.TASK_DISPATCH_MESSAGE)));
+        Mockito.verify(taskEventService, Mockito.times(3)).addEvent(ArgumentMatchers.any());
+        Assertions.assertEquals(masterConfig.getDispatchTaskNumber(), inFlightDispatchPermits.availablePermits());
+    }
+
+    @Test
+    public void testRetryOtherWorkerWhenSendFailed() throws Exception {
+        TaskPriority task1 = mockTask(1, WORKER_A);
+        mockPoll(task1);
+        ChannelFuture failedFuture = mockFuture(false);
+        ChannelFuture successFuture = mockFuture(true);
+        Mockito.when(nettyExecutorManager.executeAsync(ArgumentMatchers.eq(WORKER_A), ArgumentMatchers.any()))
+                .thenReturn(failedFuture);
+        Mockito.when(nettyExecutorManager.executeAsync(ArgumentMatchers.eq(WORKER_B), ArgumentMatchers.any()))
+                .thenReturn(successFuture);
+        Mockito.when(nettyExecutorManager.selectRetryHost(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(Optional.of(WORKER_B));
+
+        Assertions.assertTrue(taskPriorityQueueConsumer.batchDispatch(1).isEmpty());
+
+        Mockito.verify(nettyExecutorManager).executeAsync(ArgumentMatchers.eq(WORKER_B), ArgumentMatchers.any());
+        Mockito.verify(taskEventService).addEvent(ArgumentMatchers.any());
+        Mockito.verify(taskPriorityQueue, Mockito.never()).put(ArgumentMatchers.any());
+        Assertions.assertEquals(masterConfig.getDispatchTaskNumber(), inFlightDispatchPermits.availablePermits());
+    }
+
+    @Test
+    public void testPutBackWhenAllWorkersFailed() throws Exception {
+        TaskPriority task1 = mockTask(1, WORKER_A);
+        mockPoll(task1);
+        ChannelFuture failedFuture = mockFuture(false);
+        Mockito.when(nettyExecutorManager.executeAsync(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(failedFuture);
+        Mockito.when(nettyExecutorManager.selectRetryHost(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertTrue(taskPriorityQueueConsumer.batchDispatch(1).isEmpty());
+
+        Mockito.verify(taskPriorityQueue).put(task1);
+        Mockito.verify(taskEventService, Mockito.never()).addEvent(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testBoundInFlightDispatchMessages() throws Exception {
+        TaskPriority task1 = mockTask(1, WORKER_A);
+        mockPoll(task1);
+        inFlightDispatchPermits.drainPermits();
+
+        List<TaskPriority> failedDispatchTasks = taskPriorityQueueConsumer.batchDispatch(1);
+
+        Assertions.assertEquals(1, failedDispatchTasks.size());
+        Mockito.verify(nettyExecutorManager, Mockito.never()).executeAsync(ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testTaskInstanceIsFinalState() throws Exception {
+        TaskPriority task1 = mockTask(1, WORKER_A);
+        mockPoll(task1);
+        workflowExecuteRunnable.getTaskInstance(1).get().setState(TaskExecutionStatus.KILL);
+
+        List<TaskPriority> failedDispatchTasks = taskPriorityQueueConsumer.batchDispatch(1);
+
+        // the finished task is dropped by the state of the in-memory task instance, without querying the db
+        Assertions.assertTrue(failedDispatchTasks.isEmpty());
+        Mockito.verifyNoInteractions(taskInstanceDao);
+        Mockito.verify(nettyExecutorManager, Mockito.never()).executeAsync(ArgumentMatchers.any(),
+                ArgumentMatchers.any());
+        Mockito.verify(taskEventService, Mockito.never()).addEvent(ArgumentMatchers.any());
+    }
+
+    private TaskPriority mockTask(int taskInstanceId, Host host) throws Exception {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        taskInstance.setProcessInstanceId(1);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setIsCache(Flag.NO);
+        Mockito.when(workflowExecuteRunnable.getTaskInstance(taskInstanceId)).thenReturn(Optional.of(taskInstance));
+        Mockito.when(hostManager.select(ArgumentMatchers
+                .argThat((ExecutionContext context) -> context != null && context.getTaskInstance() == taskInstance)))
+                .thenReturn(host);
+
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        taskExecutionContext.setProcessInstanceId(1);
+        TaskPriority taskPriority = new TaskPriority(0, 1, 0, taskInstanceId, 0, "default");
+        taskPriority.setTaskExecutionContext(taskExecutionContext);
+        return taskPriority;
+    }
+
+    private void mockPoll(TaskPriority first, TaskPriority... others) throws Exception {
+        TaskPriority[] polled = new TaskPriority[others.length + 1];
+        System.arraycopy(others, 0, polled, 0, others.length);
+        Mockito.when(taskPriorityQueue.poll(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+                .thenReturn(first, polled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChannelFuture mockFuture(boolean success) {
+        ChannelFuture channelFuture = Mockito.mock(ChannelFuture.class);
+        Mockito.when(channelFuture.isSuccess()).thenReturn(success);
+        Mockito.when(channelFuture.addListener(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            GenericFutureListener<ChannelFuture> listener = invocation.getArgument(0);
+            listener.operationComplete(channelFuture);
+            return channelFuture;
+        });
+        return channelFuture;
+    }
+
+    private ArgumentMatcher<Message> messageOf(MessageType messageType) {
+        return message -> message != null && message.getType() == messageType;
+    }
+}
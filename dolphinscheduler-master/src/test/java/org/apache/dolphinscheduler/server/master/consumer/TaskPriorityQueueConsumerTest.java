@@ -30,13 +30,13 @@ import org.apache.dolphinscheduler.dao.entity.Tenant;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
-import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.queue.TaskPriority;
 import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
@@ -232,23 +232,6 @@ public class TaskPriorityQueueConsumerTest {
         Assertions.assertNotNull(taskInstance);
     }
 
-    @Test
-    public void testTaskInstanceIsFinalState() {
-        TaskInstance taskInstance = new TaskInstance();
-        taskInstance.setId(1);
-        taskInstance.setTaskType("SHELL");
-        taskInstance.setProcessInstanceId(1);
-        taskInstance.setState(TaskExecutionStatus.KILL);
-        taskInstance.setProcessInstancePriority(Priority.MEDIUM);
-        taskInstance.setWorkerGroup("default");
-        taskInstance.setExecutorId(2);
-
-        Mockito.doReturn(taskInstance).when(taskInstanceDao).findTaskInstanceById(1);
-
-        Boolean state = taskPriorityQueueConsumer.taskInstanceIsFinalState(1);
-        Assertions.assertNotNull(state);
-    }
-
     @Test
     public void testNotFoundWorkerGroup() throws Exception {
         TaskInstance taskInstance = new TaskInstance();
@@ -283,7 +266,7 @@ public class TaskPriorityQueueConsumerTest {
     }
 
     @Test
-    public void testDispatch() {
+    public void testDispatch() throws Exception {
         TaskInstance taskInstance = new TaskInstance();
         taskInstance.setId(1);
         taskInstance.setTaskType("SHELL");
@@ -313,14 +296,11 @@ public class TaskPriorityQueueConsumerTest {
 
         TaskPriority taskPriority = new TaskPriority();
         taskPriority.setTaskId(1);
-        boolean res = false;
-        try {
-            taskPriorityQueueConsumer.dispatchTask(taskPriority);
-        } catch (ExecuteException e) {
-            throw new RuntimeException(e);
-        }
-
-        Assertions.assertFalse(res);
+        taskPriorityQueue.put(taskPriority);
+        // the task instance is not in the workflow runnable, it will be dropped
+        List<TaskPriority> failedDispatchTasks = taskPriorityQueueConsumer.batchDispatch(1);
+
+        Assertions.assertTrue(failedDispatchTasks.isEmpty());
     }
 
     @Test
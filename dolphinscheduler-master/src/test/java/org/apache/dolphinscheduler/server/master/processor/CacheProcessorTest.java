@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.CacheType;
 import org.apache.dolphinscheduler.dao.entity.Tenant;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.cache.CacheExpireRequest;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,6 +53,9 @@ public class CacheProcessorTest {
     @Mock
     private Cache cache;
 
+    @Mock
+    private WorkflowDagCacheManager workflowDagCacheManager;
+
     @BeforeEach
     public void before() {
         Mockito.when(cacheManager.getCache(CacheType.TENANT.getCacheName())).thenReturn(cache);
@@ -65,5 +69,7 @@ public class CacheProcessorTest {
         Message message = cacheExpireRequest.convert2Command();
 
         cacheProcessor.process(channel, message);
+        Mockito.verify(cache).evict("1");
+        Mockito.verify(workflowDagCacheManager).expire(CacheType.TENANT, "1");
     }
 }
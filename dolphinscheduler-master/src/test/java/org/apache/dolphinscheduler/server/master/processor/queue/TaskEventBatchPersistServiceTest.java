@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.dao.utils.TaskInstanceUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskEventBatchPersistServiceTest {
+
+    @InjectMocks
+    private TaskEventBatchPersistService taskEventBatchPersistService;
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @BeforeEach
+    public void before() {
+        masterConfig.setTaskEventBatchPersistWindow(Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    public void after() {
+        taskEventBatchPersistService.stop();
+    }
+
+    @Test
+    public void testPersistCoalesceTaskInstance() throws InterruptedException {
+        List<Integer> persistedSizes = new ArrayList<>();
+        Mockito.when(taskInstanceDao.batchUpdateTaskInstance(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            persistedSizes.add(((Collection<?>) invocation.getArgument(0)).size());
+            return true;
+        });
+        CountDownLatch committed = new CountDownLatch(3);
+        List<TaskExecutionStatus> committedStates = new ArrayList<>();
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        TaskInstance anotherTaskInstance = new TaskInstance();
+        anotherTaskInstance.setId(2);
+        anotherTaskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+
+        taskEventBatchPersistService.persist(taskInstance, new TaskInstance(), committed::countDown);
+        taskEventBatchPersistService.persist(anotherTaskInstance, new TaskInstance(), committed::countDown);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskEventBatchPersistService.persist(taskInstance, new TaskInstance(), () -> {
+            committedStates.add(taskInstance.getState());
+            committed.countDown();
+        });
+        taskEventBatchPersistService.start();
+
+        Assertions.assertTrue(committed.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, persistedSizes.size());
+        Assertions.assertEquals(2, persistedSizes.get(0));
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, committedStates.get(0));
+    }
+
+    @Test
+    public void testPersistRetryAfterFailure() throws InterruptedException {
+        Mockito.when(taskInstanceDao.batchUpdateTaskInstance(ArgumentMatchers.any()))
+                .thenThrow(new IllegalStateException("database is unavailable"))
+                .thenReturn(true);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskEventBatchPersistService.start();
+        taskEventBatchPersistService.persist(taskInstance, new TaskInstance(), committed::countDown);
+
+        Assertions.assertTrue(committed.await(5, TimeUnit.SECONDS));
+        Mockito.verify(taskInstanceDao, Mockito.times(2)).batchUpdateTaskInstance(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testRestoreTaskInstanceAfterRetryExhausted() {
+        masterConfig.setTaskEventBatchPersistRetryTimes(1);
+        Mockito.when(taskInstanceDao.batchUpdateTaskInstance(ArgumentMatchers.any()))
+                .thenThrow(new IllegalStateException("database is unavailable"));
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        TaskInstance oldTaskInstance = new TaskInstance();
+        TaskInstanceUtils.copyTaskInstance(taskInstance, oldTaskInstance);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        List<Integer> committed = new ArrayList<>();
+        taskEventBatchPersistService.persist(taskInstance, oldTaskInstance, () -> committed.add(1));
+
+        Assertions.assertFalse(taskEventBatchPersistService.flushPendingTaskInstances());
+        Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskInstance.getState());
+        // the retry times exhausted, the task instance is restored and nothing is left to persist
+        Assertions.assertFalse(taskEventBatchPersistService.flushPendingTaskInstances());
+        Assertions.assertEquals(TaskExecutionStatus.RUNNING_EXECUTION, taskInstance.getState());
+        Assertions.assertTrue(taskEventBatchPersistService.flushPendingTaskInstances());
+        Assertions.assertTrue(committed.isEmpty());
+        Mockito.verify(taskInstanceDao, Mockito.times(2)).batchUpdateTaskInstance(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void testRunAfterPendingTaskInstancePersisted() {
+        Mockito.when(taskInstanceDao.batchUpdateTaskInstance(ArgumentMatchers.any())).thenReturn(true);
+        List<String> callbacks = new ArrayList<>();
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskEventBatchPersistService.persist(taskInstance, new TaskInstance(), () -> callbacks.add("result"));
+        // the duplicate event is acked only after the pending result is persisted
+        taskEventBatchPersistService.runAfterPersisted(1, () -> callbacks.add("duplicate"));
+        Assertions.assertTrue(callbacks.isEmpty());
+
+        Assertions.assertTrue(taskEventBatchPersistService.flushPendingTaskInstances());
+        Assertions.assertEquals(Arrays.asList("result", "duplicate"), callbacks);
+
+        // there is no pending change, the callback is executed immediately
+        taskEventBatchPersistService.runAfterPersisted(1, () -> callbacks.add("delay"));
+        Assertions.assertEquals(Arrays.asList("result", "duplicate", "delay"), callbacks);
+    }
+
+    @Test
+    public void testDropCallbackWhenPersistFailed() {
+        masterConfig.setTaskEventBatchPersistRetryTimes(0);
+        Mockito.when(taskInstanceDao.batchUpdateTaskInstance(ArgumentMatchers.any()))
+                .thenThrow(new IllegalStateException("database is unavailable"));
+        List<String> callbacks = new ArrayList<>();
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskEventBatchPersistService.persist(taskInstance, new TaskInstance(), () -> callbacks.add("result"));
+        taskEventBatchPersistService.runAfterPersisted(1, () -> callbacks.add("duplicate"));
+
+        Assertions.assertFalse(taskEventBatchPersistService.flushPendingTaskInstances());
+        // the worker isn't acked, it will resend the events
+        Assertions.assertTrue(callbacks.isEmpty());
+    }
+}
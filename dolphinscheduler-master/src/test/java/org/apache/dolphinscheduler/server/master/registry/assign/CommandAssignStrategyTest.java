@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry.assign;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandAssignStrategyTest {
+
+    @Test
+    public void testSlotCommandAssign() {
+        SlotCommandAssignStrategy strategy = new SlotCommandAssignStrategy();
+        strategy.updateMasters(Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678"), "127.0.0.2:5678");
+
+        Assertions.assertEquals(3, strategy.getBucketCount());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1)), strategy.getOwnedBuckets());
+        Assertions.assertTrue(strategy.isOwner(4));
+        Assertions.assertFalse(strategy.isOwner(5));
+    }
+
+    @Test
+    public void testConsistentHashCommandAssign() {
+        List<String> masters = Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678");
+        ConsistentHashCommandAssignStrategy strategy = new ConsistentHashCommandAssignStrategy(160);
+        strategy.updateMasters(masters, "127.0.0.1:5678");
+
+        Set<Integer> allBuckets = new HashSet<>();
+        for (String master : masters) {
+            Set<Integer> buckets = strategy.getBuckets(master);
+            // the buckets should be balanced roughly
+            Assertions.assertTrue(buckets.size() > ConsistentHashCommandAssignStrategy.BUCKET_COUNT / 6);
+            buckets.forEach(bucket -> Assertions.assertTrue(allBuckets.add(bucket)));
+        }
+        Assertions.assertEquals(ConsistentHashCommandAssignStrategy.BUCKET_COUNT, allBuckets.size());
+        int commandId = strategy.getOwnedBuckets().iterator().next();
+        Assertions.assertTrue(strategy.isOwner(commandId));
+        Assertions.assertTrue(strategy.isOwner(commandId + ConsistentHashCommandAssignStrategy.BUCKET_COUNT));
+    }
+
+    @Test
+    public void testConsistentHashOnlyMoveBucketsOfChangedMaster() {
+        List<String> masters = Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678");
+        ConsistentHashCommandAssignStrategy strategy = new ConsistentHashCommandAssignStrategy(160);
+        strategy.updateMasters(masters, "127.0.0.1:5678");
+        Set<Integer> bucketsBefore = new HashSet<>(strategy.getOwnedBuckets());
+
+        // a new master joins, the current master only loses buckets
+        strategy.updateMasters(Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678", "127.0.0.4:5678"),
+                "127.0.0.1:5678");
+        Set<Integer> bucketsAfterJoin = strategy.getOwnedBuckets();
+        Assertions.assertTrue(bucketsBefore.containsAll(bucketsAfterJoin));
+        Assertions.assertTrue(bucketsAfterJoin.size() > bucketsBefore.size() / 2);
+
+        // another master leaves, the current master only takes over buckets
+        strategy.updateMasters(Arrays.asList("127.0.0.1:5678", "127.0.0.3:5678"), "127.0.0.1:5678");
+        Assertions.assertTrue(strategy.getOwnedBuckets().containsAll(bucketsBefore));
+    }
+}
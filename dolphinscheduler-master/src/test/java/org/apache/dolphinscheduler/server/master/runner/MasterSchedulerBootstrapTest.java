@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowEventQueue;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.master.registry.assign.CommandAssignStrategy;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MasterSchedulerBootstrapTest {
+
+    @InjectMocks
+    private MasterSchedulerBootstrap masterSchedulerBootstrap;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @Mock
+    private CommandService commandService;
+
+    @Mock
+    private WorkflowEventQueue workflowEventQueue;
+
+    @Mock
+    private CommandAssignStrategy commandAssignStrategy;
+
+    @BeforeEach
+    public void before() throws Exception {
+        masterConfig.setCommandFetchMaxIdleInterval(Duration.ofMillis(300));
+        Mockito.when(serverNodeManager.getMasterSize()).thenReturn(2);
+        Mockito.when(serverNodeManager.isCommandOwner(1)).thenReturn(true);
+        Mockito.when(serverNodeManager.isCommandOwner(2)).thenReturn(false);
+        Mockito.when(serverNodeManager.getCommandAssignStrategy()).thenReturn(commandAssignStrategy);
+        Mockito.when(commandAssignStrategy.getBucketCount()).thenReturn(2);
+        Mockito.when(commandAssignStrategy.getOwnedBuckets()).thenReturn(Collections.singleton(1));
+    }
+
+    @Test
+    public void testWaitCommandNotifyBackOff() throws Exception {
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertEquals(200L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertEquals(300L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+        // the interval is capped by the max idle interval
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertEquals(300L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+    }
+
+    @Test
+    public void testNotifyCommandWakeUpCommandLoop() throws Exception {
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertEquals(200L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+
+        // the command belongs to another master, the loop keeps waiting and backs off
+        masterSchedulerBootstrap.notifyCommand(2);
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertEquals(300L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+
+        masterSchedulerBootstrap.notifyCommand(1);
+        masterSchedulerBootstrap.notifyCommand(1);
+        long start = System.currentTimeMillis();
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertTrue(System.currentTimeMillis() - start < 300);
+        Assertions.assertEquals(100L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+
+        // the redundant notifications are drained, the next wait times out
+        masterSchedulerBootstrap.waitCommandNotify();
+        Assertions.assertEquals(200L, masterSchedulerBootstrap.getCommandFetchIdleInterval());
+    }
+
+    @Test
+    public void testSubmitCommandAfterSlotCheck() throws Exception {
+        masterSchedulerBootstrap.submitCommand(createCommand(1));
+        // the command of another master is skipped
+        masterSchedulerBootstrap.submitCommand(createCommand(2));
+        // the command in flight is not submitted again
+        masterSchedulerBootstrap.submitCommand(createCommand(1));
+
+        Assertions.assertEquals(1, masterSchedulerBootstrap.getCommandQueueDepth());
+        Assertions.assertEquals(1, masterSchedulerBootstrap.getCommandTransformQueueSize());
+    }
+
+    @Test
+    public void testCommandFinishedDuringQueryIsNotFetchedAgain() throws Exception {
+        Command command = createCommand(1);
+        masterSchedulerBootstrap.submitCommand(command);
+        // the command is committed while the query is running, the query doesn't see the deletion
+        Mockito.when(commandService.findCommandPageByBuckets(Mockito.anyInt(), Mockito.eq(2), Mockito.any(),
+                Mockito.eq(false))).thenAnswer(invocation -> {
+                    masterSchedulerBootstrap.finishCommand(1);
+                    return Collections.singletonList(command);
+                });
+        Assertions.assertTrue(masterSchedulerBootstrap.findCommands().isEmpty());
+        Assertions.assertEquals(0, masterSchedulerBootstrap.getCommandQueueDepth());
+
+        // the next query starts after the commit, the finished command is released
+        Mockito.when(commandService.findCommandPageByBuckets(Mockito.anyInt(), Mockito.eq(2), Mockito.any(),
+                Mockito.eq(false))).thenReturn(Collections.emptyList());
+        masterSchedulerBootstrap.findCommands();
+        Assertions.assertEquals(0, masterSchedulerBootstrap.getFinishedCommandSize());
+    }
+
+    @Test
+    public void testStealCommandsFromBusiestMaster() throws Exception {
+        Command command = createCommand(2);
+        Mockito.when(commandService.findCommandPageByBuckets(Mockito.anyInt(), Mockito.eq(2), Mockito.any(),
+                Mockito.eq(false))).thenReturn(Collections.emptyList());
+        Mockito.when(serverNodeManager.findBusiestMaster(masterConfig.getFetchCommandNum()))
+                .thenReturn(Optional.of("busy-master"));
+        Mockito.when(commandAssignStrategy.getBuckets("busy-master")).thenReturn(Collections.singleton(0));
+        Mockito.when(commandService.findCommandPageByBuckets(Mockito.anyInt(), Mockito.eq(2),
+                Mockito.eq(Collections.singleton(0)), Mockito.eq(true))).thenReturn(Collections.singletonList(command));
+
+        // the owned buckets are empty, the command is stolen from the tail of the busy master's bucket
+        List<Command> stolenCommands = masterSchedulerBootstrap.findCommands();
+        Assertions.assertEquals(Collections.singletonList(command), stolenCommands);
+
+        // the stolen command passes the slot check although it belongs to another master, and is claimed only once
+        masterSchedulerBootstrap.submitCommand(command);
+        masterSchedulerBootstrap.submitCommand(command);
+        Assertions.assertEquals(1, masterSchedulerBootstrap.getCommandQueueDepth());
+        Assertions.assertEquals(1, masterSchedulerBootstrap.getCommandTransformQueueSize());
+
+        // the master doesn't steal again while the stolen command is in flight
+        Assertions.assertTrue(masterSchedulerBootstrap.findCommands().isEmpty());
+        Mockito.verify(commandService, Mockito.times(1)).findCommandPageByBuckets(Mockito.anyInt(), Mockito.eq(2),
+                Mockito.any(), Mockito.eq(true));
+
+        // once finished, the stolen command is no longer passed by the slot check
+        masterSchedulerBootstrap.finishCommand(2);
+        masterSchedulerBootstrap.submitCommand(command);
+        Assertions.assertEquals(0, masterSchedulerBootstrap.getCommandQueueDepth());
+    }
+
+    private Command createCommand(int id) {
+        Command command = new Command();
+        command.setId(id);
+        return command;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.TASK_TYPE_DEPENDENT;
+
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.StateEvent;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class StateWheelExecuteThreadTest {
+
+    private static final long MINUTE_MILLIS = 60 * 1000L;
+
+    @InjectMocks
+    private StateWheelExecuteThread stateWheelExecuteThread;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @Mock
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    private final ProcessInstance processInstance = new ProcessInstance();
+
+    @BeforeEach
+    public void before() {
+        masterConfig.setStateWheelInterval(Duration.ofMillis(10));
+        stateWheelExecuteThread.startWheelThread();
+
+        processInstance.setId(1);
+        processInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(1)).thenReturn(workflowExecuteRunnable);
+        Mockito.when(workflowExecuteRunnable.getProcessInstance()).thenReturn(processInstance);
+    }
+
+    @AfterEach
+    public void after() {
+        stateWheelExecuteThread.close();
+    }
+
+    @Test
+    public void testProcessTimeout() {
+        processInstance.setTimeout(1);
+        processInstance.setStartTime(new Date(System.currentTimeMillis() - 2 * MINUTE_MILLIS));
+
+        stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(1000))
+                .submitStateEvent(Mockito.argThat(eventOf(StateEventType.PROCESS_TIMEOUT)));
+        // the timeout event is only sent once
+        Mockito.verify(workflowExecuteThreadPool, Mockito.after(100).times(1)).submitStateEvent(Mockito.any());
+    }
+
+    @Test
+    public void testTaskTimeout() {
+        TaskInstance taskInstance = createTaskInstance();
+        taskInstance.getTaskDefine().setTimeoutFlag(TimeoutFlag.OPEN);
+        taskInstance.getTaskDefine().setTimeout(1);
+        taskInstance.setStartTime(new Date(System.currentTimeMillis() - 2 * MINUTE_MILLIS));
+        Mockito.when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(10L))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4TimeoutCheck(processInstance, taskInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(1000))
+                .submitStateEvent(Mockito.argThat(eventOf(StateEventType.TASK_TIMEOUT)));
+    }
+
+    @Test
+    public void testTaskRetryInterval() {
+        TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstance.setMaxRetryTimes(1);
+        taskInstance.setRetryInterval(1);
+        // the retry interval will elapse in about 1 second
+        taskInstance.setEndTime(new Date(System.currentTimeMillis() - MINUTE_MILLIS));
+        Mockito.when(workflowExecuteRunnable.getRetryTaskInstanceByTaskCode(10L))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4RetryCheck(processInstance, taskInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.after(500).never()).submitStateEvent(Mockito.any());
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(3000))
+                .submitStateEvent(Mockito.argThat(eventOf(StateEventType.TASK_RETRY)));
+    }
+
+    @Test
+    public void testStopProcessWaitingForRetryWhenReadyStop() {
+        TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstance.setMaxRetryTimes(1);
+        taskInstance.setRetryInterval(10);
+        taskInstance.setEndTime(new Date());
+        Mockito.when(workflowExecuteRunnable.getRetryTaskInstanceByTaskCode(10L))
+                .thenReturn(Optional.of(taskInstance));
+        stateWheelExecuteThread.addTask4RetryCheck(processInstance, taskInstance);
+
+        processInstance.setState(WorkflowExecutionStatus.READY_STOP);
+        stateWheelExecuteThread.fireTask4RetryCheck(processInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(1000))
+                .submitStateEvent(Mockito.argThat(eventOf(StateEventType.PROCESS_STATE_CHANGE)));
+        Mockito.verify(workflowExecuteThreadPool, Mockito.after(100).times(1)).submitStateEvent(Mockito.any());
+    }
+
+    @Test
+    public void testRemoveTaskStateCheckWhenTaskFinished() {
+        TaskInstance taskInstance = createTaskInstance();
+        taskInstance.setTaskType(TASK_TYPE_DEPENDENT);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        Mockito.when(workflowExecuteRunnable.getActiveTaskInstanceByTaskCode(10L))
+                .thenReturn(Optional.of(taskInstance));
+
+        stateWheelExecuteThread.addTask4StateCheck(processInstance, taskInstance);
+        // the state of the dependent task is checked periodically
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(1000).atLeast(2))
+                .submitStateEvent(Mockito.argThat(eventOf(StateEventType.TASK_STATE_CHANGE)));
+
+        stateWheelExecuteThread.removeTask4StateCheck(processInstance, taskInstance);
+        Mockito.clearInvocations(workflowExecuteThreadPool);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.after(200).never()).submitStateEvent(Mockito.any());
+    }
+
+    @Test
+    public void testAddProcessTimeoutCheckAgainAfterRestart() {
+        processInstance.setTimeout(10);
+        processInstance.setStartTime(new Date());
+        stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
+
+        // the master reconnects to the registry and the workflow is restarted with the check cleared
+        stateWheelExecuteThread.clearAllTasks();
+        processInstance.setTimeout(1);
+        processInstance.setStartTime(new Date(System.currentTimeMillis() - 2 * MINUTE_MILLIS));
+        stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
+
+        Mockito.verify(workflowExecuteThreadPool, Mockito.timeout(1000))
+                .submitStateEvent(Mockito.argThat(eventOf(StateEventType.PROCESS_TIMEOUT)));
+    }
+
+    private TaskInstance createTaskInstance() {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(100);
+        taskInstance.setProcessInstanceId(1);
+        taskInstance.setTaskCode(10L);
+        taskInstance.setTaskDefinitionVersion(1);
+        taskInstance.setTaskDefine(new TaskDefinition());
+        return taskInstance;
+    }
+
+    private ArgumentMatcher<StateEvent> eventOf(StateEventType stateEventType) {
+        return stateEvent -> stateEvent != null && stateEvent.getType() == stateEventType;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
+import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TaskGroupCoordinatorTest {
+
+    private static final int TASK_GROUP_ID = 1;
+
+    @InjectMocks
+    private TaskGroupCoordinator taskGroupCoordinator;
+
+    @Mock
+    private TaskGroupMapper taskGroupMapper;
+
+    @Mock
+    private TaskGroupQueueMapper taskGroupQueueMapper;
+
+    @Mock
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Mock
+    private ProcessService processService;
+
+    private final TaskGroupQueue runningTaskGroupQueue = TaskGroupQueue.builder()
+            .id(10)
+            .taskId(100)
+            .groupId(TASK_GROUP_ID)
+            .processId(1000)
+            .priority(1)
+            .forceStart(Flag.NO.getCode())
+            .inQueue(Flag.NO.getCode())
+            .status(TaskGroupQueueStatus.ACQUIRE_SUCCESS)
+            .build();
+
+    private final TaskGroupQueue waitingTaskGroupQueue = TaskGroupQueue.builder()
+            .id(11)
+            .taskId(101)
+            .groupId(TASK_GROUP_ID)
+            .processId(1001)
+            .priority(1)
+            .forceStart(Flag.NO.getCode())
+            .inQueue(Flag.NO.getCode())
+            .status(TaskGroupQueueStatus.WAIT_QUEUE)
+            .build();
+
+    @BeforeEach
+    public void before() {
+        TaskGroup taskGroup = new TaskGroup();
+        taskGroup.setId(TASK_GROUP_ID);
+        taskGroup.setGroupSize(1);
+        taskGroup.setUseSize(1);
+        taskGroup.setStatus(Flag.YES.getCode());
+        Mockito.when(taskGroupMapper.selectById(TASK_GROUP_ID)).thenReturn(taskGroup);
+        Mockito.when(taskGroupQueueMapper.queryByTaskId(100)).thenReturn(runningTaskGroupQueue);
+        Mockito.when(taskGroupQueueMapper.queryByTaskId(101)).thenReturn(waitingTaskGroupQueue);
+        Mockito.when(taskGroupQueueMapper.updateInQueueCAS(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyInt())).thenReturn(1);
+    }
+
+    @Test
+    public void testAcquireTaskGroupSlotWhenGroupIsFull() {
+        Assertions.assertFalse(taskGroupCoordinator.acquireTaskGroupSlot(createTaskInstance(101, 1001)));
+        Assertions.assertEquals(1, taskGroupCoordinator.getWaiterSize(TASK_GROUP_ID));
+        Mockito.verify(taskGroupMapper, Mockito.never()).robTaskGroupResource(ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    public void testReleaseTaskGroupSlotHandOverToLocalWaiter() {
+        taskGroupCoordinator.acquireTaskGroupSlot(createTaskInstance(101, 1001));
+
+        TaskGroupQueue nextTaskGroupQueue = taskGroupCoordinator.releaseTaskGroupSlot(createTaskInstance(100, 1000));
+
+        Assertions.assertNotNull(nextTaskGroupQueue);
+        Assertions.assertEquals(101, nextTaskGroupQueue.getTaskId());
+        Assertions.assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS, nextTaskGroupQueue.getStatus());
+        Assertions.assertEquals(TaskGroupQueueStatus.RELEASE, runningTaskGroupQueue.getStatus());
+        Assertions.assertEquals(0, taskGroupCoordinator.getWaiterSize(TASK_GROUP_ID));
+        Mockito.verify(taskGroupMapper, Mockito.never()).releaseTaskGroupResource(ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+        Mockito.verify(processService).handOverTaskGroupQueue(nextTaskGroupQueue, runningTaskGroupQueue);
+        Assertions.assertTrue(taskGroupCoordinator.takeHandedOverTaskGroupSlot(nextTaskGroupQueue));
+        Assertions.assertEquals(Flag.NO.getCode(), nextTaskGroupQueue.getInQueue());
+    }
+
+    @Test
+    public void testReleaseTaskGroupSlotWakeUpHigherPriorityRemoteWaiter() {
+        taskGroupCoordinator.acquireTaskGroupSlot(createTaskInstance(101, 1001));
+        TaskGroupQueue remoteTaskGroupQueue = TaskGroupQueue.builder()
+                .id(12)
+                .taskId(102)
+                .groupId(TASK_GROUP_ID)
+                .processId(1002)
+                .priority(2)
+                .status(TaskGroupQueueStatus.WAIT_QUEUE)
+                .build();
+        Mockito.when(taskGroupQueueMapper.queryTheHighestPriorityTasks(TASK_GROUP_ID,
+                TaskGroupQueueStatus.WAIT_QUEUE.getCode(), Flag.NO.getCode(), Flag.NO.getCode()))
+                .thenReturn(remoteTaskGroupQueue);
+        Mockito.when(taskGroupMapper.releaseTaskGroupResource(TASK_GROUP_ID, 1, 10,
+                TaskGroupQueueStatus.ACQUIRE_SUCCESS.getCode())).thenReturn(1);
+
+        TaskGroupQueue nextTaskGroupQueue = taskGroupCoordinator.releaseTaskGroupSlot(createTaskInstance(100, 1000));
+
+        Assertions.assertEquals(remoteTaskGroupQueue, nextTaskGroupQueue);
+        Assertions.assertEquals(TaskGroupQueueStatus.RELEASE, runningTaskGroupQueue.getStatus());
+        Assertions.assertEquals(1, taskGroupCoordinator.getWaiterSize(TASK_GROUP_ID));
+    }
+
+    private TaskInstance createTaskInstance(int taskInstanceId, int processInstanceId) {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(taskInstanceId);
+        taskInstance.setProcessInstanceId(processInstanceId);
+        taskInstance.setTaskGroupId(TASK_GROUP_ID);
+        taskInstance.setTaskGroupPriority(1);
+        return taskInstance;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VarPoolTest {
+
+    private static final String VAR_POOL_1 =
+            "[{\"prop\":\"test1\",\"direct\":\"OUT\",\"type\":\"VARCHAR\",\"value\":\"1\"}]";
+
+    private static final String VAR_POOL_2 =
+            "[{\"prop\":\"test1\",\"direct\":\"OUT\",\"type\":\"VARCHAR\",\"value\":\"1\"},"
+                    + "{\"prop\":\"test2\",\"direct\":\"OUT\",\"type\":\"VARCHAR\",\"value\":\"2\"}]";
+
+    @Test
+    public void testOf() {
+        Assertions.assertTrue(VarPool.of((String) null).isEmpty());
+        Assertions.assertTrue(VarPool.of("").isParsedFrom(null));
+
+        VarPool varPool = VarPool.of(VAR_POOL_1);
+        Assertions.assertEquals(1, varPool.getProperties().size());
+        Assertions.assertEquals("test1", varPool.getProperties().get(0).getProp());
+        Assertions.assertTrue(varPool.isParsedFrom(VAR_POOL_1));
+        Assertions.assertTrue(varPool.isParsedFrom(new String(VAR_POOL_1)));
+        Assertions.assertFalse(varPool.isParsedFrom(VAR_POOL_2));
+        Assertions.assertSame(VAR_POOL_1, varPool.toJson());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> varPool.getProperties().add(new Property()));
+    }
+
+    @Test
+    public void testUnion() {
+        VarPool varPool1 = VarPool.of(VAR_POOL_1);
+        VarPool varPool2 = VarPool.of(VAR_POOL_2);
+
+        Assertions.assertSame(varPool1, varPool1.union(VarPool.EMPTY));
+        Assertions.assertSame(varPool2, VarPool.EMPTY.union(varPool2));
+
+        VarPool union = varPool1.union(varPool2);
+        Assertions.assertEquals(2, union.getProperties().size());
+        Assertions.assertTrue(union.isParsedFrom(union.toJson()));
+        Assertions.assertEquals(varPool2.getProperties(), VarPool.of(union.toJson()).getProperties());
+    }
+}
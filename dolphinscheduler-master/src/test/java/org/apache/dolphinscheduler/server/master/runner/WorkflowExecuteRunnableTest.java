@@ -24,18 +24,20 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.ProcessExecutionTypeEnum;
+import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.graph.DAG;
-import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
-import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.WorkflowDagCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRpcClient;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
@@ -78,7 +80,7 @@ public class WorkflowExecuteRunnableTest {
 
     private TaskInstanceDao taskInstanceDao;
 
-    private TaskDefinitionLogDao taskDefinitionLogDao;
+    private WorkflowDagCacheManager workflowDagCacheManager;
     private ProcessService processService;
 
     private CommandService commandService;
@@ -93,6 +95,8 @@ public class WorkflowExecuteRunnableTest {
 
     private CuringParamsService curingGlobalParamsService;
 
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
     @BeforeEach
     public void init() throws Exception {
         applicationContext = Mockito.mock(ApplicationContext.class);
@@ -105,7 +109,7 @@ public class WorkflowExecuteRunnableTest {
         processInstanceDao = Mockito.mock(ProcessInstanceDao.class);
         processInstance = Mockito.mock(ProcessInstance.class);
         taskInstanceDao = Mockito.mock(TaskInstanceDao.class);
-        taskDefinitionLogDao = Mockito.mock(TaskDefinitionLogDao.class);
+        workflowDagCacheManager = Mockito.mock(WorkflowDagCacheManager.class);
         Map<String, String> cmdParam = new HashMap<>();
         cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_START_DATE, "2020-01-01 00:00:00");
         cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_END_DATE, "2020-01-20 23:00:00");
@@ -118,14 +122,17 @@ public class WorkflowExecuteRunnableTest {
         curingGlobalParamsService = Mockito.mock(CuringParamsService.class);
         MasterRpcClient masterRpcClient = Mockito.mock(MasterRpcClient.class);
         ProcessAlertManager processAlertManager = Mockito.mock(ProcessAlertManager.class);
+        workflowExecuteThreadPool = Mockito.mock(WorkflowExecuteThreadPool.class);
         workflowExecuteThread = Mockito.spy(
                 new WorkflowExecuteRunnable(processInstance, commandService, processService, processInstanceDao,
                         masterRpcClient,
                         processAlertManager, config, stateWheelExecuteThread, curingGlobalParamsService,
-                        taskInstanceDao, taskDefinitionLogDao));
+                        taskInstanceDao, workflowDagCacheManager,
+                        Mockito.mock(DependentResultCacheManager.class), Mockito.mock(TaskGroupCoordinator.class),
+                        workflowExecuteThreadPool));
         Field dag = WorkflowExecuteRunnable.class.getDeclaredField("dag");
         dag.setAccessible(true);
-        dag.set(workflowExecuteThread, new DAG());
+        dag.set(workflowExecuteThread, CompiledDAG.builder().build());
     }
 
     @Test
@@ -292,13 +299,10 @@ public class WorkflowExecuteRunnableTest {
         Mockito.when(processInstance.getCommandType()).thenReturn(CommandType.EXECUTE_TASK);
         Mockito.when(processInstance.getId()).thenReturn(123);
 
-        DAG<String, TaskNode, TaskNodeRelation> dag = Mockito.mock(DAG.class);
-        Set<String> taskCodesString = new HashSet<>();
-        taskCodesString.add("1");
-        taskCodesString.add("2");
-        Mockito.when(dag.getAllNodesList()).thenReturn(taskCodesString);
-        Mockito.when(dag.containsNode("1")).thenReturn(true);
-        Mockito.when(dag.containsNode("2")).thenReturn(false);
+        // the task 2 isn't in the sub dag of the executed task
+        CompiledDAG<TaskNode> dag = CompiledDAG.<TaskNode>builder()
+                .addNode(taskInstance1.getTaskCode(), new TaskNode())
+                .build();
 
         Field dagField = masterExecThreadClass.getDeclaredField("dag");
         dagField.setAccessible(true);
@@ -316,6 +320,39 @@ public class WorkflowExecuteRunnableTest {
 
     }
 
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testAddStateEventSignalOnce() throws Exception {
+        Mockito.when(processInstance.getId()).thenReturn(123);
+        WorkflowStateEvent stateEvent = WorkflowStateEvent.builder()
+                .processInstanceId(123)
+                .type(StateEventType.PROCESS_STATE_CHANGE)
+                .status(WorkflowExecutionStatus.RUNNING_EXECUTION)
+                .build();
+
+        // the events added before the workflow started will not be handed out
+        workflowExecuteThread.addStateEvent(stateEvent);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.never()).executeEvent(workflowExecuteThread);
+
+        Field statusField = WorkflowExecuteRunnable.class.getDeclaredField("workflowRunnableStatus");
+        statusField.setAccessible(true);
+        statusField.set(workflowExecuteThread, Enum.valueOf((Class<Enum>) statusField.getType(), "STARTED"));
+
+        workflowExecuteThread.addStateEvent(stateEvent);
+        workflowExecuteThread.addStateEvent(stateEvent);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.times(1)).executeEvent(workflowExecuteThread);
+
+        // the events are still pending after the handling finished, will be handed again
+        workflowExecuteThread.finishHandleEvents();
+        Mockito.verify(workflowExecuteThreadPool, Mockito.times(2)).executeEvent(workflowExecuteThread);
+
+        // the handling is rejected, will not be handed again until the next state event
+        workflowExecuteThread.cancelHandleEvents();
+        Mockito.verify(workflowExecuteThreadPool, Mockito.times(2)).executeEvent(workflowExecuteThread);
+        workflowExecuteThread.addStateEvent(stateEvent);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.times(3)).executeEvent(workflowExecuteThread);
+    }
+
     private List<Schedule> zeroSchedulerList() {
         return Collections.emptyList();
     }
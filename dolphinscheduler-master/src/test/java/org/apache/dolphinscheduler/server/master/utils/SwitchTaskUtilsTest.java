@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.utils;
+
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SwitchTaskUtilsTest {
+
+    @Test
+    public void testEvaluate() throws ScriptException {
+        Assertions.assertTrue(SwitchTaskUtils.evaluate(" 2 == 2"));
+        Assertions.assertFalse(SwitchTaskUtils.evaluate(" 3 == 2"));
+        Assertions.assertTrue(SwitchTaskUtils.evaluate("\"abc\" == \"abc\" && (1 + 2) * 3 >= 9"));
+        Assertions.assertTrue(SwitchTaskUtils.evaluate("\"10\" == 10 || false"));
+        Assertions.assertFalse(SwitchTaskUtils.evaluate("\"10\" === 10"));
+        Assertions.assertTrue(SwitchTaskUtils.evaluate("\"b\" > \"a\" && !(\"2\" > 10)"));
+        Assertions.assertTrue(SwitchTaskUtils.evaluate("\"a\" + 1 == \"a1\" && 0.5 + 0.5 == 1"));
+        Assertions.assertFalse(SwitchTaskUtils.evaluate("\"abc\" < 1 || \"abc\" >= 1"));
+        Assertions.assertTrue(SwitchTaskUtils.evaluate("'it\\'s' != \"its\""));
+        // cached
+        Assertions.assertTrue(SwitchTaskUtils.evaluate(" 2 == 2"));
+    }
+
+    @Test
+    public void testEvaluateNotBoolean() {
+        Assertions.assertThrows(ScriptException.class, () -> SwitchTaskUtils.evaluate("1 + 1"));
+        Assertions.assertThrows(ScriptException.class, () -> SwitchTaskUtils.evaluate("\"a\" && 2"));
+    }
+
+    @Test
+    public void testParseUnsupportedExpression() {
+        Assertions.assertThrows(SwitchExpressionParser.UnsupportedExpressionException.class,
+                () -> SwitchExpressionParser.evaluate("a == 1"));
+        Assertions.assertThrows(SwitchExpressionParser.UnsupportedExpressionException.class,
+                () -> SwitchExpressionParser.evaluate("Math.max(1, 2) == 2"));
+        Assertions.assertThrows(SwitchExpressionParser.UnsupportedExpressionException.class,
+                () -> SwitchExpressionParser.evaluate("(1 == 1"));
+        Assertions.assertThrows(SwitchExpressionParser.UnsupportedExpressionException.class,
+                () -> SwitchExpressionParser.evaluate("1 = 1"));
+    }
+}
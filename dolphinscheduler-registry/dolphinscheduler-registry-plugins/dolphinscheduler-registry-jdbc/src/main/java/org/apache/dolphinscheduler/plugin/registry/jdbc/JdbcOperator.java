@@ -17,11 +17,14 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.DataType;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+import org.apache.dolphinscheduler.registry.api.Event;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,12 +32,16 @@ import org.apache.commons.lang3.StringUtils;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @ConditionalOnProperty(prefix = "registry", name = "type", havingValue = "jdbc")
@@ -44,6 +51,8 @@ public class JdbcOperator {
     private JdbcRegistryDataMapper jdbcRegistryDataMapper;
     @Autowired
     private JdbcRegistryLockMapper jdbcRegistryLockMapper;
+    @Autowired
+    private JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper;
 
     private final long expireTimeWindow;
 
@@ -60,6 +69,7 @@ public class JdbcOperator {
         return jdbcRegistryDataMapper.selectAll();
     }
 
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public Long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
         JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
         if (jdbcRegistryData != null) {
@@ -67,6 +77,7 @@ public class JdbcOperator {
             if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
                 throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
             }
+            insertDataChangeEvent(Event.Type.UPDATE, key, value);
             return id;
         }
         jdbcRegistryData = JdbcRegistryData.builder()
@@ -76,9 +87,11 @@ public class JdbcOperator {
                 .lastTerm(System.currentTimeMillis())
                 .build();
         jdbcRegistryDataMapper.insert(jdbcRegistryData);
+        insertDataChangeEvent(Event.Type.ADD, key, value);
         return jdbcRegistryData.getId();
     }
 
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public long insertOrUpdatePersistentData(String key, String value) throws SQLException {
         JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
         if (jdbcRegistryData != null) {
@@ -86,6 +99,7 @@ public class JdbcOperator {
             if (jdbcRegistryDataMapper.updateDataAndTermById(id, value, System.currentTimeMillis()) <= 0) {
                 throw new SQLException(String.format("update registry value failed, key: %s, value: %s", key, value));
             }
+            insertDataChangeEvent(Event.Type.UPDATE, key, value);
             return id;
         }
         jdbcRegistryData = JdbcRegistryData.builder()
@@ -95,24 +109,84 @@ public class JdbcOperator {
                 .lastTerm(System.currentTimeMillis())
                 .build();
         jdbcRegistryDataMapper.insert(jdbcRegistryData);
+        insertDataChangeEvent(Event.Type.ADD, key, value);
         return jdbcRegistryData.getId();
     }
 
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public void deleteDataByKey(String key) {
-        jdbcRegistryDataMapper.deleteByKey(key);
+        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectByKey(key);
+        if (jdbcRegistryData != null) {
+            deleteData(jdbcRegistryData);
+        }
     }
 
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public void deleteDataById(long id) {
-        jdbcRegistryDataMapper.deleteById(id);
+        JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMapper.selectById(id);
+        if (jdbcRegistryData != null) {
+            deleteData(jdbcRegistryData);
+        }
     }
 
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public void clearExpireLock() {
-        jdbcRegistryLockMapper.clearExpireLock(System.currentTimeMillis() - expireTimeWindow);
+        // delete one by one, so that each expired lock will generate a release event
+        long expireTerm = System.currentTimeMillis() - expireTimeWindow;
+        jdbcRegistryLockMapper.selectExpireLock(expireTerm)
+                .forEach(jdbcRegistryLock -> {
+                    if (jdbcRegistryLockMapper.deleteExpireLockById(jdbcRegistryLock.getId(), expireTerm) > 0) {
+                        insertLockReleaseEvent(jdbcRegistryLock);
+                    }
+                });
     }
 
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public void clearExpireEphemeralDate() {
-        jdbcRegistryDataMapper.clearExpireEphemeralDate(System.currentTimeMillis() - expireTimeWindow,
-                DataType.EPHEMERAL.getTypeValue());
+        // delete one by one, so that each deleted data will generate a remove event
+        jdbcRegistryDataMapper.selectExpireEphemeralDate(System.currentTimeMillis() - expireTimeWindow,
+                DataType.EPHEMERAL.getTypeValue())
+                .forEach(this::deleteData);
+    }
+
+    public void clearExpireDataChangeEvent() {
+        jdbcRegistryDataChangeEventMapper.deleteByCreateTimeBefore(
+                new Date(System.currentTimeMillis() - JdbcRegistryConstant.DATA_CHANGE_EVENT_RETENTION));
+    }
+
+    /**
+     * Query the data change events whose id is greater than the given id, order by id.
+     */
+    public List<JdbcRegistryDataChangeEvent> queryDataChangeEventsAfter(long id, int limit) {
+        return jdbcRegistryDataChangeEventMapper.selectByIdAfter(id, limit);
+    }
+
+    public long queryMaxDataChangeEventId() {
+        return jdbcRegistryDataChangeEventMapper.selectMaxId();
+    }
+
+    private void deleteData(JdbcRegistryData jdbcRegistryData) {
+        // the data may be deleted by other servers concurrently, only the one who delete it will generate the event
+        if (jdbcRegistryDataMapper.deleteById(jdbcRegistryData.getId()) > 0) {
+            insertDataChangeEvent(Event.Type.REMOVE, jdbcRegistryData.getKey(), jdbcRegistryData.getData());
+        }
+    }
+
+    /**
+     * Insert the change event in the transaction of the data change, the older update events of the key are deleted
+     * since the new one overrides them, so the heartbeats only keep one update event of each key in the table.
+     */
+    private void insertDataChangeEvent(Event.Type eventType, String key, String data) {
+        if (eventType == Event.Type.UPDATE) {
+            jdbcRegistryDataChangeEventMapper.deleteByDataKeyAndEventType(key, Event.Type.UPDATE);
+        }
+        JdbcRegistryDataChangeEvent jdbcRegistryDataChangeEvent = JdbcRegistryDataChangeEvent.builder()
+                .eventType(eventType)
+                .dataKey(key)
+                .data(data)
+                .createTime(new Date())
+                .build();
+        jdbcRegistryDataChangeEventMapper.insert(jdbcRegistryDataChangeEvent);
     }
 
     public JdbcRegistryData getData(String key) throws SQLException {
@@ -147,7 +221,7 @@ public class JdbcOperator {
             jdbcRegistryLockMapper.insert(jdbcRegistryLock);
             return jdbcRegistryLock;
         } catch (Exception e) {
-            if (e instanceof SQLIntegrityConstraintViolationException) {
+            if (e instanceof SQLIntegrityConstraintViolationException || e instanceof DuplicateKeyException) {
                 return null;
             }
             throw e;
@@ -158,8 +232,32 @@ public class JdbcOperator {
         return jdbcRegistryLockMapper.selectById(lockId);
     }
 
+    public List<JdbcRegistryLock> getLocksByIds(Collection<Long> lockIds) throws SQLException {
+        if (CollectionUtils.isEmpty(lockIds)) {
+            return Collections.emptyList();
+        }
+        return jdbcRegistryLockMapper.selectBatchIds(lockIds);
+    }
+
+    @Transactional(transactionManager = "jdbcRegistryTransactionManager", rollbackFor = Exception.class)
     public boolean releaseLock(long lockId) throws SQLException {
-        return jdbcRegistryLockMapper.deleteById(lockId) > 0;
+        JdbcRegistryLock jdbcRegistryLock = jdbcRegistryLockMapper.selectById(lockId);
+        if (jdbcRegistryLock == null || jdbcRegistryLockMapper.deleteById(lockId) <= 0) {
+            return false;
+        }
+        insertLockReleaseEvent(jdbcRegistryLock);
+        return true;
+    }
+
+    /**
+     * The lock release is recorded as a remove event of the lock key under
+     * {@link JdbcRegistryConstant#LOCK_RELEASE_EVENT_KEY_PREFIX}, so the waiters of other servers are woken by the data
+     * change subscription.
+     */
+    private void insertLockReleaseEvent(JdbcRegistryLock jdbcRegistryLock) {
+        insertDataChangeEvent(Event.Type.REMOVE,
+                JdbcRegistryConstant.LOCK_RELEASE_EVENT_KEY_PREFIX + jdbcRegistryLock.getKey(),
+                jdbcRegistryLock.getLockOwner());
     }
 
     public boolean updateEphemeralDataTerm(Collection<Long> ephemeralDateIds) throws SQLException {
@@ -61,7 +61,8 @@ public class JdbcRegistry implements Registry {
         this.jdbcRegistryProperties = jdbcRegistryProperties;
         this.ephemeralDateManager = new EphemeralDateManager(jdbcRegistryProperties, jdbcOperator);
         this.subscribeDataManager = new SubscribeDataManager(jdbcRegistryProperties, jdbcOperator);
-        this.registryLockManager = new RegistryLockManager(jdbcRegistryProperties, jdbcOperator);
+        this.registryLockManager =
+                new RegistryLockManager(jdbcRegistryProperties, jdbcOperator, subscribeDataManager);
         log.info("Initialize Jdbc Registry...");
     }
 
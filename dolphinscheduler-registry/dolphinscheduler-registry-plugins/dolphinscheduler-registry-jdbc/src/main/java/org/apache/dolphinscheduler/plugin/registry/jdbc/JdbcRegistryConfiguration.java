@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc;
 
+import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataChangeEventMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryDataMapper;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.mapper.JdbcRegistryLockMapper;
 
@@ -26,6 +27,7 @@ import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 
 import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
 import com.zaxxer.hikari.HikariDataSource;
@@ -45,9 +47,19 @@ public class JdbcRegistryConfiguration {
     public SqlSessionTemplate jdbcRegistrySqlSessionTemplate(SqlSessionFactory jdbcRegistrySqlSessionFactory) {
         jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryDataMapper.class);
         jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryLockMapper.class);
+        jdbcRegistrySqlSessionFactory.getConfiguration().addMapper(JdbcRegistryDataChangeEventMapper.class);
         return new SqlSessionTemplate(jdbcRegistrySqlSessionFactory);
     }
 
+    /**
+     * The registry data and its change event are written in one transaction of the registry datasource.
+     */
+    @Bean
+    public DataSourceTransactionManager jdbcRegistryTransactionManager(SqlSessionFactory jdbcRegistrySqlSessionFactory) {
+        return new DataSourceTransactionManager(
+                jdbcRegistrySqlSessionFactory.getConfiguration().getEnvironment().getDataSource());
+    }
+
     @Bean
     public JdbcRegistryDataMapper jdbcRegistryDataMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
         return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryDataMapper.class);
@@ -58,4 +70,9 @@ public class JdbcRegistryConfiguration {
         return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryLockMapper.class);
     }
 
+    @Bean
+    public JdbcRegistryDataChangeEventMapper jdbcRegistryDataChangeEventMapper(SqlSessionTemplate jdbcRegistrySqlSessionTemplate) {
+        return jdbcRegistrySqlSessionTemplate.getMapper(JdbcRegistryDataChangeEventMapper.class);
+    }
+
 }
@@ -25,7 +25,22 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public final class JdbcRegistryConstant {
 
-    public static final long LOCK_ACQUIRE_INTERVAL = 1_000;
+    /**
+     * How long the data change event will be kept, the subscriber which doesn't fetch the change events in this
+     * window will reload the whole registry data.
+     */
+    public static final long DATA_CHANGE_EVENT_RETENTION = 300_000;
+
+    /**
+     * Only the server holding this lock clears the expired data change events.
+     */
+    public static final String DATA_CHANGE_EVENT_CLEANER_LOCK = "/lock/jdbc-registry/data-change-event-cleaner";
+
+    /**
+     * The prefix of the data change event key which records the release of a lock, the registry data keys never
+     * start with it.
+     */
+    public static final String LOCK_RELEASE_EVENT_KEY_PREFIX = "/jdbc-registry-lock-release";
 
     public static final String LOCK_OWNER = NetUtils.getHost() + "_" + OSUtils.getProcessID();
 }
@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.plugin.registry.jdbc.mapper;
 
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
 
-import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
@@ -43,11 +42,8 @@ public interface JdbcRegistryDataMapper extends BaseMapper<JdbcRegistryData> {
     @Update("update t_ds_jdbc_registry_data set data = #{data}, last_term = #{term} where id = #{id}")
     int updateDataAndTermById(@Param("id") long id, @Param("data") String data, @Param("term") long term);
 
-    @Delete("delete from t_ds_jdbc_registry_data where key = #{key}")
-    void deleteByKey(@Param("key") String key);
-
-    @Delete("delete from t_ds_jdbc_registry_data where last_term < #{term} and type = #{type}")
-    void clearExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
+    @Select("select * from t_ds_jdbc_registry_data where last_term < #{term} and type = #{type}")
+    List<JdbcRegistryData> selectExpireEphemeralDate(@Param("term") long term, @Param("type") int type);
 
     @Update({"<script>",
             "update t_ds_jdbc_registry_data",
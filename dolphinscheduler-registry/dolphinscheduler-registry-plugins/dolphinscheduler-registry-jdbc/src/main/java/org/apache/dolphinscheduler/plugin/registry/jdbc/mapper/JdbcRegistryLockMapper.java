@@ -25,6 +25,7 @@ import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
 import java.util.Collection;
+import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
@@ -33,8 +34,11 @@ public interface JdbcRegistryLockMapper extends BaseMapper<JdbcRegistryLock> {
     @Select("select count(1) from t_ds_jdbc_registry_lock")
     int countAll();
 
-    @Delete("delete from t_ds_jdbc_registry_lock where last_term < #{term}")
-    void clearExpireLock(@Param("term") long term);
+    @Select("select * from t_ds_jdbc_registry_lock where last_term < #{term}")
+    List<JdbcRegistryLock> selectExpireLock(@Param("term") long term);
+
+    @Delete("delete from t_ds_jdbc_registry_lock where id = #{id} and last_term < #{term}")
+    int deleteExpireLockById(@Param("id") long id, @Param("term") long term);
 
     @Update({"<script>",
             "update t_ds_jdbc_registry_lock",
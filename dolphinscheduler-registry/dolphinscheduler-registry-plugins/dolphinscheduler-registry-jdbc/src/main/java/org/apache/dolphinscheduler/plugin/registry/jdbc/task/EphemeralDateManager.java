@@ -20,7 +20,9 @@ package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
 import org.apache.dolphinscheduler.registry.api.ConnectionListener;
 import org.apache.dolphinscheduler.registry.api.ConnectionState;
 
@@ -50,6 +52,7 @@ public class EphemeralDateManager implements AutoCloseable {
     private final List<ConnectionListener> connectionListeners = Collections.synchronizedList(new ArrayList<>());
     private final Set<Long> ephemeralDateIds = Collections.synchronizedSet(new HashSet<>());
     private final ScheduledExecutorService scheduledExecutorService;
+    private volatile JdbcRegistryLock dataChangeEventCleanerLock;
 
     public EphemeralDateManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
         this.registryProperties = registryProperties;
@@ -89,6 +92,11 @@ public class EphemeralDateManager implements AutoCloseable {
         for (Long ephemeralDateId : ephemeralDateIds) {
             jdbcOperator.deleteDataById(ephemeralDateId);
         }
+        JdbcRegistryLock cleanerLock = dataChangeEventCleanerLock;
+        if (cleanerLock != null) {
+            dataChangeEventCleanerLock = null;
+            jdbcOperator.releaseLock(cleanerLock.getId());
+        }
     }
 
     // Use this task to refresh ephemeral term and check the connect state.
@@ -144,6 +152,7 @@ public class EphemeralDateManager implements AutoCloseable {
                     updateEphemeralDateTerm();
                 }
                 jdbcOperator.clearExpireEphemeralDate();
+                clearExpireDataChangeEvent();
                 return ConnectionState.CONNECTED;
             } catch (Exception ex) {
                 log.error("Get connection state error, meet an unknown exception", ex);
@@ -151,6 +160,25 @@ public class EphemeralDateManager implements AutoCloseable {
             }
         }
 
+        /**
+         * Only the server holding the cleaner lock clears the expired data change events, the lock term is refreshed
+         * here, once the server is down the lock will be expired and taken over by another server.
+         */
+        private void clearExpireDataChangeEvent() throws SQLException {
+            JdbcRegistryLock cleanerLock = dataChangeEventCleanerLock;
+            if (cleanerLock != null && !jdbcOperator.updateLockTerm(Collections.singletonList(cleanerLock.getId()))) {
+                log.warn("The jdbc registry data change event cleaner lock: {} has been lost", cleanerLock.getId());
+                cleanerLock = null;
+            }
+            if (cleanerLock == null) {
+                cleanerLock = jdbcOperator.tryToAcquireLock(JdbcRegistryConstant.DATA_CHANGE_EVENT_CLEANER_LOCK);
+            }
+            dataChangeEventCleanerLock = cleanerLock;
+            if (cleanerLock != null) {
+                jdbcOperator.clearExpireDataChangeEvent();
+            }
+        }
+
         private void updateEphemeralDateTerm() throws SQLException {
             if (!jdbcOperator.updateEphemeralDataTerm(ephemeralDateIds)) {
                 log.warn("Update jdbc registry ephemeral data: {} term error", ephemeralDateIds);
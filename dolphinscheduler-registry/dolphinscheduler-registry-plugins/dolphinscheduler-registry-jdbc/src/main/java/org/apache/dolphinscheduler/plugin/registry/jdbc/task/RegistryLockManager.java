@@ -17,9 +17,7 @@
 
 package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
-import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
 import org.apache.dolphinscheduler.registry.api.RegistryException;
@@ -27,10 +25,12 @@ import org.apache.dolphinscheduler.registry.api.RegistryException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import lombok.AccessLevel;
@@ -39,25 +39,45 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+/**
+ * The threads in the current server which acquire the same lock are queued in a local fair lock, only the head one
+ * will try to insert the lock record into db. If the lock is held by other server, the head waiter will sleep until
+ * the release event of the lock is fetched by the {@link SubscribeDataManager}, rather than retry the insert at a
+ * fixed interval.
+ * <p>
+ * The lock is released by the id of its record, and the holder will know the lock has been lost if its record has
+ * been expired.
+ */
 @Slf4j
 public class RegistryLockManager implements AutoCloseable {
 
     private final JdbcOperator jdbcOperator;
     private final JdbcRegistryProperties registryProperties;
-    private final Map<String, JdbcRegistryLock> lockHoldMap;
+    private final Map<String, LockEntry> lockEntryMap;
     private final ScheduledExecutorService lockTermUpdateThreadPool;
 
-    public RegistryLockManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
+    /**
+     * The max time to wait for the release event, the head waiter will retry after it in case the event is missed
+     * when the subscription reloads the whole registry data.
+     */
+    private final long maxAwaitReleaseTime;
+
+    public RegistryLockManager(JdbcRegistryProperties registryProperties,
+                               JdbcOperator jdbcOperator,
+                               SubscribeDataManager subscribeDataManager) {
         this.registryProperties = registryProperties;
         this.jdbcOperator = jdbcOperator;
-        this.lockHoldMap = new ConcurrentHashMap<>();
+        this.lockEntryMap = new ConcurrentHashMap<>();
         this.lockTermUpdateThreadPool = Executors.newSingleThreadScheduledExecutor(
                 new ThreadFactoryBuilder().setNameFormat("JdbcRegistryLockTermRefreshThread").setDaemon(true).build());
+        this.maxAwaitReleaseTime =
+                registryProperties.getTermRefreshInterval().toMillis() * registryProperties.getTermExpireTimes();
+        subscribeDataManager.addLockReleaseListener(this::onLockReleased);
     }
 
     public void start() {
         lockTermUpdateThreadPool.scheduleWithFixedDelay(
-                new LockTermRefreshTask(lockHoldMap, jdbcOperator),
+                new LockTermRefreshTask(lockEntryMap, jdbcOperator),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -67,40 +87,172 @@ public class RegistryLockManager implements AutoCloseable {
      * Acquire the lock, if cannot get the lock will await.
      */
     public void acquireLock(String lockKey) throws RegistryException {
-        // maybe we can use the computeIf absent
-        lockHoldMap.computeIfAbsent(lockKey, key -> {
-            JdbcRegistryLock jdbcRegistryLock;
-            try {
-                while ((jdbcRegistryLock = jdbcOperator.tryToAcquireLock(lockKey)) == null) {
-                    log.debug("Acquire the lock {} failed try again", key);
-                    // acquire failed, wait and try again
-                    ThreadUtils.sleep(JdbcRegistryConstant.LOCK_ACQUIRE_INTERVAL);
+        acquireLock(lockKey, -1);
+    }
+
+    /**
+     * Acquire the lock in the given timeout, the lock is reentrant for the thread which hold it.
+     *
+     * @param timeout max wait time in milliseconds, if timeout <= 0 will wait indefinitely.
+     * @return true if get the lock, false if timeout
+     */
+    public boolean acquireLock(String lockKey, long timeout) throws RegistryException {
+        long deadline = timeout <= 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeout;
+        LockEntry lockEntry;
+        try {
+            lockEntry = lockLocal(lockKey, timeout, deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RegistryException("Acquire the lock: " + lockKey + " is interrupted", e);
+        }
+        if (lockEntry == null) {
+            return false;
+        }
+        if (lockEntry.localLock.getHoldCount() > 1) {
+            // reentrant
+            return true;
+        }
+        try {
+            while (true) {
+                long releaseVersion = lockEntry.releaseVersion;
+                JdbcRegistryLock jdbcRegistryLock = jdbcOperator.tryToAcquireLock(lockKey);
+                if (jdbcRegistryLock != null) {
+                    lockEntry.jdbcRegistryLock = jdbcRegistryLock;
+                    return true;
                 }
-            } catch (SQLException e) {
-                throw new RegistryException("Acquire the lock error", e);
+                long remainingTime = deadline - System.currentTimeMillis();
+                if (remainingTime <= 0) {
+                    unlockLocal(lockEntry);
+                    return false;
+                }
+                log.debug("Acquire the lock {} failed, wait for the lock to be released", lockKey);
+                lockEntry.awaitRelease(releaseVersion, Math.min(remainingTime, maxAwaitReleaseTime));
             }
-            return jdbcRegistryLock;
-        });
+        } catch (SQLException e) {
+            unlockLocal(lockEntry);
+            throw new RegistryException("Acquire the lock error", e);
+        } catch (InterruptedException e) {
+            unlockLocal(lockEntry);
+            Thread.currentThread().interrupt();
+            throw new RegistryException("Acquire the lock: " + lockKey + " is interrupted", e);
+        }
     }
 
     public void releaseLock(String lockKey) {
-        JdbcRegistryLock jdbcRegistryLock = lockHoldMap.get(lockKey);
-        if (jdbcRegistryLock != null) {
-            try {
-                // the lock is unExit
-                jdbcOperator.releaseLock(jdbcRegistryLock.getId());
-                lockHoldMap.remove(lockKey);
-            } catch (SQLException e) {
-                throw new RegistryException(String.format("Release lock: %s error", lockKey), e);
+        LockEntry lockEntry = lockEntryMap.get(lockKey);
+        if (lockEntry == null || !lockEntry.localLock.isHeldByCurrentThread()) {
+            return;
+        }
+        try {
+            if (lockEntry.localLock.getHoldCount() == 1 && lockEntry.jdbcRegistryLock != null) {
+                jdbcOperator.releaseLock(lockEntry.jdbcRegistryLock.getId());
+            }
+        } catch (SQLException e) {
+            throw new RegistryException(String.format("Release lock: %s error", lockKey), e);
+        } finally {
+            if (lockEntry.localLock.getHoldCount() == 1) {
+                // if release failed, the lock will be expired since we don't refresh its term
+                lockEntry.jdbcRegistryLock = null;
             }
+            unlockLocal(lockEntry);
         }
     }
 
     @Override
     public void close() {
         lockTermUpdateThreadPool.shutdownNow();
-        for (Map.Entry<String, JdbcRegistryLock> lockEntry : lockHoldMap.entrySet()) {
-            releaseLock(lockEntry.getKey());
+        for (LockEntry lockEntry : lockEntryMap.values()) {
+            JdbcRegistryLock jdbcRegistryLock = lockEntry.jdbcRegistryLock;
+            if (jdbcRegistryLock == null) {
+                continue;
+            }
+            try {
+                jdbcOperator.releaseLock(jdbcRegistryLock.getId());
+            } catch (SQLException e) {
+                log.error("Release lock: {} error", lockEntry.lockKey, e);
+            }
+        }
+        lockEntryMap.clear();
+    }
+
+    /**
+     * Wake up the head waiter of the lock in the current server, it will try to insert the lock record again.
+     */
+    void onLockReleased(String lockKey) {
+        LockEntry lockEntry = lockEntryMap.get(lockKey);
+        if (lockEntry != null) {
+            lockEntry.signalRelease();
+        }
+    }
+
+    /**
+     * Queue in the local lock of the key, the entry may be removed by the last holder before we get the local lock,
+     * then we will retry with the new entry.
+     *
+     * @return the locked entry, null if timeout
+     */
+    private LockEntry lockLocal(String lockKey, long timeout, long deadline) throws InterruptedException {
+        while (true) {
+            LockEntry lockEntry = lockEntryMap.computeIfAbsent(lockKey, LockEntry::new);
+            if (timeout <= 0) {
+                lockEntry.localLock.lockInterruptibly();
+            } else if (!lockEntry.localLock.tryLock(Math.max(deadline - System.currentTimeMillis(), 0),
+                    TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            if (lockEntryMap.get(lockKey) == lockEntry) {
+                return lockEntry;
+            }
+            lockEntry.localLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the entry once no thread in the current server holds or waits for the lock.
+     */
+    private void unlockLocal(LockEntry lockEntry) {
+        if (lockEntry.localLock.getHoldCount() == 1 && !lockEntry.localLock.hasQueuedThreads()) {
+            lockEntryMap.remove(lockEntry.lockKey, lockEntry);
+        }
+        lockEntry.localLock.unlock();
+    }
+
+    int lockEntrySize() {
+        return lockEntryMap.size();
+    }
+
+    static class LockEntry {
+
+        private final String lockKey;
+
+        /**
+         * The waiters of the lock in the current server.
+         */
+        private final ReentrantLock localLock = new ReentrantLock(true);
+
+        /**
+         * The lock record in db, not null if the lock is held by the current server.
+         */
+        private volatile JdbcRegistryLock jdbcRegistryLock;
+
+        private volatile long releaseVersion;
+
+        LockEntry(String lockKey) {
+            this.lockKey = lockKey;
+        }
+
+        synchronized void awaitRelease(long releaseVersion, long timeout) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeout;
+            long remainingTime = timeout;
+            while (this.releaseVersion == releaseVersion && remainingTime > 0) {
+                wait(remainingTime);
+                remainingTime = deadline - System.currentTimeMillis();
+            }
+        }
+
+        synchronized void signalRelease() {
+            releaseVersion++;
+            notifyAll();
         }
     }
 
@@ -110,25 +262,44 @@ public class RegistryLockManager implements AutoCloseable {
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
     static class LockTermRefreshTask implements Runnable {
 
-        private final Map<String, JdbcRegistryLock> lockHoldMap;
+        private final Map<String, LockEntry> lockEntryMap;
         private final JdbcOperator jdbcOperator;
 
         public void run() {
             try {
-                if (lockHoldMap.isEmpty()) {
-                    return;
-                }
-                List<Long> lockIds = lockHoldMap.values()
+                List<LockEntry> holdLockEntries = lockEntryMap.values()
                         .stream()
-                        .map(JdbcRegistryLock::getId)
+                        .filter(lockEntry -> lockEntry.jdbcRegistryLock != null)
                         .collect(Collectors.toList());
-                if (!jdbcOperator.updateLockTerm(lockIds)) {
-                    log.warn("Update the lock: {} term failed.", lockIds);
+                if (!holdLockEntries.isEmpty()) {
+                    List<Long> lockIds = holdLockEntries.stream()
+                            .map(lockEntry -> lockEntry.jdbcRegistryLock.getId())
+                            .collect(Collectors.toList());
+                    if (!jdbcOperator.updateLockTerm(lockIds)) {
+                        log.warn("Update the lock: {} term failed.", lockIds);
+                    }
+                    checkLostLocks(holdLockEntries, lockIds);
                 }
                 jdbcOperator.clearExpireLock();
             } catch (Exception e) {
                 log.error("Update lock term error", e);
             }
         }
+
+        private void checkLostLocks(List<LockEntry> holdLockEntries, List<Long> lockIds) throws SQLException {
+            Set<Long> existLockIds = jdbcOperator.getLocksByIds(lockIds)
+                    .stream()
+                    .map(JdbcRegistryLock::getId)
+                    .collect(Collectors.toSet());
+            for (LockEntry lockEntry : holdLockEntries) {
+                JdbcRegistryLock jdbcRegistryLock = lockEntry.jdbcRegistryLock;
+                if (jdbcRegistryLock != null && !existLockIds.contains(jdbcRegistryLock.getId())) {
+                    // the term has been expired, the lock may be held by others now
+                    log.error("The lock: {} with record id: {} has been lost", lockEntry.lockKey,
+                            jdbcRegistryLock.getId());
+                    lockEntry.jdbcRegistryLock = null;
+                }
+            }
+        }
     }
 }
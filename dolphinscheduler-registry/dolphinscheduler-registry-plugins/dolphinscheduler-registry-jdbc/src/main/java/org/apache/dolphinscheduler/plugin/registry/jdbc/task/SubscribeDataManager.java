@@ -18,22 +18,28 @@
 package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
 
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -49,6 +55,7 @@ public class SubscribeDataManager implements AutoCloseable {
     private final Map<String, List<SubscribeListener>> dataSubScribeMap = new ConcurrentHashMap<>();
     private final ScheduledExecutorService dataSubscribeCheckThreadPool;
     private final Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> lockReleaseListeners = new CopyOnWriteArrayList<>();
 
     public SubscribeDataManager(JdbcRegistryProperties registryProperties, JdbcOperator jdbcOperator) {
         this.registryProperties = registryProperties;
@@ -61,7 +68,10 @@ public class SubscribeDataManager implements AutoCloseable {
 
     public void start() {
         dataSubscribeCheckThreadPool.scheduleWithFixedDelay(
-                new RegistrySubscribeDataCheckTask(dataSubScribeMap, jdbcOperator, jdbcRegistryDataMap),
+                new RegistrySubscribeDataCheckTask(dataSubScribeMap, lockReleaseListeners, jdbcOperator,
+                        jdbcRegistryDataMap,
+                        registryProperties.getTermRefreshInterval().toMillis()
+                                * registryProperties.getTermExpireTimes()),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -75,6 +85,13 @@ public class SubscribeDataManager implements AutoCloseable {
         dataSubScribeMap.remove(path);
     }
 
+    /**
+     * The listener will be called with the lock key once the lock is released or expired.
+     */
+    public void addLockReleaseListener(Consumer<String> lockReleaseListener) {
+        lockReleaseListeners.add(lockReleaseListener);
+    }
+
     public String getData(String path) {
         JdbcRegistryData jdbcRegistryData = jdbcRegistryDataMap.get(path);
         if (jdbcRegistryData == null) {
@@ -87,65 +104,176 @@ public class SubscribeDataManager implements AutoCloseable {
     public void close() {
         dataSubscribeCheckThreadPool.shutdownNow();
         dataSubScribeMap.clear();
+        lockReleaseListeners.clear();
     }
 
-    @RequiredArgsConstructor
+    /**
+     * Load the whole registry data at the first time, and then only fetch the data change events after the latest
+     * event id we have seen. The event ids are allocated before the insert is committed, so an event with smaller id
+     * may be visible after the bigger one, the skipped ids will be fetched again until they are timeout.
+     */
     static class RegistrySubscribeDataCheckTask implements Runnable {
 
+        private static final int FETCH_SIZE = 1000;
+
         private final Map<String, List<SubscribeListener>> dataSubScribeMap;
+        private final List<Consumer<String>> lockReleaseListeners;
         private final JdbcOperator jdbcOperator;
         private final Map<String, JdbcRegistryData> jdbcRegistryDataMap;
+        private final long pendingEventTimeout;
+
+        /**
+         * The skipped event id -> the time when it is skipped.
+         */
+        private final TreeMap<Long, Long> pendingEventIds = new TreeMap<>();
+
+        /**
+         * The latest applied event id of the key, used to discard the stale pending events, only the keys changed
+         * after the smallest pending event id are kept.
+         */
+        private final Map<String, Long> dataRevisionMap = new HashMap<>();
+
+        private long lastEventId = -1;
+
+        private long lastSyncTime;
+
+        RegistrySubscribeDataCheckTask(Map<String, List<SubscribeListener>> dataSubScribeMap,
+                                       List<Consumer<String>> lockReleaseListeners,
+                                       JdbcOperator jdbcOperator,
+                                       Map<String, JdbcRegistryData> jdbcRegistryDataMap,
+                                       long pendingEventTimeout) {
+            this.dataSubScribeMap = dataSubScribeMap;
+            this.lockReleaseListeners = lockReleaseListeners;
+            this.jdbcOperator = jdbcOperator;
+            this.jdbcRegistryDataMap = jdbcRegistryDataMap;
+            this.pendingEventTimeout = pendingEventTimeout;
+        }
 
         @Override
         public void run() {
-            // query the full data from database, and update the jdbcRegistryDataMap
             try {
-                Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
-                        .stream()
-                        .collect(Collectors.toMap(JdbcRegistryData::getKey, Function.identity()));
-                // find the different
-                List<JdbcRegistryData> addedData = new ArrayList<>();
-                List<JdbcRegistryData> deletedData = new ArrayList<>();
-                List<JdbcRegistryData> updatedData = new ArrayList<>();
-                for (Map.Entry<String, JdbcRegistryData> entry : currentJdbcDataMap.entrySet()) {
-                    JdbcRegistryData newData = entry.getValue();
-                    JdbcRegistryData oldData = jdbcRegistryDataMap.get(entry.getKey());
-                    if (oldData == null) {
-                        addedData.add(newData);
+                long now = System.currentTimeMillis();
+                // the change events may have been cleared if we didn't fetch them for a long time
+                if (lastEventId < 0 || now - lastSyncTime > JdbcRegistryConstant.DATA_CHANGE_EVENT_RETENTION / 2) {
+                    fullSync();
+                } else {
+                    incrementalSync(now);
+                }
+                lastSyncTime = now;
+            } catch (Exception e) {
+                log.error("Query data from jdbc registry error", e);
+            }
+        }
+
+        private void fullSync() {
+            // query the max event id before the data, the events after it will be applied again, which is idempotent
+            long maxEventId = jdbcOperator.queryMaxDataChangeEventId();
+            // query the full data from database, and update the jdbcRegistryDataMap
+            Map<String, JdbcRegistryData> currentJdbcDataMap = jdbcOperator.queryAllJdbcRegistryData()
+                    .stream()
+                    .collect(Collectors.toMap(JdbcRegistryData::getKey, Function.identity()));
+            List<Event> events = new ArrayList<>();
+            for (JdbcRegistryData newData : currentJdbcDataMap.values()) {
+                JdbcRegistryData oldData = jdbcRegistryDataMap.get(newData.getKey());
+                if (oldData == null) {
+                    events.add(newEvent(newData.getKey(), newData.getData(), Event.Type.ADD));
+                } else if (!Objects.equals(newData.getData(), oldData.getData())) {
+                    events.add(newEvent(newData.getKey(), newData.getData(), Event.Type.UPDATE));
+                }
+            }
+            for (JdbcRegistryData oldData : jdbcRegistryDataMap.values()) {
+                if (!currentJdbcDataMap.containsKey(oldData.getKey())) {
+                    events.add(newEvent(oldData.getKey(), oldData.getData(), Event.Type.REMOVE));
+                }
+            }
+            jdbcRegistryDataMap.putAll(currentJdbcDataMap);
+            jdbcRegistryDataMap.keySet().retainAll(currentJdbcDataMap.keySet());
+            lastEventId = maxEventId;
+            pendingEventIds.clear();
+            dataRevisionMap.clear();
+            events.forEach(this::triggerListener);
+        }
+
+        private void incrementalSync(long now) {
+            long fromEventId = pendingEventIds.isEmpty() ? lastEventId : pendingEventIds.firstKey() - 1;
+            while (true) {
+                List<JdbcRegistryDataChangeEvent> dataChangeEvents =
+                        jdbcOperator.queryDataChangeEventsAfter(fromEventId, FETCH_SIZE);
+                for (JdbcRegistryDataChangeEvent dataChangeEvent : dataChangeEvents) {
+                    long eventId = dataChangeEvent.getId();
+                    if (eventId <= lastEventId) {
+                        if (pendingEventIds.remove(eventId) == null) {
+                            // already applied
+                            continue;
+                        }
+                        Long revision = dataRevisionMap.get(dataChangeEvent.getDataKey());
+                        if (revision != null && revision > eventId) {
+                            // the key has been changed by a newer event
+                            continue;
+                        }
                     } else {
-                        if (!entry.getValue().getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
-                            updatedData.add(newData);
+                        if (eventId - lastEventId <= FETCH_SIZE) {
+                            for (long skippedEventId = lastEventId + 1; skippedEventId < eventId; skippedEventId++) {
+                                pendingEventIds.put(skippedEventId, now);
+                            }
+                        } else {
+                            log.warn("The jdbc registry data change event id jump from {} to {}", lastEventId, eventId);
                         }
+                        lastEventId = eventId;
                     }
+                    applyDataChangeEvent(dataChangeEvent);
                 }
-                for (Map.Entry<String, JdbcRegistryData> entry : jdbcRegistryDataMap.entrySet()) {
-                    if (!currentJdbcDataMap.containsKey(entry.getKey())) {
-                        deletedData.add(entry.getValue());
-                    }
+                if (dataChangeEvents.size() < FETCH_SIZE) {
+                    break;
                 }
-                jdbcRegistryDataMap.clear();
-                jdbcRegistryDataMap.putAll(currentJdbcDataMap);
-                // trigger listener
-                for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
-                    String subscribeKey = entry.getKey();
-                    List<SubscribeListener> subscribeListeners = entry.getValue();
-                    triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
-                    triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
-                    triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
+                fromEventId = dataChangeEvents.get(dataChangeEvents.size() - 1).getId();
+            }
+            // the skipped id which is still invisible after the timeout belongs to a rollback insert
+            pendingEventIds.values().removeIf(skippedTime -> now - skippedTime > pendingEventTimeout);
+            if (pendingEventIds.isEmpty()) {
+                dataRevisionMap.clear();
+            } else {
+                long minPendingEventId = pendingEventIds.firstKey();
+                dataRevisionMap.values().removeIf(revision -> revision < minPendingEventId);
+            }
+        }
+
+        private void applyDataChangeEvent(JdbcRegistryDataChangeEvent dataChangeEvent) {
+            String key = dataChangeEvent.getDataKey();
+            if (key.startsWith(JdbcRegistryConstant.LOCK_RELEASE_EVENT_KEY_PREFIX)) {
+                String lockKey = key.substring(JdbcRegistryConstant.LOCK_RELEASE_EVENT_KEY_PREFIX.length());
+                lockReleaseListeners.forEach(lockReleaseListener -> lockReleaseListener.accept(lockKey));
+                return;
+            }
+            dataRevisionMap.put(key, dataChangeEvent.getId());
+            if (dataChangeEvent.getEventType() == Event.Type.REMOVE) {
+                JdbcRegistryData oldData = jdbcRegistryDataMap.remove(key);
+                if (oldData != null) {
+                    triggerListener(newEvent(key, oldData.getData(), Event.Type.REMOVE));
                 }
-            } catch (Exception e) {
-                log.error("Query data from jdbc registry error");
+                return;
+            }
+            JdbcRegistryData newData = JdbcRegistryData.builder()
+                    .key(key)
+                    .data(dataChangeEvent.getData())
+                    .build();
+            JdbcRegistryData oldData = jdbcRegistryDataMap.put(key, newData);
+            if (oldData == null) {
+                triggerListener(newEvent(key, newData.getData(), Event.Type.ADD));
+            } else if (!Objects.equals(oldData.getData(), newData.getData())) {
+                triggerListener(newEvent(key, newData.getData(), Event.Type.UPDATE));
             }
         }
 
-        private void triggerListener(List<JdbcRegistryData> dataList,
-                                     String subscribeKey,
-                                     List<SubscribeListener> subscribeListeners,
-                                     Event.Type type) {
-            for (JdbcRegistryData data : dataList) {
-                if (data.getKey().startsWith(subscribeKey)) {
-                    subscribeListeners.forEach(subscribeListener -> subscribeListener
-                            .notify(new Event(data.getKey(), data.getKey(), data.getData(), type)));
+        private Event newEvent(String key, String data, Event.Type type) {
+            return new Event(key, key, data, type);
+        }
+
+        private void triggerListener(Event event) {
+            for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
+                // only notify the listeners which subscribe the parent path of the key
+                if (event.key().startsWith(entry.getKey())) {
+                    entry.getValue().forEach(subscribeListener -> subscribeListener.notify(event));
                 }
             }
         }
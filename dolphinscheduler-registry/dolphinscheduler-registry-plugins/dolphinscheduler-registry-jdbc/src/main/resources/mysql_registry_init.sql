@@ -46,3 +46,18 @@ CREATE TABLE `t_ds_jdbc_registry_lock`
     unique (`key`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8;
+
+
+DROP TABLE IF EXISTS `t_ds_jdbc_registry_data_change_event`;
+CREATE TABLE `t_ds_jdbc_registry_data_change_event`
+(
+    `id`          bigint(11) NOT NULL AUTO_INCREMENT COMMENT 'primary key, used as the revision of the registry data',
+    `event_type`  varchar(64)  NOT NULL COMMENT 'ADD, UPDATE, REMOVE',
+    `data_key`    varchar(256) NOT NULL COMMENT 'the key of the changed registry data',
+    `data`        text COMMENT 'the data after changed',
+    `create_time` timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'create time',
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time` (`create_time`),
+    KEY `idx_data_key` (`data_key`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
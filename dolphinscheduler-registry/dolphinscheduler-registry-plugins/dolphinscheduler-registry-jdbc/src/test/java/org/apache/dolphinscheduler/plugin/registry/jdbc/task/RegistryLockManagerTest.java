@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryProperties;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryLock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistryLockManagerTest {
+
+    private static final String LOCK_KEY = "/lock/masters";
+
+    @Mock
+    private JdbcOperator jdbcOperator;
+
+    @Mock
+    private SubscribeDataManager subscribeDataManager;
+
+    private RegistryLockManager registryLockManager;
+
+    private Consumer<String> lockReleaseListener;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void before() {
+        JdbcRegistryProperties registryProperties = new JdbcRegistryProperties();
+        // make sure the waiters are woken by the release event rather than the max await time
+        registryProperties.setTermRefreshInterval(Duration.ofSeconds(10));
+        registryLockManager = new RegistryLockManager(registryProperties, jdbcOperator, subscribeDataManager);
+        ArgumentCaptor<Consumer<String>> listenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(subscribeDataManager).addLockReleaseListener(listenerCaptor.capture());
+        lockReleaseListener = listenerCaptor.getValue();
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void after() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        Mockito.when(jdbcOperator.tryToAcquireLock(LOCK_KEY)).thenReturn(lock(1));
+
+        Assertions.assertTrue(registryLockManager.acquireLock(LOCK_KEY, 1000));
+        // reentrant
+        Assertions.assertTrue(registryLockManager.acquireLock(LOCK_KEY, 1000));
+        registryLockManager.releaseLock(LOCK_KEY);
+        Mockito.verify(jdbcOperator, Mockito.never()).releaseLock(1);
+        registryLockManager.releaseLock(LOCK_KEY);
+
+        Mockito.verify(jdbcOperator).releaseLock(1);
+        Mockito.verify(jdbcOperator, Mockito.times(1)).tryToAcquireLock(LOCK_KEY);
+        Assertions.assertEquals(0, registryLockManager.lockEntrySize());
+    }
+
+    @Test
+    public void testQueuedAcquireInTheSameServer() throws Exception {
+        Mockito.when(jdbcOperator.tryToAcquireLock(LOCK_KEY)).thenReturn(lock(1), lock(2));
+        registryLockManager.acquireLock(LOCK_KEY);
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            boolean acquired = registryLockManager.acquireLock(LOCK_KEY, 10_000);
+            registryLockManager.releaseLock(LOCK_KEY);
+            return acquired;
+        }, executorService);
+        Thread.sleep(200);
+        // the waiter is queued in the current server, it will not try to insert the lock record
+        Assertions.assertFalse(waiter.isDone());
+        Mockito.verify(jdbcOperator, Mockito.times(1)).tryToAcquireLock(LOCK_KEY);
+
+        registryLockManager.releaseLock(LOCK_KEY);
+
+        Assertions.assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        Mockito.verify(jdbcOperator).releaseLock(1);
+        Mockito.verify(jdbcOperator).releaseLock(2);
+        Assertions.assertEquals(0, registryLockManager.lockEntrySize());
+    }
+
+    @Test
+    public void testWakeUpOnReleaseEvent() throws Exception {
+        Mockito.when(jdbcOperator.tryToAcquireLock(LOCK_KEY)).thenReturn(null, lock(1));
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(
+                () -> registryLockManager.acquireLock(LOCK_KEY, 10_000), executorService);
+        // the lock is held by other server
+        Mockito.verify(jdbcOperator, Mockito.timeout(5_000).times(1)).tryToAcquireLock(LOCK_KEY);
+        Thread.sleep(200);
+        Assertions.assertFalse(waiter.isDone());
+
+        lockReleaseListener.accept(LOCK_KEY);
+
+        Assertions.assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        Mockito.verify(jdbcOperator, Mockito.times(2)).tryToAcquireLock(LOCK_KEY);
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        Mockito.when(jdbcOperator.tryToAcquireLock(LOCK_KEY)).thenReturn(null);
+
+        Assertions.assertFalse(registryLockManager.acquireLock(LOCK_KEY, 100));
+
+        Assertions.assertEquals(0, registryLockManager.lockEntrySize());
+    }
+
+    private JdbcRegistryLock lock(long id) {
+        return JdbcRegistryLock.builder()
+                .id(id)
+                .key(LOCK_KEY)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.registry.jdbc.task;
+
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcOperator;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.JdbcRegistryConstant;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.jdbc.model.JdbcRegistryDataChangeEvent;
+import org.apache.dolphinscheduler.registry.api.Event;
+import org.apache.dolphinscheduler.registry.api.SubscribeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SubscribeDataManagerTest {
+
+    private static final String PATH = "/nodes/worker";
+
+    @Mock
+    private JdbcOperator jdbcOperator;
+
+    private final Map<String, JdbcRegistryData> jdbcRegistryDataMap = new ConcurrentHashMap<>();
+
+    private final List<Event> events = new ArrayList<>();
+
+    private final List<String> releasedLockKeys = new ArrayList<>();
+
+    private SubscribeDataManager.RegistrySubscribeDataCheckTask subscribeDataCheckTask;
+
+    @BeforeEach
+    public void before() {
+        Map<String, List<SubscribeListener>> dataSubScribeMap = new ConcurrentHashMap<>();
+        dataSubScribeMap.put(PATH, Collections.singletonList(events::add));
+        subscribeDataCheckTask = new SubscribeDataManager.RegistrySubscribeDataCheckTask(dataSubScribeMap,
+                Collections.singletonList(releasedLockKeys::add), jdbcOperator, jdbcRegistryDataMap, 60_000);
+        Mockito.when(jdbcOperator.queryMaxDataChangeEventId()).thenReturn(10L);
+        Mockito.when(jdbcOperator.queryAllJdbcRegistryData())
+                .thenReturn(Collections.singletonList(registryData(PATH + "/a", "a1")));
+        // the first run loads the whole registry data
+        subscribeDataCheckTask.run();
+        assertEvent(Event.Type.ADD, PATH + "/a", "a1");
+    }
+
+    @Test
+    public void testIncrementalSync() {
+        Mockito.when(jdbcOperator.queryDataChangeEventsAfter(10L, 1000)).thenReturn(Arrays.asList(
+                changeEvent(11, Event.Type.UPDATE, PATH + "/a", "a2"),
+                changeEvent(12, Event.Type.ADD, PATH + "/b", "b1"),
+                changeEvent(13, Event.Type.REMOVE, PATH + "/a", "a2")));
+
+        subscribeDataCheckTask.run();
+
+        assertEvent(Event.Type.UPDATE, PATH + "/a", "a2");
+        assertEvent(Event.Type.ADD, PATH + "/b", "b1");
+        assertEvent(Event.Type.REMOVE, PATH + "/a", "a2");
+        Assertions.assertTrue(events.isEmpty());
+        Assertions.assertEquals("b1", jdbcRegistryDataMap.get(PATH + "/b").getData());
+        Assertions.assertFalse(jdbcRegistryDataMap.containsKey(PATH + "/a"));
+        // the full data is only loaded at the first time
+        Mockito.verify(jdbcOperator, Mockito.times(1)).queryAllJdbcRegistryData();
+    }
+
+    @Test
+    public void testApplySkippedEventOnceVisible() {
+        // the event 11 is not committed yet when the event 12 is visible
+        Mockito.when(jdbcOperator.queryDataChangeEventsAfter(10L, 1000))
+                .thenReturn(Collections.singletonList(changeEvent(12, Event.Type.ADD, PATH + "/b", "b1")))
+                .thenReturn(Arrays.asList(
+                        changeEvent(11, Event.Type.ADD, PATH + "/c", "c1"),
+                        changeEvent(12, Event.Type.ADD, PATH + "/b", "b1")));
+
+        subscribeDataCheckTask.run();
+        assertEvent(Event.Type.ADD, PATH + "/b", "b1");
+        Assertions.assertTrue(events.isEmpty());
+
+        // the skipped event will be fetched again, the applied one will not be applied twice
+        subscribeDataCheckTask.run();
+        assertEvent(Event.Type.ADD, PATH + "/c", "c1");
+        Assertions.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testDiscardSkippedEventOverriddenByNewerOne() {
+        Mockito.when(jdbcOperator.queryDataChangeEventsAfter(10L, 1000))
+                .thenReturn(Collections.singletonList(changeEvent(12, Event.Type.UPDATE, PATH + "/a", "a3")))
+                .thenReturn(Arrays.asList(
+                        changeEvent(11, Event.Type.UPDATE, PATH + "/a", "a2"),
+                        changeEvent(12, Event.Type.UPDATE, PATH + "/a", "a3")));
+
+        subscribeDataCheckTask.run();
+        subscribeDataCheckTask.run();
+
+        assertEvent(Event.Type.UPDATE, PATH + "/a", "a3");
+        Assertions.assertTrue(events.isEmpty());
+        Assertions.assertEquals("a3", jdbcRegistryDataMap.get(PATH + "/a").getData());
+    }
+
+    @Test
+    public void testNotifyLockRelease() {
+        Mockito.when(jdbcOperator.queryDataChangeEventsAfter(10L, 1000)).thenReturn(Collections.singletonList(
+                changeEvent(11, Event.Type.REMOVE, JdbcRegistryConstant.LOCK_RELEASE_EVENT_KEY_PREFIX + "/lock/masters",
+                        "owner")));
+
+        subscribeDataCheckTask.run();
+
+        Assertions.assertEquals(Collections.singletonList("/lock/masters"), releasedLockKeys);
+        Assertions.assertTrue(events.isEmpty());
+        Assertions.assertEquals(1, jdbcRegistryDataMap.size());
+    }
+
+    @Test
+    public void testFetchEventsInPages() {
+        List<JdbcRegistryDataChangeEvent> firstPage = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            firstPage.add(changeEvent(10 + i, Event.Type.UPDATE, PATH + "/a", "a" + i));
+        }
+        Mockito.when(jdbcOperator.queryDataChangeEventsAfter(10L, 1000)).thenReturn(firstPage);
+        Mockito.when(jdbcOperator.queryDataChangeEventsAfter(1010L, 1000))
+                .thenReturn(Collections.singletonList(changeEvent(1011, Event.Type.ADD, PATH + "/b", "b1")));
+
+        subscribeDataCheckTask.run();
+
+        Assertions.assertEquals("a1000", jdbcRegistryDataMap.get(PATH + "/a").getData());
+        Assertions.assertEquals("b1", jdbcRegistryDataMap.get(PATH + "/b").getData());
+        Mockito.verify(jdbcOperator, Mockito.never()).queryDataChangeEventsAfter(ArgumentMatchers.eq(1011L),
+                ArgumentMatchers.anyInt());
+    }
+
+    private void assertEvent(Event.Type type, String path, String data) {
+        Assertions.assertFalse(events.isEmpty());
+        Event event = events.remove(0);
+        Assertions.assertEquals(type, event.type());
+        Assertions.assertEquals(path, event.path());
+        Assertions.assertEquals(data, event.data());
+    }
+
+    private JdbcRegistryData registryData(String key, String data) {
+        return JdbcRegistryData.builder()
+                .key(key)
+                .data(data)
+                .build();
+    }
+
+    private JdbcRegistryDataChangeEvent changeEvent(long id, Event.Type type, String key, String data) {
+        return JdbcRegistryDataChangeEvent.builder()
+                .id(id)
+                .eventType(type)
+                .dataKey(key)
+                .data(data)
+                .build();
+    }
+}
@@ -266,6 +266,26 @@ public class NettyRemotingClient implements AutoCloseable {
         }
     }
 
+    /**
+     * async send, the caller should add a listener to the returned future to get the send result
+     *
+     * @param host host
+     * @param message message
+     * @return the write future
+     * @throws RemotingException if cannot connect to the host, or the outbound buffer of the channel is full
+     */
+    public ChannelFuture sendAsync(final Host host, final Message message) throws RemotingException {
+        Channel channel = getChannel(host);
+        if (channel == null) {
+            throw new RemotingException(String.format("connect to : %s fail", host));
+        }
+        if (!channel.isWritable()) {
+            // the peer cannot keep up, don't buffer more messages in the channel
+            throw new RemotingException(String.format("channel to : %s is not writable", host));
+        }
+        return channel.writeAndFlush(message);
+    }
+
     /**
      * register processor
      *
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.remote.codec;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageContext;
 import org.apache.dolphinscheduler.remote.command.MessageHeader;
+import org.apache.dolphinscheduler.remote.command.MessageSerializer;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 
 import java.util.List;
@@ -56,11 +57,18 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
                 checkpoint(State.VERSION);
                 // fallthru
             case VERSION:
-                checkVersion(in.readByte());
+                messageHeader.setVersion(checkVersion(in.readByte()));
                 checkpoint(State.COMMAND);
                 // fallthru
             case COMMAND:
                 messageHeader.setType(in.readByte());
+                checkpoint(State.SERIALIZER);
+                // fallthru
+            case SERIALIZER:
+                // the legacy peer doesn't write the serializer, the body is json
+                messageHeader.setSerializer(messageHeader.getVersion() == Message.LEGACY_VERSION
+                        ? MessageSerializer.JSON.getCode()
+                        : in.readByte());
                 checkpoint(State.OPAQUE);
                 // fallthru
             case OPAQUE:
@@ -87,6 +95,7 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
                 //
                 Message packet = new Message();
                 packet.setType(commandType(messageHeader.getType()));
+                packet.setSerializer(MessageSerializer.of(messageHeader.getSerializer()));
                 packet.setOpaque(messageHeader.getOpaque());
                 packet.setContext(MessageContext.valueOf(messageHeader.getContext()));
                 packet.setBody(body);
@@ -127,16 +136,18 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
     /**
      * check version
      */
-    private void checkVersion(byte version) {
-        if (version != Message.VERSION) {
+    private byte checkVersion(byte version) {
+        if (version != Message.VERSION && version != Message.LEGACY_VERSION) {
             throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
+        return version;
     }
 
     enum State {
         MAGIC,
         VERSION,
         COMMAND,
+        SERIALIZER,
         OPAQUE,
         CONTEXT_LENGTH,
         CONTEXT,
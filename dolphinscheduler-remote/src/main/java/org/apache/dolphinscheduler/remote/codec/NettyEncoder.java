@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.remote.codec;
 
 import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageSerializer;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 
 import io.netty.buffer.ByteBuf;
@@ -43,16 +44,35 @@ public class NettyEncoder extends MessageToByteEncoder<Message> {
         if (msg == null) {
             throw new RemotingException("encode msg is null");
         }
+        writeHeader(msg, msg.getBody().length, out);
+        out.writeBytes(msg.getBody());
+    }
+
+    /**
+     * write the frame header of the given message, the body with the given length should be written right after it,
+     * this is used to send a body which is not held in memory, e.g. a {@link io.netty.channel.FileRegion}
+     *
+     * @param msg message, the body of the message is ignored
+     * @param bodyLength body length
+     * @param out byte buffer
+     */
+    public static void writeHeader(Message msg, int bodyLength, ByteBuf out) {
         out.writeByte(Message.MAGIC);
-        out.writeByte(Message.VERSION);
-        out.writeByte(msg.getType().ordinal());
+        if (msg.getSerializer() == MessageSerializer.JSON) {
+            // the json message is written in the legacy frame, so it can still be decoded by the not upgraded peers
+            out.writeByte(Message.LEGACY_VERSION);
+            out.writeByte(msg.getType().ordinal());
+        } else {
+            out.writeByte(Message.VERSION);
+            out.writeByte(msg.getType().ordinal());
+            out.writeByte(msg.getSerializer().getCode());
+        }
         out.writeLong(msg.getOpaque());
         writeContext(msg, out);
-        out.writeInt(msg.getBody().length);
-        out.writeBytes(msg.getBody());
+        out.writeInt(bodyLength);
     }
 
-    private void writeContext(Message msg, ByteBuf out) {
+    private static void writeContext(Message msg, ByteBuf out) {
         byte[] headerBytes = msg.getContext().toBytes();
         out.writeInt(headerBytes.length);
         out.writeBytes(headerBytes);
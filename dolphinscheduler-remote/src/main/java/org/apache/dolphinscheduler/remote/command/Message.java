@@ -31,7 +31,15 @@ public class Message implements Serializable {
     private static final AtomicLong REQUEST_ID = new AtomicLong(1);
 
     public static final byte MAGIC = (byte) 0xbabe;
-    public static final byte VERSION = 0;
+    /**
+     * the version with the serializer in the header, only used by the messages not serialized by json
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * the legacy version without the serializer in the header, the body is always json
+     */
+    public static final byte LEGACY_VERSION = 0;
 
     public Message() {
         this.opaque = REQUEST_ID.getAndIncrement();
@@ -46,6 +54,11 @@ public class Message implements Serializable {
      */
     private MessageType type;
 
+    /**
+     * body serializer
+     */
+    private MessageSerializer serializer = MessageSerializer.JSON;
+
     /**
      *  request unique identification
      */
@@ -69,6 +82,14 @@ public class Message implements Serializable {
         this.type = type;
     }
 
+    public MessageSerializer getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(MessageSerializer serializer) {
+        this.serializer = serializer;
+    }
+
     public long getOpaque() {
         return opaque;
     }
@@ -85,6 +106,16 @@ public class Message implements Serializable {
         this.body = body;
     }
 
+    /**
+     * deserialize the body by the serializer of this message
+     *
+     * @param clazz body class
+     * @return body object
+     */
+    public <T> T parseBody(Class<T> clazz) {
+        return serializer.deserialize(body, clazz);
+    }
+
     public MessageContext getContext() {
         return context;
     }
@@ -32,6 +32,16 @@ public class MessageHeader implements Serializable {
      */
     private byte type;
 
+    /**
+     * protocol version, the serializer is only written since version 1
+     */
+    private byte version;
+
+    /**
+     * body serializer code, see {@link MessageSerializer}
+     */
+    private byte serializer;
+
     /**
      * request unique identification
      */
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.remote.command;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
+import org.apache.dolphinscheduler.rpc.serializer.ProtoStuffSerializer;
+
+/**
+ * The serializer of the message body, the code is written in the message header so each message type can choose
+ * its own serializer and the receiver always knows how to decode the body.
+ */
+public enum MessageSerializer {
+
+    /**
+     * json, readable and compatible with the peer which doesn't write the serializer into the header
+     */
+    JSON((byte) 0) {
+
+        @Override
+        public byte[] serialize(Object obj) {
+            return JsonSerializer.serialize(obj);
+        }
+
+        @Override
+        public <T> T deserialize(byte[] data, Class<T> clazz) {
+            return JSONUtils.parseObject(data, clazz);
+        }
+    },
+
+    /**
+     * protostuff, compact binary codec, used by the heavy and frequent task messages
+     */
+    PROTOSTUFF((byte) 1) {
+
+        private final ProtoStuffSerializer protoStuffSerializer = new ProtoStuffSerializer();
+
+        @Override
+        public byte[] serialize(Object obj) {
+            return protoStuffSerializer.serialize(obj);
+        }
+
+        @Override
+        public <T> T deserialize(byte[] data, Class<T> clazz) {
+            return protoStuffSerializer.deserialize(data, clazz);
+        }
+    };
+
+    private final byte code;
+
+    MessageSerializer(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public abstract byte[] serialize(Object obj);
+
+    public abstract <T> T deserialize(byte[] data, Class<T> clazz);
+
+    public static MessageSerializer of(byte code) {
+        for (MessageSerializer serializer : values()) {
+            if (serializer.code == code) {
+                return serializer;
+            }
+        }
+        throw new IllegalArgumentException("unknown message serializer: " + code);
+    }
+}
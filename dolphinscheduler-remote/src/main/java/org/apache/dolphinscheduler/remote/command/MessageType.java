@@ -41,6 +41,11 @@ public enum MessageType {
      */
     TASK_DISPATCH_MESSAGE,
 
+    /**
+     * dispatch several tasks to the same worker in one request
+     */
+    TASK_DISPATCH_BATCH_MESSAGE,
+
     /**
      * task execute running, from worker to master
      */
@@ -114,5 +119,15 @@ public enum MessageType {
      */
     TASK_UPDATE_PID__MESSAGE_ACK,
 
-    WORKFLOW_METRICS_CLEANUP;
+    WORKFLOW_METRICS_CLEANUP,
+
+    /**
+     * new command created notify, from api/master to master
+     */
+    COMMAND_NOTIFY_REQUEST,
+
+    /**
+     * get a chunk of the log file, the response body is the raw file content
+     */
+    GET_LOG_CHUNK_REQUEST;
 }
@@ -17,8 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.remote.utils.JsonSerializer;
-
 import java.io.Serializable;
 
 public interface ResponseMessageBuilder extends Serializable {
@@ -26,10 +24,17 @@ public interface ResponseMessageBuilder extends Serializable {
     default Message convert2Command(long opaque) {
         Message message = new Message(opaque);
         message.setType(getCommandType());
-        byte[] body = JsonSerializer.serialize(this);
-        message.setBody(body);
+        message.setSerializer(getSerializer());
+        message.setBody(getSerializer().serialize(this));
         return message;
     }
 
     MessageType getCommandType();
+
+    /**
+     * the serializer of the message body, json by default
+     */
+    default MessageSerializer getSerializer() {
+        return MessageSerializer.JSON;
+    }
 }
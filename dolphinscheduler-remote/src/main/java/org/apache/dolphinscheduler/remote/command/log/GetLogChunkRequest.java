@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.command.log;
+
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.RequestMessageBuilder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * get log chunk request command, the response body is the raw content of the requested range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetLogChunkRequest implements RequestMessageBuilder {
+
+    /**
+     * log path
+     */
+    private String path;
+
+    /**
+     * offset of the chunk in the log file
+     */
+    private long offset;
+
+    /**
+     * max length of the chunk
+     */
+    private int length;
+
+    @Override
+    public MessageType getCommandType() {
+        return MessageType.GET_LOG_CHUNK_REQUEST;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.command.task;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.BaseMessage;
+import org.apache.dolphinscheduler.remote.command.MessageSerializer;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+
+import java.util.List;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The task batch dispatch message, means dispatch several tasks to the same worker in one frame.
+ */
+@Data
+@NoArgsConstructor
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class TaskDispatchBatchMessage extends BaseMessage {
+
+    private static final long serialVersionUID = -1L;
+
+    private List<TaskExecutionContext> taskExecutionContexts;
+
+    public TaskDispatchBatchMessage(List<TaskExecutionContext> taskExecutionContexts,
+                                    String messageSenderAddress,
+                                    String messageReceiverAddress,
+                                    long messageSendTime) {
+        super(messageSenderAddress, messageReceiverAddress, messageSendTime);
+        this.taskExecutionContexts = taskExecutionContexts;
+    }
+
+    @Override
+    public MessageType getCommandType() {
+        return MessageType.TASK_DISPATCH_BATCH_MESSAGE;
+    }
+
+    @Override
+    public MessageSerializer getSerializer() {
+        return MessageSerializer.PROTOSTUFF;
+    }
+}
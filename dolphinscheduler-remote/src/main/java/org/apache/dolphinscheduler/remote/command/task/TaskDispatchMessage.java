@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.remote.command.task;
 
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.remote.command.BaseMessage;
+import org.apache.dolphinscheduler.remote.command.MessageSerializer;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 
 import lombok.Data;
@@ -52,4 +53,8 @@ public class TaskDispatchMessage extends BaseMessage {
         return MessageType.TASK_DISPATCH_MESSAGE;
     }
 
+    @Override
+    public MessageSerializer getSerializer() {
+        return MessageSerializer.PROTOSTUFF;
+    }
 }
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.remote.command.task;
 
 import org.apache.dolphinscheduler.remote.command.BaseMessage;
+import org.apache.dolphinscheduler.remote.command.MessageSerializer;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 
 import lombok.Data;
@@ -97,4 +98,9 @@ public class TaskExecuteResultMessage extends BaseMessage {
     public MessageType getCommandType() {
         return MessageType.TASK_EXECUTE_RESULT_MESSAGE;
     }
+
+    @Override
+    public MessageSerializer getSerializer() {
+        return MessageSerializer.PROTOSTUFF;
+    }
 }
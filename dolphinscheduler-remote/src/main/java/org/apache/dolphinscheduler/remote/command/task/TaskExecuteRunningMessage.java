@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.remote.command.task;
 
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.remote.command.BaseMessage;
+import org.apache.dolphinscheduler.remote.command.MessageSerializer;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 
 import lombok.Data;
@@ -89,4 +90,8 @@ public class TaskExecuteRunningMessage extends BaseMessage {
         return MessageType.TASK_EXECUTE_RUNNING_MESSAGE;
     }
 
+    @Override
+    public MessageSerializer getSerializer() {
+        return MessageSerializer.PROTOSTUFF;
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.remote.processor;
+
+import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
+
+import java.io.File;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.DefaultFileRegion;
+
+/**
+ * Send a chunk of the log file, the chunk is transferred by {@link DefaultFileRegion} so the worker doesn't need to
+ * load the file content into the heap, the file will be sent by sendfile if the transport supports it.
+ */
+@Component
+@Slf4j
+public class GetLogChunkProcessor extends BaseLogProcessor implements NettyRequestProcessor {
+
+    @Override
+    public void process(Channel channel, Message message) {
+        GetLogChunkRequest getLogChunkRequest = JSONUtils.parseObject(
+                message.getBody(), GetLogChunkRequest.class);
+        String path = getLogChunkRequest.getPath();
+        File file = new File(path);
+        if (!file.exists() && getLogChunkRequest.getOffset() == 0 && RemoteLogUtils.isRemoteLoggingEnable()) {
+            RemoteLogUtils.getRemoteLog(path);
+        }
+
+        long offset = getLogChunkRequest.getOffset();
+        int chunkLength = file.isFile()
+                ? (int) Math.max(0, Math.min(file.length() - offset, getLogChunkRequest.getLength()))
+                : 0;
+
+        Message response = new Message(message.getOpaque());
+        response.setType(MessageType.RESPONSE);
+        ByteBuf header = channel.alloc().buffer();
+        NettyEncoder.writeHeader(response, chunkLength, header);
+        if (chunkLength == 0) {
+            channel.writeAndFlush(header);
+            return;
+        }
+        channel.write(header);
+        // a partially written frame cannot be recovered by the peer, so the channel is closed once the transfer fails
+        channel.writeAndFlush(new DefaultFileRegion(file, offset, chunkLength))
+                .addListener((ChannelFutureListener) future -> {
+                    if (!future.isSuccess()) {
+                        log.error("Send log chunk of file: {} error, offset: {}, length: {}", path, offset,
+                                chunkLength, future.cause());
+                        future.channel().close();
+                    }
+                });
+    }
+
+    @Override
+    public MessageType getCommandType() {
+        return MessageType.GET_LOG_CHUNK_REQUEST;
+    }
+}
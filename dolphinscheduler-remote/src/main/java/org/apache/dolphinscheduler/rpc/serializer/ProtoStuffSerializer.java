@@ -25,8 +25,6 @@ import io.protostuff.runtime.RuntimeSchema;
 
 public class ProtoStuffSerializer implements Serializer {
 
-    private static LinkedBuffer buffer = LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
-
     private static Map<Class<?>, Schema<?>> schemaCache = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unchecked")
@@ -38,13 +36,9 @@ public class ProtoStuffSerializer implements Serializer {
     public <T> byte[] serialize(T obj) {
         Class<T> clazz = (Class<T>) obj.getClass();
         Schema<T> schema = getSchema(clazz);
-        byte[] data;
-        try {
-            data = ProtostuffIOUtil.toByteArray(obj, schema, buffer);
-        } finally {
-            buffer.clear();
-        }
-        return data;
+        // the buffer cannot be shared since the serializer is used by multiple threads
+        LinkedBuffer buffer = LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
+        return ProtostuffIOUtil.toByteArray(obj, schema, buffer);
     }
 
     @Override
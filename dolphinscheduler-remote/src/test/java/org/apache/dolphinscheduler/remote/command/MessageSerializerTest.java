@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.remote.command;
+
+import org.apache.dolphinscheduler.plugin.task.api.K8sTaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.enums.ResourceType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.DataSourceParameters;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.ResourceParametersHelper;
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchMessage;
+import org.apache.dolphinscheduler.remote.command.task.TaskExecuteRunningMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class MessageSerializerTest {
+
+    @Test
+    public void testTaskDispatchMessage() {
+        DataSourceParameters dataSourceParameters = new DataSourceParameters();
+        dataSourceParameters.setConnectionParams("{\"address\":\"jdbc:mysql://localhost:3306\"}");
+        ResourceParametersHelper resourceParametersHelper = new ResourceParametersHelper();
+        resourceParametersHelper.put(ResourceType.DATASOURCE, 1, dataSourceParameters);
+        Map<String, Property> prepareParamsMap = new HashMap<>();
+        prepareParamsMap.put("key", new Property("key", Direct.IN, DataType.VARCHAR, "value"));
+        TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
+                .taskInstanceId(1)
+                .taskName("test")
+                .processDefineCode(2L)
+                .currentExecutionStatus(TaskExecutionStatus.DISPATCH)
+                .prepareParamsMap(prepareParamsMap)
+                .resources(Collections.singletonMap("/test.sh", "tenant"))
+                .resourceParametersHelper(resourceParametersHelper)
+                .k8sTaskExecutionContext(new K8sTaskExecutionContext("config", "default"))
+                .build();
+        TaskDispatchMessage taskDispatchMessage =
+                new TaskDispatchMessage(taskExecutionContext, "127.0.0.1:5678", "127.0.0.1:1234", 1L);
+
+        Message message = taskDispatchMessage.convert2Command();
+        Assertions.assertEquals(MessageSerializer.PROTOSTUFF, message.getSerializer());
+
+        Message decoded = encodeAndDecode(message);
+        Assertions.assertEquals(MessageSerializer.PROTOSTUFF, decoded.getSerializer());
+        TaskDispatchMessage decodedDispatchMessage = decoded.parseBody(TaskDispatchMessage.class);
+        TaskExecutionContext decodedTaskExecutionContext = decodedDispatchMessage.getTaskExecutionContext();
+        Assertions.assertEquals(dataSourceParameters.getConnectionParams(),
+                ((DataSourceParameters) decodedTaskExecutionContext.getResourceParametersHelper()
+                        .getResourceParameters(ResourceType.DATASOURCE, 1)).getConnectionParams());
+        // ResourceParametersHelper doesn't override equals
+        decodedTaskExecutionContext.setResourceParametersHelper(resourceParametersHelper);
+        Assertions.assertEquals(taskDispatchMessage, decodedDispatchMessage);
+    }
+
+    @Test
+    public void testDecodeLegacyMessage() {
+        TaskExecuteRunningMessage runningMessage =
+                new TaskExecuteRunningMessage("127.0.0.1:1234", "127.0.0.1:5678", 1L);
+        runningMessage.setTaskInstanceId(1);
+        runningMessage.setStatus(TaskExecutionStatus.RUNNING_EXECUTION);
+        byte[] body = MessageSerializer.JSON.serialize(runningMessage);
+        byte[] context = new MessageContext().toBytes();
+
+        ByteBuf legacyFrame = Unpooled.buffer();
+        legacyFrame.writeByte(Message.MAGIC);
+        legacyFrame.writeByte(Message.LEGACY_VERSION);
+        legacyFrame.writeByte(MessageType.TASK_EXECUTE_RUNNING_MESSAGE.ordinal());
+        legacyFrame.writeLong(1L);
+        legacyFrame.writeInt(context.length);
+        legacyFrame.writeBytes(context);
+        legacyFrame.writeInt(body.length);
+        legacyFrame.writeBytes(body);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyDecoder());
+        channel.writeInbound(legacyFrame);
+        Message decoded = channel.readInbound();
+        Assertions.assertEquals(MessageSerializer.JSON, decoded.getSerializer());
+        Assertions.assertEquals(runningMessage, decoded.parseBody(TaskExecuteRunningMessage.class));
+    }
+
+    @Test
+    public void testJsonMessage() {
+        Message message = new Message();
+        message.setType(MessageType.PING);
+        message.setBody("ping".getBytes(StandardCharsets.UTF_8));
+
+        Message decoded = encodeAndDecode(message);
+        Assertions.assertEquals(MessageSerializer.JSON, decoded.getSerializer());
+        Assertions.assertArrayEquals(message.getBody(), decoded.getBody());
+    }
+
+    @Test
+    public void testEncodeJsonMessageInLegacyFrame() {
+        Message message = new Message();
+        message.setType(MessageType.PING);
+        message.setBody("ping".getBytes(StandardCharsets.UTF_8));
+
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new NettyEncoder());
+        encodeChannel.writeOutbound(message);
+        ByteBuf frame = encodeChannel.readOutbound();
+        Assertions.assertEquals(Message.MAGIC, frame.readByte());
+        Assertions.assertEquals(Message.LEGACY_VERSION, frame.readByte());
+        Assertions.assertEquals(MessageType.PING.ordinal(), frame.readByte());
+        // the legacy frame has no serializer byte, the opaque follows the type
+        Assertions.assertEquals(message.getOpaque(), frame.readLong());
+    }
+
+    private Message encodeAndDecode(Message message) {
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new NettyEncoder());
+        encodeChannel.writeOutbound(message);
+        ByteBuf frame = encodeChannel.readOutbound();
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new NettyDecoder());
+        decodeChannel.writeInbound(frame);
+        return decodeChannel.readInbound();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.remote.processor;
+
+import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.remote.NettyRemotingServer;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
+import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GetLogChunkProcessorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testProcess() throws Exception {
+        byte[] content = new byte[2500];
+        new Random().nextBytes(content);
+        Path logFile = tempDir.resolve("test.log");
+        Files.write(logFile, content);
+
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        server.registerProcessor(new GetLogChunkProcessor());
+        server.start();
+        NettyRemotingClient client = new NettyRemotingClient(new NettyClientConfig());
+        try {
+            Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+            String path = logFile.toString();
+
+            Message firstChunk = client.sendSync(host, new GetLogChunkRequest(path, 0, 1024).convert2Command(), 2000);
+            Assertions.assertArrayEquals(Arrays.copyOfRange(content, 0, 1024), firstChunk.getBody());
+
+            Message lastChunk = client.sendSync(host, new GetLogChunkRequest(path, 2048, 1024).convert2Command(), 2000);
+            Assertions.assertArrayEquals(Arrays.copyOfRange(content, 2048, 2500), lastChunk.getBody());
+
+            Message emptyChunk =
+                    client.sendSync(host, new GetLogChunkRequest(path, 2500, 1024).convert2Command(), 2000);
+            Assertions.assertEquals(0, emptyChunk.getBody().length);
+
+            Message notExistChunk = client.sendSync(host,
+                    new GetLogChunkRequest(tempDir.resolve("not-exist.log").toString(), 0, 1024).convert2Command(),
+                    2000);
+            Assertions.assertEquals(0, notExistChunk.getBody().length);
+        } finally {
+            client.close();
+            server.close();
+        }
+    }
+}
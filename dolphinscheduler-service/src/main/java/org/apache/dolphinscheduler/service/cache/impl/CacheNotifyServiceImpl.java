@@ -112,7 +112,7 @@ public class CacheNotifyServiceImpl implements CacheNotifyService {
      */
     @Override
     public void notifyMaster(Message message) {
-        log.info("send result, command:{}", message.toString());
+        log.debug("send result, command:{}", message);
         try {
             List<Server> serverList = registryClient.getServerList(RegistryNodeType.MASTER);
             if (CollectionUtils.isEmpty(serverList)) {
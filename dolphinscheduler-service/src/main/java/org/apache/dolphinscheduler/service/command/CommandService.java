@@ -21,9 +21,13 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.transaction.annotation.Transactional;
+
 /**
  * Command Service
  */
@@ -45,16 +49,36 @@ public interface CommandService {
     int createCommand(Command command);
 
     /**
-     * Get command page
+     * Split the complement plan command into the parallel complement commands, the plan command holds the schedule
+     * range or date list together with the parallelism, it is deleted and the split commands are inserted in batch, each
+     * of them is then expanded date by date by the workflow instance serially.
+     * @param command command
+     * @return true if the command is a complement plan and has been split, the command should not be handled anymore
+     */
+    @Transactional
+    boolean splitComplementPlanCommand(Command command) throws CronParseException;
+
+    /**
+     * Get command page by buckets, the bucket of a command is id % bucketCount
      * @param pageSize page size
-     * @param masterCount master count
-     * @param thisMasterSlot master slot
+     * @param bucketCount bucket count
+     * @param buckets the buckets to query
+     * @param fromTail query from the tail of the command queue
      * @return command page
      */
-    List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot);
+    List<Command> findCommandPageByBuckets(int pageSize, int bucketCount, Collection<Integer> buckets,
+                                           boolean fromTail);
+
+    /**
+     * Whether the command still exists, the command is deleted once it has been handled by a master
+     * @param commandId command id
+     * @return true if the command exists
+     */
+    boolean isCommandExist(int commandId);
 
     /**
-     * check the input command exists in queue list
+     * check the input command exists in queue list, only the recovery commands are checked, by a probe on the
+     * recover process instance id index
      *
      * @param command command
      * @return create command result
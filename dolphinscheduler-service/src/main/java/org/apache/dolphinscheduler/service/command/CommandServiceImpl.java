@@ -17,14 +17,21 @@
 
 package org.apache.dolphinscheduler.service.command;
 
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_END_DATE;
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_PARALLELISM;
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_SCHEDULE_DATE_LIST;
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_START_DATE;
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_RECOVERY_WAITING_THREAD;
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_RECOVER_PROCESS_ID_STRING;
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_SUB_PROCESS_DEFINE_CODE;
+import static org.apache.dolphinscheduler.common.constants.Constants.COMMA;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.ApiTriggerType;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ErrorCommand;
@@ -33,31 +40,45 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.TriggerRelation;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ErrorCommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.remote.command.workflow.CommandNotifyRequest;
+import org.apache.dolphinscheduler.service.cache.CacheNotifyService;
+import org.apache.dolphinscheduler.service.cron.CronUtils;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
+import org.apache.dolphinscheduler.service.process.TriggerRelationService;
 import org.apache.dolphinscheduler.service.utils.ParamUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import io.micrometer.core.annotation.Counted;
 
 /**
@@ -67,6 +88,13 @@ import io.micrometer.core.annotation.Counted;
 @Slf4j
 public class CommandServiceImpl implements CommandService {
 
+    private static final Set<CommandType> RECOVER_COMMAND_TYPES = Sets.immutableEnumSet(
+            CommandType.REPEAT_RUNNING,
+            CommandType.RECOVER_SUSPENDED_PROCESS,
+            CommandType.START_FAILURE_TASK_PROCESS);
+
+    private static final int COMPLEMENT_PLAN_INSERT_BATCH_SIZE = 500;
+
     @Autowired
     private ErrorCommandMapper errorCommandMapper;
 
@@ -79,6 +107,12 @@ public class CommandServiceImpl implements CommandService {
     @Autowired
     private ProcessDefinitionMapper processDefineMapper;
 
+    @Autowired
+    private CacheNotifyService cacheNotifyService;
+
+    @Autowired
+    private TriggerRelationService triggerRelationService;
+
     @Override
     public void moveToErrorCommand(Command command, String message) {
         ErrorCommand errorCommand = new ErrorCommand(command, message);
@@ -103,48 +137,199 @@ public class CommandServiceImpl implements CommandService {
             command.setCommandParam(JSONUtils.toJsonString(commandParams));
         }
         command.setId(null);
-        result = commandMapper.insert(command);
+        command.setRecoverProcessInstanceId(getRecoverProcessInstanceId(command));
+        try {
+            result = commandMapper.insert(command);
+        } catch (DuplicateKeyException e) {
+            // another api server has inserted a recovery command for the same process instance concurrently
+            log.warn("The recovery command of process instance: {} already exists, will not create command: {}",
+                    command.getRecoverProcessInstanceId(), command.getCommandType());
+            return 0;
+        }
+        if (result > 0) {
+            notifyMasterCommandCreated(command);
+        }
         return result;
     }
 
     @Override
-    public List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot) {
-        if (masterCount <= 0) {
+    public boolean splitComplementPlanCommand(Command command) throws CronParseException {
+        if (command.getCommandType() != CommandType.COMPLEMENT_DATA) {
+            return false;
+        }
+        Map<String, String> cmdParam = JSONUtils.toMap(command.getCommandParam());
+        if (cmdParam == null || !cmdParam.containsKey(CMD_PARAM_COMPLEMENT_DATA_PARALLELISM)) {
+            return false;
+        }
+        int parallelism = NumberUtils.toInt(cmdParam.remove(CMD_PARAM_COMPLEMENT_DATA_PARALLELISM));
+        List<Map<String, String>> splitCmdParams = splitComplementPlanParam(command, cmdParam, parallelism);
+        if (splitCmdParams.isEmpty()) {
+            // there is no schedule date, handle the command as a serial complement command
+            splitCmdParams.add(cmdParam);
+        }
+        // the plan may be stolen by another master, only the one who deletes it can split it
+        if (commandMapper.deleteById(command.getId()) == 0) {
+            log.info("The complement plan command {} has been handled by another master", command.getId());
+            return true;
+        }
+
+        List<Command> splitCommands = new ArrayList<>(splitCmdParams.size());
+        for (Map<String, String> splitCmdParam : splitCmdParams) {
+            splitCommands.add(copyCommand(command, JSONUtils.toJsonString(splitCmdParam)));
+        }
+        for (List<Command> batch : Lists.partition(splitCommands, COMPLEMENT_PLAN_INSERT_BATCH_SIZE)) {
+            commandMapper.batchInsert(batch);
+        }
+        TriggerRelation triggerRelation =
+                triggerRelationService.queryByTypeAndJobId(ApiTriggerType.COMMAND, command.getId());
+        if (triggerRelation != null) {
+            for (Command splitCommand : splitCommands) {
+                triggerRelationService.saveTriggerToDb(ApiTriggerType.COMMAND, triggerRelation.getTriggerCode(),
+                        splitCommand.getId());
+            }
+        }
+        // one notification is enough to wake up the masters, the others will be fetched by the next poll
+        notifyMasterCommandCreated(splitCommands.get(0));
+        log.info("Split the complement plan command {} into {} commands, parallelism: {}", command.getId(),
+                splitCommands.size(), parallelism);
+        return true;
+    }
+
+    /**
+     * Split the schedule range or the schedule date list of the complement plan evenly, the first partitions get one
+     * more date if the dates cannot be divided evenly.
+     */
+    private List<Map<String, String>> splitComplementPlanParam(Command command, Map<String, String> cmdParam,
+                                                               int parallelism) throws CronParseException {
+        List<String> scheduleDates = new ArrayList<>();
+        boolean isDateList = StringUtils.isNotEmpty(cmdParam.get(CMD_PARAM_COMPLEMENT_DATA_SCHEDULE_DATE_LIST));
+        if (isDateList) {
+            scheduleDates
+                    .addAll(Arrays.asList(cmdParam.get(CMD_PARAM_COMPLEMENT_DATA_SCHEDULE_DATE_LIST).split(COMMA)));
+        } else if (cmdParam.containsKey(CMD_PARAM_COMPLEMENT_DATA_START_DATE)
+                && cmdParam.containsKey(CMD_PARAM_COMPLEMENT_DATA_END_DATE)) {
+            List<Schedule> schedules =
+                    scheduleMapper.queryReleaseSchedulerListByProcessDefinitionCode(command.getProcessDefinitionCode());
+            CronUtils.getSelfFireDateList(
+                    DateUtils.stringToDate(cmdParam.get(CMD_PARAM_COMPLEMENT_DATA_START_DATE)),
+                    DateUtils.stringToDate(cmdParam.get(CMD_PARAM_COMPLEMENT_DATA_END_DATE)),
+                    schedules)
+                    .forEach(date -> scheduleDates.add(DateUtils.dateToString(date)));
+        }
+
+        List<Map<String, String>> splitCmdParams = new ArrayList<>();
+        if (scheduleDates.isEmpty()) {
+            return splitCmdParams;
+        }
+        int splitCount = parallelism > 0 ? Math.min(parallelism, scheduleDates.size()) : scheduleDates.size();
+        int datesPerCommand = scheduleDates.size() / splitCount;
+        int remainingDates = scheduleDates.size() % splitCount;
+        int fromIndex = 0;
+        for (int i = 0; i < splitCount; i++) {
+            int toIndex = fromIndex + datesPerCommand + (i < remainingDates ? 1 : 0);
+            Map<String, String> splitCmdParam = new HashMap<>(cmdParam);
+            if (isDateList) {
+                splitCmdParam.put(CMD_PARAM_COMPLEMENT_DATA_SCHEDULE_DATE_LIST,
+                        String.join(COMMA, scheduleDates.subList(fromIndex, toIndex)));
+            } else {
+                splitCmdParam.put(CMD_PARAM_COMPLEMENT_DATA_START_DATE, scheduleDates.get(fromIndex));
+                splitCmdParam.put(CMD_PARAM_COMPLEMENT_DATA_END_DATE, scheduleDates.get(toIndex - 1));
+            }
+            splitCmdParams.add(splitCmdParam);
+            fromIndex = toIndex;
+        }
+        return splitCmdParams;
+    }
+
+    private Command copyCommand(Command command, String commandParam) {
+        return Command.builder()
+                .commandType(command.getCommandType())
+                .processDefinitionCode(command.getProcessDefinitionCode())
+                .processDefinitionVersion(command.getProcessDefinitionVersion())
+                .processInstanceId(command.getProcessInstanceId())
+                .executorId(command.getExecutorId())
+                .commandParam(commandParam)
+                .taskDependType(command.getTaskDependType())
+                .failureStrategy(command.getFailureStrategy())
+                .warningType(command.getWarningType())
+                .warningGroupId(command.getWarningGroupId())
+                .scheduleTime(command.getScheduleTime())
+                .startTime(command.getStartTime())
+                .updateTime(new Date())
+                .processInstancePriority(command.getProcessInstancePriority())
+                .workerGroup(command.getWorkerGroup())
+                .tenantCode(command.getTenantCode())
+                .environmentCode(command.getEnvironmentCode())
+                .dryRun(command.getDryRun())
+                .testFlag(command.getTestFlag())
+                .build();
+    }
+
+    /**
+     * Notify the masters that a new command has been created, so that the owner can fetch it without waiting for the
+     * next poll. If we are inside a transaction the notification is sent after commit, otherwise the master may not
+     * see the command yet. The notification is just a hint, the master will still poll the database.
+     */
+    private void notifyMasterCommandCreated(Command command) {
+        if (command.getId() == null) {
+            return;
+        }
+        final int commandId = command.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    cacheNotifyService.notifyMaster(new CommandNotifyRequest(commandId).convert2Command());
+                }
+            });
+        } else {
+            cacheNotifyService.notifyMaster(new CommandNotifyRequest(commandId).convert2Command());
+        }
+    }
+
+    @Override
+    public List<Command> findCommandPageByBuckets(int pageSize, int bucketCount, Collection<Integer> buckets,
+                                                  boolean fromTail) {
+        if (bucketCount <= 0 || CollectionUtils.isEmpty(buckets)) {
             return Lists.newArrayList();
         }
-        return commandMapper.queryCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+        return commandMapper.queryCommandPageByBuckets(pageSize, bucketCount, buckets, fromTail);
+    }
+
+    @Override
+    public boolean isCommandExist(int commandId) {
+        return commandMapper.selectById(commandId) != null;
     }
 
     @Override
     public boolean verifyIsNeedCreateCommand(Command command) {
-        boolean isNeedCreate = true;
-        EnumMap<CommandType, Integer> cmdTypeMap = new EnumMap<>(CommandType.class);
-        cmdTypeMap.put(CommandType.REPEAT_RUNNING, 1);
-        cmdTypeMap.put(CommandType.RECOVER_SUSPENDED_PROCESS, 1);
-        cmdTypeMap.put(CommandType.START_FAILURE_TASK_PROCESS, 1);
-        CommandType commandType = command.getCommandType();
-
-        if (!cmdTypeMap.containsKey(commandType)) {
+        Integer recoverProcessInstanceId = getRecoverProcessInstanceId(command);
+        if (recoverProcessInstanceId == null) {
             return true;
         }
+        return commandMapper.queryCommandByRecoverProcessInstanceId(recoverProcessInstanceId) == null;
+    }
 
+    /**
+     * Get the process instance targeted by the given recovery command, at most one of these commands can wait for each
+     * process instance, this is guaranteed by the unique index on the recover_process_instance_id column.
+     *
+     * @return the recover process instance id, null if the command is not a recovery command
+     */
+    private Integer getRecoverProcessInstanceId(Command command) {
+        if (!RECOVER_COMMAND_TYPES.contains(command.getCommandType())) {
+            return null;
+        }
+        if (command.getProcessInstanceId() > 0) {
+            return command.getProcessInstanceId();
+        }
         ObjectNode cmdParamObj = JSONUtils.parseObject(command.getCommandParam());
-        int processInstanceId = cmdParamObj.path(CMD_PARAM_RECOVER_PROCESS_ID_STRING).asInt();
-
-        List<Command> commands = commandMapper.selectList(null);
-        // for all commands
-        for (Command tmpCommand : commands) {
-            if (!cmdTypeMap.containsKey(tmpCommand.getCommandType())) {
-                continue;
-            }
-            ObjectNode tempObj = JSONUtils.parseObject(tmpCommand.getCommandParam());
-            if (tempObj != null
-                    && processInstanceId == tempObj.path(CMD_PARAM_RECOVER_PROCESS_ID_STRING).asInt()) {
-                isNeedCreate = false;
-                break;
-            }
+        if (cmdParamObj == null) {
+            return null;
         }
-        return isNeedCreate;
+        int processInstanceId = cmdParamObj.path(CMD_PARAM_RECOVER_PROCESS_ID_STRING).asInt();
+        return processInstanceId > 0 ? processInstanceId : null;
     }
 
     @Override
@@ -31,6 +31,7 @@ import org.apache.dolphinscheduler.remote.command.log.GetAppIdRequest;
 import org.apache.dolphinscheduler.remote.command.log.GetAppIdResponse;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequest;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponse;
+import org.apache.dolphinscheduler.remote.command.log.GetLogChunkRequest;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequest;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponse;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequest;
@@ -41,6 +42,8 @@ import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.factory.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -60,6 +63,8 @@ public class LogClient implements AutoCloseable {
 
     private static final long LOG_REQUEST_TIMEOUT = 10 * 1000L;
 
+    private static final int LOG_CHUNK_SIZE = 1024 * 1024;
+
     public LogClient() {
         client = NettyRemotingClientFactory.buildNettyRemotingClient();
     }
@@ -170,6 +175,43 @@ public class LogClient implements AutoCloseable {
         }
     }
 
+    /**
+     * transfer the log file chunk by chunk into the given output stream, only one chunk is held in memory at a time
+     *
+     * @param host host
+     * @param port port
+     * @param path log path
+     * @param outputStream output stream
+     * @return transferred bytes
+     */
+    public long transferLog(String host, int port, String path, OutputStream outputStream) throws IOException {
+        log.info("Transfer log from host: {}, port: {}, logPath {}", host, port, path);
+        final Host address = new Host(host, port);
+        long offset = 0;
+        try {
+            while (true) {
+                Message message = new GetLogChunkRequest(path, offset, LOG_CHUNK_SIZE).convert2Command();
+                Message response = this.client.sendSync(address, message, LOG_REQUEST_TIMEOUT);
+                if (response == null) {
+                    throw new IOException(String.format("Get log chunk from host: %s, port: %s, logPath: %s, "
+                            + "offset: %s timeout", host, port, path, offset));
+                }
+                byte[] chunk = response.getBody();
+                outputStream.write(chunk);
+                offset += chunk.length;
+                if (chunk.length < LOG_CHUNK_SIZE) {
+                    return offset;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Transfer log error, the current thread has been interrupted", ex);
+        } catch (RemotingException ex) {
+            throw new IOException(String.format("Transfer log from host: %s, port: %s, logPath: %s error", host,
+                    port, path), ex);
+        }
+    }
+
     /**
      * remove task log
      *
@@ -197,16 +197,6 @@ public interface ProcessService {
 
     DqComparisonType getComparisonTypeById(int id);
 
-    boolean acquireTaskGroup(int taskId,
-                             String taskName, int groupId,
-                             int processId, int priority);
-
-    boolean robTaskGroupResource(TaskGroupQueue taskGroupQueue);
-
-    void releaseAllTaskGroup(int processInstanceId);
-
-    TaskInstance releaseTaskGroup(TaskInstance taskInstance);
-
     void changeTaskGroupQueueStatus(int taskId, TaskGroupQueueStatus status);
 
     TaskGroupQueue insertIntoTaskGroupQueue(Integer taskId,
@@ -220,6 +210,13 @@ public interface ProcessService {
 
     int updateTaskGroupQueue(TaskGroupQueue taskGroupQueue);
 
+    /**
+     * Update the task group queue which takes over the slot and the one which releases the slot in one transaction,
+     * so the slot is neither lost nor held by both of them.
+     */
+    @Transactional
+    void handOverTaskGroupQueue(TaskGroupQueue nextTaskGroupQueue, TaskGroupQueue releasedTaskGroupQueue);
+
     TaskGroupQueue loadTaskGroupQueue(int taskId);
 
     ProcessInstance loadNextProcess4Serial(long code, int state, int id);
@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.service.utils;
 
 import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.graph.DAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -35,6 +36,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -59,12 +61,13 @@ public class DagHelper {
      */
     public static List<TaskNodeRelation> generateRelationListByFlowNodes(List<TaskNode> taskNodeList) {
         List<TaskNodeRelation> nodeRelationList = new ArrayList<>();
+        Map<String, TaskNode> taskNodeMap = toTaskNodeMap(taskNodeList);
         for (TaskNode taskNode : taskNodeList) {
             String preTasks = taskNode.getPreTasks();
             List<String> preTaskList = JSONUtils.toList(preTasks, String.class);
             if (preTaskList != null) {
                 for (String depNodeCode : preTaskList) {
-                    if (null != findNodeByCode(taskNodeList, depNodeCode)) {
+                    if (taskNodeMap.containsKey(depNodeCode)) {
                         nodeRelationList.add(new TaskNodeRelation(depNodeCode, Long.toString(taskNode.getCode())));
                     }
                 }
@@ -96,6 +99,7 @@ public class DagHelper {
 
         List<TaskNode> destTaskNodeList = new ArrayList<>();
         List<TaskNode> tmpTaskNodeList = new ArrayList<>();
+        Map<String, TaskNode> taskNodeMap = toTaskNodeMap(taskNodeList);
 
         if (taskDependType == TaskDependType.TASK_POST
                 && CollectionUtils.isNotEmpty(recoveryNodeCodeList)) {
@@ -106,8 +110,12 @@ public class DagHelper {
             tmpTaskNodeList = taskNodeList;
         } else {
             // specified start nodes or resume execution
+            Map<String, List<TaskNode>> postTaskNodeMap =
+                    TaskDependType.TASK_POST == taskDependType ? toPostTaskNodeMap(taskNodeList) : null;
+            Set<String> recoveryNodeCodeSet =
+                    recoveryNodeCodeList == null ? new HashSet<>() : new HashSet<>(recoveryNodeCodeList);
             for (String startNodeCode : startNodeList) {
-                TaskNode startNode = findNodeByCode(taskNodeList, startNodeCode);
+                TaskNode startNode = taskNodeMap.get(startNodeCode);
                 List<TaskNode> childNodeList = new ArrayList<>();
                 if (startNode == null) {
                     log.error("start node name [{}] is not in task node list [{}] ",
@@ -115,12 +123,12 @@ public class DagHelper {
                             taskNodeList);
                     continue;
                 } else if (TaskDependType.TASK_POST == taskDependType) {
-                    List<String> visitedNodeCodeList = new ArrayList<>();
-                    childNodeList = getFlowNodeListPost(startNode, taskNodeList, visitedNodeCodeList);
+                    Set<String> visitedNodeCodeSet = new HashSet<>();
+                    childNodeList = getFlowNodeListPost(startNode, postTaskNodeMap, visitedNodeCodeSet);
                 } else if (TaskDependType.TASK_PRE == taskDependType) {
-                    List<String> visitedNodeCodeList = new ArrayList<>();
+                    Set<String> visitedNodeCodeSet = new HashSet<>();
                     childNodeList =
-                            getFlowNodeListPre(startNode, recoveryNodeCodeList, taskNodeList, visitedNodeCodeList);
+                            getFlowNodeListPre(startNode, recoveryNodeCodeSet, taskNodeMap, visitedNodeCodeSet);
                 } else {
                     childNodeList.add(startNode);
                 }
@@ -128,34 +136,61 @@ public class DagHelper {
             }
         }
 
+        Set<Long> destTaskNodeCodeSet = new HashSet<>();
         for (TaskNode taskNode : tmpTaskNodeList) {
-            if (null == findNodeByCode(destTaskNodeList, Long.toString(taskNode.getCode()))) {
+            if (destTaskNodeCodeSet.add(taskNode.getCode())) {
                 destTaskNodeList.add(taskNode);
             }
         }
         return destTaskNodeList;
     }
 
+    /**
+     * index the task nodes by code, the first node is kept if the code is duplicated
+     */
+    private static Map<String, TaskNode> toTaskNodeMap(List<TaskNode> taskNodeList) {
+        Map<String, TaskNode> taskNodeMap = new HashMap<>();
+        for (TaskNode taskNode : taskNodeList) {
+            taskNodeMap.putIfAbsent(Long.toString(taskNode.getCode()), taskNode);
+        }
+        return taskNodeMap;
+    }
+
+    /**
+     * index the task nodes by the code of their depend nodes, in the order of the task node list
+     */
+    private static Map<String, List<TaskNode>> toPostTaskNodeMap(List<TaskNode> taskNodeList) {
+        Map<String, List<TaskNode>> postTaskNodeMap = new HashMap<>();
+        for (TaskNode taskNode : taskNodeList) {
+            List<String> depList = taskNode.getDepList();
+            if (depList == null) {
+                continue;
+            }
+            for (String depNodeCode : new HashSet<>(depList)) {
+                postTaskNodeMap.computeIfAbsent(depNodeCode, k -> new ArrayList<>()).add(taskNode);
+            }
+        }
+        return postTaskNodeMap;
+    }
+
     /**
      * find all the nodes that depended on the start node
      *
      * @param startNode startNode
-     * @param taskNodeList taskNodeList
+     * @param postTaskNodeMap the task nodes indexed by the code of their depend nodes
      * @return task node list
      */
-    private static List<TaskNode> getFlowNodeListPost(TaskNode startNode, List<TaskNode> taskNodeList,
-                                                      List<String> visitedNodeCodeList) {
+    private static List<TaskNode> getFlowNodeListPost(TaskNode startNode, Map<String, List<TaskNode>> postTaskNodeMap,
+                                                      Set<String> visitedNodeCodeSet) {
         List<TaskNode> resultList = new ArrayList<>();
-        for (TaskNode taskNode : taskNodeList) {
-            List<String> depList = taskNode.getDepList();
-            if (null != depList && null != startNode && depList.contains(Long.toString(startNode.getCode()))
-                    && !visitedNodeCodeList.contains(Long.toString(taskNode.getCode()))) {
-                resultList.addAll(getFlowNodeListPost(taskNode, taskNodeList, visitedNodeCodeList));
-            }
-        }
-        // why add (startNode != null) condition? for SonarCloud Quality Gate passed
         if (null != startNode) {
-            visitedNodeCodeList.add(Long.toString(startNode.getCode()));
+            for (TaskNode taskNode : postTaskNodeMap.getOrDefault(Long.toString(startNode.getCode()),
+                    Collections.emptyList())) {
+                if (!visitedNodeCodeSet.contains(Long.toString(taskNode.getCode()))) {
+                    resultList.addAll(getFlowNodeListPost(taskNode, postTaskNodeMap, visitedNodeCodeSet));
+                }
+            }
+            visitedNodeCodeSet.add(Long.toString(startNode.getCode()));
         }
 
         resultList.add(startNode);
@@ -166,12 +201,13 @@ public class DagHelper {
      * find all nodes that start nodes depend on.
      *
      * @param startNode startNode
-     * @param recoveryNodeCodeList recoveryNodeCodeList
-     * @param taskNodeList taskNodeList
+     * @param recoveryNodeCodeSet recoveryNodeCodeSet
+     * @param taskNodeMap the task nodes indexed by code
      * @return task node list
      */
-    private static List<TaskNode> getFlowNodeListPre(TaskNode startNode, List<String> recoveryNodeCodeList,
-                                                     List<TaskNode> taskNodeList, List<String> visitedNodeCodeList) {
+    private static List<TaskNode> getFlowNodeListPre(TaskNode startNode, Set<String> recoveryNodeCodeSet,
+                                                     Map<String, TaskNode> taskNodeMap,
+                                                     Set<String> visitedNodeCodeSet) {
 
         List<TaskNode> resultList = new ArrayList<>();
 
@@ -184,16 +220,16 @@ public class DagHelper {
             return resultList;
         }
         for (String depNodeCode : depList) {
-            TaskNode start = findNodeByCode(taskNodeList, depNodeCode);
-            if (recoveryNodeCodeList.contains(depNodeCode)) {
+            TaskNode start = taskNodeMap.get(depNodeCode);
+            if (recoveryNodeCodeSet.contains(depNodeCode)) {
                 resultList.add(start);
-            } else if (!visitedNodeCodeList.contains(depNodeCode)) {
-                resultList.addAll(getFlowNodeListPre(start, recoveryNodeCodeList, taskNodeList, visitedNodeCodeList));
+            } else if (!visitedNodeCodeSet.contains(depNodeCode)) {
+                resultList.addAll(getFlowNodeListPre(start, recoveryNodeCodeSet, taskNodeMap, visitedNodeCodeSet));
             }
         }
         // why add (startNode != null) condition? for SonarCloud Quality Gate passed
         if (null != startNode) {
-            visitedNodeCodeList.add(Long.toString(startNode.getCode()));
+            visitedNodeCodeSet.add(Long.toString(startNode.getCode()));
         }
         return resultList;
     }
@@ -266,7 +302,7 @@ public class DagHelper {
      * @return can submit
      */
     public static boolean allDependsForbiddenOrEnd(TaskNode taskNode,
-                                                   DAG<String, TaskNode, TaskNodeRelation> dag,
+                                                   CompiledDAG<TaskNode> dag,
                                                    Map<String, TaskNode> skipTaskNodeList,
                                                    Map<String, TaskInstance> completeTaskList) {
         List<String> dependList = taskNode.getDepList();
@@ -274,7 +310,7 @@ public class DagHelper {
             return true;
         }
         for (String dependNodeCode : dependList) {
-            TaskNode dependNode = dag.getNode(dependNodeCode);
+            TaskNode dependNode = dag.getNode(Long.parseLong(dependNodeCode));
             if (dependNode == null || completeTaskList.containsKey(dependNodeCode)
                     || dependNode.isForbidden()
                     || skipTaskNodeList.containsKey(dependNodeCode)) {
@@ -295,24 +331,24 @@ public class DagHelper {
      */
     public static Set<String> parsePostNodes(String preNodeCode,
                                              Map<String, TaskNode> skipTaskNodeList,
-                                             DAG<String, TaskNode, TaskNodeRelation> dag,
+                                             CompiledDAG<TaskNode> dag,
                                              Map<String, TaskInstance> completeTaskList) {
         Set<String> postNodeList = new HashSet<>();
         Collection<String> startVertexes = new ArrayList<>();
 
         if (preNodeCode == null) {
-            startVertexes = dag.getBeginNode();
-        } else if (dag.getNode(preNodeCode).isConditionsTask()) {
+            startVertexes = toNodeCodes(dag.getBeginNodes());
+        } else if (dag.getNode(Long.parseLong(preNodeCode)).isConditionsTask()) {
             List<String> conditionTaskList = parseConditionTask(preNodeCode, skipTaskNodeList, dag, completeTaskList);
             startVertexes.addAll(conditionTaskList);
-        } else if (dag.getNode(preNodeCode).isSwitchTask()) {
+        } else if (dag.getNode(Long.parseLong(preNodeCode)).isSwitchTask()) {
             List<String> conditionTaskList = parseSwitchTask(preNodeCode, skipTaskNodeList, dag, completeTaskList);
             startVertexes.addAll(conditionTaskList);
         } else {
-            startVertexes = dag.getSubsequentNodes(preNodeCode);
+            startVertexes = toNodeCodes(dag.getSubsequentNodes(Long.parseLong(preNodeCode)));
         }
         for (String subsequent : startVertexes) {
-            TaskNode taskNode = dag.getNode(subsequent);
+            TaskNode taskNode = dag.getNode(Long.parseLong(subsequent));
             if (taskNode == null) {
                 log.error("taskNode {} is null, please check dag", subsequent);
                 continue;
@@ -355,10 +391,10 @@ public class DagHelper {
      */
     public static List<String> parseConditionTask(String nodeCode,
                                                   Map<String, TaskNode> skipTaskNodeList,
-                                                  DAG<String, TaskNode, TaskNodeRelation> dag,
+                                                  CompiledDAG<TaskNode> dag,
                                                   Map<String, TaskInstance> completeTaskList) {
         List<String> conditionTaskList = new ArrayList<>();
-        TaskNode taskNode = dag.getNode(nodeCode);
+        TaskNode taskNode = dag.getNode(Long.parseLong(nodeCode));
         if (!taskNode.isConditionsTask()) {
             return conditionTaskList;
         }
@@ -397,10 +433,10 @@ public class DagHelper {
      */
     public static List<String> parseSwitchTask(String nodeCode,
                                                Map<String, TaskNode> skipTaskNodeList,
-                                               DAG<String, TaskNode, TaskNodeRelation> dag,
+                                               CompiledDAG<TaskNode> dag,
                                                Map<String, TaskInstance> completeTaskList) {
         List<String> conditionTaskList = new ArrayList<>();
-        TaskNode taskNode = dag.getNode(nodeCode);
+        TaskNode taskNode = dag.getNode(Long.parseLong(nodeCode));
         if (!taskNode.isSwitchTask()) {
             return conditionTaskList;
         }
@@ -413,7 +449,7 @@ public class DagHelper {
 
     private static List<String> skipTaskNode4Switch(TaskNode taskNode, Map<String, TaskNode> skipTaskNodeList,
                                                     Map<String, TaskInstance> completeTaskList,
-                                                    DAG<String, TaskNode, TaskNodeRelation> dag) {
+                                                    CompiledDAG<TaskNode> dag) {
 
         SwitchParameters switchParameters =
                 completeTaskList.get(Long.toString(taskNode.getCode())).getSwitchDependency();
@@ -437,18 +473,18 @@ public class DagHelper {
      * set task node and the post nodes skip flag
      */
     private static void setTaskNodeSkip(String skipNodeCode,
-                                        DAG<String, TaskNode, TaskNodeRelation> dag,
+                                        CompiledDAG<TaskNode> dag,
                                         Map<String, TaskInstance> completeTaskList,
                                         Map<String, TaskNode> skipTaskNodeList) {
-        if (!dag.containsNode(skipNodeCode)) {
+        TaskNode skipNode = dag.getNode(Long.parseLong(skipNodeCode));
+        if (skipNode == null) {
             return;
         }
-        skipTaskNodeList.putIfAbsent(skipNodeCode, dag.getNode(skipNodeCode));
-        Collection<String> postNodeList = dag.getSubsequentNodes(skipNodeCode);
-        for (String post : postNodeList) {
+        skipTaskNodeList.putIfAbsent(skipNodeCode, skipNode);
+        for (long post : dag.getSubsequentNodes(skipNode.getCode())) {
             TaskNode postNode = dag.getNode(post);
             if (isTaskNodeNeedSkip(postNode, skipTaskNodeList)) {
-                setTaskNodeSkip(post, dag, completeTaskList, skipTaskNodeList);
+                setTaskNodeSkip(Long.toString(post), dag, completeTaskList, skipTaskNodeList);
             }
         }
     }
@@ -478,6 +514,36 @@ public class DagHelper {
         return dag;
     }
 
+    /**
+     * build the immutable dag used to run the workflow instance
+     *
+     * @param processDag processDag
+     * @return dag
+     * @throws IllegalArgumentException if the dag has cycle
+     */
+    public static CompiledDAG<TaskNode> buildCompiledDag(ProcessDag processDag) {
+        CompiledDAG.Builder<TaskNode> builder = CompiledDAG.builder();
+        if (CollectionUtils.isNotEmpty(processDag.getNodes())) {
+            for (TaskNode node : processDag.getNodes()) {
+                builder.addNode(node.getCode(), node);
+            }
+        }
+        if (CollectionUtils.isNotEmpty(processDag.getEdges())) {
+            for (TaskNodeRelation edge : processDag.getEdges()) {
+                builder.addEdge(Long.parseLong(edge.getStartNode()), Long.parseLong(edge.getEndNode()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<String> toNodeCodes(long[] codes) {
+        List<String> nodeCodes = new ArrayList<>(codes.length);
+        for (long code : codes) {
+            nodeCodes.add(Long.toString(code));
+        }
+        return nodeCodes;
+    }
+
     /**
      * get process dag
      *
@@ -543,7 +609,7 @@ public class DagHelper {
      * is there have conditions after the parent node
      */
     public static boolean haveConditionsAfterNode(String parentNodeCode,
-                                                  DAG<String, TaskNode, TaskNodeRelation> dag) {
+                                                  CompiledDAG<TaskNode> dag) {
         return haveSubAfterNode(parentNodeCode, dag, TaskConstants.TASK_TYPE_CONDITIONS);
     }
 
@@ -567,7 +633,7 @@ public class DagHelper {
      * is there have blocking node after the parent node
      */
     public static boolean haveBlockingAfterNode(String parentNodeCode,
-                                                DAG<String, TaskNode, TaskNodeRelation> dag) {
+                                                CompiledDAG<TaskNode> dag) {
         return haveSubAfterNode(parentNodeCode, dag, TaskConstants.TASK_TYPE_BLOCKING);
     }
 
@@ -575,7 +641,7 @@ public class DagHelper {
      * is there have all node after the parent node
      */
     public static boolean haveAllNodeAfterNode(String parentNodeCode,
-                                               DAG<String, TaskNode, TaskNodeRelation> dag) {
+                                               CompiledDAG<TaskNode> dag) {
         return haveSubAfterNode(parentNodeCode, dag, null);
     }
 
@@ -583,16 +649,16 @@ public class DagHelper {
      * Whether there is a specified type of child node after the parent node
      */
     public static boolean haveSubAfterNode(String parentNodeCode,
-                                           DAG<String, TaskNode, TaskNodeRelation> dag, String filterNodeType) {
-        Set<String> subsequentNodes = dag.getSubsequentNodes(parentNodeCode);
-        if (CollectionUtils.isEmpty(subsequentNodes)) {
+                                           CompiledDAG<TaskNode> dag, String filterNodeType) {
+        long[] subsequentNodes = dag.getSubsequentNodes(Long.parseLong(parentNodeCode));
+        if (subsequentNodes.length == 0) {
             return false;
         }
         if (StringUtils.isBlank(filterNodeType)) {
             return true;
         }
-        for (String nodeName : subsequentNodes) {
-            TaskNode taskNode = dag.getNode(nodeName);
+        for (long nodeCode : subsequentNodes) {
+            TaskNode taskNode = dag.getNode(nodeCode);
             if (taskNode.getType().equalsIgnoreCase(filterNodeType)) {
                 return true;
             }
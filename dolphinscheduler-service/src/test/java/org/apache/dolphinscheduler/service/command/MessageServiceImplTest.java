@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.service.command;
 
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_END_DATE;
+import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_PARALLELISM;
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_COMPLEMENT_DATA_START_DATE;
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_RECOVER_PROCESS_ID_STRING;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -35,8 +36,10 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.service.cache.CacheNotifyService;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
+import org.apache.dolphinscheduler.service.process.TriggerRelationService;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -45,12 +48,16 @@ import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -70,6 +77,12 @@ class MessageServiceImplTest {
     @Mock
     private ScheduleMapper scheduleMapper;
 
+    @Mock
+    private CacheNotifyService cacheNotifyService;
+
+    @Mock
+    private TriggerRelationService triggerRelationService;
+
     @Test
     public void testCreateSubCommand() {
         ProcessInstance parentInstance = new ProcessInstance();
@@ -140,13 +153,10 @@ class MessageServiceImplTest {
     @Test
     public void testVerifyIsNeedCreateCommand() {
 
-        List<Command> commands = new ArrayList<>();
-
         Command command = new Command();
         command.setCommandType(CommandType.REPEAT_RUNNING);
         command.setCommandParam("{\"" + CMD_PARAM_RECOVER_PROCESS_ID_STRING + "\":\"111\"}");
-        commands.add(command);
-        Mockito.when(commandMapper.selectList(null)).thenReturn(commands);
+        Mockito.when(commandMapper.queryCommandByRecoverProcessInstanceId(111)).thenReturn(command);
         Assertions.assertFalse(commandService.verifyIsNeedCreateCommand(command));
 
         Command command1 = new Command();
@@ -157,6 +167,57 @@ class MessageServiceImplTest {
         Command command2 = new Command();
         command2.setCommandType(CommandType.PAUSE);
         Assertions.assertTrue(commandService.verifyIsNeedCreateCommand(command2));
+        Mockito.verify(commandMapper, Mockito.never()).selectList(Mockito.any());
+    }
+
+    @Test
+    public void testCreateDuplicateRecoverCommand() {
+        Command command = new Command();
+        command.setCommandType(CommandType.START_FAILURE_TASK_PROCESS);
+        command.setProcessInstanceId(111);
+        Mockito.when(commandMapper.insert(command)).thenThrow(new DuplicateKeyException("duplicate"));
+        Assertions.assertEquals(0, commandService.createCommand(command));
+        Assertions.assertEquals(111, command.getRecoverProcessInstanceId());
+    }
+
+    @Test
+    public void testSplitComplementPlanCommand() throws CronParseException {
+        Command command = new Command();
+        command.setId(1);
+        command.setCommandType(CommandType.COMPLEMENT_DATA);
+        Map<String, String> cmdParam = new HashMap<>();
+        cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_START_DATE, "2020-01-01 00:00:00");
+        cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_END_DATE, "2020-01-31 00:00:00");
+        cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_PARALLELISM, "10");
+        command.setCommandParam(JSONUtils.toJsonString(cmdParam));
+        Mockito.when(commandMapper.deleteById(1)).thenReturn(1);
+        Mockito.when(commandMapper.batchInsert(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Command> commands = invocation.getArgument(0);
+            commands.forEach(c -> c.setId(100));
+            return commands.size();
+        });
+        Assertions.assertTrue(commandService.splitComplementPlanCommand(command));
+
+        ArgumentCaptor<List<Command>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(commandMapper).batchInsert(captor.capture());
+        List<Command> splitCommands = captor.getValue();
+        Assertions.assertEquals(10, splitCommands.size());
+        Map<String, String> firstCmdParam = JSONUtils.toMap(splitCommands.get(0).getCommandParam());
+        Assertions.assertEquals("2020-01-01 00:00:00", firstCmdParam.get(CMD_PARAM_COMPLEMENT_DATA_START_DATE));
+        Assertions.assertEquals("2020-01-04 00:00:00", firstCmdParam.get(CMD_PARAM_COMPLEMENT_DATA_END_DATE));
+        Assertions.assertFalse(firstCmdParam.containsKey(CMD_PARAM_COMPLEMENT_DATA_PARALLELISM));
+        Map<String, String> lastCmdParam = JSONUtils.toMap(splitCommands.get(9).getCommandParam());
+        Assertions.assertEquals("2020-01-29 00:00:00", lastCmdParam.get(CMD_PARAM_COMPLEMENT_DATA_START_DATE));
+        Assertions.assertEquals("2020-01-31 00:00:00", lastCmdParam.get(CMD_PARAM_COMPLEMENT_DATA_END_DATE));
+
+        // the plan has been split by another master
+        Mockito.when(commandMapper.deleteById(1)).thenReturn(0);
+        Assertions.assertTrue(commandService.splitComplementPlanCommand(command));
+        Mockito.verify(commandMapper, Mockito.times(1)).batchInsert(Mockito.anyList());
+
+        // not a complement plan
+        command.setCommandParam(JSONUtils.toJsonString(firstCmdParam));
+        Assertions.assertFalse(commandService.splitComplementPlanCommand(command));
     }
 
     @Test
@@ -215,13 +276,26 @@ class MessageServiceImplTest {
     }
 
     @Test
-    public void testFindCommandPageBySlot() {
-        int pageSize = 1;
-        int masterCount = 0;
-        int thisMasterSlot = 2;
-        List<Command> commandList =
-                commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
-        Assertions.assertEquals(0, commandList.size());
+    public void testCreateCommandNotifyMaster() {
+        Command command = new Command();
+        command.setCommandType(CommandType.START_PROCESS);
+        Mockito.when(commandMapper.insert(command)).thenAnswer(invocation -> {
+            command.setId(1);
+            return 1;
+        });
+        commandService.createCommand(command);
+        Mockito.verify(cacheNotifyService, Mockito.times(1)).notifyMaster(Mockito.any());
+
+        // the notification is deferred until the transaction commits
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            commandService.createCommand(command);
+            Mockito.verify(cacheNotifyService, Mockito.times(1)).notifyMaster(Mockito.any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            Mockito.verify(cacheNotifyService, Mockito.times(2)).notifyMaster(Mockito.any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
 }
@@ -61,7 +61,6 @@ import org.apache.dolphinscheduler.dao.mapper.ProcessTaskRelationMapper;
 import org.apache.dolphinscheduler.dao.mapper.ResourceMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionLogMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
-import org.apache.dolphinscheduler.dao.mapper.TaskGroupMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskGroupQueueMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.TenantMapper;
@@ -152,8 +151,6 @@ public class ProcessServiceTest {
     @Mock
     private ResourceMapper resourceMapper;
     @Mock
-    private TaskGroupMapper taskGroupMapper;
-    @Mock
     private DataSourceMapper dataSourceMapper;
     @Mock
     private TaskGroupQueueMapper taskGroupQueueMapper;
@@ -731,22 +728,6 @@ public class ProcessServiceTest {
         Assertions.assertNotNull(taskGroupQueue);
     }
 
-    @Test
-    public void testDoRelease() {
-
-        TaskGroupQueue taskGroupQueue = getTaskGroupQueue();
-        TaskInstance taskInstance = new TaskInstance();
-        taskInstance.setId(1);
-        taskInstance.setProcessInstanceId(1);
-        taskInstance.setTaskGroupId(taskGroupQueue.getGroupId());
-
-        Mockito.when(taskGroupQueueMapper.queryByTaskId(1)).thenReturn(taskGroupQueue);
-        Mockito.when(taskGroupQueueMapper.updateById(taskGroupQueue)).thenReturn(1);
-
-        processService.releaseTaskGroup(taskInstance);
-
-    }
-
     @Test
     public void testQueryTestDataSourceId() {
         Integer onlineDataSourceId = 1;
@@ -762,17 +743,4 @@ public class ProcessServiceTest {
         result = processService.queryTestDataSourceId(onlineDataSourceId);
         Assertions.assertNotNull(result);
     }
-    private TaskGroupQueue getTaskGroupQueue() {
-        TaskGroupQueue taskGroupQueue = new TaskGroupQueue();
-        taskGroupQueue.setTaskName("task name");
-        taskGroupQueue.setId(1);
-        taskGroupQueue.setGroupId(1);
-        taskGroupQueue.setTaskId(1);
-        taskGroupQueue.setPriority(1);
-        taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
-        Date date = new Date(System.currentTimeMillis());
-        taskGroupQueue.setUpdateTime(date);
-        taskGroupQueue.setCreateTime(date);
-        return taskGroupQueue;
-    }
 }
@@ -21,7 +21,7 @@ import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.TASK_TYP
 
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.TaskDependType;
-import org.apache.dolphinscheduler.common.graph.DAG;
+import org.apache.dolphinscheduler.common.graph.CompiledDAG;
 import org.apache.dolphinscheduler.common.model.TaskNodeRelation;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -85,7 +85,7 @@ public class DagHelperTest {
         ProcessDag processDag = new ProcessDag();
         processDag.setEdges(taskNodeRelations);
         processDag.setNodes(taskNodes);
-        DAG<String, TaskNode, TaskNodeRelation> dag = DagHelper.buildDagGraph(processDag);
+        CompiledDAG<TaskNode> dag = DagHelper.buildCompiledDag(processDag);
         boolean canSubmit = DagHelper.haveAllNodeAfterNode(parentNodeCode, dag);
         Assertions.assertTrue(canSubmit);
 
@@ -108,34 +108,34 @@ public class DagHelperTest {
     public void testTaskNodeCanSubmit() throws IOException {
         // 1->2->3->5->7
         // 4->3->6
-        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
-        TaskNode taskNode3 = dag.getNode("3");
+        CompiledDAG<TaskNode> dag = generateDag();
+        TaskNode taskNode3 = dag.getNode(3L);
         Map<String, TaskInstance> completeTaskList = new HashMap<>();
         Map<String, TaskNode> skipNodeList = new HashMap<>();
         completeTaskList.putIfAbsent("1", new TaskInstance());
         Boolean canSubmit = false;
 
         // 2/4 are forbidden submit 3
-        TaskNode node2 = dag.getNode("2");
+        TaskNode node2 = dag.getNode(2L);
         node2.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
-        TaskNode nodex = dag.getNode("4");
+        TaskNode nodex = dag.getNode(4L);
         nodex.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
         canSubmit = DagHelper.allDependsForbiddenOrEnd(taskNode3, dag, skipNodeList, completeTaskList);
         Assertions.assertEquals(canSubmit, true);
 
         // 2forbidden, 3 cannot be submit
         completeTaskList.putIfAbsent("2", new TaskInstance());
-        TaskNode nodey = dag.getNode("4");
+        TaskNode nodey = dag.getNode(4L);
         nodey.setRunFlag("");
         canSubmit = DagHelper.allDependsForbiddenOrEnd(taskNode3, dag, skipNodeList, completeTaskList);
         Assertions.assertEquals(canSubmit, false);
 
         // 2/3 forbidden submit 5
-        TaskNode node3 = dag.getNode("3");
+        TaskNode node3 = dag.getNode(3L);
         node3.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
-        TaskNode node8 = dag.getNode("8");
+        TaskNode node8 = dag.getNode(8L);
         node8.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
-        TaskNode node5 = dag.getNode("5");
+        TaskNode node5 = dag.getNode(5L);
         canSubmit = DagHelper.allDependsForbiddenOrEnd(node5, dag, skipNodeList, completeTaskList);
         Assertions.assertEquals(canSubmit, true);
     }
@@ -145,7 +145,7 @@ public class DagHelperTest {
      */
     @Test
     public void testParsePostNodeList() throws IOException {
-        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
+        CompiledDAG<TaskNode> dag = generateDag();
         Map<String, TaskInstance> completeTaskList = new HashMap<>();
         Map<String, TaskNode> skipNodeList = new HashMap<>();
 
@@ -212,14 +212,14 @@ public class DagHelperTest {
      */
     @Test
     public void testForbiddenPostNode() throws IOException {
-        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
+        CompiledDAG<TaskNode> dag = generateDag();
         Map<String, TaskInstance> completeTaskList = new HashMap<>();
         Map<String, TaskNode> skipNodeList = new HashMap<>();
         Set<String> postNodes = null;
         // dag: 1-2-3-5-7 4-3-6 2-8-5-7
         // forbid:2 complete:1 post:4/8
         completeTaskList.put("1", new TaskInstance());
-        TaskNode node2 = dag.getNode("2");
+        TaskNode node2 = dag.getNode(2L);
         node2.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
         postNodes = DagHelper.parsePostNodes(null, skipNodeList, dag, completeTaskList);
         Assertions.assertEquals(2, postNodes.size());
@@ -227,7 +227,7 @@ public class DagHelperTest {
         Assertions.assertTrue(postNodes.contains("8"));
 
         // forbid:2/4 complete:1 post:3/8
-        TaskNode node4 = dag.getNode("4");
+        TaskNode node4 = dag.getNode(4L);
         node4.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
         postNodes = DagHelper.parsePostNodes(null, skipNodeList, dag, completeTaskList);
         Assertions.assertEquals(2, postNodes.size());
@@ -236,7 +236,7 @@ public class DagHelperTest {
 
         // forbid:2/4/5 complete:1/8 post:3
         completeTaskList.put("8", new TaskInstance());
-        TaskNode node5 = dag.getNode("5");
+        TaskNode node5 = dag.getNode(5L);
         node5.setRunFlag(Constants.FLOWNODE_RUN_FLAG_FORBIDDEN);
         postNodes = DagHelper.parsePostNodes(null, skipNodeList, dag, completeTaskList);
         Assertions.assertEquals(1, postNodes.size());
@@ -250,7 +250,7 @@ public class DagHelperTest {
      */
     @Test
     public void testConditionPostNode() throws IOException {
-        DAG<String, TaskNode, TaskNodeRelation> dag = generateDag();
+        CompiledDAG<TaskNode> dag = generateDag();
         Map<String, TaskInstance> completeTaskList = new HashMap<>();
         Map<String, TaskNode> skipNodeList = new HashMap<>();
         Set<String> postNodes = null;
@@ -259,7 +259,7 @@ public class DagHelperTest {
         completeTaskList.put("1", new TaskInstance());
         completeTaskList.put("2", new TaskInstance());
         completeTaskList.put("4", new TaskInstance());
-        TaskNode node3 = dag.getNode("3");
+        TaskNode node3 = dag.getNode(3L);
         node3.setType(TASK_TYPE_CONDITIONS);
         node3.setConditionResult("{\n"
                 +
@@ -345,7 +345,7 @@ public class DagHelperTest {
      * @return dag
      * @throws JsonProcessingException if error throws JsonProcessingException
      */
-    private DAG<String, TaskNode, TaskNodeRelation> generateDag() throws IOException {
+    private CompiledDAG<TaskNode> generateDag() throws IOException {
         List<TaskNode> taskNodeList = new ArrayList<>();
         TaskNode node1 = new TaskNode();
         node1.setId("1");
@@ -431,7 +431,7 @@ public class DagHelperTest {
         ProcessDag processDag = new ProcessDag();
         processDag.setEdges(taskNodeRelations);
         processDag.setNodes(destTaskNodeList);
-        return DagHelper.buildDagGraph(processDag);
+        return DagHelper.buildCompiledDag(processDag);
     }
 
     /**
@@ -445,7 +445,7 @@ public class DagHelperTest {
      * @return dag
      * @throws JsonProcessingException if error throws JsonProcessingException
      */
-    private DAG<String, TaskNode, TaskNodeRelation> generateDag2() throws IOException {
+    private CompiledDAG<TaskNode> generateDag2() throws IOException {
         List<TaskNode> taskNodeList = new ArrayList<>();
 
         TaskNode node = new TaskNode();
@@ -501,7 +501,7 @@ public class DagHelperTest {
         ProcessDag processDag = new ProcessDag();
         processDag.setEdges(taskNodeRelations);
         processDag.setNodes(destTaskNodeList);
-        return DagHelper.buildDagGraph(processDag);
+        return DagHelper.buildCompiledDag(processDag);
     }
 
     private SwitchParameters getSwitchNode() {
@@ -540,7 +540,7 @@ public class DagHelperTest {
         assert processData != null;
         List<TaskNode> taskNodeList = processData.getTasks();
         ProcessDag processDag = DagHelper.getProcessDag(taskNodeList);
-        DAG<String, TaskNode, TaskNodeRelation> dag = DagHelper.buildDagGraph(processDag);
+        CompiledDAG<TaskNode> dag = DagHelper.buildCompiledDag(processDag);
         Assertions.assertNotNull(dag);
     }
 
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.common.constants.TenantConstants;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskOutputLogPump;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.utils.AbstractCommandExecutorConstants;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
@@ -89,9 +90,9 @@ public abstract class AbstractCommandExecutor {
      */
     protected LinkedBlockingQueue<String> logBuffer;
 
-    protected boolean processLogOutputIsSuccess = false;
+    protected volatile boolean processLogOutputIsSuccess = false;
 
-    protected boolean podLogOutputIsFinished = false;
+    protected volatile boolean podLogOutputIsFinished = false;
 
     /*
      * SHELL result string
@@ -355,53 +356,35 @@ public abstract class AbstractCommandExecutor {
     }
 
     private void parseProcessOutput(Process process) {
-        // todo: remove this this thread pool.
-        ExecutorService getOutputLogService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
-        getOutputLogService.submit(() -> {
-            try (
-                    final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
-                            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                    BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = inReader.readLine()) != null) {
-                    if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
-                        varPool.append(findVarPool(line));
-                        varPool.append("$VarPool$");
-                    } else {
-                        logBuffer.add(line);
-                        taskResultString = line;
+        taskOutputFuture = TaskOutputLogPump.getInstance().register(process, process.getInputStream(),
+                new TaskOutputLogPump.OutputHandler() {
+
+                    @Override
+                    public void onLine(String line) {
+                        if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
+                            varPool.append(findVarPool(line));
+                            varPool.append("$VarPool$");
+                        } else {
+                            logBuffer.add(line);
+                            taskResultString = line;
+                        }
                     }
-                }
-                processLogOutputIsSuccess = true;
-            } catch (Exception e) {
-                logger.error("Parse var pool error", e);
-                processLogOutputIsSuccess = true;
-            }
-        });
-
-        getOutputLogService.shutdown();
 
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("TaskInstanceLogOutput-thread-" + taskRequest.getTaskName());
-        taskOutputFuture = parseProcessOutputExecutorService.submit(() -> {
-            try (
-                    final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
-                            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());) {
-                while (logBuffer.size() > 1 || !processLogOutputIsSuccess || !podLogOutputIsFinished) {
-                    if (logBuffer.size() > 1) {
-                        logHandler.accept(logBuffer);
-                        logBuffer.clear();
-                        logBuffer.add(EMPTY_STRING);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
+                    @Override
+                    public boolean flush(boolean outputClosed) {
+                        processLogOutputIsSuccess = outputClosed;
+                        if (logBuffer.size() > 1) {
+                            try (
+                                    final LogUtils.MDCAutoClosableContext mdcAutoClosableContext =
+                                            LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath())) {
+                                logHandler.accept(logBuffer);
+                            }
+                            logBuffer.clear();
+                            logBuffer.add(EMPTY_STRING);
+                        }
+                        return processLogOutputIsSuccess && podLogOutputIsFinished && logBuffer.size() <= 1;
                     }
-                }
-            } catch (Exception e) {
-                logger.error("Output task log error", e);
-            }
-        });
-        parseProcessOutputExecutorService.shutdown();
+                });
     }
 
     /**
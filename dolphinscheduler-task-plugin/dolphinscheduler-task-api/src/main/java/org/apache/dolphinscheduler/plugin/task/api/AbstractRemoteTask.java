@@ -21,10 +21,16 @@ import org.apache.dolphinscheduler.plugin.task.api.model.ApplicationInfo;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.List;
 
 public abstract class AbstractRemoteTask extends AbstractTask {
 
+    /**
+     * cancel flag
+     */
+    protected volatile boolean cancel = false;
+
     /**
      * constructor
      *
@@ -36,9 +42,14 @@ public abstract class AbstractRemoteTask extends AbstractTask {
 
     @Override
     public void cancel() throws TaskException {
+        this.cancel = true;
         this.cancelApplication();
     }
 
+    public boolean isCancel() {
+        return cancel;
+    }
+
     public abstract List<String> getApplicationIds() throws TaskException;
 
     public abstract void cancelApplication() throws TaskException;
@@ -51,10 +62,24 @@ public abstract class AbstractRemoteTask extends AbstractTask {
      */
     @Override
     public void handle(TaskCallBack taskCallBack) throws TaskException {
+        submit(taskCallBack);
+
+        // keep tracking application status
+        trackApplicationStatus();
+    }
+
+    /**
+     * Submit a remote application, or reuse the one in appIds, without tracking its status. This is the first half of
+     * {@link #handle(TaskCallBack)}, the caller which doesn't want to block a thread can then call
+     * {@link #queryApplicationStatus()} by itself if {@link #isApplicationStatusQueryable()}.
+     *
+     * @param taskCallBack
+     * @throws TaskException
+     */
+    public void submit(TaskCallBack taskCallBack) throws TaskException {
         // if appIds is not empty, just track application status, avoid resubmitting remote task
         if (StringUtils.isNotEmpty(taskRequest.getAppIds())) {
             setAppIds(taskRequest.getAppIds());
-            trackApplicationStatus();
             return;
         }
 
@@ -66,9 +91,6 @@ public abstract class AbstractRemoteTask extends AbstractTask {
             // callback to update remote application info
             taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
         }
-
-        // keep tracking application status
-        trackApplicationStatus();
     }
 
     /**
@@ -84,4 +106,42 @@ public abstract class AbstractRemoteTask extends AbstractTask {
      * @throws TaskException
      */
     public abstract void trackApplicationStatus() throws TaskException;
+
+    /**
+     * Whether the application status can be checked by {@link #queryApplicationStatus()} without blocking.
+     */
+    public boolean isApplicationStatusQueryable() {
+        return false;
+    }
+
+    /**
+     * Check the application status once without waiting, the exit status code is set when the application finished.
+     *
+     * @return true if the application is finished
+     * @throws TaskException
+     */
+    public boolean queryApplicationStatus() throws TaskException {
+        throw new UnsupportedOperationException("The task doesn't support querying the application status");
+    }
+
+    /**
+     * Set the exit status code when the application is no longer tracked since the task has been canceled.
+     */
+    public void onApplicationCanceled() {
+        setExitStatusCode(TaskConstants.EXIT_CODE_KILL);
+    }
+
+    /**
+     * The remote service which runs the application, the status queries sent to one provider are rate limited together.
+     */
+    public String getApplicationProvider() {
+        return taskRequest.getTaskType();
+    }
+
+    /**
+     * Get the interval time to query the application status
+     */
+    public Duration getApplicationStatusQueryInterval() {
+        return TaskConstants.DEFAULT_LOOP_STATUS_INTERVAL;
+    }
 }
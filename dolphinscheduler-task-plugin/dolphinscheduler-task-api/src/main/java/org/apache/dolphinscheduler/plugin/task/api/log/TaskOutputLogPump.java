@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A bounded set of daemon threads which multiplex the output streams of all task processes on this host.
+ * <p>
+ * Each pump thread polls its registered streams round-robin and only reads the bytes that are already
+ * available, so a quiet process never blocks a thread. Lines are handed to the task's {@link OutputHandler}
+ * as they are read, and the handler is asked to flush once a batch is full or the flush interval elapsed.
+ * <p>
+ * Once the process exits, the rest of its output is read to the end of the stream by a drain thread, since the
+ * background processes started by the task may still hold the pipe. The drain thread only blocks while such a
+ * process is alive, then the stream is handed back to the pump thread to finish the flush.
+ */
+@Slf4j
+public final class TaskOutputLogPump {
+
+    /**
+     * max bytes read from one stream in one pass, keeps a chatty process from starving the others
+     */
+    private static final int READ_CHUNK_SIZE = 8 * 1024;
+
+    private static final int FLUSH_BATCH_SIZE = 512;
+
+    private static final long IDLE_SLEEP_MILLIS = 20L;
+
+    private static final TaskOutputLogPump INSTANCE =
+            new TaskOutputLogPump(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final PumpThread[] pumpThreads;
+
+    private final AtomicInteger nextPump = new AtomicInteger();
+
+    private final ExecutorService drainExecutor;
+
+    TaskOutputLogPump(int pumpThreadNum) {
+        drainExecutor = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("TaskOutputLogDrain-thread-%d").setDaemon(true).build());
+        pumpThreads = new PumpThread[pumpThreadNum];
+        for (int i = 0; i < pumpThreadNum; i++) {
+            pumpThreads[i] = new PumpThread("TaskOutputLogPump-thread-" + i);
+            pumpThreads[i].start();
+        }
+    }
+
+    public static TaskOutputLogPump getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the output stream of the given process.
+     *
+     * @return future completed once the stream is closed and the handler reported all output flushed
+     */
+    public CompletableFuture<Void> register(Process process, InputStream inputStream, OutputHandler handler) {
+        Registration registration = new Registration(process, inputStream, handler);
+        assignPumpThread(registration);
+        return registration.future;
+    }
+
+    /**
+     * Stop the pump threads and the drain threads, the registered streams will not be read anymore.
+     */
+    public void shutdown() {
+        for (PumpThread pumpThread : pumpThreads) {
+            pumpThread.interrupt();
+        }
+        drainExecutor.shutdownNow();
+    }
+
+    private void assignPumpThread(Registration registration) {
+        pumpThreads[Math.floorMod(nextPump.getAndIncrement(), pumpThreads.length)].registrations.add(registration);
+    }
+
+    /**
+     * Read the rest output of the exited process until the end of the stream, then hand it back to a pump thread.
+     */
+    private void drain(Registration registration) {
+        try {
+            drainExecutor.execute(() -> {
+                registration.drain();
+                assignPumpThread(registration);
+            });
+        } catch (RejectedExecutionException e) {
+            registration.closeQuietly();
+            registration.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Callbacks invoked on the pump thread which owns the stream, or the drain thread which reads the rest output of
+     * the exited process, never concurrently.
+     */
+    public interface OutputHandler {
+
+        /**
+         * Handle one line of the process output, without the line separator.
+         */
+        void onLine(String line);
+
+        /**
+         * Write the buffered lines to the task log.
+         *
+         * @param outputClosed whether the process output has been fully read
+         * @return true if nothing is left to flush for this task, the registration is then removed
+         */
+        boolean flush(boolean outputClosed);
+    }
+
+    private final class PumpThread extends Thread {
+
+        private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+        PumpThread(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                boolean progressed = false;
+                for (Registration registration : registrations) {
+                    try {
+                        progressed |= registration.pump();
+                    } catch (Throwable e) {
+                        log.error("Pump task output error", e);
+                        registration.closeQuietly();
+                        registration.future.completeExceptionally(e);
+                    }
+                    if (registration.future.isDone()) {
+                        registrations.remove(registration);
+                    } else if (registration.processExited) {
+                        registrations.remove(registration);
+                        drain(registration);
+                    }
+                }
+                if (!progressed) {
+                    try {
+                        Thread.sleep(IDLE_SLEEP_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Registration {
+
+        private final Process process;
+
+        private final InputStream inputStream;
+
+        private final OutputHandler handler;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private final byte[] readBuffer = new byte[READ_CHUNK_SIZE];
+
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+
+        private boolean outputClosed;
+
+        /**
+         * True once the process has exited and the rest output should be read by a drain thread.
+         */
+        private boolean processExited;
+
+        private int pendingLines;
+
+        private long lastFlushTime = System.currentTimeMillis();
+
+        Registration(Process process, InputStream inputStream, OutputHandler handler) {
+            this.process = process;
+            this.inputStream = inputStream;
+            this.handler = handler;
+        }
+
+        /**
+         * @return true if any bytes were read
+         */
+        boolean pump() {
+            boolean progressed = false;
+            if (!outputClosed && !processExited) {
+                progressed = read();
+            }
+            long now = System.currentTimeMillis();
+            if (outputClosed || pendingLines >= FLUSH_BATCH_SIZE
+                    || now - lastFlushTime >= TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL) {
+                pendingLines = 0;
+                lastFlushTime = now;
+                if (handler.flush(outputClosed) && outputClosed) {
+                    future.complete(null);
+                }
+            }
+            return progressed;
+        }
+
+        private boolean read() {
+            try {
+                int available = inputStream.available();
+                if (available <= 0) {
+                    if (!process.isAlive() && inputStream.available() <= 0) {
+                        // only the end of the stream finishes the output, read it by the drain thread since the
+                        // read may block
+                        processExited = true;
+                    }
+                    return false;
+                }
+                int length = inputStream.read(readBuffer, 0, Math.min(available, readBuffer.length));
+                if (length < 0) {
+                    close();
+                    return false;
+                }
+                splitLines(length);
+                return length > 0;
+            } catch (IOException e) {
+                log.warn("Read task output error, the stream will be closed", e);
+                close();
+                return false;
+            }
+        }
+
+        /**
+         * Read until the end of the stream, blocks while the background processes of the task hold the pipe.
+         */
+        void drain() {
+            try {
+                int length;
+                while ((length = inputStream.read(readBuffer)) >= 0) {
+                    splitLines(length);
+                }
+            } catch (IOException e) {
+                log.warn("Read task output error, the stream will be closed", e);
+            }
+            close();
+        }
+
+        private void splitLines(int length) {
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (readBuffer[i] == '\n') {
+                    partialLine.write(readBuffer, lineStart, i - lineStart);
+                    emitLine();
+                    lineStart = i + 1;
+                }
+            }
+            partialLine.write(readBuffer, lineStart, length - lineStart);
+        }
+
+        private void emitLine() {
+            String line = new String(partialLine.toByteArray(), Charset.defaultCharset());
+            partialLine.reset();
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            handler.onLine(line);
+            pendingLines++;
+        }
+
+        private void close() {
+            if (partialLine.size() > 0) {
+                emitLine();
+            }
+            outputClosed = true;
+            closeQuietly();
+        }
+
+        void closeQuietly() {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                log.warn("Close task output stream error", e);
+            }
+        }
+    }
+}
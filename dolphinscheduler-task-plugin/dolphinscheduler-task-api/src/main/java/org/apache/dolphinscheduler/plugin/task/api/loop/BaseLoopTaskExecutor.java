@@ -38,11 +38,6 @@ import lombok.NonNull;
  */
 public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
 
-    /**
-     * cancel flag
-     */
-    protected volatile boolean cancel = false;
-
     /**
      * The task instance info will be set when task has submitted successful.
      */
@@ -56,9 +51,7 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
     public void handle(TaskCallBack taskCallBack) throws TaskException {
         try {
             final long loopInterval = getTaskInstanceStatusQueryInterval().toMillis();
-            loopTaskInstanceInfo = submitLoopTask();
-            this.setAppIds(loopTaskInstanceInfo.getTaskInstanceId());
-            taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
+            submit(taskCallBack);
 
             // loop the task status until the task is finished or task has been canceled.
             // we use retry utils here to avoid the task status query failure due to network failure.
@@ -71,13 +64,7 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
                 }
                 Thread.sleep(loopInterval);
             }
-            if (loopTaskInstanceStatus != null && loopTaskInstanceStatus.isSuccess()) {
-                setExitStatusCode(TaskConstants.EXIT_CODE_SUCCESS);
-                log.info("The task instance: {} execute successfully.", appIds);
-            } else {
-                setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
-                log.info("The task instance: {} is execute failure.", appIds);
-            }
+            finish(loopTaskInstanceStatus);
         } catch (InterruptedException e) {
             setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
             log.error("The current loop thread has been interrupted", e);
@@ -95,6 +82,54 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
         }
     }
 
+    /**
+     * Submit the loop task and report the remote application, this is the first half of {@link #handle(TaskCallBack)}.
+     */
+    @Override
+    public void submit(TaskCallBack taskCallBack) throws TaskException {
+        loopTaskInstanceInfo = submitLoopTask();
+        this.setAppIds(loopTaskInstanceInfo.getTaskInstanceId());
+        taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
+    }
+
+    /**
+     * Set the exit status code by the last queried status, a null status means the task has been canceled.
+     */
+    public void finish(@Nullable LoopTaskInstanceStatus loopTaskInstanceStatus) {
+        if (loopTaskInstanceStatus != null && loopTaskInstanceStatus.isSuccess()) {
+            setExitStatusCode(TaskConstants.EXIT_CODE_SUCCESS);
+            log.info("The task instance: {} execute successfully.", appIds);
+        } else {
+            setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+            log.info("The task instance: {} is execute failure.", appIds);
+        }
+    }
+
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        LoopTaskInstanceStatus loopTaskInstanceStatus = queryTaskInstanceStatus(loopTaskInstanceInfo);
+        if (!loopTaskInstanceStatus.isFinished()) {
+            return false;
+        }
+        finish(loopTaskInstanceStatus);
+        return true;
+    }
+
+    @Override
+    public void onApplicationCanceled() {
+        finish(null);
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return getTaskInstanceStatusQueryInterval();
+    }
+
     /**
      * Submit the loop task, if submit failed, directly throw exception
      */
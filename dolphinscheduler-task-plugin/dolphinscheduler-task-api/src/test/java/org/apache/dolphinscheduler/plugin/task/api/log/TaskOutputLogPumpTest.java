@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+public class TaskOutputLogPumpTest {
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void testPumpProcessOutput() throws Exception {
+        TaskOutputLogPump pump = new TaskOutputLogPump(1);
+        Process process = new ProcessBuilder("sh", "-c", "printf 'a\\nb\\r\\n'; sleep 0.1; printf 'c'").start();
+
+        List<String> lines = new ArrayList<>();
+        List<String> flushed = new ArrayList<>();
+        CompletableFuture<Void> future = pump.register(process, process.getInputStream(),
+                new TaskOutputLogPump.OutputHandler() {
+
+                    @Override
+                    public void onLine(String line) {
+                        lines.add(line);
+                    }
+
+                    @Override
+                    public boolean flush(boolean outputClosed) {
+                        flushed.addAll(lines);
+                        lines.clear();
+                        return outputClosed;
+                    }
+                });
+
+        future.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, flushed.size());
+        Assertions.assertEquals("a", flushed.get(0));
+        Assertions.assertEquals("b", flushed.get(1));
+        Assertions.assertEquals("c", flushed.get(2));
+        pump.shutdown();
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    public void testPumpOutputUntilEndOfStream() throws Exception {
+        TaskOutputLogPump pump = new TaskOutputLogPump(1);
+        Process process = new ProcessBuilder("sh", "-c", "seq 1 20000").start();
+
+        List<String> flushed = new ArrayList<>();
+        CompletableFuture<Void> future = pump.register(process, process.getInputStream(),
+                new TaskOutputLogPump.OutputHandler() {
+
+                    @Override
+                    public void onLine(String line) {
+                        flushed.add(line);
+                    }
+
+                    @Override
+                    public boolean flush(boolean outputClosed) {
+                        return outputClosed;
+                    }
+                });
+
+        future.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(20000, flushed.size());
+        Assertions.assertEquals("20000", flushed.get(19999));
+        pump.shutdown();
+    }
+}
@@ -117,6 +117,10 @@ public class DatafactoryHook {
         return null;
     }
 
+    public int getQueryInterval() {
+        return QUERY_INTERVAL;
+    }
+
     private PipelineResource getPipelineResource(DatafactoryParameters parameters) {
         return client.pipelines().get(parameters.getResourceGroupName(), parameters.getFactoryName(),
                 parameters.getPipelineName());
@@ -25,6 +25,8 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -89,6 +91,31 @@ public class DatafactoryTask extends AbstractRemoteTask {
         }
     }
 
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        checkApplicationId();
+        DatafactoryStatus status = hook.queryDatafactoryTaskStatus(parameters);
+        if (status == null || !Arrays.asList(DatafactoryHook.taskFinishFlags).contains(status)) {
+            return false;
+        }
+        if (status == DatafactoryStatus.Succeeded) {
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+        } else {
+            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+        }
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofMillis(hook.getQueryInterval());
+    }
+
     /**
      * check datafactory applicationId or get it from appId
      */
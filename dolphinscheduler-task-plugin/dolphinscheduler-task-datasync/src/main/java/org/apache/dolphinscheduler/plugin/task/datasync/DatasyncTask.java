@@ -32,6 +32,8 @@ import software.amazon.awssdk.services.datasync.model.TaskExecutionStatus;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -128,6 +130,31 @@ public class DatasyncTask extends AbstractRemoteTask {
         }
     }
 
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        checkApplicationId();
+        TaskExecutionStatus status = hook.queryDatasyncTaskExecStatus();
+        if (TaskExecutionStatus.SUCCESS.equals(status)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+            return true;
+        }
+        if (status != null && Arrays.asList(DatasyncHook.doneStatus).contains(status)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofSeconds(10);
+    }
+
     /**
      * check datasync applicationId or get it from appId
      */
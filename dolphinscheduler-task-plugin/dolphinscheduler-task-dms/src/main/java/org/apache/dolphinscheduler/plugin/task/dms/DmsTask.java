@@ -33,6 +33,7 @@ import org.apache.dolphinscheduler.plugin.task.api.parser.ParameterUtils;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
@@ -119,6 +120,40 @@ public class DmsTask extends AbstractRemoteTask {
         }
     }
 
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        initAppId();
+        dmsHook.setReplicationTaskArn(appId.getReplicationTaskArn());
+        ReplicationTask replicationTask = dmsHook.describeReplicationTasks();
+        // if CdcStopPosition is not set, the task will not continue to check the running status
+        if (replicationTask.getMigrationType().contains("cdc") && parameters.getCdcStopPosition() == null) {
+            log.info(
+                    "This is a cdc task and cdcStopPosition is not set, the task will not continue to check the running status");
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+            return true;
+        }
+        if (!DmsHook.STATUS.STOPPED.equals(replicationTask.getStatus())) {
+            return false;
+        }
+        if (replicationTask.getStopReason().endsWith(DmsHook.STATUS.FINISH_END_TOKEN)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+        } else {
+            log.error("DMS task stopped with reason: {}", replicationTask.getStopReason());
+            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+        }
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofMillis(DmsHook.CONSTANTS.CHECK_INTERVAL);
+    }
+
     /**
      * init DMS remote AppId if null
      */
@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 
+import java.time.Duration;
 import java.util.TimeZone;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
@@ -46,6 +47,8 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategy;
  */
 public abstract class AbstractEmrTask extends AbstractRemoteTask {
 
+    static final Duration STATUS_QUERY_INTERVAL = Duration.ofSeconds(10);
+
     final TaskExecutionContext taskExecutionContext;
     EmrParameters emrParameters;
     AmazonElasticMapReduce emrClient;
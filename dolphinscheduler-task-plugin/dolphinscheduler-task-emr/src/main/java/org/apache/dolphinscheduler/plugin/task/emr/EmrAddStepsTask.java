@@ -21,10 +21,10 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.SdkBaseException;
 import com.amazonaws.services.elasticmapreduce.model.AddJobFlowStepsRequest;
@@ -100,7 +100,7 @@ public class EmrAddStepsTask extends AbstractEmrTask {
 
         try {
             while (waitingStateSet.contains(stepStatus.getState())) {
-                TimeUnit.SECONDS.sleep(10);
+                Thread.sleep(STATUS_QUERY_INTERVAL.toMillis());
                 stepStatus = getStepStatus();
             }
         } catch (EmrTaskException | SdkBaseException e) {
@@ -115,6 +115,28 @@ public class EmrAddStepsTask extends AbstractEmrTask {
         }
     }
 
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        StepStatus stepStatus = getStepStatus();
+        if (waitingStateSet.contains(stepStatus.getState())) {
+            return false;
+        }
+        final int exitStatusCode = calculateExitStatusCode(stepStatus);
+        setExitStatusCode(exitStatusCode);
+        log.info("emr task finished with step status : {}", stepStatus);
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return STATUS_QUERY_INTERVAL;
+    }
+
     /**
      * parse json string to AddJobFlowStepsRequest
      *
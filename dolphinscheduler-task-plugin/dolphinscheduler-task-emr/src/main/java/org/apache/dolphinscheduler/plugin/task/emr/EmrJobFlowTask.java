@@ -21,10 +21,10 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.SdkBaseException;
 import com.amazonaws.services.elasticmapreduce.model.ClusterState;
@@ -94,7 +94,7 @@ public class EmrJobFlowTask extends AbstractEmrTask {
             clusterStatus = getClusterStatus();
 
             while (waitingStateSet.contains(clusterStatus.getState())) {
-                TimeUnit.SECONDS.sleep(10);
+                Thread.sleep(STATUS_QUERY_INTERVAL.toMillis());
                 clusterStatus = getClusterStatus();
             }
         } catch (EmrTaskException | SdkBaseException e) {
@@ -109,6 +109,28 @@ public class EmrJobFlowTask extends AbstractEmrTask {
         }
     }
 
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        ClusterStatus clusterStatus = getClusterStatus();
+        if (waitingStateSet.contains(clusterStatus.getState())) {
+            return false;
+        }
+        final int exitStatusCode = calculateExitStatusCode(clusterStatus);
+        setExitStatusCode(exitStatusCode);
+        log.info("emr task finished with cluster status : {}", clusterStatus);
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return STATUS_QUERY_INTERVAL;
+    }
+
     /**
      * parse json string to RunJobFlowRequest
      *
@@ -156,6 +156,16 @@ public class EmrAddStepsTaskTest {
         Assertions.assertEquals(EXIT_CODE_KILL, emrAddStepsTask.getExitStatusCode());
     }
 
+    @Test
+    public void testQueryApplicationStatus() throws Exception {
+        Mockito.when(step.getStatus()).thenReturn(pendingState, runningState, completedState);
+
+        emrAddStepsTask.submit(taskCallBack);
+        Assertions.assertFalse(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertTrue(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertEquals(EXIT_CODE_SUCCESS, emrAddStepsTask.getExitStatusCode());
+    }
+
     @Test
     public void testHandleError() throws Exception {
         Mockito.when(step.getStatus()).thenReturn(pendingState, runningState, failedState);
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -64,12 +65,23 @@ public class PipelineUtils {
     }
 
     public int checkPipelineExecutionStatus(AmazonSageMaker client, PipelineId pipelineId) {
+        Optional<Integer> exitStatusCode = queryPipelineExecutionStatus(client, pipelineId);
+        while (!exitStatusCode.isPresent()) {
+            ThreadUtils.sleep(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
+            exitStatusCode = queryPipelineExecutionStatus(client, pipelineId);
+        }
+        return exitStatusCode.get();
+    }
+
+    /**
+     * Check the pipeline execution status once, the exit status code is empty if the pipeline is still executing.
+     */
+    public Optional<Integer> queryPipelineExecutionStatus(AmazonSageMaker client, PipelineId pipelineId) {
         String pipelineStatus = describePipelineExecution(client, pipelineId);
-        while (EXECUTING.equals(pipelineStatus)) {
+        if (EXECUTING.equals(pipelineStatus)) {
             log.info("check Pipeline Steps running");
             listPipelineExecutionSteps(client, pipelineId);
-            ThreadUtils.sleep(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
-            pipelineStatus = describePipelineExecution(client, pipelineId);
+            return Optional.empty();
         }
 
         int exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
@@ -77,7 +89,7 @@ public class PipelineUtils {
             exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
         }
         log.info("PipelineExecutionStatus : {}, exitStatusCode: {}", pipelineStatus, exitStatusCode);
-        return exitStatusCode;
+        return Optional.of(exitStatusCode);
     }
 
     private String describePipelineExecution(AmazonSageMaker client, PipelineId pipelineId) {
@@ -34,9 +34,11 @@ import org.apache.dolphinscheduler.plugin.task.api.parser.ParameterUtils;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
@@ -129,6 +131,24 @@ public class SagemakerTask extends AbstractRemoteTask {
         exitStatusCode = utils.checkPipelineExecutionStatus(client, pipelineId);
     }
 
+    @Override
+    public boolean isApplicationStatusQueryable() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        initPipelineId();
+        Optional<Integer> pipelineExitStatusCode = utils.queryPipelineExecutionStatus(client, pipelineId);
+        pipelineExitStatusCode.ifPresent(this::setExitStatusCode);
+        return pipelineExitStatusCode.isPresent();
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofMillis(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
+    }
+
     /**
      * init sagemaker applicationId if null
      */
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheProperties;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.spi.enums.ResourceType;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * The worker level cache of the resource files downloaded from the storage.
+ * <p>
+ * A cached file is keyed by its storage path, size and modification time, so a resource that is updated in the
+ * storage gets a new key and the stale file ages out by the LRU eviction. A cache hit is copied into the
+ * task execute path, so a task which changes its resource file in place doesn't affect the cached one.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache {
+
+    private static final String TEMP_FILE_SUFFIX = ".downloading";
+
+    private final ResourceCacheProperties resourceCacheProperties;
+
+    private final ExecutorService resourceDownloadExecutor;
+
+    /**
+     * The cached files in access order, guarded by itself.
+     */
+    private final LinkedHashMap<String, Long> cachedFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedBytes;
+
+    /**
+     * The files which are being downloaded into the cache, the other tasks need the same file will wait for it.
+     */
+    private final Map<String, CompletableFuture<Path>> loadingFiles = new ConcurrentHashMap<>();
+
+    public WorkerResourceCache(WorkerConfig workerConfig) {
+        this.resourceCacheProperties = workerConfig.getResourceCache();
+        this.resourceDownloadExecutor = ThreadUtils.newDaemonFixedThreadExecutor("WorkerResourceDownloadThread-%d",
+                resourceCacheProperties.getDownloadThreads());
+    }
+
+    @PostConstruct
+    public void loadCachedFiles() {
+        if (!resourceCacheProperties.isEnabled()) {
+            return;
+        }
+        Path cacheDir = Paths.get(resourceCacheProperties.getPath());
+        try {
+            Files.createDirectories(cacheDir);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(cacheDir)) {
+                files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+            files.sort(Comparator.comparing(this::getLastModifiedTime));
+            for (Path file : files) {
+                if (file.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                addCachedFile(file.getFileName().toString(), Files.size(file));
+            }
+            log.info("Loaded {} cached resource files, total size: {} bytes, cache path: {}", cachedFiles.size(),
+                    cachedBytes, cacheDir);
+        } catch (IOException e) {
+            log.error("Load cached resource files from {} failed, the cache will start empty", cacheDir, e);
+        }
+    }
+
+    /**
+     * Download the resource files of the task into its execute path, the files are fetched in parallel.
+     *
+     * @param storageOperate storage operate
+     * @param taskExecutionContext task execution context
+     * @param resourceFiles pairs of the storage full name and the file name in the execute path
+     */
+    public void downloadResources(StorageOperate storageOperate,
+                                  TaskExecutionContext taskExecutionContext,
+                                  List<Pair<String, String>> resourceFiles) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(resourceFiles.size());
+        for (Pair<String, String> resourceFile : resourceFiles) {
+            futures.add(CompletableFuture.runAsync(
+                    () -> downloadResource(storageOperate, taskExecutionContext, resourceFile),
+                    resourceDownloadExecutor));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TaskException("Download resource files interrupted", e);
+            } catch (ExecutionException e) {
+                WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+                throw new TaskException(String.format("Download resource file: %s error", resourceFiles.get(i)),
+                        e.getCause());
+            }
+        }
+    }
+
+    private void downloadResource(StorageOperate storageOperate,
+                                  TaskExecutionContext taskExecutionContext,
+                                  Pair<String, String> resourceFile) {
+        String tenantCode = taskExecutionContext.getTenantCode();
+        String fullName = resourceFile.getLeft();
+        Path target = Paths.get(taskExecutionContext.getExecutePath(), resourceFile.getRight());
+        try {
+            Files.createDirectories(target.getParent());
+            String cacheKey = resourceCacheProperties.isEnabled()
+                    ? getCacheKey(storageOperate, tenantCode, fullName)
+                    : null;
+            if (cacheKey == null) {
+                download(storageOperate, tenantCode, fullName, target);
+                return;
+            }
+            Path cachedFile = getOrLoadCachedFile(storageOperate, tenantCode, fullName, cacheKey);
+            try {
+                materialize(cachedFile, target);
+            } catch (NoSuchFileException e) {
+                // the cached file has been evicted by another task
+                log.warn("The cached file of resource: {} has been evicted, download it directly", fullName);
+                download(storageOperate, tenantCode, fullName, target);
+            }
+        } catch (IOException e) {
+            throw new TaskException(String.format("Download resource file: %s error", fullName), e);
+        }
+    }
+
+    private Path getOrLoadCachedFile(StorageOperate storageOperate,
+                                     String tenantCode,
+                                     String fullName,
+                                     String cacheKey) throws IOException {
+        Path cachedFile = getCachedFile(cacheKey);
+        if (cachedFile != null) {
+            return cachedFile;
+        }
+        CompletableFuture<Path> loadingFuture = new CompletableFuture<>();
+        CompletableFuture<Path> existingLoadingFuture = loadingFiles.putIfAbsent(cacheKey, loadingFuture);
+        if (existingLoadingFuture != null) {
+            Path loadedFile = waitLoadingFile(existingLoadingFuture);
+            // the hit is only counted by the cache lookup, the loaded file may have been evicted in the meantime
+            cachedFile = getCachedFile(cacheKey);
+            return cachedFile != null ? cachedFile : loadedFile;
+        }
+        try {
+            cachedFile = getCachedFile(cacheKey);
+            if (cachedFile == null) {
+                WorkerServerMetrics.incWorkerResourceCacheMissCount();
+                cachedFile = Paths.get(resourceCacheProperties.getPath(), cacheKey);
+                Path tempFile = Paths.get(resourceCacheProperties.getPath(),
+                        cacheKey + "." + UUID.randomUUID() + TEMP_FILE_SUFFIX);
+                try {
+                    download(storageOperate, tenantCode, fullName, tempFile);
+                    Files.move(tempFile, cachedFile, StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+                addCachedFile(cacheKey, Files.size(cachedFile));
+            }
+            loadingFuture.complete(cachedFile);
+            return cachedFile;
+        } catch (IOException | RuntimeException e) {
+            loadingFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadingFiles.remove(cacheKey, loadingFuture);
+        }
+    }
+
+    private Path waitLoadingFile(CompletableFuture<Path> loadingFuture) throws IOException {
+        try {
+            return loadingFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Wait for the resource file to be cached interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Cache the resource file failed", e.getCause());
+        }
+    }
+
+    private Path getCachedFile(String cacheKey) throws IOException {
+        Long size;
+        synchronized (cachedFiles) {
+            size = cachedFiles.get(cacheKey);
+        }
+        if (size == null) {
+            return null;
+        }
+        Path cachedFile = Paths.get(resourceCacheProperties.getPath(), cacheKey);
+        try {
+            // keep the access order after the worker restart
+            Files.setLastModifiedTime(cachedFile, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            removeCachedFile(cacheKey);
+            return null;
+        }
+        WorkerServerMetrics.incWorkerResourceCacheHitCount(size);
+        return cachedFile;
+    }
+
+    private void addCachedFile(String cacheKey, long size) {
+        List<String> evictedFiles = new ArrayList<>();
+        synchronized (cachedFiles) {
+            Long previousSize = cachedFiles.put(cacheKey, size);
+            cachedBytes += size - (previousSize == null ? 0 : previousSize);
+            long maxBytes = resourceCacheProperties.getMaxSize().toBytes();
+            Iterator<Map.Entry<String, Long>> iterator = cachedFiles.entrySet().iterator();
+            while (cachedBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(cacheKey)) {
+                    continue;
+                }
+                iterator.remove();
+                cachedBytes -= eldest.getValue();
+                evictedFiles.add(eldest.getKey());
+            }
+        }
+        for (String evictedFile : evictedFiles) {
+            try {
+                // the copies in the task execute path are not affected
+                Files.deleteIfExists(Paths.get(resourceCacheProperties.getPath(), evictedFile));
+            } catch (IOException e) {
+                log.warn("Delete evicted resource cache file: {} failed", evictedFile, e);
+            }
+        }
+    }
+
+    private void removeCachedFile(String cacheKey) {
+        synchronized (cachedFiles) {
+            Long size = cachedFiles.remove(cacheKey);
+            if (size != null) {
+                cachedBytes -= size;
+            }
+        }
+    }
+
+    private String getCacheKey(StorageOperate storageOperate, String tenantCode, String fullName) {
+        try {
+            StorageEntity storageEntity = storageOperate.getFileStatus(fullName, storageOperate.getResDir(tenantCode),
+                    tenantCode, ResourceType.FILE);
+            if (storageEntity == null || storageEntity.getUpdateTime() == null) {
+                return null;
+            }
+            String version = fullName + "\n" + storageEntity.getSize() + "\n" + storageEntity.getUpdateTime().getTime();
+            return Hashing.sha256().hashString(version, StandardCharsets.UTF_8).toString();
+        } catch (Exception e) {
+            log.warn("Get the status of resource: {} failed, the resource will not be cached", fullName, e);
+            return null;
+        }
+    }
+
+    private void materialize(Path cachedFile, Path target) throws IOException {
+        Files.copy(cachedFile, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void download(StorageOperate storageOperate, String tenantCode, String fullName,
+                          Path target) throws IOException {
+        log.info("get resource file from path:{}", fullName);
+        long resourceDownloadStartTime = System.currentTimeMillis();
+        storageOperate.download(tenantCode, fullName, target.toString(), false, true);
+        WorkerServerMetrics.recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+        WorkerServerMetrics.recordWorkerResourceDownloadSize(Files.size(target));
+        WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+    }
+
+    private FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
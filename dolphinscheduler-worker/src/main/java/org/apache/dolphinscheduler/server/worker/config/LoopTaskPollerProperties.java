@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class LoopTaskPollerProperties {
+
+    /**
+     * Whether to track the submitted loop tasks by the shared poller, the execute thread is released once the task is
+     * submitted. If false, the execute thread keeps querying the task status until the task is finished.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of threads used to query the status of the loop tasks.
+     */
+    private int pollThreads = 2;
+
+    /**
+     * The interval to check which loop tasks need to be queried.
+     */
+    private Duration tickInterval = Duration.ofSeconds(1);
+
+    /**
+     * The max number of status queries sent to one provider in a tick, the remaining tasks are queried in the next
+     * tick.
+     */
+    private int maxQueriesPerProviderPerTick = 20;
+}
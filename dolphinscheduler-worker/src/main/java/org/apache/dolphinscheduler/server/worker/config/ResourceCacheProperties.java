@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.config;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+
+@Data
+public class ResourceCacheProperties {
+
+    /**
+     * Whether to cache the resource files downloaded from the storage on the worker.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The local directory which stores the cached resource files.
+     */
+    private String path = FileUtils.DATA_BASEDIR + "/resource-cache";
+
+    /**
+     * The max size of the cached files, the least recently used files will be evicted when it is exceeded.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+
+    /**
+     * The number of threads used to download the resource files of a task in parallel.
+     */
+    private int downloadThreads = 4;
+}
@@ -49,6 +49,8 @@ public class WorkerConfig implements Validator {
     private int maxCpuLoadAvg = -1;
     private double reservedMemory = 0.1;
     private ConnectStrategyProperties registryDisconnectStrategy = new ConnectStrategyProperties();
+    private ResourceCacheProperties resourceCache = new ResourceCacheProperties();
+    private LoopTaskPollerProperties loopTaskPoller = new LoopTaskPollerProperties();
 
     /**
      * This field doesn't need to set at config file, it will be calculated by workerIp:listenPort
@@ -75,6 +77,19 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxCpuLoadAvg() <= 0) {
             workerConfig.setMaxCpuLoadAvg(Runtime.getRuntime().availableProcessors() * 2);
         }
+        if (workerConfig.getResourceCache().getDownloadThreads() <= 0) {
+            errors.rejectValue("resource-cache.download-threads", null, "should be a positive value");
+        }
+        if (workerConfig.getLoopTaskPoller().getPollThreads() <= 0) {
+            errors.rejectValue("loop-task-poller.poll-threads", null, "should be a positive value");
+        }
+        if (workerConfig.getLoopTaskPoller().getTickInterval().toMillis() <= 0) {
+            errors.rejectValue("loop-task-poller.tick-interval", null, "should be a valid duration");
+        }
+        if (workerConfig.getLoopTaskPoller().getMaxQueriesPerProviderPerTick() <= 0) {
+            errors.rejectValue("loop-task-poller.max-queries-per-provider-per-tick", null,
+                    "should be a positive value");
+        }
         workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
 
         workerConfig.setWorkerRegistryPath(REGISTRY_DOLPHINSCHEDULER_WORKERS + "/" + workerConfig.getWorkerAddress());
@@ -94,5 +109,7 @@ public class WorkerConfig implements Validator {
         log.info("Worker config: workerAddress -> {}", registryDisconnectStrategy);
         log.info("Worker config: workerRegistryPath: {}", workerRegistryPath);
         log.info("Worker config: taskExecuteThreadsFullPolicy: {}", taskExecuteThreadsFullPolicy);
+        log.info("Worker config: resourceCache: {}", resourceCache);
+        log.info("Worker config: loopTaskPoller: {}", loopTaskPoller);
     }
 }
@@ -67,6 +67,34 @@ public class WorkerServerMetrics {
                     .description("size of downloaded resource files on worker")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource cache miss count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheSavedBytesCounter =
+            Counter.builder("ds.worker.resource.cache.saved.bytes")
+                    .baseUnit("bytes")
+                    .description("bytes served from the worker resource cache instead of the storage")
+                    .register(Metrics.globalRegistry);
+
+    static {
+        Gauge.builder("ds.worker.resource.cache.hit.ratio", () -> {
+            double hit = workerResourceCacheHitCounter.count();
+            double total = hit + workerResourceCacheMissCounter.count();
+            return total == 0 ? 0 : hit / total;
+        })
+                .description("worker resource cache hit ratio")
+                .register(Metrics.globalRegistry);
+    }
+
     public void incWorkerOverloadCount() {
         workerOverloadCounter.increment();
     }
@@ -91,6 +119,15 @@ public class WorkerServerMetrics {
         workerResourceDownloadSizeDistribution.record(size);
     }
 
+    public void incWorkerResourceCacheHitCount(final long savedBytes) {
+        workerResourceCacheHitCounter.increment();
+        workerResourceCacheSavedBytesCounter.increment(savedBytes);
+    }
+
+    public void incWorkerResourceCacheMissCount() {
+        workerResourceCacheMissCounter.increment();
+    }
+
     public void registerWorkerRunningTaskGauge(final Supplier<Number> supplier) {
         Gauge.builder("ds.task.running", supplier)
                 .description("number of running tasks on workers")
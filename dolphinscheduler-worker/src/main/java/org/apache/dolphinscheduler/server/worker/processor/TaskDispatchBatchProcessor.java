@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.Message;
+import org.apache.dolphinscheduler.remote.command.MessageType;
+import org.apache.dolphinscheduler.remote.command.task.TaskDispatchBatchMessage;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.netty.channel.Channel;
+
+/**
+ * Used to handle {@link MessageType#TASK_DISPATCH_BATCH_MESSAGE}, each task in the batch will be handled as a single
+ * dispatched task.
+ */
+@Component
+@Slf4j
+public class TaskDispatchBatchProcessor implements NettyRequestProcessor {
+
+    @Autowired
+    private TaskDispatchProcessor taskDispatchProcessor;
+
+    @Override
+    public void process(Channel channel, Message message) {
+        TaskDispatchBatchMessage taskDispatchBatchMessage =
+                message.parseBody(TaskDispatchBatchMessage.class);
+        if (taskDispatchBatchMessage == null
+                || CollectionUtils.isEmpty(taskDispatchBatchMessage.getTaskExecutionContexts())) {
+            log.error("task batch dispatch request command content is empty");
+            return;
+        }
+        log.info("Receive task batch dispatch request, task size: {}",
+                taskDispatchBatchMessage.getTaskExecutionContexts().size());
+        for (TaskExecutionContext taskExecutionContext : taskDispatchBatchMessage.getTaskExecutionContexts()) {
+            try {
+                taskDispatchProcessor.dispatch(taskExecutionContext);
+            } catch (Exception e) {
+                log.error("Dispatch task in batch error, taskInstanceId: {}",
+                        taskExecutionContext.getTaskInstanceId(), e);
+            }
+        }
+    }
+
+    @Override
+    public MessageType getCommandType() {
+        return MessageType.TASK_DISPATCH_BATCH_MESSAGE;
+    }
+
+}
@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.server.worker.processor;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContextCacheManager;
@@ -29,6 +28,7 @@ import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.task.TaskDispatchMessage;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
@@ -72,6 +72,9 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
     @Autowired(required = false)
     private StorageOperate storageOperate;
 
+    @Autowired
+    private WorkerResourceCache workerResourceCache;
+
     @Autowired
     private WorkerRegistryClient workerRegistryClient;
 
@@ -79,7 +82,7 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
     @Timed(value = "ds.task.execution.duration", percentiles = {0.5, 0.75, 0.95, 0.99}, histogram = true)
     @Override
     public void process(Channel channel, Message message) {
-        TaskDispatchMessage taskDispatchMessage = JSONUtils.parseObject(message.getBody(), TaskDispatchMessage.class);
+        TaskDispatchMessage taskDispatchMessage = message.parseBody(TaskDispatchMessage.class);
 
         if (taskDispatchMessage == null) {
             log.error("task execute request command content is null");
@@ -87,8 +90,16 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
         }
         log.info("Receive task dispatch request, command: {}", taskDispatchMessage);
 
-        TaskExecutionContext taskExecutionContext = taskDispatchMessage.getTaskExecutionContext();
+        dispatch(taskDispatchMessage.getTaskExecutionContext());
+    }
 
+    /**
+     * Submit the dispatched task to the worker manager, also used by {@link TaskDispatchBatchProcessor} to handle each
+     * task in the batch.
+     *
+     * @param taskExecutionContext task execution context
+     */
+    void dispatch(TaskExecutionContext taskExecutionContext) {
         if (taskExecutionContext == null) {
             log.error("task execution context is null");
             return;
@@ -120,6 +131,7 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
                             workerRpcClient,
                             taskPluginManager,
                             storageOperate,
+                            workerResourceCache,
                             workerRegistryClient)
                     .createWorkerTaskExecuteRunnable();
             // submit task to manager
@@ -71,7 +71,8 @@ public class WorkerRegistryClient implements AutoCloseable {
         this.workerHeartBeatTask = new WorkerHeartBeatTask(
                 workerConfig,
                 registryClient,
-                () -> workerManagerThread.getWaitSubmitQueueSize());
+                () -> workerManagerThread.getWaitSubmitQueueSize(),
+                workerManagerThread.getTaskResourceReservation());
     }
 
     public void start() {
@@ -18,10 +18,12 @@
 package org.apache.dolphinscheduler.server.worker.runner;
 
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskCallBack;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
@@ -39,6 +41,7 @@ public class DefaultWorkerDelayTaskExecuteRunnable extends WorkerDelayTaskExecut
                                                  @NonNull WorkerRpcClient workerRpcClient,
                                                  @NonNull TaskPluginManager taskPluginManager,
                                                  @Nullable StorageOperate storageOperate,
+                                                 @NonNull WorkerResourceCache workerResourceCache,
                                                  @NonNull WorkerRegistryClient workerRegistryClient) {
         super(taskExecutionContext,
                 workerConfig,
@@ -46,6 +49,7 @@ public class DefaultWorkerDelayTaskExecuteRunnable extends WorkerDelayTaskExecut
                 workerRpcClient,
                 taskPluginManager,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
     }
 
@@ -54,6 +58,12 @@ public class DefaultWorkerDelayTaskExecuteRunnable extends WorkerDelayTaskExecut
         if (task == null) {
             throw new IllegalArgumentException("The task plugin instance is not initialized");
         }
+        if (task instanceof AbstractRemoteTask && ((AbstractRemoteTask) task).isApplicationStatusQueryable()
+                && workerConfig.getLoopTaskPoller().isEnabled()) {
+            ((AbstractRemoteTask) task).submit(taskCallBack);
+            loopTaskSubmitted = true;
+            return;
+        }
         task.handle(taskCallBack);
     }
 
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.worker.runner;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
@@ -39,6 +40,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableFactory
                                                            @NonNull WorkerRpcClient workerRpcClient,
                                                            @NonNull TaskPluginManager taskPluginManager,
                                                            @Nullable StorageOperate storageOperate,
+                                                           @NonNull WorkerResourceCache workerResourceCache,
                                                            @NonNull WorkerRegistryClient workerRegistryClient) {
         super(taskExecutionContext,
                 workerConfig,
@@ -46,6 +48,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableFactory
                 workerRpcClient,
                 taskPluginManager,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
     }
 
@@ -58,6 +61,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableFactory
                 workerRpcClient,
                 taskPluginManager,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.loop.BaseLoopTaskExecutor;
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.worker.config.LoopTaskPollerProperties;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Track the status of the submitted remote tasks for the whole worker, so a remote task which runs for hours doesn't
+ * hold an execute thread. The tasks are tracked by {@link AbstractRemoteTask#queryApplicationStatus()}, so only the
+ * tasks which are {@link AbstractRemoteTask#isApplicationStatusQueryable()} can be tracked.
+ * <p>
+ * The tasks are grouped by provider, each tick sends at most
+ * {@link LoopTaskPollerProperties#getMaxQueriesPerProviderPerTick()} queries to one provider, and a provider is
+ * queried by one poll thread at a time so a slow provider doesn't block the others.
+ */
+@Slf4j
+public class LoopTaskPoller {
+
+    /**
+     * Same as the default retry policy used by {@link BaseLoopTaskExecutor#handle}.
+     */
+    private static final int MAX_QUERY_FAILURE_TIMES = 3;
+
+    private static final long QUERY_FAILURE_RETRY_INTERVAL_MILLIS = 1000L;
+
+    private final LoopTaskPollerProperties loopTaskPollerProperties;
+
+    private final Map<String, Queue<TrackedLoopTask>> providerTasks = new ConcurrentHashMap<>();
+
+    private final Set<String> pollingProviders = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService tickExecutor;
+
+    private final ExecutorService pollExecutor;
+
+    public LoopTaskPoller(LoopTaskPollerProperties loopTaskPollerProperties) {
+        this.loopTaskPollerProperties = loopTaskPollerProperties;
+        this.tickExecutor = ThreadUtils.newSingleDaemonScheduledExecutorService("Worker-LoopTask-Tick-Thread");
+        this.pollExecutor = ThreadUtils.newDaemonFixedThreadExecutor("Worker-LoopTask-Poll-Thread-%d",
+                loopTaskPollerProperties.getPollThreads());
+    }
+
+    public void start() {
+        long tickMillis = loopTaskPollerProperties.getTickInterval().toMillis();
+        tickExecutor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Loop task poller started, config: {}", loopTaskPollerProperties);
+    }
+
+    /**
+     * Track the remote task which has been submitted by the given runnable, the onFinished is called after the task
+     * result has been sent.
+     */
+    public void track(WorkerTaskExecuteRunnable workerTaskExecuteRunnable, Runnable onFinished) {
+        AbstractRemoteTask remoteTask = (AbstractRemoteTask) workerTaskExecuteRunnable.getTask();
+        providerTasks.computeIfAbsent(remoteTask.getApplicationProvider(), provider -> new ConcurrentLinkedQueue<>())
+                .add(new TrackedLoopTask(workerTaskExecuteRunnable, remoteTask, onFinished));
+    }
+
+    public int getTrackedTaskSize() {
+        return providerTasks.values().stream().mapToInt(Queue::size).sum();
+    }
+
+    void tick() {
+        for (Map.Entry<String, Queue<TrackedLoopTask>> entry : providerTasks.entrySet()) {
+            String provider = entry.getKey();
+            if (entry.getValue().isEmpty() || !pollingProviders.add(provider)) {
+                continue;
+            }
+            try {
+                pollExecutor.execute(() -> {
+                    try {
+                        pollProvider(provider);
+                    } catch (Throwable e) {
+                        log.error("Poll the loop tasks of provider: {} error", provider, e);
+                    } finally {
+                        pollingProviders.remove(provider);
+                    }
+                });
+            } catch (Throwable e) {
+                pollingProviders.remove(provider);
+                log.error("Submit the poll job of provider: {} error", provider, e);
+            }
+        }
+    }
+
+    /**
+     * Visit each task of the provider once, the queried tasks are moved to the tail so all tasks get their turn when
+     * the query budget is less than the task size.
+     */
+    void pollProvider(String provider) {
+        Queue<TrackedLoopTask> tasks = providerTasks.get(provider);
+        if (tasks == null) {
+            return;
+        }
+        int budget = loopTaskPollerProperties.getMaxQueriesPerProviderPerTick();
+        int size = tasks.size();
+        for (int i = 0; i < size && budget > 0; i++) {
+            TrackedLoopTask trackedLoopTask = tasks.poll();
+            if (trackedLoopTask == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (!trackedLoopTask.remoteTask.isCancel() && trackedLoopTask.nextQueryTime > now) {
+                tasks.add(trackedLoopTask);
+                continue;
+            }
+            budget--;
+            if (!poll(trackedLoopTask, now)) {
+                tasks.add(trackedLoopTask);
+            }
+        }
+    }
+
+    /**
+     * @return true if the task is finished
+     */
+    private boolean poll(TrackedLoopTask trackedLoopTask, long now) {
+        AbstractRemoteTask remoteTask = trackedLoopTask.remoteTask;
+        boolean finished;
+        TaskExecutionContext taskExecutionContext =
+                trackedLoopTask.workerTaskExecuteRunnable.getTaskExecutionContext();
+        try (
+                final LogUtils.MDCAutoClosableContext mdcAutoClosableContext = LogUtils.setWorkflowAndTaskInstanceIDMDC(
+                        taskExecutionContext.getProcessInstanceId(), taskExecutionContext.getTaskInstanceId());
+                final LogUtils.MDCAutoClosableContext mdcAutoClosableContext1 =
+                        LogUtils.setTaskInstanceLogFullPathMDC(taskExecutionContext.getLogPath())) {
+            if (remoteTask.isCancel()) {
+                remoteTask.onApplicationCanceled();
+                finished = true;
+            } else {
+                finished = remoteTask.queryApplicationStatus();
+            }
+        } catch (Exception e) {
+            if (++trackedLoopTask.queryFailureTimes >= MAX_QUERY_FAILURE_TIMES) {
+                trackedLoopTask.finish(e);
+                return true;
+            }
+            log.warn("Query the status of loop task: {} failed {} times, will retry",
+                    taskExecutionContext.getTaskInstanceId(), trackedLoopTask.queryFailureTimes, e);
+            trackedLoopTask.nextQueryTime = now + QUERY_FAILURE_RETRY_INTERVAL_MILLIS;
+            return false;
+        }
+        trackedLoopTask.queryFailureTimes = 0;
+        if (finished) {
+            trackedLoopTask.finish(null);
+            return true;
+        }
+        trackedLoopTask.nextQueryTime = now + remoteTask.getApplicationStatusQueryInterval().toMillis();
+        return false;
+    }
+
+    private static final class TrackedLoopTask {
+
+        private final WorkerTaskExecuteRunnable workerTaskExecuteRunnable;
+
+        private final AbstractRemoteTask remoteTask;
+
+        private final Runnable onFinished;
+
+        private long nextQueryTime;
+
+        private int queryFailureTimes;
+
+        TrackedLoopTask(WorkerTaskExecuteRunnable workerTaskExecuteRunnable,
+                        AbstractRemoteTask remoteTask,
+                        Runnable onFinished) {
+            this.workerTaskExecuteRunnable = workerTaskExecuteRunnable;
+            this.remoteTask = remoteTask;
+            this.onFinished = onFinished;
+        }
+
+        void finish(Exception queryException) {
+            try {
+                workerTaskExecuteRunnable.finishLoopTask(queryException);
+            } finally {
+                onFinished.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reserve the cpu quota and the max memory declared by the task definition, a task is admitted only if its
+ * reservation fits in the host capacity, the reservation is released once the task finished.
+ * <p>
+ * The cpu quota is a percentage of one core, the same as the systemd CPUQuota, the max memory is in MB. The tasks which
+ * don't declare them reserve nothing, a task which is larger than the host is admitted when nothing is reserved, so it
+ * will never starve.
+ */
+@Slf4j
+public class TaskResourceReservation {
+
+    private final long cpuCapacity;
+
+    private final long memoryCapacity;
+
+    private final Map<Integer, TaskResource> taskResources = new HashMap<>();
+
+    private long reservedCpu;
+
+    private long reservedMemory;
+
+    public TaskResourceReservation() {
+        this(Runtime.getRuntime().availableProcessors() * 100L, (long) (OSUtils.totalPhysicalMemorySize() * 1024));
+    }
+
+    public TaskResourceReservation(long cpuCapacity, long memoryCapacity) {
+        this.cpuCapacity = cpuCapacity;
+        this.memoryCapacity = memoryCapacity;
+        log.info("Task resource reservation capacity, cpu quota: {}%, memory: {}MB", cpuCapacity, memoryCapacity);
+    }
+
+    /**
+     * Try to reserve the resource of the given task
+     *
+     * @return true if the task can be admitted
+     */
+    public synchronized boolean tryReserve(TaskExecutionContext taskExecutionContext) {
+        TaskResource taskResource = TaskResource.of(taskExecutionContext);
+        if (taskResource.isEmpty()) {
+            return true;
+        }
+        if (!taskResources.isEmpty() && (reservedCpu + taskResource.cpu > cpuCapacity
+                || reservedMemory + taskResource.memory > memoryCapacity)) {
+            return false;
+        }
+        TaskResource oldTaskResource = taskResources.put(taskExecutionContext.getTaskInstanceId(), taskResource);
+        if (oldTaskResource != null) {
+            reservedCpu -= oldTaskResource.cpu;
+            reservedMemory -= oldTaskResource.memory;
+        }
+        reservedCpu += taskResource.cpu;
+        reservedMemory += taskResource.memory;
+        return true;
+    }
+
+    /**
+     * Release the resource reserved by the given task, and wake up the tasks waiting for the resource
+     */
+    public synchronized void release(int taskInstanceId) {
+        TaskResource taskResource = taskResources.remove(taskInstanceId);
+        if (taskResource == null) {
+            return;
+        }
+        reservedCpu -= taskResource.cpu;
+        reservedMemory -= taskResource.memory;
+        notifyAll();
+    }
+
+    public synchronized void clear() {
+        taskResources.clear();
+        reservedCpu = 0;
+        reservedMemory = 0;
+        notifyAll();
+    }
+
+    /**
+     * Wait until some reserved resource is released or timeout
+     */
+    public synchronized void awaitRelease(long timeoutMillis) throws InterruptedException {
+        wait(timeoutMillis);
+    }
+
+    public synchronized double getReservedCpuRatio() {
+        return cpuCapacity <= 0 ? 0 : (double) reservedCpu / cpuCapacity;
+    }
+
+    public synchronized double getReservedMemoryRatio() {
+        return memoryCapacity <= 0 ? 0 : (double) reservedMemory / memoryCapacity;
+    }
+
+    private static class TaskResource {
+
+        private final long cpu;
+
+        private final long memory;
+
+        private TaskResource(long cpu, long memory) {
+            this.cpu = cpu;
+            this.memory = memory;
+        }
+
+        private static TaskResource of(TaskExecutionContext taskExecutionContext) {
+            // null or -1 means unlimited
+            Integer cpuQuota = taskExecutionContext.getCpuQuota();
+            Integer memoryMax = taskExecutionContext.getMemoryMax();
+            return new TaskResource(cpuQuota == null || cpuQuota < 0 ? 0 : cpuQuota,
+                    memoryMax == null || memoryMax < 0 ? 0 : memoryMax);
+        }
+
+        private boolean isEmpty() {
+            return cpu == 0 && memory == 0;
+        }
+    }
+}
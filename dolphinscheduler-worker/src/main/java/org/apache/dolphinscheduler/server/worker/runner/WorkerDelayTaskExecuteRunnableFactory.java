@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.worker.runner;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
@@ -39,6 +40,7 @@ public abstract class WorkerDelayTaskExecuteRunnableFactory<T extends WorkerDela
     protected final @NonNull WorkerRpcClient workerRpcClient;
     protected final @NonNull TaskPluginManager taskPluginManager;
     protected final @Nullable StorageOperate storageOperate;
+    protected final @NonNull WorkerResourceCache workerResourceCache;
     protected final @NonNull WorkerRegistryClient workerRegistryClient;
 
     protected WorkerDelayTaskExecuteRunnableFactory(
@@ -48,6 +50,7 @@ public abstract class WorkerDelayTaskExecuteRunnableFactory<T extends WorkerDela
                                                     @NonNull WorkerRpcClient workerRpcClient,
                                                     @NonNull TaskPluginManager taskPluginManager,
                                                     @Nullable StorageOperate storageOperate,
+                                                    @NonNull WorkerResourceCache workerResourceCache,
                                                     @NonNull WorkerRegistryClient workerRegistryClient) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
@@ -55,6 +58,7 @@ public abstract class WorkerDelayTaskExecuteRunnableFactory<T extends WorkerDela
         this.workerRpcClient = workerRpcClient;
         this.taskPluginManager = taskPluginManager;
         this.storageOperate = storageOperate;
+        this.workerResourceCache = workerResourceCache;
         this.workerRegistryClient = workerRegistryClient;
     }
 
@@ -47,11 +47,25 @@ public class WorkerExecService {
      */
     private final ConcurrentHashMap<Integer, WorkerTaskExecuteRunnable> taskExecuteThreadMap;
 
+    /**
+     * the resource reserved by the running tasks
+     */
+    private final TaskResourceReservation taskResourceReservation;
+
+    /**
+     * track the submitted loop tasks after their execute thread is released
+     */
+    private final LoopTaskPoller loopTaskPoller;
+
     public WorkerExecService(ExecutorService execService,
-                             ConcurrentHashMap<Integer, WorkerTaskExecuteRunnable> taskExecuteThreadMap) {
+                             ConcurrentHashMap<Integer, WorkerTaskExecuteRunnable> taskExecuteThreadMap,
+                             TaskResourceReservation taskResourceReservation,
+                             LoopTaskPoller loopTaskPoller) {
         this.execService = execService;
         this.listeningExecutorService = MoreExecutors.listeningDecorator(this.execService);
         this.taskExecuteThreadMap = taskExecuteThreadMap;
+        this.taskResourceReservation = taskResourceReservation;
+        this.loopTaskPoller = loopTaskPoller;
         WorkerServerMetrics.registerWorkerRunningTaskGauge(taskExecuteThreadMap::size);
     }
 
@@ -62,7 +76,12 @@ public class WorkerExecService {
 
             @Override
             public void onSuccess(Object o) {
-                taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+                if (taskExecuteThread.isLoopTaskSubmitted()) {
+                    // the task is still running remotely, keep it in the running map so it can be killed
+                    loopTaskPoller.track(taskExecuteThread, () -> removeTask(taskExecuteThread));
+                    return;
+                }
+                removeTask(taskExecuteThread);
             }
 
             @Override
@@ -71,12 +90,17 @@ public class WorkerExecService {
                         taskExecuteThread.getTaskExecutionContext().getProcessInstanceId(),
                         taskExecuteThread.getTaskExecutionContext().getTaskInstanceId(),
                         throwable);
-                taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+                removeTask(taskExecuteThread);
             }
         };
         Futures.addCallback(future, futureCallback, this.listeningExecutorService);
     }
 
+    private void removeTask(WorkerTaskExecuteRunnable taskExecuteThread) {
+        taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+        taskResourceReservation.release(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
+    }
+
     /**
      * get thread pool queue size
      *
@@ -42,6 +42,16 @@ import org.springframework.stereotype.Component;
 public class WorkerManagerThread implements Runnable {
 
     private final DelayQueue<WorkerDelayTaskExecuteRunnable> waitSubmitQueue;
+
+    /**
+     * The waiting tasks indexed by task instance id, a task killed before execute is only removed from here, the stale
+     * element in the delay queue is dropped once it's taken, so the kill doesn't need to scan the queue.
+     */
+    private final ConcurrentHashMap<Integer, WorkerDelayTaskExecuteRunnable> waitSubmitTaskMap =
+            new ConcurrentHashMap<>();
+
+    private final TaskResourceReservation taskResourceReservation;
+    private final LoopTaskPoller loopTaskPoller;
     private final WorkerExecService workerExecService;
     private final WorkerConfig workerConfig;
 
@@ -57,9 +67,13 @@ public class WorkerManagerThread implements Runnable {
         this.workerConfig = workerConfig;
         workerExecThreads = workerConfig.getExecThreads();
         this.waitSubmitQueue = new DelayQueue<>();
+        this.taskResourceReservation = new TaskResourceReservation();
+        this.loopTaskPoller = new LoopTaskPoller(workerConfig.getLoopTaskPoller());
         workerExecService = new WorkerExecService(
                 ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getExecThreads()),
-                taskExecuteThreadMap);
+                taskExecuteThreadMap,
+                taskResourceReservation,
+                loopTaskPoller);
     }
 
     public @Nullable WorkerTaskExecuteRunnable getTaskExecuteThread(Integer taskInstanceId) {
@@ -72,7 +86,11 @@ public class WorkerManagerThread implements Runnable {
      * @return queue size
      */
     public int getWaitSubmitQueueSize() {
-        return waitSubmitQueue.size();
+        return waitSubmitTaskMap.size();
+    }
+
+    public TaskResourceReservation getTaskResourceReservation() {
+        return taskResourceReservation;
     }
 
     /**
@@ -89,26 +107,19 @@ public class WorkerManagerThread implements Runnable {
      * then send Response to Master, update the execution status of task instance
      */
     public void killTaskBeforeExecuteByInstanceId(Integer taskInstanceId) {
-        waitSubmitQueue.stream()
-                .filter(taskExecuteThread -> taskExecuteThread.getTaskExecutionContext()
-                        .getTaskInstanceId() == taskInstanceId)
-                .forEach(waitSubmitQueue::remove);
+        waitSubmitTaskMap.remove(taskInstanceId);
     }
 
     public boolean offer(WorkerDelayTaskExecuteRunnable workerDelayTaskExecuteRunnable) {
-        if (workerConfig.getTaskExecuteThreadsFullPolicy() == TaskExecuteThreadsFullPolicy.CONTINUE) {
-            return waitSubmitQueue.offer(workerDelayTaskExecuteRunnable);
-        }
-
-        if (waitSubmitQueue.size() > workerExecThreads) {
-            log.warn("Wait submit queue is full, will retry submit task later");
+        if (workerConfig.getTaskExecuteThreadsFullPolicy() != TaskExecuteThreadsFullPolicy.CONTINUE
+                && waitSubmitTaskMap.size() > workerExecThreads) {
+            // don't block the netty thread, the master will dispatch the rejected task again
+            log.warn("Wait submit queue is full, reject the task");
             WorkerServerMetrics.incWorkerSubmitQueueIsFullCount();
-            // if waitSubmitQueue is full, it will wait 1s, then try add
-            ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
-            if (waitSubmitQueue.size() > workerExecThreads) {
-                return false;
-            }
+            return false;
         }
+        waitSubmitTaskMap.put(workerDelayTaskExecuteRunnable.getTaskExecutionContext().getTaskInstanceId(),
+                workerDelayTaskExecuteRunnable);
         return waitSubmitQueue.offer(workerDelayTaskExecuteRunnable);
     }
 
@@ -117,6 +128,7 @@ public class WorkerManagerThread implements Runnable {
         Thread thread = new Thread(this, this.getClass().getName());
         thread.setDaemon(true);
         thread.start();
+        loopTaskPoller.start();
         log.info("Worker manager thread started");
     }
 
@@ -130,7 +142,9 @@ public class WorkerManagerThread implements Runnable {
                 }
                 if (this.getThreadPoolQueueSize() <= workerExecThreads) {
                     final WorkerDelayTaskExecuteRunnable workerDelayTaskExecuteRunnable = waitSubmitQueue.take();
-                    workerExecService.submit(workerDelayTaskExecuteRunnable);
+                    if (admit(workerDelayTaskExecuteRunnable)) {
+                        workerExecService.submit(workerDelayTaskExecuteRunnable);
+                    }
                 } else {
                     WorkerServerMetrics.incWorkerOverloadCount();
                     log.info("Exec queue is full, waiting submit queue {}, waiting exec queue size {}",
@@ -144,8 +158,44 @@ public class WorkerManagerThread implements Runnable {
         }
     }
 
+    /**
+     * Wait until the resource declared by the task can be reserved, the task is admitted in the order of the delay
+     * queue, so a large task will not starve.
+     *
+     * @return false if the task has been killed before execute
+     */
+    private boolean admit(WorkerDelayTaskExecuteRunnable workerDelayTaskExecuteRunnable) throws InterruptedException {
+        final int taskInstanceId = workerDelayTaskExecuteRunnable.getTaskExecutionContext().getTaskInstanceId();
+        boolean waitLogged = false;
+        while (!ServerLifeCycleManager.isStopped()) {
+            if (waitSubmitTaskMap.get(taskInstanceId) != workerDelayTaskExecuteRunnable) {
+                log.info("The task {} has been killed before execute, skip it", taskInstanceId);
+                return false;
+            }
+            if (taskResourceReservation
+                    .tryReserve(workerDelayTaskExecuteRunnable.getTaskExecutionContext())) {
+                if (waitSubmitTaskMap.remove(taskInstanceId, workerDelayTaskExecuteRunnable)) {
+                    return true;
+                }
+                taskResourceReservation.release(taskInstanceId);
+                return false;
+            }
+            if (!waitLogged) {
+                log.info("The resource is not enough for task {}, cpu quota: {}, memory max: {}, wait for release",
+                        taskInstanceId, workerDelayTaskExecuteRunnable.getTaskExecutionContext().getCpuQuota(),
+                        workerDelayTaskExecuteRunnable.getTaskExecutionContext().getMemoryMax());
+                WorkerServerMetrics.incWorkerOverloadCount();
+                waitLogged = true;
+            }
+            taskResourceReservation.awaitRelease(Constants.SLEEP_TIME_MILLIS);
+        }
+        return false;
+    }
+
     public void clearTask() {
         waitSubmitQueue.clear();
+        waitSubmitTaskMap.clear();
+        taskResourceReservation.clear();
         workerExecService.getTaskExecuteThreadMap().values().forEach(workerTaskExecuteRunnable -> {
             int taskInstanceId = workerTaskExecuteRunnable.getTaskExecutionContext().getTaskInstanceId();
             try {
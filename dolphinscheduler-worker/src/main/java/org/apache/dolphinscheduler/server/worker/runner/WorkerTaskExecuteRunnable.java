@@ -42,6 +42,7 @@ import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.alert.AlertSendRequest;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.log.TaskInstanceLogHeader;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
@@ -73,11 +74,18 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
     protected final WorkerMessageSender workerMessageSender;
     protected final TaskPluginManager taskPluginManager;
     protected final @Nullable StorageOperate storageOperate;
+    protected final @NonNull WorkerResourceCache workerResourceCache;
     protected final WorkerRpcClient workerRpcClient;
     protected final WorkerRegistryClient workerRegistryClient;
 
     protected @Nullable AbstractTask task;
 
+    /**
+     * Set when the task is a remote task which has been submitted, its status is then tracked by the
+     * {@link LoopTaskPoller} rather than the execute thread.
+     */
+    protected volatile boolean loopTaskSubmitted;
+
     protected WorkerTaskExecuteRunnable(
                                         @NonNull TaskExecutionContext taskExecutionContext,
                                         @NonNull WorkerConfig workerConfig,
@@ -85,6 +93,7 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
                                         @NonNull WorkerRpcClient workerRpcClient,
                                         @NonNull TaskPluginManager taskPluginManager,
                                         @Nullable StorageOperate storageOperate,
+                                        @NonNull WorkerResourceCache workerResourceCache,
                                         @NonNull WorkerRegistryClient workerRegistryClient) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
@@ -92,6 +101,7 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
         this.workerRpcClient = workerRpcClient;
         this.taskPluginManager = taskPluginManager;
         this.storageOperate = storageOperate;
+        this.workerResourceCache = workerResourceCache;
         this.workerRegistryClient = workerRegistryClient;
     }
 
@@ -166,6 +176,34 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
 
             TaskInstanceLogHeader.printExecuteTaskHeader();
             executeTask(taskCallBack);
+            if (loopTaskSubmitted) {
+                log.info("The loop task has been submitted, release the execute thread and track the status by poller");
+                return;
+            }
+
+            TaskInstanceLogHeader.printFinalizeTaskHeader();
+            afterExecute();
+            closeLogAppender();
+        } catch (Throwable ex) {
+            log.error("Task execute failed, due to meet an exception", ex);
+            afterThrowing(ex);
+            closeLogAppender();
+        }
+    }
+
+    /**
+     * Finish the remote task tracked by the {@link LoopTaskPoller}, the exit status code has been set by the task
+     * unless its status query failed.
+     */
+    public void finishLoopTask(@Nullable Exception queryException) {
+        try (
+                final LogUtils.MDCAutoClosableContext mdcAutoClosableContext = LogUtils.setWorkflowAndTaskInstanceIDMDC(
+                        taskExecutionContext.getProcessInstanceId(), taskExecutionContext.getTaskInstanceId());
+                final LogUtils.MDCAutoClosableContext mdcAutoClosableContext1 =
+                        LogUtils.setTaskInstanceLogFullPathMDC(taskExecutionContext.getLogPath())) {
+            if (queryException != null) {
+                throw new TaskException("Query the loop task status error", queryException);
+            }
 
             TaskInstanceLogHeader.printFinalizeTaskHeader();
             afterExecute();
@@ -203,7 +241,8 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
         TaskExecutionCheckerUtils.createProcessLocalPathIfAbsent(taskExecutionContext);
         log.info("ProcessExecDir:{} check success", taskExecutionContext.getExecutePath());
 
-        TaskExecutionCheckerUtils.downloadResourcesIfNeeded(storageOperate, taskExecutionContext, log);
+        TaskExecutionCheckerUtils.downloadResourcesIfNeeded(storageOperate, workerResourceCache, taskExecutionContext,
+                log);
         log.info("Resources:{} check success", taskExecutionContext.getResources());
 
         TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperate);
@@ -329,4 +368,8 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
         return task;
     }
 
+    public boolean isLoopTaskSubmitted() {
+        return loopTaskSubmitted;
+    }
+
 }
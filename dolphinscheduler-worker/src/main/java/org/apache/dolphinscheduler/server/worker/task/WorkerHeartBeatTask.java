@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.runner.TaskResourceReservation;
 
 import java.util.function.Supplier;
 
@@ -39,15 +40,19 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
 
     private final Supplier<Integer> workerWaitingTaskCount;
 
+    private final TaskResourceReservation taskResourceReservation;
+
     private final int processId;
 
     public WorkerHeartBeatTask(@NonNull WorkerConfig workerConfig,
                                @NonNull RegistryClient registryClient,
-                               @NonNull Supplier<Integer> workerWaitingTaskCount) {
+                               @NonNull Supplier<Integer> workerWaitingTaskCount,
+                               @NonNull TaskResourceReservation taskResourceReservation) {
         super("WorkerHeartBeatTask", workerConfig.getHeartbeatInterval().toMillis());
         this.workerConfig = workerConfig;
         this.registryClient = registryClient;
         this.workerWaitingTaskCount = workerWaitingTaskCount;
+        this.taskResourceReservation = taskResourceReservation;
         this.processId = OSUtils.getProcessID();
     }
 
@@ -74,6 +79,8 @@ public class WorkerHeartBeatTask extends BaseHeartBeatTask<WorkerHeartBeat> {
                 .workerHostWeight(workerConfig.getHostWeight())
                 .workerWaitingTaskCount(this.workerWaitingTaskCount.get())
                 .workerExecThreadCount(workerConfig.getExecThreads())
+                .taskReservedCpu(taskResourceReservation.getReservedCpuRatio())
+                .taskReservedMemory(taskResourceReservation.getReservedMemoryRatio())
                 .serverStatus(serverStatus)
                 .build();
     }
@@ -25,8 +25,8 @@ import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
-import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -109,6 +109,7 @@ public class TaskExecutionCheckerUtils {
     }
 
     public static void downloadResourcesIfNeeded(StorageOperate storageOperate,
+                                                 WorkerResourceCache workerResourceCache,
                                                  TaskExecutionContext taskExecutionContext, Logger logger) {
         String execLocalPath = taskExecutionContext.getExecutePath();
         Map<String, String> projectRes = taskExecutionContext.getResources();
@@ -130,26 +131,7 @@ public class TaskExecutionCheckerUtils {
         }
 
         if (CollectionUtils.isNotEmpty(downloadFiles)) {
-            for (Pair<String, String> fileDownload : downloadFiles) {
-                try {
-                    String fullName = fileDownload.getLeft();
-                    String fileName = fileDownload.getRight();
-                    logger.info("get resource file from path:{}", fullName);
-
-                    long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperate.download(taskExecutionContext.getTenantCode(), fullName,
-                            execLocalPath + File.separator + fileName, false,
-                            true);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
-                    WorkerServerMetrics.recordWorkerResourceDownloadSize(
-                            Files.size(Paths.get(execLocalPath, fileName)));
-                    WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
-                } catch (Exception e) {
-                    WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
-                    throw new TaskException(String.format("Download resource file: %s error", fileDownload), e);
-                }
-            }
+            workerResourceCache.downloadResources(storageOperate, taskExecutionContext, downloadFiles);
         }
     }
 
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.cache;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class WorkerResourceCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private StorageOperate storageOperate;
+
+    private WorkerConfig workerConfig;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        workerConfig = new WorkerConfig();
+        workerConfig.getResourceCache().setPath(tempDir.resolve("cache").toString());
+        workerConfig.getResourceCache().setMaxSize(DataSize.ofBytes(10));
+
+        storageOperate = Mockito.mock(StorageOperate.class);
+        Mockito.when(storageOperate.getFileStatus(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    StorageEntity storageEntity = new StorageEntity();
+                    storageEntity.setSize(8);
+                    storageEntity.setUpdateTime(new Date(1000L));
+                    return storageEntity;
+                });
+        Mockito.doAnswer(invocation -> {
+            String fullName = invocation.getArgument(1);
+            Files.write(Paths.get((String) invocation.getArgument(2)),
+                    fullName.substring(fullName.length() - 8).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperate).download(Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean(),
+                Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testDownloadResources() throws Exception {
+        WorkerResourceCache workerResourceCache = new WorkerResourceCache(workerConfig);
+        workerResourceCache.loadCachedFiles();
+
+        TaskExecutionContext firstTask = createTaskExecutionContext("task1");
+        workerResourceCache.downloadResources(storageOperate, firstTask,
+                Collections.singletonList(Pair.of("/resources/a.jar", "a.jar")));
+        TaskExecutionContext secondTask = createTaskExecutionContext("task2");
+        workerResourceCache.downloadResources(storageOperate, secondTask,
+                Collections.singletonList(Pair.of("/resources/a.jar", "a.jar")));
+
+        Mockito.verify(storageOperate, Mockito.times(1)).download(Mockito.any(), Mockito.eq("/resources/a.jar"),
+                Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean());
+        Assertions.assertEquals("es/a.jar", readFile(firstTask, "a.jar"));
+        Assertions.assertEquals("es/a.jar", readFile(secondTask, "a.jar"));
+
+        // the cache can only hold one file, the evicted file is still available in the execute path
+        TaskExecutionContext thirdTask = createTaskExecutionContext("task3");
+        workerResourceCache.downloadResources(storageOperate, thirdTask,
+                Collections.singletonList(Pair.of("/resources/b.jar", "b.jar")));
+        Assertions.assertEquals("es/b.jar", readFile(thirdTask, "b.jar"));
+        Assertions.assertEquals("es/a.jar", readFile(firstTask, "a.jar"));
+        try (Stream<Path> cachedFiles = Files.list(tempDir.resolve("cache"))) {
+            Assertions.assertEquals(1, cachedFiles.count());
+        }
+    }
+
+    @Test
+    public void testChangeResourceInExecutePath() throws Exception {
+        WorkerResourceCache workerResourceCache = new WorkerResourceCache(workerConfig);
+        workerResourceCache.loadCachedFiles();
+
+        TaskExecutionContext firstTask = createTaskExecutionContext("task1");
+        workerResourceCache.downloadResources(storageOperate, firstTask,
+                Collections.singletonList(Pair.of("/resources/a.sh", "a.sh")));
+        // the task changes its resource file in place
+        Files.write(Paths.get(firstTask.getExecutePath(), "a.sh"), "changed".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        TaskExecutionContext secondTask = createTaskExecutionContext("task2");
+        workerResourceCache.downloadResources(storageOperate, secondTask,
+                Collections.singletonList(Pair.of("/resources/a.sh", "a.sh")));
+
+        Mockito.verify(storageOperate, Mockito.times(1)).download(Mockito.any(), Mockito.eq("/resources/a.sh"),
+                Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean());
+        Assertions.assertEquals("ces/a.shchanged", readFile(firstTask, "a.sh"));
+        Assertions.assertEquals("ces/a.sh", readFile(secondTask, "a.sh"));
+    }
+
+    @Test
+    public void testCountCacheHitOnceWhenWaitingForLoadingFile() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            // keep the file loading, so the other download waits for it
+            Thread.sleep(200);
+            Files.write(Paths.get((String) invocation.getArgument(2)), "es/a.jar".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperate).download(Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyBoolean(),
+                Mockito.anyBoolean());
+        WorkerResourceCache workerResourceCache = new WorkerResourceCache(workerConfig);
+        workerResourceCache.loadCachedFiles();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            TaskExecutionContext taskExecutionContext = createTaskExecutionContext("task");
+            workerResourceCache.downloadResources(storageOperate, taskExecutionContext,
+                    Arrays.asList(Pair.of("/resources/a.jar", "a.jar"), Pair.of("/resources/a.jar", "lib/a.jar")));
+
+            Mockito.verify(storageOperate, Mockito.times(1)).download(Mockito.any(), Mockito.eq("/resources/a.jar"),
+                    Mockito.anyString(), Mockito.anyBoolean(), Mockito.anyBoolean());
+            Assertions.assertEquals("es/a.jar", readFile(taskExecutionContext, "lib/a.jar"));
+            Assertions.assertEquals(1, getCacheCount(meterRegistry, "hit"));
+            Assertions.assertEquals(1, getCacheCount(meterRegistry, "miss"));
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+
+    @Test
+    public void testDownloadResourcesWithoutCache() throws Exception {
+        workerConfig.getResourceCache().setEnabled(false);
+        WorkerResourceCache workerResourceCache = new WorkerResourceCache(workerConfig);
+        workerResourceCache.loadCachedFiles();
+
+        TaskExecutionContext taskExecutionContext = createTaskExecutionContext("task");
+        workerResourceCache.downloadResources(storageOperate, taskExecutionContext,
+                Collections.singletonList(Pair.of("/resources/a.jar", "lib/a.jar")));
+        Assertions.assertEquals("es/a.jar", readFile(taskExecutionContext, "lib/a.jar"));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("cache")));
+    }
+
+    private TaskExecutionContext createTaskExecutionContext(String executePath) {
+        return TaskExecutionContext.builder()
+                .tenantCode("tenant")
+                .executePath(tempDir.resolve(executePath).toString())
+                .build();
+    }
+
+    private double getCacheCount(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.get("ds.worker.resource.cache.count").tag("result", result).counter().count();
+    }
+
+    private String readFile(TaskExecutionContext taskExecutionContext, String fileName) throws Exception {
+        return new String(Files.readAllBytes(Paths.get(taskExecutionContext.getExecutePath(), fileName)),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
 import org.apache.dolphinscheduler.remote.command.Message;
 import org.apache.dolphinscheduler.remote.command.MessageType;
 import org.apache.dolphinscheduler.remote.command.task.TaskDispatchMessage;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
@@ -65,6 +66,9 @@ public class TaskDispatchProcessorTest {
     @Mock
     private StorageOperate storageOperate;
 
+    @Mock
+    private WorkerResourceCache workerResourceCache;
+
     @Mock
     private WorkerRegistryClient workerRegistryClient;
 
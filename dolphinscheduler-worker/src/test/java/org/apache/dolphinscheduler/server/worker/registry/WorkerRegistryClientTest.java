@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.runner.TaskResourceReservation;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
 
 import java.time.Duration;
@@ -83,6 +84,7 @@ public class WorkerRegistryClientTest {
 
         given(workerConfig.getWorkerAddress()).willReturn(NetUtils.getAddr(1234));
         given(workerConfig.getHeartbeatInterval()).willReturn(Duration.ofSeconds(1));
+        given(workerManagerThread.getTaskResourceReservation()).willReturn(new TaskResourceReservation(100, 1024));
         given(registryClient.checkNodeExists(Mockito.anyString(), Mockito.any(RegistryNodeType.class)))
                 .willReturn(true);
 
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperate;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskPluginManager;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.worker.cache.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
@@ -47,6 +48,8 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
 
     private StorageOperate storageOperate = Mockito.mock(StorageOperate.class);
 
+    private WorkerResourceCache workerResourceCache = Mockito.mock(WorkerResourceCache.class);
+
     private WorkerRegistryClient workerRegistryClient = Mockito.mock(WorkerRegistryClient.class);
 
     @Test
@@ -64,6 +67,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
                 alertClientService,
                 taskPluginManager,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecuteRunnable::run);
@@ -89,6 +93,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
                 alertClientService,
                 taskPluginManager,
                 storageOperate,
+                workerResourceCache,
                 workerRegistryClient);
 
         Assertions.assertAll(workerTaskExecuteRunnable::run);
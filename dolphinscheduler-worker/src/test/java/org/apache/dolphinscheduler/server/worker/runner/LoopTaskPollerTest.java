@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.config.LoopTaskPollerProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class LoopTaskPollerTest {
+
+    @Test
+    public void testPollProviderWithQueryBudget() {
+        LoopTaskPollerProperties loopTaskPollerProperties = new LoopTaskPollerProperties();
+        loopTaskPollerProperties.setMaxQueriesPerProviderPerTick(1);
+        LoopTaskPoller loopTaskPoller = new LoopTaskPoller(loopTaskPollerProperties);
+
+        WorkerTaskExecuteRunnable runnable1 = createRunnable(1, true);
+        WorkerTaskExecuteRunnable runnable2 = createRunnable(2, false);
+        AtomicInteger finishedTasks = new AtomicInteger();
+        loopTaskPoller.track(runnable1, finishedTasks::incrementAndGet);
+        loopTaskPoller.track(runnable2, finishedTasks::incrementAndGet);
+
+        // only one query is allowed in a tick
+        loopTaskPoller.pollProvider("EMR");
+        Mockito.verify(runnable1).finishLoopTask(null);
+        Mockito.verify((AbstractRemoteTask) runnable2.getTask(), Mockito.never()).queryApplicationStatus();
+        Assertions.assertEquals(1, finishedTasks.get());
+        Assertions.assertEquals(1, loopTaskPoller.getTrackedTaskSize());
+
+        // the unfinished task is not queried again before the query interval elapsed
+        loopTaskPoller.pollProvider("EMR");
+        loopTaskPoller.pollProvider("EMR");
+        Mockito.verify((AbstractRemoteTask) runnable2.getTask(), Mockito.times(1)).queryApplicationStatus();
+        Assertions.assertEquals(1, loopTaskPoller.getTrackedTaskSize());
+    }
+
+    @Test
+    public void testFinishTaskAfterQueryFailed() throws Exception {
+        LoopTaskPoller loopTaskPoller = new LoopTaskPoller(new LoopTaskPollerProperties());
+        WorkerTaskExecuteRunnable runnable = createRunnable(1, false);
+        AbstractRemoteTask remoteTask = (AbstractRemoteTask) runnable.getTask();
+        TaskException queryException = new TaskException("query failed");
+        Mockito.when(remoteTask.queryApplicationStatus()).thenThrow(queryException);
+        Mockito.when(remoteTask.getApplicationStatusQueryInterval()).thenReturn(Duration.ZERO);
+        loopTaskPoller.track(runnable, () -> {
+        });
+
+        for (int i = 0; i < 3; i++) {
+            loopTaskPoller.pollProvider("EMR");
+            Thread.sleep(1100);
+        }
+        Mockito.verify(runnable).finishLoopTask(queryException);
+        Assertions.assertEquals(0, loopTaskPoller.getTrackedTaskSize());
+    }
+
+    @Test
+    public void testFinishCanceledTaskWithoutQuery() {
+        LoopTaskPoller loopTaskPoller = new LoopTaskPoller(new LoopTaskPollerProperties());
+        WorkerTaskExecuteRunnable runnable = createRunnable(1, false);
+        AbstractRemoteTask remoteTask = (AbstractRemoteTask) runnable.getTask();
+        Mockito.when(remoteTask.isCancel()).thenReturn(true);
+        loopTaskPoller.track(runnable, () -> {
+        });
+
+        loopTaskPoller.pollProvider("EMR");
+        Mockito.verify(remoteTask).onApplicationCanceled();
+        Mockito.verify(remoteTask, Mockito.never()).queryApplicationStatus();
+        Mockito.verify(runnable).finishLoopTask(null);
+        Assertions.assertEquals(0, loopTaskPoller.getTrackedTaskSize());
+    }
+
+    private WorkerTaskExecuteRunnable createRunnable(int taskInstanceId, boolean finished) {
+        AbstractRemoteTask remoteTask = Mockito.mock(AbstractRemoteTask.class);
+        Mockito.when(remoteTask.getApplicationProvider()).thenReturn("EMR");
+        Mockito.when(remoteTask.getApplicationStatusQueryInterval()).thenReturn(Duration.ofMinutes(1));
+        Mockito.when(remoteTask.queryApplicationStatus()).thenReturn(finished);
+
+        WorkerTaskExecuteRunnable runnable = Mockito.mock(WorkerTaskExecuteRunnable.class);
+        Mockito.when(runnable.getTask()).thenReturn(remoteTask);
+        Mockito.when(runnable.getTaskExecutionContext())
+                .thenReturn(TaskExecutionContext.builder().taskInstanceId(taskInstanceId).build());
+        return runnable;
+    }
+}
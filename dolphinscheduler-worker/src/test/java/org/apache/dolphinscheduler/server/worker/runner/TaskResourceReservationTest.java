@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TaskResourceReservationTest {
+
+    @Test
+    public void testTryReserve() {
+        TaskResourceReservation taskResourceReservation = new TaskResourceReservation(200, 1024);
+
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(1, 100, 512)));
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(2, 100, 256)));
+        Assertions.assertEquals(1, taskResourceReservation.getReservedCpuRatio());
+        Assertions.assertEquals(0.75, taskResourceReservation.getReservedMemoryRatio());
+
+        // the cpu is not enough
+        Assertions.assertFalse(taskResourceReservation.tryReserve(createTask(3, 50, 128)));
+        // the task without quota is always admitted
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(4, -1, -1)));
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(5, null, null)));
+
+        taskResourceReservation.release(1);
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(3, 50, 128)));
+        Assertions.assertEquals(0.75, taskResourceReservation.getReservedCpuRatio());
+        Assertions.assertEquals(0.375, taskResourceReservation.getReservedMemoryRatio());
+    }
+
+    @Test
+    public void testReserveTaskLargerThanHost() {
+        TaskResourceReservation taskResourceReservation = new TaskResourceReservation(200, 1024);
+
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(1, 400, 128)));
+        Assertions.assertFalse(taskResourceReservation.tryReserve(createTask(2, 100, 128)));
+        taskResourceReservation.release(1);
+        Assertions.assertTrue(taskResourceReservation.tryReserve(createTask(2, 100, 128)));
+    }
+
+    private TaskExecutionContext createTask(int taskInstanceId, Integer cpuQuota, Integer memoryMax) {
+        return TaskExecutionContext.builder()
+                .taskInstanceId(taskInstanceId)
+                .cpuQuota(cpuQuota)
+                .memoryMax(memoryMax)
+                .build();
+    }
+}